@@ -23,7 +23,11 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 
 import org.apache.jena.rdf.model.Model;
@@ -37,6 +41,7 @@ import org.hobbit.core.data.BenchmarkMetaData;
 import org.hobbit.core.data.SystemMetaData;
 import org.hobbit.core.data.status.ControllerStatus;
 import org.hobbit.core.data.status.QueuedExperiment;
+import org.hobbit.core.data.status.RunningExperiment;
 import org.hobbit.core.rabbit.RabbitMQUtils;
 import org.hobbit.core.rabbit.RabbitRpcClient;
 import org.hobbit.vocab.HOBBIT;
@@ -69,6 +74,17 @@ import de.usu.research.hobbit.gui.rest.beans.UserInfoBean;
 public class PlatformControllerClient implements Closeable {
     private static final Logger LOGGER = LoggerFactory.getLogger(PlatformControllerClient.class);
 
+    /**
+     * Maximum number of queue pages that are cached.
+     */
+    private static final int MAX_CACHED_QUEUE_PAGES = 100;
+    /**
+     * Command of the platform controller that adds several experiments to
+     * its queue. It has to have the same value as
+     * {@code org.hobbit.controller.PlatformController.ADD_EXPERIMENT_CONFIGURATIONS}.
+     */
+    private static final byte ADD_EXPERIMENT_CONFIGURATIONS = 0x20;
+
     public static PlatformControllerClient create(Connection connection) {
         if (connection == null) {
             LOGGER.error("Got no RabbitMQ Connection object. Returning null.");
@@ -87,6 +103,20 @@ public class PlatformControllerClient implements Closeable {
 
     private RabbitRpcClient client;
     private Gson gson = new Gson();
+    /**
+     * The queued experiments of the last status requests mapped to the user
+     * names and positions they have been requested with. The least recently
+     * used pages are removed if the cache gets too large.
+     */
+    private Map<String, CachedQueuePage> queuePageCache = new LinkedHashMap<String, CachedQueuePage>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedQueuePage> eldest) {
+            return size() > MAX_CACHED_QUEUE_PAGES;
+        }
+    };
 
     protected PlatformControllerClient(RabbitRpcClient client) {
         this.client = client;
@@ -230,6 +260,39 @@ public class PlatformControllerClient implements Closeable {
             throws GUIBackendException, IOException {
         String benchmarkUri = benchmarkConf.getBenchmark();
         String systemUri = benchmarkConf.getSystem();
+        Model model = createExperimentModel(benchmarkConf);
+
+        byte[] data = RabbitMQUtils.writeByteArrays(new byte[] { FrontEndApiCommands.ADD_EXPERIMENT_CONFIGURATION },
+                new byte[][] { RabbitMQUtils.writeString(benchmarkUri), RabbitMQUtils.writeString(systemUri),
+                        RabbitMQUtils.writeModel(model), RabbitMQUtils.writeString(userName) },
+                null);
+
+        LOGGER.info("Sending request...");
+        data = client.request(data);
+        if (data == null) {
+            throw new IOException("Didn't got a response.");
+        }
+
+        String id = RabbitMQUtils.readString(data);
+        // parse the response
+        LOGGER.info("Response: " + id);
+
+        return id;
+    }
+
+    /**
+     * Creates the RDF model of a new experiment based on the given benchmark
+     * configuration.
+     *
+     * @param benchmarkConf
+     *            the benchmark configuration of the experiment
+     * @return the RDF model of the experiment
+     * @throws GUIBackendException
+     *             If the given benchmark configuration is not valid
+     */
+    private Model createExperimentModel(SubmitModelBean benchmarkConf) throws GUIBackendException {
+        String benchmarkUri = benchmarkConf.getBenchmark();
+        String systemUri = benchmarkConf.getSystem();
 
         if (benchmarkUri == null) {
             String msg = "Benchmark URI is null. Aborting.";
@@ -257,22 +320,52 @@ public class PlatformControllerClient implements Closeable {
             throw new GUIBackendException("Please check your parameter definitions.");
         }
 
-        byte[] data = RabbitMQUtils.writeByteArrays(new byte[] { FrontEndApiCommands.ADD_EXPERIMENT_CONFIGURATION },
-                new byte[][] { RabbitMQUtils.writeString(benchmarkUri), RabbitMQUtils.writeString(systemUri),
-                        RabbitMQUtils.writeModel(model), RabbitMQUtils.writeString(userName) },
-                null);
+        return model;
+    }
 
-        LOGGER.info("Sending request...");
+    /**
+     * Sends the given benchmark configurations to the platform controller which
+     * adds them to its queue in a single step.
+     *
+     * @param benchmarkConfs
+     *            the benchmark configurations with which experiments should be
+     *            started
+     * @param userName
+     *            the name of the user who submitted the benchmark configurations
+     * @return The IDs of the created experiments in the order of the given
+     *         configurations
+     * @throws GUIBackendException
+     *             If one of the given benchmark configurations is not valid
+     * @throws IOException
+     *             If there is a problem during the receiving of the response
+     */
+    public List<String> submitBenchmarks(List<SubmitModelBean> benchmarkConfs, String userName)
+            throws GUIBackendException, IOException {
+        byte[][] arrays = new byte[1 + (3 * benchmarkConfs.size())][];
+        arrays[0] = RabbitMQUtils.writeString(userName);
+        int pos = 1;
+        for (SubmitModelBean benchmarkConf : benchmarkConfs) {
+            Model model = createExperimentModel(benchmarkConf);
+            arrays[pos] = RabbitMQUtils.writeString(benchmarkConf.getBenchmark());
+            arrays[pos + 1] = RabbitMQUtils.writeString(benchmarkConf.getSystem());
+            arrays[pos + 2] = RabbitMQUtils.writeModel(model);
+            pos += 3;
+        }
+        byte[] data = RabbitMQUtils.writeByteArrays(new byte[] { ADD_EXPERIMENT_CONFIGURATIONS }, arrays, null);
+
+        LOGGER.info("Sending request with {} experiments...", benchmarkConfs.size());
         data = client.request(data);
         if (data == null) {
             throw new IOException("Didn't got a response.");
         }
 
-        String id = RabbitMQUtils.readString(data);
-        // parse the response
-        LOGGER.info("Response: " + id);
-
-        return id;
+        List<String> ids = gson.fromJson(RabbitMQUtils.readString(data), new TypeToken<List<String>>() {
+        }.getType());
+        LOGGER.info("Response: " + ids);
+        if ((ids == null) || (ids.size() != benchmarkConfs.size())) {
+            throw new IOException("Got an unexpected response: " + ids);
+        }
+        return ids;
     }
 
     /**
@@ -322,20 +415,106 @@ public class PlatformControllerClient implements Closeable {
      *             If no response has been received
      */
     public ControllerStatus requestStatus(String userName) throws IOException {
+        return requestStatus(userName, 0, Integer.MAX_VALUE, -1);
+    }
+
+    /**
+     * Requests the status of the controller containing the queued experiments
+     * at the given positions of the queue. If the given version is the current
+     * version of the queue, the controller does not send the queued
+     * experiments, i.e., the {@link ControllerStatus#queuedExperiments} of the
+     * returned status are {@code null}.
+     *
+     * @param userName
+     *            the name of the user requesting the status
+     * @param offset
+     *            the position of the first queued experiment that should be
+     *            returned
+     * @param limit
+     *            the maximum number of queued experiments that should be
+     *            returned
+     * @param knownVersion
+     *            the version of the queue known by the caller or {@code -1} if
+     *            the queue is not known
+     * @return the status of the controller
+     * @throws IOException
+     *             If no response has been received
+     */
+    public PagedControllerStatus requestStatus(String userName, int offset, int limit, long knownVersion)
+            throws IOException {
         byte[] data = client.request(RabbitMQUtils.writeByteArrays(new byte[] { FrontEndApiCommands.LIST_CURRENT_STATUS },
-                        new byte[][] { RabbitMQUtils.writeString(userName) }, null));
+                        new byte[][] { RabbitMQUtils.writeString(userName), RabbitMQUtils.writeString(Integer.toString(offset)),
+                                RabbitMQUtils.writeString(Integer.toString(limit)),
+                                RabbitMQUtils.writeString(Long.toString(knownVersion)) }, null));
         if (data == null) {
             throw new IOException("Didn't get a response.");
         }
         // parse the response
         String response = RabbitMQUtils.readString(data);
-        System.out.println(response);
-        ControllerStatus status = gson.fromJson(response, ControllerStatus.class);
-        if (status.queuedExperiments == null)
+        LOGGER.trace(response);
+        PagedControllerStatus status = gson.fromJson(response, PagedControllerStatus.class);
+        if ((status.queuedExperiments == null) && !status.queueUnchanged)
             status.queuedExperiments = new QueuedExperiment[0];
         return status;
     }
 
+    /**
+     * Requests the status of the controller containing the queued experiments
+     * at the given positions of the queue. The queued experiments of previous
+     * requests are cached and only requested again if the queue has changed.
+     *
+     * @param userName
+     *            the name of the user requesting the status
+     * @param offset
+     *            the position of the first queued experiment that should be
+     *            returned
+     * @param limit
+     *            the maximum number of queued experiments that should be
+     *            returned
+     * @return the status of the controller
+     * @throws IOException
+     *             If no response has been received
+     */
+    public PagedControllerStatus requestStatus(String userName, int offset, int limit) throws IOException {
+        String cacheKey = userName + '|' + offset + '|' + limit;
+        CachedQueuePage cachedPage;
+        synchronized (queuePageCache) {
+            cachedPage = queuePageCache.get(cacheKey);
+        }
+        PagedControllerStatus status = requestStatus(userName, offset, limit,
+                (cachedPage != null) ? cachedPage.version : -1);
+        if (status.queueUnchanged && (cachedPage != null)) {
+            // the queue hasn't changed but experiments of it might have been
+            // started in the meantime
+            Set<String> runningIds = new HashSet<>();
+            if (status.runningExperiments != null) {
+                for (RunningExperiment experiment : status.runningExperiments) {
+                    runningIds.add(experiment.experimentId);
+                }
+            } else if (status.experiment != null) {
+                runningIds.add(status.experiment.experimentId);
+            }
+            List<QueuedExperiment> queuedExperiments = new ArrayList<>(cachedPage.queuedExperiments.length);
+            for (QueuedExperiment experiment : cachedPage.queuedExperiments) {
+                if (!runningIds.contains(experiment.experimentId)) {
+                    queuedExperiments.add(experiment);
+                }
+            }
+            status.queuedExperiments = queuedExperiments.toArray(new QueuedExperiment[queuedExperiments.size()]);
+            status.queueUnchanged = false;
+        } else {
+            if (status.queuedExperiments == null) {
+                status.queuedExperiments = new QueuedExperiment[0];
+            }
+            if (status.queueVersion >= 0) {
+                synchronized (queuePageCache) {
+                    queuePageCache.put(cacheKey, new CachedQueuePage(status.queueVersion, status.queuedExperiments));
+                }
+            }
+        }
+        return status;
+    }
+
     /**
      * Closes the challenge with the given URI.
      *
@@ -517,4 +696,17 @@ public class PlatformControllerClient implements Closeable {
         return (res.length > 0) && (res[0] > 0);
     }
 
+    /**
+     * The queued experiments of a status together with the version of the
+     * queue they belong to.
+     */
+    private static class CachedQueuePage {
+        private final long version;
+        private final QueuedExperiment[] queuedExperiments;
+
+        public CachedQueuePage(long version, QueuedExperiment[] queuedExperiments) {
+            this.version = version;
+            this.queuedExperiments = queuedExperiments;
+        }
+    }
 }
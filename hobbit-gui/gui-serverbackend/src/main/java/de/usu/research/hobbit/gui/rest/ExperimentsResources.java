@@ -22,7 +22,9 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
@@ -57,6 +59,8 @@ import de.usu.research.hobbit.gui.rest.beans.ExperimentBean;
 import de.usu.research.hobbit.gui.rest.beans.ExperimentCountBean;
 import de.usu.research.hobbit.gui.rest.beans.InfoBean;
 import de.usu.research.hobbit.gui.rest.beans.NamedEntityBean;
+import de.usu.research.hobbit.gui.rest.beans.SubmitModelBean;
+import de.usu.research.hobbit.gui.rest.beans.SubmitResponseBean;
 import de.usu.research.hobbit.gui.rest.beans.UserInfoBean;
 
 @Path("experiments")
@@ -342,6 +346,34 @@ public class ExperimentsResources {
         }
     }
 
+    @POST
+    @Path("batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response submitExperiments(@Context SecurityContext sc, List<SubmitModelBean> models) {
+        try {
+            if ((models == null) || models.isEmpty()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(InfoBean.withMessage("The list of experiments is empty.")).build();
+            }
+            LOGGER.info("Submit {} experiments.", models.size());
+            UserInfoBean userInfo = InternalResources.getUserInfoBean(sc);
+            PlatformControllerClient client = PlatformControllerClientSingleton.getInstance();
+            if (client == null) {
+                throw new GUIBackendException("Couldn't connect to platform controller.");
+            }
+            List<String> ids = client.submitBenchmarks(models, userInfo.getPreferredUsername());
+            List<SubmitResponseBean> responses = ids.stream().map(SubmitResponseBean::new)
+                    .collect(Collectors.toList());
+            return Response.ok(new GenericEntity<List<SubmitResponseBean>>(responses) {
+            }).build();
+        } catch (Exception e) {
+            LOGGER.warn("Failed to submit experiments: " + e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(InfoBean.withMessage(e.getMessage()))
+                    .build();
+        }
+    }
+
     private DevInMemoryDb getDevDb() {
         return DevInMemoryDb.theInstance;
     }
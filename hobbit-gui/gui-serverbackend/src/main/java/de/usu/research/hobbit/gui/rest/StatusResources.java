@@ -20,20 +20,22 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 
-import org.hobbit.core.data.status.ControllerStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.usu.research.hobbit.gui.rabbitmq.GUIBackendException;
+import de.usu.research.hobbit.gui.rabbitmq.PagedControllerStatus;
 import de.usu.research.hobbit.gui.rabbitmq.PlatformControllerClient;
 import de.usu.research.hobbit.gui.rabbitmq.PlatformControllerClientSingleton;
 import de.usu.research.hobbit.gui.rest.beans.QueuedExperimentBean;
@@ -45,27 +47,47 @@ import de.usu.research.hobbit.gui.rest.beans.UserInfoBean;
 public class StatusResources {
     private static final Logger LOGGER = LoggerFactory.getLogger(StatusResources.class);
 
+    /**
+     * Returns the status of the platform. The queued experiments can be
+     * requested page-wise using the offset and the limit parameters (a limit
+     * &lt;= 0 returns all queued experiments starting at the offset). If the
+     * given version is the current version of the queue, the queued
+     * experiments are omitted and the queueUnchanged flag is set.
+     */
     @Produces(MediaType.APPLICATION_JSON)
     @GET
-    public Response getStatus(@Context SecurityContext sc) throws Exception {
+    public Response getStatus(@Context SecurityContext sc, @QueryParam("offset") @DefaultValue("0") int offset,
+            @QueryParam("limit") @DefaultValue("0") int limit, @QueryParam("version") @DefaultValue("-1") long version)
+            throws Exception {
         LOGGER.info("Get status ...");
         PlatformControllerClient client = PlatformControllerClientSingleton.getInstance();
         if (client == null) {
             throw new GUIBackendException("Couldn't connect to platform controller.");
         }
         UserInfoBean userInfo = InternalResources.getUserInfoBean(sc);
-        ControllerStatus status = client.requestStatus(userInfo.getPreferredUsername());
+        PagedControllerStatus status = client.requestStatus(userInfo.getPreferredUsername(), Math.max(0, offset),
+                (limit > 0) ? limit : Integer.MAX_VALUE);
         Objects.requireNonNull(status, "Couldn't get status of platform.");
 
-        List<QueuedExperimentBean> queueContent = new ArrayList<>(status.queuedExperiments.length);
-        for (int i = 0; i < status.queuedExperiments.length; ++i) {
-            queueContent.add(new QueuedExperimentBean(status.queuedExperiments[i]));
-        }
-
         RunningExperimentBean runningExperimentBean = null;
         if (status.experiment != null)
             runningExperimentBean = new RunningExperimentBean(status.experiment);
-        StatusBean statusBean = new StatusBean(runningExperimentBean, queueContent);
+
+        StatusBean statusBean;
+        if ((version >= 0) && (version == status.queueVersion)) {
+            // the caller already knows the queue
+            statusBean = new StatusBean(runningExperimentBean, null);
+            statusBean.setQueueUnchanged(true);
+        } else {
+            List<QueuedExperimentBean> queueContent = new ArrayList<>(status.queuedExperiments.length);
+            for (int i = 0; i < status.queuedExperiments.length; ++i) {
+                queueContent.add(new QueuedExperimentBean(status.queuedExperiments[i]));
+            }
+            statusBean = new StatusBean(runningExperimentBean, queueContent);
+        }
+        statusBean.setQueueVersion(status.queueVersion);
+        statusBean.setQueueSize(status.queueSize);
+        statusBean.setQueueOffset(status.queueOffset);
 
         return Response.ok(new GenericEntity<StatusBean>(statusBean){}).build();
     }
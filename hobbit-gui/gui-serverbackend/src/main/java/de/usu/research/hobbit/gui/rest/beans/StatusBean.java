@@ -23,6 +23,27 @@ public class StatusBean {
      */
     private List<QueuedExperimentBean> queuedExperiments;
 
+    /**
+     * The version of the queue or -1 if it is not known.
+     */
+    private long queueVersion = -1;
+
+    /**
+     * The number of experiments in the queue.
+     */
+    private int queueSize;
+
+    /**
+     * The position of the first queued experiment within the queue.
+     */
+    private int queueOffset;
+
+    /**
+     * Flag indicating that the queue hasn't changed since the version known by
+     * the caller. In this case, the queued experiments are not part of the bean.
+     */
+    private boolean queueUnchanged = false;
+
     public StatusBean() {
         super();
     }
@@ -63,4 +84,64 @@ public class StatusBean {
         this.queuedExperiments = queuedExperiments;
     }
 
+    /**
+     * @return the queueVersion
+     */
+    public long getQueueVersion() {
+        return queueVersion;
+    }
+
+    /**
+     * @param queueVersion
+     *            the queueVersion to set
+     */
+    public void setQueueVersion(long queueVersion) {
+        this.queueVersion = queueVersion;
+    }
+
+    /**
+     * @return the queueSize
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @param queueSize
+     *            the queueSize to set
+     */
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * @return the queueOffset
+     */
+    public int getQueueOffset() {
+        return queueOffset;
+    }
+
+    /**
+     * @param queueOffset
+     *            the queueOffset to set
+     */
+    public void setQueueOffset(int queueOffset) {
+        this.queueOffset = queueOffset;
+    }
+
+    /**
+     * @return the queueUnchanged
+     */
+    public boolean isQueueUnchanged() {
+        return queueUnchanged;
+    }
+
+    /**
+     * @param queueUnchanged
+     *            the queueUnchanged to set
+     */
+    public void setQueueUnchanged(boolean queueUnchanged) {
+        this.queueUnchanged = queueUnchanged;
+    }
+
 }
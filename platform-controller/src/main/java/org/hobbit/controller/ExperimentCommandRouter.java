@@ -0,0 +1,179 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.hobbit.controller.data.ExperimentStatus;
+import org.hobbit.controller.data.ExperimentStatus.States;
+
+/**
+ * Routes the commands of the running experiments to per-experiment handlers
+ * based on their session ids. The handlers are kept in a concurrent map, i.e.,
+ * commands of different experiments do not contend on a single lock. A
+ * handler is created when the first command of a running experiment arrives
+ * and has to be removed using {@link #remove(String)} when the experiment
+ * terminates.
+ */
+public class ExperimentCommandRouter {
+
+    /**
+     * Handlers of the running experiments mapped to their session ids.
+     */
+    private Map<String, ExperimentCommandHandler> handlers = new ConcurrentHashMap<>();
+    /**
+     * Function used to get the status of a running experiment based on its
+     * session id.
+     */
+    private Function<String, ExperimentStatus> statusSource;
+
+    /**
+     * Constructor.
+     *
+     * @param statusSource
+     *            function used to get the status of a running experiment based
+     *            on its session id. It should return {@code null} if there is
+     *            no such experiment.
+     */
+    public ExperimentCommandRouter(Function<String, ExperimentStatus> statusSource) {
+        this.statusSource = statusSource;
+    }
+
+    /**
+     * Returns the handler of the running experiment with the given session id
+     * or {@code null} if there is no such experiment.
+     *
+     * @param sessionId
+     *            the session id of the experiment
+     * @return the handler of the experiment or {@code null}
+     */
+    public ExperimentCommandHandler getHandler(String sessionId) {
+        ExperimentCommandHandler handler = handlers.get(sessionId);
+        if (handler != null) {
+            return handler;
+        }
+        ExperimentStatus status = statusSource.apply(sessionId);
+        if (status == null) {
+            return null;
+        }
+        handler = handlers.computeIfAbsent(sessionId, id -> new ExperimentCommandHandler(status));
+        // Make sure that the experiment has not been terminated (and removed
+        // from this router) while the handler has been created
+        if (statusSource.apply(sessionId) != handler.getStatus()) {
+            handlers.remove(sessionId, handler);
+            return null;
+        }
+        return handler;
+    }
+
+    /**
+     * Removes the handler of the experiment with the given session id.
+     *
+     * @param sessionId
+     *            the session id of the experiment that terminated
+     */
+    public void remove(String sessionId) {
+        handlers.remove(sessionId);
+    }
+
+    /**
+     * @return the number of experiments that currently have a handler
+     */
+    public int size() {
+        return handlers.size();
+    }
+
+    /**
+     * The state of a single experiment that is needed to handle its commands.
+     * Its methods only synchronize on the handler itself.
+     */
+    public static class ExperimentCommandHandler {
+        /**
+         * The status of the experiment.
+         */
+        private final ExperimentStatus status;
+        /**
+         * The container starts of the experiment that haven't finished, yet.
+         */
+        private CompletableFuture<Void> pendingContainerStarts = null;
+
+        public ExperimentCommandHandler(ExperimentStatus status) {
+            this.status = status;
+        }
+
+        /**
+         * @return the status of the experiment
+         */
+        public ExperimentStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * @return {@code true} if the experiment has not been stopped
+         */
+        public boolean isRunning() {
+            return status.getState() != States.STOPPED;
+        }
+
+        /**
+         * Adds the given container start to the starts the experiment is
+         * waiting for.
+         *
+         * @param start
+         *            the future of the container start
+         */
+        public synchronized void addContainerStart(CompletableFuture<?> start) {
+            if ((pendingContainerStarts == null) || pendingContainerStarts.isDone()) {
+                pendingContainerStarts = start.thenAccept(result -> {
+                });
+            } else {
+                pendingContainerStarts = CompletableFuture.allOf(pendingContainerStarts, start);
+            }
+        }
+
+        /**
+         * @return the future of the container starts that haven't finished,
+         *         yet, or {@code null} if there are no such starts
+         */
+        public synchronized CompletableFuture<Void> getPendingContainerStarts() {
+            if ((pendingContainerStarts == null) || pendingContainerStarts.isDone()) {
+                return null;
+            }
+            return pendingContainerStarts;
+        }
+
+        /**
+         * Executes the given action after all container starts that have been
+         * added before have finished. If there are no pending starts, the
+         * action is executed directly by the calling thread.
+         *
+         * @param action
+         *            the action that should be executed
+         */
+        public void runAfterPendingContainerStarts(Runnable action) {
+            CompletableFuture<Void> pendingStarts = getPendingContainerStarts();
+            if (pendingStarts == null) {
+                action.run();
+            } else {
+                pendingStarts.whenComplete((v, e) -> action.run());
+            }
+        }
+    }
+}
@@ -19,11 +19,26 @@ package org.hobbit.controller;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.StringWriter;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import org.apache.commons.io.IOUtils;
@@ -39,6 +54,8 @@ import org.hobbit.controller.data.ExperimentStatus;
 import org.hobbit.controller.data.ExperimentStatus.States;
 import org.hobbit.controller.data.SetupHardwareInformation;
 import org.hobbit.controller.docker.ClusterManager;
+import org.hobbit.controller.docker.ClusterTopology;
+import org.hobbit.controller.docker.ContainerManager.RemovalOutcome;
 import org.hobbit.controller.docker.MetaDataFactory;
 import org.hobbit.controller.execute.ExperimentAbortTimerTask;
 import org.hobbit.core.Commands;
@@ -58,8 +75,12 @@ import org.slf4j.LoggerFactory;
 import com.spotify.docker.client.exceptions.DockerException;
 
 /**
- * This class encapsulates (and synchronizes) all methods that are applied on a
- * running experiment.
+ * This class encapsulates (and synchronizes) all methods that are applied on
+ * running experiments. Depending on {@link #MAX_PARALLEL_EXPERIMENTS_KEY}, the
+ * manager executes one or several experiments at the same time. Every running
+ * experiment is represented by an {@link ExperimentStatus} object which is
+ * stored with its session id and is used as lock for all operations that are
+ * applied on this single experiment.
  *
  * @author Michael R&ouml;der (roeder@informatik.uni-leipzig.de)
  *
@@ -67,6 +88,42 @@ import com.spotify.docker.client.exceptions.DockerException;
 public class ExperimentManager implements Closeable {
     private static final Logger LOGGER = LoggerFactory.getLogger(ExperimentManager.class);
     private static final int DEFAULT_MAX_EXECUTION_TIME = 20 * 60 * 1000;
+    /**
+     * Key of the environmental variable used to define the maximum number of
+     * experiments that are executed in parallel.
+     */
+    public static final String MAX_PARALLEL_EXPERIMENTS_KEY = "MAX_PARALLEL_EXPERIMENTS";
+    /**
+     * Default number of experiments that are executed in parallel.
+     */
+    private static final int DEFAULT_MAX_PARALLEL_EXPERIMENTS = 1;
+    /**
+     * Key of the environmental variable used to define the maximum number of
+     * images that are pulled in parallel.
+     */
+    public static final String MAX_PARALLEL_IMAGE_PULLS_KEY = "MAX_PARALLEL_IMAGE_PULLS";
+    /**
+     * Default number of images that are pulled in parallel.
+     */
+    private static final int DEFAULT_MAX_PARALLEL_IMAGE_PULLS = 4;
+    /**
+     * Key of the environmental variable used to define the maximum time (in ms)
+     * the prefetching of the images of an experiment may take.
+     */
+    public static final String IMAGE_PREFETCH_TIMEOUT_KEY = "IMAGE_PREFETCH_TIMEOUT";
+    /**
+     * Default maximum time (in ms) the prefetching of the images of an experiment
+     * may take.
+     */
+    private static final long DEFAULT_IMAGE_PREFETCH_TIMEOUT = 20 * 60 * 1000;
+    /**
+     * Node label of the system worker group.
+     */
+    private static final String SYSTEM_WORKERGROUP_LABEL = "org.hobbit.workergroup=system";
+    /**
+     * Node label of the benchmark worker group.
+     */
+    private static final String BENCHMARK_WORKERGROUP_LABEL = "org.hobbit.workergroup=benchmark";
 
     /**
      * Time interval the experiment manager waits before it checks for the an
@@ -77,31 +134,77 @@ public class ExperimentManager implements Closeable {
     public static final long CHECK_FOR_FIRST_EXPERIMENT = 30000;
     /**
      * Time interval with which the experiment manager checks for a new experiment
-     * to start.
+     * to start. Note that experiments are started as soon as they are added to
+     * the queue or a running experiment terminates (see
+     * {@link #triggerExperimentStart()}). This regular check is only a safety
+     * net.
      */
     public static final long CHECK_FOR_NEW_EXPERIMENT = 10000;
+    /**
+     * Time interval after which the experiment manager checks again whether the
+     * cluster recovered if an experiment couldn't be started because the cluster
+     * was not healthy.
+     */
+    public static final long CHECK_FOR_CLUSTER_RECOVERY = 2000;
     /**
      * Default time an experiment has to terminate after it has been started.
      */
     public long defaultMaxExecutionTime = DEFAULT_MAX_EXECUTION_TIME;
+    /**
+     * Maximum number of experiments that are executed in parallel.
+     */
+    protected int maxParallelExperiments = DEFAULT_MAX_PARALLEL_EXPERIMENTS;
+    /**
+     * Maximum time (in ms) the prefetching of the images of an experiment may
+     * take.
+     */
+    protected long imagePrefetchTimeout = DEFAULT_IMAGE_PREFETCH_TIMEOUT;
     /**
      * The controller this manager belongs to.
      */
     private PlatformController controller;
     /**
-     * Object used as mutex used to synchronize the access to the
-     * {@link #experimentStatus} instance.
+     * Object used as mutex to synchronize the admission of new experiments, i.e.,
+     * the adding of new objects to {@link #experimentStatuses}.
      */
     private Object experimentMutex = new Object();
     /**
-     * Status of the current experiment. <code>null</code> if no benchmark is
-     * running.
+     * Status objects of the currently running experiments mapped to their
+     * session ids. The map is empty if no benchmark is running.
+     */
+    protected Map<String, ExperimentStatus> experimentStatuses = new ConcurrentHashMap<>();
+    /**
+     * Executor used to trigger the creation of the next benchmark. It runs the
+     * regular check as well as the checks triggered by
+     * {@link #triggerExperimentStart()} on a single thread.
+     */
+    protected ScheduledExecutorService expStartExecutor;
+    /**
+     * Executor used to start the admitted experiments in parallel. Since the
+     * prefetching of the images may take a while, the start of an experiment
+     * must not delay the admission and the start of other experiments.
+     */
+    protected ExecutorService expRunExecutor;
+    /**
+     * Executor used to pull images in parallel.
+     */
+    protected ExecutorService imagePullExecutor;
+    /**
+     * Flag indicating whether a triggered check for new experiments is already
+     * waiting for its execution. It is used to merge several triggers into a
+     * single check.
      */
-    protected ExperimentStatus experimentStatus = null;
+    private AtomicBoolean expStartRequested = new AtomicBoolean(false);
     /**
-     * Timer used to trigger the creation of the next benchmark.
+     * Flag indicating whether a check for the recovery of the cluster has been
+     * scheduled.
      */
-    protected Timer expStartTimer;
+    private AtomicBoolean clusterRecoveryCheckScheduled = new AtomicBoolean(false);
+    /**
+     * Flag indicating whether the initial waiting time has passed and triggered
+     * checks for new experiments are allowed.
+     */
+    private volatile boolean expStartEnabled = false;
 
     public ExperimentManager(PlatformController controller) {
         this(controller, CHECK_FOR_FIRST_EXPERIMENT, CHECK_FOR_NEW_EXPERIMENT);
@@ -119,150 +222,299 @@ public class ExperimentManager implements Closeable {
         } catch (Exception e) {
             LOGGER.debug("Could not get execution time from env, using default value..");
         }
+        if (System.getenv().containsKey(MAX_PARALLEL_EXPERIMENTS_KEY)) {
+            try {
+                maxParallelExperiments = Math.max(1,
+                        Integer.parseInt(System.getenv().get(MAX_PARALLEL_EXPERIMENTS_KEY)));
+            } catch (NumberFormatException e) {
+                LOGGER.error("Could not parse {}. Using default value {}.", MAX_PARALLEL_EXPERIMENTS_KEY,
+                        DEFAULT_MAX_PARALLEL_EXPERIMENTS);
+            }
+        }
+        LOGGER.info("Up to {} experiment(s) will be executed in parallel.", maxParallelExperiments);
+        int maxParallelImagePulls = DEFAULT_MAX_PARALLEL_IMAGE_PULLS;
+        if (System.getenv().containsKey(MAX_PARALLEL_IMAGE_PULLS_KEY)) {
+            try {
+                maxParallelImagePulls = Math.max(1,
+                        Integer.parseInt(System.getenv().get(MAX_PARALLEL_IMAGE_PULLS_KEY)));
+            } catch (NumberFormatException e) {
+                LOGGER.error("Could not parse {}. Using default value {}.", MAX_PARALLEL_IMAGE_PULLS_KEY,
+                        DEFAULT_MAX_PARALLEL_IMAGE_PULLS);
+            }
+        }
+        imagePullExecutor = Executors.newFixedThreadPool(maxParallelImagePulls);
+        if (System.getenv().containsKey(IMAGE_PREFETCH_TIMEOUT_KEY)) {
+            try {
+                imagePrefetchTimeout = Long.parseLong(System.getenv().get(IMAGE_PREFETCH_TIMEOUT_KEY));
+            } catch (NumberFormatException e) {
+                LOGGER.error("Could not parse {}. Using default value {}.", IMAGE_PREFETCH_TIMEOUT_KEY,
+                        DEFAULT_IMAGE_PREFETCH_TIMEOUT);
+            }
+        }
 
-        expStartTimer = new Timer();
-        expStartTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                try {
-                    // trigger the creation of the next benchmark
-                    createNextExperiment();
-                } catch (Throwable e) {
-                    LOGGER.error(
-                            "The experiment starting timer got an unexpected exception. Trying to handle the corrupted experiment if there is one.",
-                            e);
-                    // If there is an experiment status, it will be handled in
-                    // this method
-                    handleExperimentTermination();
-                }
+        expRunExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "experiment-start");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expStartExecutor = Executors.newSingleThreadScheduledExecutor();
+        expStartExecutor.scheduleWithFixedDelay(() -> {
+            expStartEnabled = true;
+            runExperimentStart();
+        }, checkForFirstExperiment, checkForNewExperiment, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Triggers a check for new experiments that should be started. The check is
+     * executed asynchronously. Several triggers that arrive while a check is
+     * waiting for its execution are merged. Triggers that arrive before the
+     * initial waiting time ({@link #CHECK_FOR_FIRST_EXPERIMENT}) has passed are
+     * ignored since the first regular check will take care of them.
+     */
+    public void triggerExperimentStart() {
+        if (expStartEnabled && expStartRequested.compareAndSet(false, true)) {
+            try {
+                expStartExecutor.execute(this::runExperimentStart);
+            } catch (RejectedExecutionException e) {
+                // the manager has been closed
+                expStartRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Schedules a check for new experiments after
+     * {@link #CHECK_FOR_CLUSTER_RECOVERY} ms if such a check hasn't been
+     * scheduled, yet.
+     */
+    private void scheduleClusterRecoveryCheck() {
+        if (clusterRecoveryCheckScheduled.compareAndSet(false, true)) {
+            try {
+                expStartExecutor.schedule(() -> {
+                    clusterRecoveryCheckScheduled.set(false);
+                    runExperimentStart();
+                }, CHECK_FOR_CLUSTER_RECOVERY, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // the manager has been closed
+                clusterRecoveryCheckScheduled.set(false);
             }
-        }, checkForFirstExperiment, checkForNewExperiment);
+        }
     }
 
     /**
-     * Creates the next experiment if there is no experiment running and there is an
-     * experiment waiting in the queue.
+     * Runs {@link #createNextExperiment()} and makes sure that no exception is
+     * thrown since this would stop the regular execution of the check.
+     */
+    private void runExperimentStart() {
+        expStartRequested.set(false);
+        try {
+            // trigger the creation of the next benchmark
+            createNextExperiment();
+        } catch (Throwable e) {
+            LOGGER.error("The experiment starting executor got an unexpected exception.", e);
+        }
+    }
+
+    /**
+     * Creates the next experiments as long as there are experiments waiting in the
+     * queue and the cluster has the capacity to execute them (see
+     * {@link #getExperimentCapacity(ClusterManager)}). The admitted experiments
+     * are started in parallel by the {@link #expRunExecutor}.
      */
     public void createNextExperiment() {
-        synchronized (experimentMutex) {
+        ExperimentStatus status = admitNextExperiment();
+        while (status != null) {
+            final ExperimentStatus admittedStatus = status;
             try {
-                // if there is no benchmark running, the queue has been
-                // initialized and cluster is healthy
-                if ((experimentStatus == null) && (controller.queue != null)) {
-                    ClusterManager clusterManager = this.controller.clusterManager;
-                    boolean isClusterHealthy = clusterManager.isClusterHealthy();
-                    if (!isClusterHealthy) {
-                        LOGGER.error("Can not start next experiment in the queue, cluster is NOT HEALTHY. "
-                                + "Check your cluster consistency or adjust SWARM_NODE_NUMBER environment variable."
-                                + " Expected number of nodes: " + clusterManager.getExpectedNumberOfNodes()
-                                + " Current number of nodes: " + clusterManager.getNumberOfNodes());
-                        return;
-                    }
-                    ExperimentConfiguration config = controller.queue.getNextExperiment();
-                    LOGGER.debug("Trying to start the next benchmark.");
-                    if (config == null) {
-                        LOGGER.debug("There is no experiment to start.");
-                        return;
-                    }
-                    LOGGER.info("Creating next experiment " + config.id + " with benchmark " + config.benchmarkUri
-                            + " and system " + config.systemUri + " to the queue.");
-                    experimentStatus = new ExperimentStatus(config,
-                            HobbitExperiments.getExperimentURI(config.id));
-
-                    BenchmarkMetaData benchmark = controller.imageManager().getBenchmark(config.benchmarkUri);
-                    if ((benchmark == null) || (benchmark.mainImage == null)) {
-                        experimentStatus = new ExperimentStatus(config,
-                                HobbitExperiments.getExperimentURI(config.id), this, defaultMaxExecutionTime);
-                        experimentStatus.addError(HobbitErrors.BenchmarkImageMissing);
-                        throw new Exception("Couldn't find image name for benchmark " + config.benchmarkUri);
+                expRunExecutor.execute(() -> {
+                    try {
+                        startExperiment(admittedStatus);
+                    } catch (Throwable e) {
+                        LOGGER.error("Got an unexpected exception while starting experiment "
+                                + admittedStatus.config.id + ".", e);
                     }
+                });
+            } catch (RejectedExecutionException e) {
+                // the manager has been closed
+                LOGGER.error("Couldn't start experiment {} since the experiment manager has been closed.",
+                        admittedStatus.config.id);
+                return;
+            }
+            status = admitNextExperiment();
+        }
+    }
 
-                    SystemMetaData system = controller.imageManager().getSystem(config.systemUri);
-                    if ((system == null) || (system.mainImage == null)) {
-                        experimentStatus = new ExperimentStatus(config, HobbitExperiments.getExperimentURI(config.id),
-                                this, defaultMaxExecutionTime);
-                        experimentStatus.addError(HobbitErrors.SystemImageMissing);
-                        throw new Exception("Couldn't find image name for system " + config.systemUri);
-                    }
+    /**
+     * Takes the next experiment from the queue and registers a status object for
+     * it if there is enough capacity and the cluster is healthy.
+     *
+     * @return the status of the admitted experiment or {@code null} if no
+     *         experiment has been admitted
+     */
+    private ExperimentStatus admitNextExperiment() {
+        synchronized (experimentMutex) {
+            // if the queue has been initialized
+            if (controller.queue == null) {
+                return null;
+            }
+            ClusterManager clusterManager = this.controller.clusterManager;
+            try {
+                // if there is enough capacity and the cluster is healthy
+                if (experimentStatuses.size() >= getExperimentCapacity(clusterManager)) {
+                    return null;
+                }
+                boolean isClusterHealthy = clusterManager.isClusterHealthy();
+                if (!isClusterHealthy) {
+                    LOGGER.error("Can not start next experiment in the queue, cluster is NOT HEALTHY. "
+                            + "Check your cluster consistency or adjust SWARM_NODE_NUMBER environment variable."
+                            + " Expected number of nodes: " + clusterManager.getExpectedNumberOfNodes()
+                            + " Current number of nodes: " + clusterManager.getNumberOfNodes());
+                    // make sure that the recovery check sees the current state
+                    clusterManager.invalidateClusterTopology();
+                    scheduleClusterRecoveryCheck();
+                    return null;
+                }
+            } catch (DockerException | InterruptedException e) {
+                LOGGER.error("Could not get cluster status. No new experiment will be started.", e);
+                return null;
+            }
+            LOGGER.debug("Trying to start the next benchmark.");
+            ExperimentConfiguration config = controller.queue.getNextExperiment(experimentStatuses.keySet());
+            if (config == null) {
+                LOGGER.debug("There is no experiment to start.");
+                return null;
+            }
+            LOGGER.info("Creating next experiment " + config.id + " with benchmark " + config.benchmarkUri
+                    + " and system " + config.systemUri + " to the queue.");
+            ExperimentStatus status = new ExperimentStatus(config, HobbitExperiments.getExperimentURI(config.id));
+            experimentStatuses.put(config.id, status);
+            return status;
+        }
+    }
+
+    /**
+     * Determines the number of experiments that can be executed in parallel. If
+     * the cluster comprises more than one node, every experiment needs at least
+     * one node of the system worker group and one node of the benchmark worker
+     * group. Hence, the capacity is limited by the smaller of both groups and
+     * {@link #maxParallelExperiments}.
+     *
+     * @param clusterManager
+     *            the cluster manager used to retrieve the number of nodes
+     * @return the number of experiments that can be executed in parallel
+     */
+    protected long getExperimentCapacity(ClusterManager clusterManager)
+            throws DockerException, InterruptedException {
+        if (maxParallelExperiments <= 1) {
+            return maxParallelExperiments;
+        }
+        ClusterTopology topology = clusterManager.getClusterTopology();
+        if (topology.getNumberOfReadyNodes() <= 1) {
+            return maxParallelExperiments;
+        }
+        long nodeCapacity = Math.min(topology.getNumberOfReadyNodes(SYSTEM_WORKERGROUP_LABEL),
+                topology.getNumberOfReadyNodes(BENCHMARK_WORKERGROUP_LABEL));
+        return Math.max(1, Math.min(maxParallelExperiments, nodeCapacity));
+    }
 
-                    prefetchImages(benchmark, system);
+    /**
+     * Starts the benchmark controller and the system of the experiment with the
+     * given status object.
+     *
+     * @param experimentStatus
+     *            the status of the experiment that should be started
+     */
+    private void startExperiment(ExperimentStatus experimentStatus) {
+        synchronized (experimentStatus) {
+            ExperimentConfiguration config = experimentStatus.config;
+            try {
+                BenchmarkMetaData benchmark = controller.imageManager().getBenchmark(config.benchmarkUri);
+                if ((benchmark == null) || (benchmark.mainImage == null)) {
+                    experimentStatus.addError(HobbitErrors.BenchmarkImageMissing);
+                    throw new Exception("Couldn't find image name for benchmark " + config.benchmarkUri);
+                }
 
-                    // time an experiment has to terminate after it has been started
-                    long maxExecutionTime = defaultMaxExecutionTime;
+                SystemMetaData system = controller.imageManager().getSystem(config.systemUri);
+                if ((system == null) || (system.mainImage == null)) {
+                    experimentStatus.addError(HobbitErrors.SystemImageMissing);
+                    throw new Exception("Couldn't find image name for system " + config.systemUri);
+                }
 
-                    // try to load benchmark timeouts from config file
-                    try {
-                        HobbitConfig hobbitCfg = HobbitConfig.loadConfig();
-                        HobbitConfig.TimeoutConfig timeouts = hobbitCfg.getTimeout(config.benchmarkUri);
-                        if (timeouts != null) {
-                            if (config.challengeUri != null) {
-                                if (timeouts.challengeTimeout != -1) {
-                                    maxExecutionTime = timeouts.challengeTimeout;
-                                    LOGGER.info("Using challenge timeout: {}", maxExecutionTime);
-                                } else {
-                                    LOGGER.warn(
-                                            "Challenge timeout for given benchmark is not set, using default value..");
-                                }
+                prefetchImages(experimentStatus, benchmark, system);
+
+                // time an experiment has to terminate after it has been started
+                long maxExecutionTime = defaultMaxExecutionTime;
+
+                // try to load benchmark timeouts from config file
+                try {
+                    HobbitConfig hobbitCfg = HobbitConfig.loadConfig();
+                    HobbitConfig.TimeoutConfig timeouts = hobbitCfg.getTimeout(config.benchmarkUri);
+                    if (timeouts != null) {
+                        if (config.challengeUri != null) {
+                            if (timeouts.challengeTimeout != -1) {
+                                maxExecutionTime = timeouts.challengeTimeout;
+                                LOGGER.info("Using challenge timeout: {}", maxExecutionTime);
                             } else {
-                                if (timeouts.benchmarkTimeout != -1) {
-                                    maxExecutionTime = timeouts.benchmarkTimeout;
-                                    LOGGER.info("Using benchmark timeout:", maxExecutionTime);
-                                } else {
-                                    LOGGER.warn("Benchmark timeout is not set, using default value..");
-                                }
+                                LOGGER.warn(
+                                        "Challenge timeout for given benchmark is not set, using default value..");
                             }
                         } else {
-                            LOGGER.error("Timeouts for given benchmark are not set, using default value..");
+                            if (timeouts.benchmarkTimeout != -1) {
+                                maxExecutionTime = timeouts.benchmarkTimeout;
+                                LOGGER.info("Using benchmark timeout:", maxExecutionTime);
+                            } else {
+                                LOGGER.warn("Benchmark timeout is not set, using default value..");
+                            }
                         }
-                    } catch (Exception e) {
-                        LOGGER.error("Could not load timeouts config ({}). Using default value {}ms.", e.getMessage(),
-                                defaultMaxExecutionTime);
+                    } else {
+                        LOGGER.error("Timeouts for given benchmark are not set, using default value..");
                     }
+                } catch (Exception e) {
+                    LOGGER.error("Could not load timeouts config ({}). Using default value {}ms.", e.getMessage(),
+                            defaultMaxExecutionTime);
+                }
 
-                    // start experiment timer/status
-                    experimentStatus.startAbortionTimer(this, maxExecutionTime);
-                    experimentStatus.setState(States.INIT);
-
-                    LOGGER.info("Creating benchmark controller " + benchmark.mainImage);
-                    String containerId = controller.containerManager.startContainer(benchmark.mainImage,
-                            Constants.CONTAINER_TYPE_BENCHMARK, null,
-                            new String[] { Constants.RABBIT_MQ_HOST_NAME_KEY + "=" + controller.rabbitMQHostName(),
-                                    Constants.HOBBIT_SESSION_ID_KEY + "=" + config.id,
-                                    Constants.HOBBIT_EXPERIMENT_URI_KEY + "=" + experimentStatus.experimentUri,
-                                    Constants.BENCHMARK_PARAMETERS_MODEL_KEY + "=" + config.serializedBenchParams,
-                                    Constants.SYSTEM_URI_KEY + "=" + config.systemUri },
-                            null, null, config.id);
-                    if (containerId == null) {
-                        experimentStatus.addError(HobbitErrors.BenchmarkCreationError);
-                        throw new Exception("Couldn't create benchmark controller " + config.benchmarkUri);
-                    }
+                // start experiment timer/status
+                experimentStatus.startAbortionTimer(this, maxExecutionTime);
+                experimentStatus.setState(States.INIT);
 
-                    experimentStatus.setBenchmarkContainer(containerId);
-
-                    LOGGER.info("Creating system " + system.mainImage);
-                    String serializedSystemParams = getSerializedSystemParams(config, benchmark, system);
-                    containerId = controller.containerManager.startContainer(system.mainImage,
-                            Constants.CONTAINER_TYPE_SYSTEM, experimentStatus.getBenchmarkContainer(),
-                            new String[] { Constants.RABBIT_MQ_HOST_NAME_KEY + "=" + controller.rabbitMQHostName(),
-                                    Constants.HOBBIT_SESSION_ID_KEY + "=" + config.id,
-                                    Constants.SYSTEM_PARAMETERS_MODEL_KEY + "=" + serializedSystemParams },
-                            null, null, config.id);
-                    if (containerId == null) {
-                        LOGGER.error("Couldn't start the system. Trying to cancel the benchmark.");
-                        forceBenchmarkTerminate_unsecured(HobbitErrors.SystemCreationError);
-                        throw new Exception("Couldn't start the system " + config.systemUri);
-                    } else {
-                        experimentStatus.setSystemContainer(containerId);
-                    }
-                    LOGGER.info("Finished starting of new experiment.");
+                LOGGER.info("Creating benchmark controller " + benchmark.mainImage);
+                String containerId = controller.containerManager.startContainer(benchmark.mainImage,
+                        Constants.CONTAINER_TYPE_BENCHMARK, null,
+                        new String[] { Constants.RABBIT_MQ_HOST_NAME_KEY + "=" + controller.rabbitMQHostName(),
+                                Constants.HOBBIT_SESSION_ID_KEY + "=" + config.id,
+                                Constants.HOBBIT_EXPERIMENT_URI_KEY + "=" + experimentStatus.experimentUri,
+                                Constants.BENCHMARK_PARAMETERS_MODEL_KEY + "=" + config.serializedBenchParams,
+                                Constants.SYSTEM_URI_KEY + "=" + config.systemUri },
+                        null, null, config.id);
+                if (containerId == null) {
+                    experimentStatus.addError(HobbitErrors.BenchmarkCreationError);
+                    throw new Exception("Couldn't create benchmark controller " + config.benchmarkUri);
+                }
+
+                experimentStatus.setBenchmarkContainer(containerId);
+
+                LOGGER.info("Creating system " + system.mainImage);
+                String serializedSystemParams = getSerializedSystemParams(config, benchmark, system);
+                containerId = controller.containerManager.startContainer(system.mainImage,
+                        Constants.CONTAINER_TYPE_SYSTEM, experimentStatus.getBenchmarkContainer(),
+                        new String[] { Constants.RABBIT_MQ_HOST_NAME_KEY + "=" + controller.rabbitMQHostName(),
+                                Constants.HOBBIT_SESSION_ID_KEY + "=" + config.id,
+                                Constants.SYSTEM_PARAMETERS_MODEL_KEY + "=" + serializedSystemParams },
+                        null, null, config.id);
+                if (containerId == null) {
+                    LOGGER.error("Couldn't start the system. Trying to cancel the benchmark.");
+                    forceBenchmarkTerminate_unsecured(experimentStatus, HobbitErrors.SystemCreationError);
+                    throw new Exception("Couldn't start the system " + config.systemUri);
+                } else {
+                    experimentStatus.setSystemContainer(containerId);
                 }
+                LOGGER.info("Finished starting of new experiment.");
             } catch (Exception e) {
                 LOGGER.error("Exception while trying to start a new benchmark. Removing it from the queue.", e);
                 // Add an error if there is a model but no error was added
-                if (experimentStatus != null) {
-                    experimentStatus.addErrorIfNonPresent(HobbitErrors.UnexpectedError);
-                }
-                handleExperimentTermination_unsecured();
+                experimentStatus.addErrorIfNonPresent(HobbitErrors.UnexpectedError);
+                handleExperimentTermination_unsecured(experimentStatus);
             }
         }
     }
@@ -295,24 +547,131 @@ public class ExperimentManager implements Closeable {
         return RabbitMQUtils.writeModel2String(systemModel);
     }
 
-    protected void prefetchImages(BenchmarkMetaData benchmark, SystemMetaData system) throws Exception {
-        Set<String> usedImages = new HashSet<String>();
+    /**
+     * Pulls the images of the given benchmark and system in parallel using the
+     * {@link #imagePullExecutor}. The method returns when all images have been
+     * pulled or the {@link #imagePrefetchTimeout} has been reached. Images that
+     * couldn't be pulled are reported in the result model of the experiment. If
+     * a reused pull of the {@link ImagePrefetcher} is cancelled, the image is
+     * pulled again.
+     *
+     * @param experimentStatus
+     *            the status of the experiment the images belong to
+     * @param benchmark
+     *            the meta data of the benchmark
+     * @param system
+     *            the meta data of the system
+     */
+    protected void prefetchImages(ExperimentStatus experimentStatus, BenchmarkMetaData benchmark,
+            SystemMetaData system) throws Exception {
+        Set<String> usedImages = new LinkedHashSet<String>();
         usedImages.add(benchmark.mainImage);
-        usedImages.addAll(benchmark.usedImages);
+        if (benchmark.usedImages != null) {
+            usedImages.addAll(benchmark.usedImages);
+        }
         usedImages.add(system.mainImage);
-        usedImages.addAll(benchmark.usedImages);
+        if (system.usedImages != null) {
+            usedImages.addAll(system.usedImages);
+        }
         // pull all used images
+        Map<String, Future<Boolean>> pulls = new LinkedHashMap<>();
         for (String image : usedImages) {
             experimentStatus.addImage(image);
-            controller.containerManager.pullImage(image);
+            // reuse the pull of the image prefetcher if it is still running
+            Future<Boolean> pull = (controller.imagePrefetcher != null)
+                    ? controller.imagePrefetcher.getPendingPull(image)
+                    : null;
+            if (pull == null) {
+                pull = imagePullExecutor.submit(() -> controller.containerManager.pullImage(image));
+            }
+            pulls.put(image, pull);
+        }
+        long deadline = System.currentTimeMillis() + imagePrefetchTimeout;
+        for (Entry<String, Future<Boolean>> pull : pulls.entrySet()) {
+            waitForPull(experimentStatus, pull.getKey(), pull.getValue(), deadline, true);
         }
     }
 
     /**
-     * Sets the result model of the current running experiment by transforming the
+     * Waits for the given pull of an image until the given deadline and adds a
+     * failure to the result model of the experiment if the image couldn't be
+     * pulled.
+     *
+     * @param experimentStatus
+     *            the status of the experiment the image belongs to
+     * @param image
+     *            the name of the image
+     * @param pull
+     *            the pull of the image
+     * @param deadline
+     *            the time stamp until which the pull may take
+     * @param resubmitIfCancelled
+     *            if {@code true} the image is pulled again if the given pull
+     *            has been cancelled (e.g., by the {@link ImagePrefetcher})
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting
+     */
+    private void waitForPull(ExperimentStatus experimentStatus, String image, Future<Boolean> pull, long deadline,
+            boolean resubmitIfCancelled) throws InterruptedException {
+        try {
+            long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            if (!pull.get(remaining, TimeUnit.MILLISECONDS)) {
+                experimentStatus.addImagePullFailure(image, "The image couldn't be pulled.");
+            }
+        } catch (TimeoutException e) {
+            pull.cancel(true);
+            LOGGER.warn("Couldn't pull image {} within {}ms.", image, imagePrefetchTimeout);
+            experimentStatus.addImagePullFailure(image,
+                    "The image couldn't be pulled within " + imagePrefetchTimeout + "ms.");
+        } catch (ExecutionException e) {
+            LOGGER.warn("Exception while pulling image " + image + ".", e.getCause());
+            experimentStatus.addImagePullFailure(image, "Got an exception while pulling the image: " + e.getCause());
+        } catch (CancellationException e) {
+            if (resubmitIfCancelled) {
+                LOGGER.info("The pull of image {} has been cancelled. Pulling it again.", image);
+                waitForPull(experimentStatus, image,
+                        imagePullExecutor.submit(() -> controller.containerManager.pullImage(image)), deadline,
+                        false);
+            } else {
+                LOGGER.warn("The pull of image {} has been cancelled.", image);
+                experimentStatus.addImagePullFailure(image, "The pull of the image has been cancelled.");
+            }
+        }
+    }
+
+    /**
+     * Returns the status of the running experiment with the given session id or
+     * {@code null} if there is no such experiment.
+     *
+     * @param sessionId
+     *            the session id of the experiment
+     * @return the status of the experiment or {@code null}
+     */
+    public ExperimentStatus getExperimentStatus(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        return experimentStatuses.get(sessionId);
+    }
+
+    /**
+     * Returns the configurations of the currently running experiments.
+     *
+     * @return the configurations of the running experiments
+     */
+    public List<ExperimentConfiguration> getRunningExperiments() {
+        List<ExperimentConfiguration> configs = new ArrayList<>();
+        for (ExperimentStatus status : experimentStatuses.values()) {
+            configs.add(status.config);
+        }
+        return configs;
+    }
+
+    /**
+     * Sets the result model of the given running experiment by transforming the
      * given data into an RDF model using the given function while owning the
-     * {@link #experimentStatus} object and therefore blocking all other operations
-     * on that object.
+     * {@link ExperimentStatus} object of the experiment and therefore blocking
+     * all other operations on that object.
      *
      * @param sessionId
      *            the experiment ID to which the result model belongs to
@@ -323,152 +682,191 @@ public class ExperimentManager implements Closeable {
      *            RDF model
      */
     public void setResultModel(String sessionId, byte[] data, Function<? super byte[], ? extends Model> function) {
-        synchronized (experimentMutex) {
-            if ((experimentStatus != null) && (experimentStatus.config != null)
-                    && (sessionId.equals(experimentStatus.config.id))) {
-                setResultModel_unsecured(function.apply(data));
-            } else {
-                LOGGER.warn("Got result model for {} which is not running.", sessionId);
+        ExperimentStatus experimentStatus = getExperimentStatus(sessionId);
+        if (experimentStatus != null) {
+            synchronized (experimentStatus) {
+                experimentStatus.setOrMergeResultModel(function.apply(data));
             }
+        } else {
+            LOGGER.warn("Got result model for {} which is not running.", sessionId);
         }
     }
 
     /**
-     * Sets the result model of the current running experiment.
+     * Sets the result model of the current running experiment. Note that this
+     * method can only be used if exactly one experiment is running.
      *
      * @param model
      *            the result model
      */
     public void setResultModel(Model model) {
-        synchronized (experimentMutex) {
-            setResultModel_unsecured(model);
+        List<ExperimentStatus> statuses = new ArrayList<>(experimentStatuses.values());
+        if (statuses.size() == 1) {
+            ExperimentStatus experimentStatus = statuses.get(0);
+            synchronized (experimentStatus) {
+                experimentStatus.setOrMergeResultModel(model);
+            }
+        } else if (statuses.isEmpty()) {
+            LOGGER.error("Got a result model while there is no experiment running.");
+        } else {
+            LOGGER.error("Got a result model without a session id while several experiments are running.");
         }
     }
 
     /**
-     * Sets the result model of the current running experiment.
-     *
-     * @param model
-     *            the result model
+     * This method handles the storing of the experiment results in the database,
+     * the removing of the experiment from the queue and its closing in a
+     * synchronized way for all currently running experiments.
      */
-    private void setResultModel_unsecured(Model model) {
-        if (experimentStatus != null) {
-            experimentStatus.setOrMergeResultModel(model);
-        } else {
-            LOGGER.error("Got a result model while there is no experiment running.");
+    public void handleExperimentTermination() {
+        for (ExperimentStatus experimentStatus : new ArrayList<>(experimentStatuses.values())) {
+            synchronized (experimentStatus) {
+                handleExperimentTermination_unsecured(experimentStatus);
+            }
         }
     }
 
     /**
      * This method handles the storing of the experiment results in the database,
      * the removing of the experiment from the queue and its closing in a
-     * synchronized way.
+     * synchronized way for the experiment with the given session id.
+     *
+     * @param sessionId
+     *            the session id of the experiment that terminated
      */
-    public synchronized void handleExperimentTermination() {
-        synchronized (experimentMutex) {
-            handleExperimentTermination_unsecured();
+    public void handleExperimentTermination(String sessionId) {
+        ExperimentStatus experimentStatus = getExperimentStatus(sessionId);
+        if (experimentStatus != null) {
+            synchronized (experimentStatus) {
+                handleExperimentTermination_unsecured(experimentStatus);
+            }
         }
     }
 
-    private synchronized void handleExperimentTermination_unsecured() {
-        if (experimentStatus != null) {
-            LOGGER.info("Benchmark terminated. Experiment " + experimentStatus.config.id
-                    + " has been finished. Removing it from the queue and setting the config to null.");
-            // Close the experiment to stop its internal timer
-            IOUtils.closeQuietly(experimentStatus);
-            long endTimestamp = System.currentTimeMillis();
-            // TODO add information about the hardware
-
-            // Store the result model in DB
-            // choose the correct graph
-            String graphUri = Constants.PUBLIC_RESULT_GRAPH_URI;
-            if (experimentStatus.config.challengeUri != null) {
-                // check if challenge is repeatable (by selecting data from all graphs)
-                boolean repeatable = false;
-                Model challengeModel = controller.getChallengeFromUri(experimentStatus.config.challengeUri, null);
-                if (challengeModel != null) {
-                    Resource challenge = challengeModel.getResource(experimentStatus.config.challengeUri);
-                    repeatable = RdfHelper.getLiteral(challengeModel, challenge, HOBBIT.registrationCutoffDate) != null;
-                }
+    private void handleExperimentTermination_unsecured(ExperimentStatus experimentStatus) {
+        // make sure that the experiment is still known (it might have been handled
+        // by another thread while we were waiting for its lock)
+        if (!experimentStatuses.remove(experimentStatus.config.id, experimentStatus)) {
+            return;
+        }
+        // commands of this experiment won't be handled anymore
+        controller.commandRouter.remove(experimentStatus.config.id);
+        LOGGER.info("Benchmark terminated. Experiment " + experimentStatus.config.id
+                + " has been finished. Removing it from the queue and setting the config to null.");
+        // Close the experiment to stop its internal timer
+        IOUtils.closeQuietly(experimentStatus);
+        long endTimestamp = System.currentTimeMillis();
+        // TODO add information about the hardware
 
-                if (!repeatable) {
-                    graphUri = Constants.PRIVATE_RESULT_GRAPH_URI;
-                }
+        // Store the result model in DB
+        // choose the correct graph
+        String graphUri = Constants.PUBLIC_RESULT_GRAPH_URI;
+        if (experimentStatus.config.challengeUri != null) {
+            // check if challenge is repeatable (by selecting data from all graphs)
+            boolean repeatable = false;
+            Model challengeModel = controller.getChallengeFromUri(experimentStatus.config.challengeUri, null);
+            if (challengeModel != null) {
+                Resource challenge = challengeModel.getResource(experimentStatus.config.challengeUri);
+                repeatable = RdfHelper.getLiteral(challengeModel, challenge, HOBBIT.registrationCutoffDate) != null;
             }
 
-            // if cluster is not healthy add error message to experimentStatus
-            try {
-                ClusterManager clusterManager = this.controller.clusterManager;
-                boolean isHealthy = clusterManager.isClusterHealthy();
-                if (!isHealthy) {
-                    LOGGER.error("Cluster became unhealthy during the experiment! Some nodes are down."
-                            + " Expected number of nodes: " + clusterManager.getExpectedNumberOfNodes()
-                            + " Current number of nodes: " + clusterManager.getNumberOfNodes());
-
-                    experimentStatus.addError(HobbitErrors.ClusterNotHealthy);
-                }
-            } catch (DockerException e) {
-                LOGGER.error("Could not get cluster health status. ", e);
-            } catch (InterruptedException e) {
-                LOGGER.error("Interrupted. Could not get cluster health status. ", e);
+            if (!repeatable) {
+                graphUri = Constants.PRIVATE_RESULT_GRAPH_URI;
             }
+        }
 
-            Model resultModel = experimentStatus.getResultModel();
-            if (resultModel == null) {
-                experimentStatus.addError(HobbitErrors.UnexpectedError);
-                resultModel = experimentStatus.getResultModel();
-            }
-            SetupHardwareInformation hardwareInformation = null;
-            try {
-                hardwareInformation = controller.resInfoCollector.getHardwareInformation();
-            } catch (Exception e) {
-                LOGGER.error("Could not retrieve hardware information.", e);
+        // if cluster is not healthy add error message to experimentStatus
+        try {
+            ClusterManager clusterManager = this.controller.clusterManager;
+            boolean isHealthy = clusterManager.isClusterHealthy();
+            if (!isHealthy) {
+                LOGGER.error("Cluster became unhealthy during the experiment! Some nodes are down."
+                        + " Expected number of nodes: " + clusterManager.getExpectedNumberOfNodes()
+                        + " Current number of nodes: " + clusterManager.getNumberOfNodes());
+
+                experimentStatus.addError(HobbitErrors.ClusterNotHealthy);
             }
-            experimentStatus.addMetaDataToResult(controller.imageManager(), endTimestamp, hardwareInformation);
+        } catch (DockerException e) {
+            LOGGER.error("Could not get cluster health status. ", e);
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted. Could not get cluster health status. ", e);
+        }
 
-            // Send insert query
-            if (!controller.storage().sendInsertQuery(resultModel, graphUri)) {
-                if (resultModel != null) {
-                    StringWriter writer = new StringWriter();
-                    resultModel.write(writer, "TTL");
-                    LOGGER.error("Error while storing the result model of the experiment. Logging it: ",
-                            writer.toString().replace('\n', ' '));
-                }
+        Model resultModel = experimentStatus.getResultModel();
+        if (resultModel == null) {
+            experimentStatus.addError(HobbitErrors.UnexpectedError);
+            resultModel = experimentStatus.getResultModel();
+        }
+        SetupHardwareInformation hardwareInformation = null;
+        try {
+            hardwareInformation = controller.resInfoCollector.getHardwareInformation();
+        } catch (Exception e) {
+            LOGGER.error("Could not retrieve hardware information.", e);
+        }
+        experimentStatus.addMetaDataToResult(controller.imageManager(), endTimestamp, hardwareInformation);
+
+        // Send insert query
+        if (!controller.storage().sendInsertQuery(resultModel, graphUri)) {
+            if (resultModel != null) {
+                StringWriter writer = new StringWriter();
+                resultModel.write(writer, "TTL");
+                LOGGER.error("Error while storing the result model of the experiment. Logging it: ",
+                        writer.toString().replace('\n', ' '));
             }
-            // We have to remove the config from the queue
-            controller.queue.remove(experimentStatus.config);
-            // Send experiment URI to the analysis component if the result is public
-            if (graphUri.equals(Constants.PUBLIC_RESULT_GRAPH_URI)) {
-                try {
-                    controller.analyzeExperiment(experimentStatus.experimentUri);
-                    LOGGER.info("Sent {} to the analysis component.", experimentStatus.experimentUri);
-                } catch (IOException e) {
-                    LOGGER.error("Could not send task \"{}\" to AnalyseQueue.",
-                            experimentStatus.getConfig().challengeTaskUri);
-                }
+        }
+        // We have to remove the config from the queue
+        controller.queue.remove(experimentStatus.config);
+        // Only the runtimes of successful experiments are representative
+        if (!experimentStatus.hasError()) {
+            controller.queue.experimentFinished(experimentStatus.config,
+                    endTimestamp - experimentStatus.getStartTimeStamp());
+        }
+        // Send experiment URI to the analysis component if the result is public
+        if (graphUri.equals(Constants.PUBLIC_RESULT_GRAPH_URI)) {
+            try {
+                controller.analyzeExperiment(experimentStatus.experimentUri);
+                LOGGER.info("Sent {} to the analysis component.", experimentStatus.experimentUri);
+            } catch (IOException e) {
+                LOGGER.error("Could not send task \"{}\" to AnalyseQueue.",
+                        experimentStatus.getConfig().challengeTaskUri);
             }
-            // publish experiment results (if needed)
-            // controller.publishChallengeForExperiment(experimentStatus.config);
-            // Remove the experiment status object
-            experimentStatus = null;
         }
+        // publish experiment results (if needed)
+        // controller.publishChallengeForExperiment(experimentStatus.config);
+        // The resources of the experiment are free, check whether the next one can be started
+        triggerExperimentStart();
     }
 
     /**
-     * Forces the benchmark controller and its child containers to terminate. If the
-     * given error is not <code>null</code> it is added to the result model of the
-     * experiment.
+     * Forces the benchmark controller and its child containers of the given
+     * experiment to terminate. If the given error is not <code>null</code> it is
+     * added to the result model of the experiment.
      *
+     * @param experimentStatus
+     *            the status of the experiment that should be terminated
      * @param error
      *            error that is added to the result model of the experiment
      */
-    private void forceBenchmarkTerminate_unsecured(Resource error) {
-        if (experimentStatus != null) {
-            String parent = experimentStatus.getBenchmarkContainer();
-            controller.containerManager.removeParentAndChildren(parent);
-            if (error != null) {
-                experimentStatus.addError(error);
+    private void forceBenchmarkTerminate_unsecured(ExperimentStatus experimentStatus, Resource error) {
+        String parent = experimentStatus.getBenchmarkContainer();
+        Map<String, RemovalOutcome> outcomes = controller.containerManager.removeParentAndChildren(parent);
+        for (Entry<String, RemovalOutcome> outcome : outcomes.entrySet()) {
+            switch (outcome.getValue()) {
+            case FAILED: // falls through
+            case TIMED_OUT: {
+                LOGGER.warn("Container {} of experiment {} couldn't be removed ({}).", outcome.getKey(),
+                        experimentStatus.config.id, outcome.getValue());
+                break;
             }
+            default: {
+                LOGGER.debug("Container {} of experiment {}: {}", outcome.getKey(), experimentStatus.config.id,
+                        outcome.getValue());
+                break;
+            }
+            }
+        }
+        if (error != null) {
+            experimentStatus.addError(error);
         }
     }
 
@@ -483,29 +881,13 @@ public class ExperimentManager implements Closeable {
      */
     public void notifyTermination(String containerId, int exitCode) {
         boolean consumed = false;
-        synchronized (experimentMutex) {
-            if (experimentStatus != null) {
-                // If this container is the benchmark controller of the
-                // current
-                // experiment
-                if (containerId.equals(experimentStatus.getBenchmarkContainer())) {
-                    experimentStatus.setState(ExperimentStatus.States.STOPPED);
-                    if (exitCode != 0) {
-                        LOGGER.warn("The benchmark container " + experimentStatus.getBenchmarkContainer()
-                                + " terminated with an exit code != 0.");
-                        experimentStatus.addErrorIfNonPresent(HobbitErrors.BenchmarkCrashed);
-                    }
-                    handleExperimentTermination_unsecured();
-                    // If this is the system container and benchmark and
-                    // system are not running
-                    consumed = true;
-                } else if (containerId.equals(experimentStatus.getSystemContainer())
-                        && (experimentStatus.getState() == ExperimentStatus.States.INIT)) {
-                    LOGGER.info("The system has been stopped before the benchmark has been started. Aborting.");
-                    // Cancel the experiment
-                    forceBenchmarkTerminate_unsecured(HobbitErrors.SystemCrashed);
-                    consumed = true;
-                }
+        for (ExperimentStatus experimentStatus : experimentStatuses.values()) {
+            // If this container is the benchmark controller or the system of the
+            // experiment
+            if (containerId.equals(experimentStatus.getBenchmarkContainer())
+                    || containerId.equals(experimentStatus.getSystemContainer())) {
+                consumed = notifyTermination(experimentStatus, containerId, exitCode);
+                break;
             }
         }
         if (!consumed) {
@@ -532,6 +914,38 @@ public class ExperimentManager implements Closeable {
         }
     }
 
+    /**
+     * Handles the termination of the container with the given container Id and the
+     * given exit code if it is the benchmark controller or the system of the given
+     * experiment.
+     *
+     * @return {@code true} if the termination has been consumed by the experiment
+     */
+    private boolean notifyTermination(ExperimentStatus experimentStatus, String containerId, int exitCode) {
+        synchronized (experimentStatus) {
+            // If this container is the benchmark controller of the experiment
+            if (containerId.equals(experimentStatus.getBenchmarkContainer())) {
+                experimentStatus.setState(ExperimentStatus.States.STOPPED);
+                if (exitCode != 0) {
+                    LOGGER.warn("The benchmark container " + experimentStatus.getBenchmarkContainer()
+                            + " terminated with an exit code != 0.");
+                    experimentStatus.addErrorIfNonPresent(HobbitErrors.BenchmarkCrashed);
+                }
+                handleExperimentTermination_unsecured(experimentStatus);
+                return true;
+                // If this is the system container and benchmark and
+                // system are not running
+            } else if (containerId.equals(experimentStatus.getSystemContainer())
+                    && (experimentStatus.getState() == ExperimentStatus.States.INIT)) {
+                LOGGER.info("The system has been stopped before the benchmark has been started. Aborting.");
+                // Cancel the experiment
+                forceBenchmarkTerminate_unsecured(experimentStatus, HobbitErrors.SystemCrashed);
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Handles the messages that either the system or the benchmark controller are
      * ready.
@@ -539,44 +953,47 @@ public class ExperimentManager implements Closeable {
      * @param systemReportedReady
      *            <code>true</code> if the message was sent by the system,
      *            <code>false</code> if the benchmark controller is ready
+     * @param sessionId
+     *            the session id of the experiment the message belongs to
      */
     public void systemOrBenchmarkReady(boolean systemReportedReady, String sessionId) {
-        synchronized (experimentMutex) {
-            if ((experimentStatus != null) && (experimentStatus.config != null)
-                    && (sessionId.equals(experimentStatus.config.id))) {
-                // If there is an experiment waiting with the state INIT and if
-                // both - system and benchmark are ready
-                if ((experimentStatus != null) && (experimentStatus.setReadyAndCheck(systemReportedReady)
-                        && (experimentStatus.getState() == ExperimentStatus.States.INIT))) {
+        ExperimentStatus experimentStatus = getExperimentStatus(sessionId);
+        if (experimentStatus == null) {
+            LOGGER.warn("Got a ready message for benchmark or system of {} which is not running.", sessionId);
+            return;
+        }
+        synchronized (experimentStatus) {
+            // If there is an experiment waiting with the state INIT and if
+            // both - system and benchmark are ready
+            if (experimentStatus.setReadyAndCheck(systemReportedReady)
+                    && (experimentStatus.getState() == ExperimentStatus.States.INIT)) {
+                try {
+                    startBenchmark_unsecured(experimentStatus);
+                } catch (IOException e) {
+                    // Let's retry this
                     try {
-                        startBenchmark_unsecured();
-                    } catch (IOException e) {
-                        // Let's retry this
-                        try {
-                            startBenchmark_unsecured();
-                        } catch (IOException e2) {
-                            LOGGER.error(
-                                    "Couldn't sent start signal to the benchmark controller. Terminating experiment.",
-                                    e2);
-                            // We have to terminate the experiment
-                            forceBenchmarkTerminate_unsecured(HobbitErrors.UnexpectedError);
-                        }
+                        startBenchmark_unsecured(experimentStatus);
+                    } catch (IOException e2) {
+                        LOGGER.error(
+                                "Couldn't sent start signal to the benchmark controller. Terminating experiment.",
+                                e2);
+                        // We have to terminate the experiment
+                        forceBenchmarkTerminate_unsecured(experimentStatus, HobbitErrors.UnexpectedError);
                     }
                 }
-            } else {
-                LOGGER.warn("Got a ready message for benchmark or system of {} which is not running.", sessionId);
             }
         }
     }
 
     /**
-     * Sends the start message to the benchmark controller.
+     * Sends the start message to the benchmark controller of the given
+     * experiment.
      *
      * @throws IOException
      *             if there is a communication problem or if the name of the system
      *             container can not be retrieved from the docker daemon
      */
-    private void startBenchmark_unsecured() throws IOException {
+    private void startBenchmark_unsecured(ExperimentStatus experimentStatus) throws IOException {
         String containerName = controller.containerManager.getContainerName(experimentStatus.getSystemContainer());
         if (containerName == null) {
             throw new IOException(
@@ -596,18 +1013,36 @@ public class ExperimentManager implements Closeable {
     }
 
     /**
-     * Adds the status of the current experiment to the given status object.
+     * Adds the status of the running experiments to the given status object. The
+     * experiment that has been started first is added as the running experiment
+     * of the status.
      *
      * @param status
      *            the status object to which the data should be added
      */
     public void addStatusInfo(ControllerStatus status, String userName) {
-        // copy the pointer to the experiment status to make sure that we can
-        // read it even if another thread sets the pointer to null. This gives
-        // us the possibility to read the status without acquiring the
-        // experimentMutex.
-        ExperimentStatus currentStatus = experimentStatus;
-        if (currentStatus != null) {
+        List<RunningExperiment> experiments = getRunningExperimentInfos(userName);
+        if (!experiments.isEmpty()) {
+            status.experiment = experiments.get(0);
+        }
+    }
+
+    /**
+     * Returns the status of all running experiments sorted by the time at which
+     * they have been started.
+     *
+     * @param userName
+     *            the name of the user requesting the status
+     * @return the status of the running experiments
+     */
+    public List<RunningExperiment> getRunningExperimentInfos(String userName) {
+        // work on a copy of the status objects to make sure that we can read them
+        // even if another thread removes them. This gives us the possibility to read
+        // the status without acquiring any lock.
+        List<ExperimentStatus> currentStatuses = new ArrayList<>(experimentStatuses.values());
+        currentStatuses.sort(Comparator.comparingLong(ExperimentStatus::getStartTimeStamp));
+        List<RunningExperiment> experiments = new ArrayList<>(currentStatuses.size());
+        for (ExperimentStatus currentStatus : currentStatuses) {
             ExperimentConfiguration config = currentStatus.getConfig();
             RunningExperiment experiment = new RunningExperiment();
             if (config != null) {
@@ -625,22 +1060,23 @@ public class ExperimentManager implements Closeable {
             if (exState != null) {
                 experiment.status = exState.description;
             }
-            status.experiment = experiment;
+            experiments.add(experiment);
         }
+        return experiments;
     }
 
     /**
-     * Changes the state of the internal experiment to
+     * Changes the state of the given experiment to
      * {@link ExperimentStatus.States#EVALUATION}.
      */
     public void taskGenFinished(String sessionId) {
-        synchronized (experimentMutex) {
-            if ((experimentStatus != null) && (experimentStatus.config != null)
-                    && (sessionId.equals(experimentStatus.config.id))) {
+        ExperimentStatus experimentStatus = getExperimentStatus(sessionId);
+        if (experimentStatus != null) {
+            synchronized (experimentStatus) {
                 experimentStatus.setState(ExperimentStatus.States.EVALUATION);
-            } else {
-                LOGGER.warn("Got a taskGenFinished message of {} which is not running.", sessionId);
             }
+        } else {
+            LOGGER.warn("Got a taskGenFinished message of {} which is not running.", sessionId);
         }
     }
 
@@ -650,43 +1086,43 @@ public class ExperimentManager implements Closeable {
      *
      * @param expiredState
      *            the experiment status the timer was working on which is used to
-     *            make sure that the timer was started for the currently running
+     *            make sure that the timer was started for a currently running
      *            experiment.
      */
     public void notifyExpRuntimeExpired(ExperimentStatus expiredState) {
         Objects.requireNonNull(expiredState);
-        synchronized (experimentMutex) {
-            // If this is the currently running experiment
-            if ((experimentStatus != null) && (expiredState.experimentUri.equals(expiredState.experimentUri))) {
+        ExperimentStatus experimentStatus = getExperimentStatus(expiredState.config.id);
+        // If this is a currently running experiment
+        if (experimentStatus == expiredState) {
+            synchronized (experimentStatus) {
                 // If the experiment hasn't been stopped
                 if (experimentStatus.getState() != States.STOPPED) {
                     LOGGER.error("The experiment {} took too much time. Forcing termination.",
                             experimentStatus.experimentUri);
-                    forceBenchmarkTerminate_unsecured(HobbitErrors.ExperimentTookTooMuchTime);
+                    forceBenchmarkTerminate_unsecured(experimentStatus, HobbitErrors.ExperimentTookTooMuchTime);
                 }
-            } else {
-                LOGGER.warn(
-                        "Got a timeout notification for an experiment that does not match the current experiment. It will be ignored.");
             }
+        } else {
+            LOGGER.warn(
+                    "Got a timeout notification for an experiment that does not match a running experiment. It will be ignored.");
         }
     }
 
     /**
-     * Stops the currently running experiment if it has the given experiment id.
+     * Stops the running experiment with the given experiment id.
      *
      * @param experimentId
      *            the id of the experiment that should be stopped
      */
     public void stopExperimentIfRunning(String experimentId) {
-        synchronized (experimentMutex) {
-            // If this is the currently running experiment
-            if ((experimentStatus != null) && (experimentStatus.config != null)
-                    && (experimentStatus.config.id.equals(experimentId))) {
+        ExperimentStatus experimentStatus = getExperimentStatus(experimentId);
+        if (experimentStatus != null) {
+            synchronized (experimentStatus) {
                 // If the experiment hasn't been stopped
                 if (experimentStatus.getState() != States.STOPPED) {
                     LOGGER.error("The experiment {} was stopped by the user. Forcing termination.",
                             experimentStatus.experimentUri);
-                    forceBenchmarkTerminate_unsecured(HobbitErrors.TerminatedByUser);
+                    forceBenchmarkTerminate_unsecured(experimentStatus, HobbitErrors.TerminatedByUser);
                 }
             }
         }
@@ -694,19 +1130,16 @@ public class ExperimentManager implements Closeable {
 
     @Override
     public void close() throws IOException {
-        expStartTimer.cancel();
+        expStartExecutor.shutdownNow();
+        expRunExecutor.shutdownNow();
+        imagePullExecutor.shutdownNow();
     }
 
     public boolean isExpRunning(String sessionId) {
-        // copy the pointer to the experiment status to make sure that we can
-        // read it even if another thread sets the pointer to null. This gives
-        // us the possibility to read the status without acquiring the
-        // experimentMutex.
-        ExperimentStatus currentStatus = experimentStatus;
+        ExperimentStatus currentStatus = getExperimentStatus(sessionId);
         // Make sure that there is an experiment running with the given ID and that has
         // not been already stopped
-        return (currentStatus != null) && (currentStatus.config != null) && (sessionId.equals(currentStatus.config.id))
-                && (currentStatus.getState() != States.STOPPED);
+        return (currentStatus != null) && (currentStatus.getState() != States.STOPPED);
     }
 
     public void setController(PlatformController controller) {
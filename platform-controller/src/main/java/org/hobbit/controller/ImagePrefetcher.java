@@ -0,0 +1,250 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hobbit.controller.data.ExperimentConfiguration;
+import org.hobbit.core.data.ImageMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class pulls the images of the experiments that are waiting in the queue
+ * in the background. It looks at the next {@link #lookAhead} experiments that
+ * are not running yet (in the order in which the scheduling policy of the queue
+ * would start them) and pulls their images using a bounded number of threads.
+ * If an experiment is removed from the queue, the pulls of its images
+ * that haven't finished are cancelled (as long as no other upcoming experiment
+ * needs the same image).
+ */
+public class ImagePrefetcher implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImagePrefetcher.class);
+
+    /**
+     * Key of the environmental variable used to define the number of queued
+     * experiments whose images are prefetched. 0 disables the prefetching.
+     */
+    public static final String PREFETCH_LOOK_AHEAD_KEY = "PREFETCH_LOOK_AHEAD";
+    /**
+     * Default number of queued experiments whose images are prefetched.
+     */
+    private static final int DEFAULT_PREFETCH_LOOK_AHEAD = 2;
+    /**
+     * Key of the environmental variable used to define the maximum number of
+     * images that are prefetched in parallel.
+     */
+    public static final String PREFETCH_MAX_PARALLEL_PULLS_KEY = "PREFETCH_MAX_PARALLEL_PULLS";
+    /**
+     * Default maximum number of images that are prefetched in parallel.
+     */
+    private static final int DEFAULT_PREFETCH_MAX_PARALLEL_PULLS = 2;
+    /**
+     * Time interval with which the prefetcher checks the queue regardless of
+     * triggers.
+     */
+    public static final long PREFETCH_CHECK_INTERVAL = 10000;
+
+    /**
+     * The controller this prefetcher belongs to.
+     */
+    private PlatformController controller;
+    /**
+     * Number of queued experiments whose images are prefetched.
+     */
+    private int lookAhead = DEFAULT_PREFETCH_LOOK_AHEAD;
+    /**
+     * Executor that checks the queue.
+     */
+    private ScheduledExecutorService checkExecutor;
+    /**
+     * Executor that pulls the images.
+     */
+    private ExecutorService pullExecutor;
+    /**
+     * Pulls of the images that are needed by upcoming experiments mapped to the
+     * image names.
+     */
+    private Map<String, Future<Boolean>> pulls = new ConcurrentHashMap<>();
+    /**
+     * Flag indicating whether a triggered check is already waiting for its
+     * execution.
+     */
+    private AtomicBoolean checkRequested = new AtomicBoolean(false);
+
+    public ImagePrefetcher(PlatformController controller) {
+        this.controller = controller;
+        int maxParallelPulls = DEFAULT_PREFETCH_MAX_PARALLEL_PULLS;
+        try {
+            if (System.getenv().containsKey(PREFETCH_LOOK_AHEAD_KEY)) {
+                lookAhead = Math.max(0, Integer.parseInt(System.getenv().get(PREFETCH_LOOK_AHEAD_KEY)));
+            }
+            if (System.getenv().containsKey(PREFETCH_MAX_PARALLEL_PULLS_KEY)) {
+                maxParallelPulls = Math.max(1,
+                        Integer.parseInt(System.getenv().get(PREFETCH_MAX_PARALLEL_PULLS_KEY)));
+            }
+        } catch (NumberFormatException e) {
+            LOGGER.error("Could not parse the prefetching configuration. Using default values.", e);
+        }
+        checkExecutor = Executors.newSingleThreadScheduledExecutor();
+        pullExecutor = Executors.newFixedThreadPool(maxParallelPulls);
+        if (lookAhead > 0) {
+            LOGGER.info("The images of the next {} experiment(s) will be prefetched using up to {} thread(s).",
+                    lookAhead, maxParallelPulls);
+            checkExecutor.scheduleWithFixedDelay(this::check, PREFETCH_CHECK_INTERVAL, PREFETCH_CHECK_INTERVAL,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Triggers an asynchronous check of the queue, e.g., after an experiment
+     * has been added to or removed from the queue. Several triggers that arrive
+     * while a check is waiting for its execution are merged.
+     */
+    public void trigger() {
+        if ((lookAhead > 0) && checkRequested.compareAndSet(false, true)) {
+            try {
+                checkExecutor.execute(() -> {
+                    checkRequested.set(false);
+                    check();
+                });
+            } catch (RejectedExecutionException e) {
+                // the prefetcher has been closed
+                checkRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Determines the images of the upcoming experiments, starts the pulls of
+     * images that haven't been pulled and cancels pulls of images that are not
+     * needed anymore.
+     */
+    protected void check() {
+        if (controller.queue == null) {
+            return;
+        }
+        try {
+            Set<String> neededImages = getNeededImages();
+            // cancel the pulls of images that are not needed anymore
+            Iterator<Entry<String, Future<Boolean>>> iterator = pulls.entrySet().iterator();
+            Entry<String, Future<Boolean>> pull;
+            while (iterator.hasNext()) {
+                pull = iterator.next();
+                if (!neededImages.contains(pull.getKey())) {
+                    if (pull.getValue().cancel(true)) {
+                        LOGGER.info("Cancelled prefetching of {}.", pull.getKey());
+                    }
+                    iterator.remove();
+                }
+            }
+            // start the pulls of new images
+            for (String image : neededImages) {
+                pulls.computeIfAbsent(image, i -> pullExecutor.submit(() -> {
+                    LOGGER.debug("Prefetching {}.", i);
+                    return controller.containerManager.pullImage(i);
+                }));
+            }
+        } catch (RejectedExecutionException e) {
+            // the prefetcher has been closed
+        } catch (Exception e) {
+            LOGGER.error("Exception while prefetching images. Will try again later.", e);
+        }
+    }
+
+    /**
+     * Determines the images of the experiments that are running or are among
+     * the next {@link #lookAhead} experiments that would be started. The images
+     * of all running experiments are kept to make sure that their pulls are not
+     * cancelled while the experiments are initialized.
+     *
+     * @return the images needed by the running and upcoming experiments
+     */
+    protected Set<String> getNeededImages() {
+        Set<String> images = new LinkedHashSet<>();
+        Set<String> runningIds = new HashSet<>();
+        if (controller.expManager != null) {
+            for (ExperimentConfiguration config : controller.expManager.getRunningExperiments()) {
+                runningIds.add(config.id);
+                addImages(config, images);
+            }
+        }
+        for (ExperimentConfiguration config : controller.queue.listNextExperiments(runningIds, lookAhead)) {
+            addImages(config, images);
+        }
+        return images;
+    }
+
+    private void addImages(ExperimentConfiguration config, Set<String> images) {
+        try {
+            addImages(controller.imageManager().getBenchmark(config.benchmarkUri), images);
+            addImages(controller.imageManager().getSystem(config.systemUri), images);
+        } catch (Exception e) {
+            LOGGER.warn("Couldn't get the meta data of experiment {}. Its images won't be prefetched.", config.id);
+        }
+    }
+
+    private static void addImages(ImageMetaData metaData, Set<String> images) {
+        if (metaData == null) {
+            return;
+        }
+        if (metaData.mainImage != null) {
+            images.add(metaData.mainImage);
+        }
+        if (metaData.usedImages != null) {
+            images.addAll(metaData.usedImages);
+        }
+    }
+
+    /**
+     * Returns the prefetching of the given image if it has been started and has
+     * not finished, yet. Otherwise, {@code null} is returned.
+     *
+     * @param image
+     *            the name of the image
+     * @return the running pull of the image or {@code null}
+     */
+    public Future<Boolean> getPendingPull(String image) {
+        Future<Boolean> pull = pulls.get(image);
+        if ((pull == null) || pull.isDone()) {
+            return null;
+        }
+        return pull;
+    }
+
+    @Override
+    public void close() throws IOException {
+        checkExecutor.shutdownNow();
+        pullExecutor.shutdownNow();
+    }
+}
@@ -20,19 +20,25 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.Charsets;
 import org.apache.commons.io.IOUtils;
 import org.apache.jena.query.Dataset;
 import org.apache.jena.query.DatasetFactory;
@@ -44,14 +50,17 @@ import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.ResIterator;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.vocabulary.RDF;
+import org.hobbit.controller.ExperimentCommandRouter.ExperimentCommandHandler;
 import org.hobbit.controller.analyze.ExperimentAnalyzer;
 import org.hobbit.controller.data.ExperimentConfiguration;
+import org.hobbit.controller.data.ExperimentStatus;
+import org.hobbit.controller.data.PagedControllerStatus;
 import org.hobbit.controller.docker.ClusterManager;
 import org.hobbit.controller.docker.ClusterManagerImpl;
 import org.hobbit.controller.docker.ContainerManager;
 import org.hobbit.controller.docker.ContainerManagerImpl;
 import org.hobbit.controller.docker.ContainerStateObserver;
-import org.hobbit.controller.docker.ContainerStateObserverImpl;
+import org.hobbit.controller.docker.EventBasedContainerStateObserver;
 import org.hobbit.controller.docker.ContainerTerminationCallback;
 import org.hobbit.controller.docker.FileBasedImageManager;
 import org.hobbit.controller.docker.GitlabBasedImageManager;
@@ -62,6 +71,7 @@ import org.hobbit.controller.docker.ResourceInformationCollectorImpl;
 import org.hobbit.controller.front.FrontEndApiHandler;
 import org.hobbit.controller.queue.ExperimentQueue;
 import org.hobbit.controller.queue.ExperimentQueueImpl;
+import org.hobbit.controller.utils.Waiting;
 import org.hobbit.core.Commands;
 import org.hobbit.core.Constants;
 import org.hobbit.core.FrontEndApiCommands;
@@ -70,7 +80,6 @@ import org.hobbit.core.data.BenchmarkMetaData;
 import org.hobbit.core.data.StartCommandData;
 import org.hobbit.core.data.StopCommandData;
 import org.hobbit.core.data.SystemMetaData;
-import org.hobbit.core.data.status.ControllerStatus;
 import org.hobbit.core.data.status.QueuedExperiment;
 import org.hobbit.core.data.status.RunningExperiment;
 import org.hobbit.core.data.usage.ResourceUsageInformation;
@@ -145,6 +154,32 @@ public class PlatformController extends AbstractCommandReceivingComponent
      * Environmental variable key for the local metadata directory.
      */
     private static final String LOCAL_METADATA_DIR_KEY = "LOCAL_METADATA_DIRECTORY";
+    /**
+     * Key of the environmental variable used to define the maximum number of
+     * containers that are created in parallel.
+     */
+    public static final String CONTAINER_START_PARALLELISM_KEY = "CONTAINER_START_PARALLELISM";
+    /**
+     * Default maximum number of containers that are created in parallel.
+     */
+    private static final int DEFAULT_CONTAINER_START_PARALLELISM = 8;
+    /**
+     * Maximum number of container start requests that wait for a free thread.
+     * If this number is reached, the thread receiving the commands creates the
+     * container itself, i.e., it stops consuming further commands until the
+     * container has been created.
+     */
+    private static final int MAX_WAITING_CONTAINER_STARTS = 256;
+
+    /**
+     * Command of the front end API requesting the addition of several
+     * experiments to the queue. It is followed by the name of the user and a
+     * sequence of benchmark URI, system URI and serialized benchmark parameters
+     * triples. The response is a JSON array containing the ids of the created
+     * experiments. The command is not part of {@link FrontEndApiCommands},
+     * i.e., its value has to be kept in sync with the front end.
+     */
+    public static final byte ADD_EXPERIMENT_CONFIGURATIONS = 0x20;
 
     /**
      * Time interval after which challenges are checked for being published.
@@ -200,6 +235,10 @@ public class PlatformController extends AbstractCommandReceivingComponent
      * Manager used to handle currently running experiments.
      */
     protected ExperimentManager expManager;
+    /**
+     * Prefetches the images of the experiments waiting in the queue.
+     */
+    protected ImagePrefetcher imagePrefetcher;
     /**
      * Client of resource information collector service.
      */
@@ -217,12 +256,45 @@ public class PlatformController extends AbstractCommandReceivingComponent
      * Name of the RabbitMQ broker used for experiments.
      */
     protected String rabbitMQExperimentsHostName;
+    /**
+     * Executor that creates the containers requested by the benchmarks and
+     * systems.
+     */
+    protected ThreadPoolExecutor containerStartExecutor;
+    /**
+     * Routes the commands of the running experiments to their handlers.
+     */
+    protected ExperimentCommandRouter commandRouter = new ExperimentCommandRouter(
+            sessionId -> (expManager == null) ? null : expManager.getExperimentStatus(sessionId));
 
     /**
      * Default constructor.
      */
     public PlatformController() {
         super(true);
+        int parallelism = DEFAULT_CONTAINER_START_PARALLELISM;
+        if (System.getenv().containsKey(CONTAINER_START_PARALLELISM_KEY)) {
+            try {
+                parallelism = Math.max(1, Integer.parseInt(System.getenv().get(CONTAINER_START_PARALLELISM_KEY)));
+            } catch (NumberFormatException e) {
+                LOGGER.error("Could not parse {}. Using default value {}.", CONTAINER_START_PARALLELISM_KEY,
+                        DEFAULT_CONTAINER_START_PARALLELISM);
+            }
+        }
+        containerStartExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_WAITING_CONTAINER_STARTS), runnable -> {
+                    Thread thread = new Thread(runnable, "container-start");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (runnable, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException();
+                    }
+                    // too many waiting starts, i.e., the receiving thread
+                    // creates the container itself
+                    runnable.run();
+                });
+        containerStartExecutor.allowCoreThreadTimeOut(true);
     }
 
     /**
@@ -270,10 +342,11 @@ public class PlatformController extends AbstractCommandReceivingComponent
         }
 
         // create container manager
-        containerManager = new ContainerManagerImpl();
+        containerManager = new ContainerManagerImpl(clusterManager);
         LOGGER.debug("Container manager initialized.");
-        // Create container observer (polls status every 5s)
-        containerObserver = new ContainerStateObserverImpl(containerManager, 5 * 1000);
+        // Create container observer (listens for Docker events and reconciles
+        // the status every 5s)
+        containerObserver = new EventBasedContainerStateObserver(containerManager, 5 * 1000);
         containerObserver.addTerminationCallback(this);
         // Tell the manager to add container to the observer
         containerManager.addContainerObserver(containerObserver);
@@ -311,6 +384,7 @@ public class PlatformController extends AbstractCommandReceivingComponent
         if (expManager == null) {
             expManager = new ExperimentManager(this);
         }
+        imagePrefetcher = new ImagePrefetcher(this);
 
         // schedule challenges re-publishing
         challengeCheckTimer = new Timer();
@@ -394,6 +468,25 @@ public class PlatformController extends AbstractCommandReceivingComponent
      *            command: Start container:
      */
     public void receiveCommand(byte command, byte[] data, String sessionId, AMQP.BasicProperties props) {
+        receiveCommand(command, (data != null) ? ByteBuffer.wrap(data) : null, sessionId, props);
+    }
+
+    /**
+     * Handles incoming command request from the hobbit command queue. The data
+     * of the command is given as buffer to avoid copying it out of the
+     * received message.
+     *
+     * @param command
+     *            command to be executed
+     * @param data
+     *            byte-encoded supplementary json for the command (from the
+     *            position to the limit of the buffer)
+     * @param sessionId
+     *            the session id of the experiment the command belongs to
+     * @param props
+     *            the properties of the received message
+     */
+    protected void receiveCommand(byte command, ByteBuffer data, String sessionId, AMQP.BasicProperties props) {
         String replyTo = null;
         if (props != null) {
             replyTo = props.getReplyTo();
@@ -401,53 +494,37 @@ public class PlatformController extends AbstractCommandReceivingComponent
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.info("received command: session={}, command={}, data={}", sessionId, Commands.toString(command),
-                    data != null ? RabbitMQUtils.readString(data) : "null");
+                    data != null ? decodeString(data) : "null");
         } else {
             LOGGER.info("received command: session={}, command={}", sessionId, Commands.toString(command));
         }
         // This command will receive data from Rabbit
         // determine the command
+        ExperimentCommandHandler handler = commandRouter.getHandler(sessionId);
         switch (command) {
         case Commands.DOCKER_CONTAINER_START: {
-            StartCommandData startParams = null;
-            String containerName = "";
-            if (expManager.isExpRunning(sessionId)) {
+            if ((handler != null) && handler.isRunning()) {
                 // Convert data byte array to config data structure
-                startParams = deserializeStartCommandData(data);
-                // trigger creation
-                containerName = createContainer(startParams);
+                StartCommandData startParams = deserializeStartCommandData(data);
+                // trigger creation in the background
+                startContainerAsync(startParams, handler, replyTo, props);
             } else {
                 LOGGER.error(
                         "Got a request to start a container for experiment \"{}\" which is either not running or was already stopped. Returning null.", sessionId);
-            }
-
-            if (replyTo != null) {
-                try {
-                    AMQP.BasicProperties.Builder propsBuilder = new AMQP.BasicProperties.Builder();
-                    propsBuilder.deliveryMode(2);
-                    propsBuilder.correlationId(props.getCorrelationId());
-                    AMQP.BasicProperties replyProps = propsBuilder.build();
-                    cmdChannel.basicPublish("", replyTo, replyProps,
-                            RabbitMQUtils.writeString(containerName));
-                } catch (IOException e) {
-                    StringBuilder errMsgBuilder = new StringBuilder();
-                    errMsgBuilder.append("Error, couldn't sent response after creation of container (");
-                    if (startParams != null) {
-                        errMsgBuilder.append(startParams.toString());
-                    }
-                    errMsgBuilder.append(") to replyTo=");
-                    errMsgBuilder.append(replyTo);
-                    errMsgBuilder.append(".");
-                    LOGGER.error(errMsgBuilder.toString(), e);
-                }
+                sendContainerStartReply(null, "", replyTo, props);
             }
             break;
         }
         case Commands.DOCKER_CONTAINER_STOP: {
             // get containerId from params
             StopCommandData stopParams = deserializeStopCommandData(data);
-            // trigger stop
-            stopContainer(stopParams.containerName);
+            // trigger stop after all containers of this session that have been
+            // requested before have been started
+            if (handler != null) {
+                handler.runAfterPendingContainerStarts(() -> stopContainer(stopParams.containerName));
+            } else {
+                stopContainer(stopParams.containerName);
+            }
             break;
         }
         case Commands.BENCHMARK_READY_SIGNAL: {
@@ -463,10 +540,10 @@ public class PlatformController extends AbstractCommandReceivingComponent
             break;
         }
         case Commands.BENCHMARK_FINISHED_SIGNAL: {
-            if ((data == null) || (data.length == 0)) {
+            if ((data == null) || (!data.hasRemaining())) {
                 LOGGER.error("Got no result model from the benchmark controller.");
             } else {
-                expManager.setResultModel(sessionId, data, RabbitMQUtils::readModel);
+                expManager.setResultModel(sessionId, toArray(data), RabbitMQUtils::readModel);
             }
             break;
         }
@@ -483,7 +560,9 @@ public class PlatformController extends AbstractCommandReceivingComponent
                     response = new byte[0];
                 }
                 try {
-                    cmdChannel.basicPublish("", replyTo, MessageProperties.PERSISTENT_BASIC, response);
+                    synchronized (cmdChannel) {
+                        cmdChannel.basicPublish("", replyTo, MessageProperties.PERSISTENT_BASIC, response);
+                    }
                 } catch (IOException e) {
                     StringBuilder errMsgBuilder = new StringBuilder();
                     errMsgBuilder.append("Error, couldn't sent the request resource usage statistics to replyTo=");
@@ -496,50 +575,189 @@ public class PlatformController extends AbstractCommandReceivingComponent
         }
     }
 
-    private StopCommandData deserializeStopCommandData(byte[] data) {
+    /**
+     * Creates the container described by the given {@link StartCommandData}
+     * using the {@link #containerStartExecutor} and sends the name of the
+     * created container to the given reply queue as soon as the creation has
+     * finished. Several containers of an experiment are created in parallel.
+     * The executor only triggers the creation while the waiting for Docker is
+     * done asynchronously, i.e., its threads are not blocked by slow starts.
+     * The start is registered at the handler of the experiment to make sure
+     * that later commands of the experiment can wait for it.
+     *
+     * @param startParams
+     *            the data needed to start the container
+     * @param handler
+     *            the handler of the experiment the container belongs to
+     * @param replyTo
+     *            the name of the queue the reply should be sent to or
+     *            {@code null} if no reply is expected
+     * @param props
+     *            the properties of the received command
+     * @return the future of the container creation
+     */
+    protected CompletableFuture<String> startContainerAsync(StartCommandData startParams,
+            ExperimentCommandHandler handler, String replyTo, AMQP.BasicProperties props) {
+        CompletableFuture<String> start = new CompletableFuture<>();
+        handler.addContainerStart(start);
+        Runnable task = () -> {
+            CompletableFuture<String> creation;
+            try {
+                creation = createContainer(startParams, handler.getStatus());
+            } catch (Exception e) {
+                creation = new CompletableFuture<>();
+                creation.completeExceptionally(e);
+            }
+            creation.whenComplete((containerName, error) -> {
+                if (error != null) {
+                    LOGGER.error("Exception while creating container (" + startParams + ").", error);
+                    containerName = null;
+                }
+                sendContainerStartReply(startParams, containerName, replyTo, props);
+                start.complete(containerName);
+            });
+        };
+        try {
+            containerStartExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // the controller is closing
+            LOGGER.error("Couldn't start container ({}) since the controller is closing.", startParams);
+            sendContainerStartReply(startParams, null, replyTo, props);
+            start.complete(null);
+        }
+        return start;
+    }
+
+    /**
+     * Sends the name of a created container to the given reply queue using the
+     * correlation id of the received command.
+     *
+     * @param startParams
+     *            the data used to start the container (used for logging)
+     * @param containerName
+     *            the name of the created container or {@code null} if it
+     *            couldn't be created
+     * @param replyTo
+     *            the name of the queue the reply should be sent to or
+     *            {@code null} if no reply is expected
+     * @param props
+     *            the properties of the received command
+     */
+    protected void sendContainerStartReply(StartCommandData startParams, String containerName, String replyTo,
+            AMQP.BasicProperties props) {
+        if (replyTo == null) {
+            return;
+        }
+        try {
+            AMQP.BasicProperties.Builder propsBuilder = new AMQP.BasicProperties.Builder();
+            propsBuilder.deliveryMode(2);
+            propsBuilder.correlationId(props.getCorrelationId());
+            AMQP.BasicProperties replyProps = propsBuilder.build();
+            // channels must not be used by several threads at the same time
+            synchronized (cmdChannel) {
+                cmdChannel.basicPublish("", replyTo, replyProps, RabbitMQUtils.writeString(containerName));
+            }
+        } catch (IOException e) {
+            StringBuilder errMsgBuilder = new StringBuilder();
+            errMsgBuilder.append("Error, couldn't sent response after creation of container (");
+            if (startParams != null) {
+                errMsgBuilder.append(startParams.toString());
+            }
+            errMsgBuilder.append(") to replyTo=");
+            errMsgBuilder.append(replyTo);
+            errMsgBuilder.append(".");
+            LOGGER.error(errMsgBuilder.toString(), e);
+        }
+    }
+
+    /**
+     * Returns the future of the container starts of the given session that
+     * haven't finished, yet, or {@code null} if there are no such starts.
+     *
+     * @param sessionId
+     *            the id of the experiment
+     * @return the future of the pending container starts or {@code null}
+     */
+    protected CompletableFuture<Void> getPendingContainerStarts(String sessionId) {
+        ExperimentCommandHandler handler = commandRouter.getHandler(sessionId);
+        return (handler == null) ? null : handler.getPendingContainerStarts();
+    }
+
+    private StopCommandData deserializeStopCommandData(ByteBuffer data) {
         if (data == null) {
             return null;
         }
-        String dataString = RabbitMQUtils.readString(data);
+        String dataString = decodeString(data);
         return gson.fromJson(dataString, StopCommandData.class);
     }
 
-    private StartCommandData deserializeStartCommandData(byte[] data) {
+    private StartCommandData deserializeStartCommandData(ByteBuffer data) {
         if (data == null) {
             return null;
         }
-        String dataString = RabbitMQUtils.readString(data);
+        String dataString = decodeString(data);
         return gson.fromJson(dataString, StartCommandData.class);
     }
 
+    /**
+     * Decodes the remaining bytes of the given buffer as UTF-8 string without
+     * changing the position of the buffer.
+     *
+     * @param data
+     *            the buffer containing the string
+     * @return the decoded string
+     */
+    private static String decodeString(ByteBuffer data) {
+        if (data.hasArray()) {
+            return new String(data.array(), data.arrayOffset() + data.position(), data.remaining(),
+                    StandardCharsets.UTF_8);
+        } else {
+            return StandardCharsets.UTF_8.decode(data.duplicate()).toString();
+        }
+    }
+
+    /**
+     * Returns the remaining bytes of the given buffer as array. The backing
+     * array of the buffer is returned if it contains exactly these bytes.
+     *
+     * @param data
+     *            the buffer
+     * @return the remaining bytes of the buffer
+     */
+    private static byte[] toArray(ByteBuffer data) {
+        if (data.hasArray() && (data.arrayOffset() == 0) && (data.position() == 0)
+                && (data.remaining() == data.array().length)) {
+            return data.array();
+        }
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        return bytes;
+    }
+
     /**
      * Creates and starts a container based on the given {@link StartCommandData}
      * instance.
      *
      * @param data
      *            the data needed to start the container
-     * @return the name of the created container
+     * @param experimentStatus
+     *            the status of the experiment the container belongs to
+     * @return a future that is completed with the name of the created container
      */
-    private String createContainer(StartCommandData data) {
+    private CompletableFuture<String> createContainer(StartCommandData data, ExperimentStatus experimentStatus) {
         String parentId = containerManager.getContainerId(data.parent);
         if ((parentId == null) && (CONTAINER_PARENT_CHECK)) {
             LOGGER.error("Couldn't create container because the parent \"{}\" is not known.", data.parent);
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
 
-        boolean pullImage = false;
-        if (!expManager.experimentStatus.getUsedImages().contains(data.image)) {
-            expManager.experimentStatus.addImage(data.image);
-            pullImage = true;
-        }
+        // adding the image is atomic, i.e., only one of several parallel
+        // starts of the same image will pull it
+        boolean pullImage = experimentStatus.addImage(data.image);
 
-        String containerId = containerManager.startContainer(data.image, data.type, parentId, data.environmentVariables,
-                data.networkAliases, null, pullImage);
-        if (containerId == null) {
-            return null;
-        } else {
-            return containerManager.getContainerName(containerId);
-        }
+        return containerManager.startContainerAsync(data.image, data.type, parentId, data.environmentVariables,
+                data.networkAliases, null, pullImage).thenApply(
+                        containerId -> (containerId == null) ? null : containerManager.getContainerName(containerId));
     }
 
     /**
@@ -551,7 +769,7 @@ public class PlatformController extends AbstractCommandReceivingComponent
     public void stopContainer(String containerName) {
         String containerId = containerManager.getContainerId(containerName);
         if (containerId != null) {
-            containerManager.removeContainer(containerId);
+            containerManager.removeContainerAsync(containerId);
         }
     }
 
@@ -578,6 +796,10 @@ public class PlatformController extends AbstractCommandReceivingComponent
 
     @Override
     public void close() throws IOException {
+        // stop creating containers
+        if (containerStartExecutor != null) {
+            containerStartExecutor.shutdownNow();
+        }
         // stop the container observer
         try {
             if (containerObserver != null) {
@@ -599,6 +821,8 @@ public class PlatformController extends AbstractCommandReceivingComponent
                 }
             }
         }
+        LOGGER.info("Waiting for Docker: {} checks, {}ms in total.", Waiting.getNumberOfChecks(),
+                Waiting.getWaitingTime());
         // Close the storage client
         IOUtils.closeQuietly(storage);
         // Close the queue if this is needed
@@ -625,7 +849,8 @@ public class PlatformController extends AbstractCommandReceivingComponent
             }
         }
 
-        // Close experiment manager
+        // Close image prefetcher and experiment manager
+        IOUtils.closeQuietly(imagePrefetcher);
         IOUtils.closeQuietly(expManager);
         // Closing the super class is the last statement!
         super.close();
@@ -666,7 +891,9 @@ public class PlatformController extends AbstractCommandReceivingComponent
         if (attachData) {
             buffer.put(data);
         }
-        cmdChannel.basicPublish(Constants.HOBBIT_COMMAND_EXCHANGE_NAME, "", props, buffer.array());
+        synchronized (cmdChannel) {
+            cmdChannel.basicPublish(Constants.HOBBIT_COMMAND_EXCHANGE_NAME, "", props, buffer.array());
+        }
     }
 
     /**
@@ -677,18 +904,40 @@ public class PlatformController extends AbstractCommandReceivingComponent
     protected void handleCmd(byte bytes[], AMQP.BasicProperties props) {
         ByteBuffer buffer = ByteBuffer.wrap(bytes);
         int idLength = buffer.getInt();
-        byte sessionIdBytes[] = new byte[idLength];
-        buffer.get(sessionIdBytes);
-        String sessionId = new String(sessionIdBytes, Charsets.UTF_8);
-        byte command = buffer.get();
-        byte remainingData[];
-        if (buffer.remaining() > 0) {
-            remainingData = new byte[buffer.remaining()];
-            buffer.get(remainingData);
-        } else {
-            remainingData = new byte[0];
+        int idPosition = buffer.position();
+        byte command = buffer.get(idPosition + idLength);
+        // Most of the commands on the command exchange are sent between the
+        // components of the experiments. Ignore them before decoding anything
+        if (!isControllerCommand(command)) {
+            return;
+        }
+        String sessionId = new String(bytes, idPosition, idLength, StandardCharsets.UTF_8);
+        // the remaining data is only sliced, not copied
+        buffer.position(idPosition + idLength + 1);
+        receiveCommand(command, buffer.slice(), sessionId, props);
+    }
+
+    /**
+     * Checks whether the given command is handled by
+     * {@link #receiveCommand(byte, ByteBuffer, String, BasicProperties)}.
+     *
+     * @param command
+     *            the command
+     * @return {@code true} if the controller handles the command
+     */
+    protected static boolean isControllerCommand(byte command) {
+        switch (command) {
+        case Commands.DOCKER_CONTAINER_START:
+        case Commands.DOCKER_CONTAINER_STOP:
+        case Commands.BENCHMARK_READY_SIGNAL:
+        case Commands.SYSTEM_READY_SIGNAL:
+        case Commands.TASK_GENERATION_FINISHED:
+        case Commands.BENCHMARK_FINISHED_SIGNAL:
+        case Commands.REQUEST_SYSTEM_RESOURCES_USAGE:
+            return true;
+        default:
+            return false;
         }
-        receiveCommand(command, remainingData, sessionId, props);
     }
 
     public void handleFrontEndCmd(byte bytes[], String replyTo, BasicProperties replyProperties) {
@@ -702,7 +951,24 @@ public class PlatformController extends AbstractCommandReceivingComponent
             switch (buffer.get()) {
             case FrontEndApiCommands.LIST_CURRENT_STATUS: {
                 String userName = RabbitMQUtils.readString(buffer);
-                ControllerStatus status = getStatus(userName);
+                // The paging parameters and the known version of the queue are
+                // optional
+                int offset = 0;
+                int limit = Integer.MAX_VALUE;
+                long knownVersion = -1;
+                if (buffer.hasRemaining()) {
+                    try {
+                        offset = Math.max(0, Integer.parseInt(RabbitMQUtils.readString(buffer)));
+                        limit = Math.max(0, Integer.parseInt(RabbitMQUtils.readString(buffer)));
+                        knownVersion = Long.parseLong(RabbitMQUtils.readString(buffer));
+                    } catch (NumberFormatException e) {
+                        LOGGER.error("Got a status request with malformed paging parameters. Returning the complete queue.", e);
+                        offset = 0;
+                        limit = Integer.MAX_VALUE;
+                        knownVersion = -1;
+                    }
+                }
+                PagedControllerStatus status = getStatus(userName, offset, limit, knownVersion);
                 response = RabbitMQUtils.writeString(gson.toJson(status));
                 break;
             }
@@ -716,21 +982,15 @@ public class PlatformController extends AbstractCommandReceivingComponent
                 LOGGER.debug("Loading details for benchmark \"{}\"", benchmarkUri);
                 // Get the benchmark
                 BenchmarkMetaData benchmark = imageManager.getBenchmark(benchmarkUri);
-                List<SystemMetaData> systems4Benchmark = imageManager.getSystemsForBenchmark(benchmarkUri);
+                List<SystemMetaData> systems4Benchmark;
                 // If there is a username based on that the systems should
                 // be filtered
                 if (buffer.hasRemaining()) {
                     String userName = RabbitMQUtils.readString(buffer);
                     LOGGER.debug("Fitlering systems for user \"{}\"", userName);
-                    Set<SystemMetaData> userSystems = new HashSet<SystemMetaData>(
-                            imageManager.getSystemsOfUser(userName));
-                    List<SystemMetaData> filteredSystems = new ArrayList<>(systems4Benchmark.size());
-                    for (SystemMetaData s : systems4Benchmark) {
-                        if (userSystems.contains(s)) {
-                            filteredSystems.add(s);
-                        }
-                    }
-                    systems4Benchmark = filteredSystems;
+                    systems4Benchmark = imageManager.getSystemsForBenchmark(benchmarkUri, userName);
+                } else {
+                    systems4Benchmark = imageManager.getSystemsForBenchmark(benchmarkUri);
                 }
                 response = RabbitMQUtils.writeByteArrays(new byte[][] { RabbitMQUtils.writeModel(benchmark.rdfModel),
                         RabbitMQUtils.writeString(gson.toJson(systems4Benchmark)) });
@@ -747,6 +1007,18 @@ public class PlatformController extends AbstractCommandReceivingComponent
                 response = RabbitMQUtils.writeString(experimentId);
                 break;
             }
+            case ADD_EXPERIMENT_CONFIGURATIONS: {
+                String userName = readCompleteString(buffer);
+                List<String[]> experiments = readExperimentConfigurations(buffer);
+                if ((userName == null) || (experiments == null)) {
+                    LOGGER.error(
+                            "Got a request with incomplete experiment configurations. It will be ignored.");
+                    break;
+                }
+                List<String> experimentIds = addExperimentsToQueue(experiments, userName);
+                response = RabbitMQUtils.writeString(gson.toJson(experimentIds));
+                break;
+            }
             case FrontEndApiCommands.GET_SYSTEMS_OF_USER: {
                 // get the user name
                 String email = RabbitMQUtils.readString(buffer);
@@ -777,6 +1049,10 @@ public class PlatformController extends AbstractCommandReceivingComponent
                     if (queue.remove(config)) {
                         // call the Experiment Manager to cancel the experiment if it is running
                         expManager.stopExperimentIfRunning(experimentId);
+                        // make sure that the images of the experiment are not prefetched anymore
+                        if (imagePrefetcher != null) {
+                            imagePrefetcher.trigger();
+                        }
                         // The experiment has been terminated
                         response = new byte[] { 1 };
                     } else {
@@ -801,8 +1077,7 @@ public class PlatformController extends AbstractCommandReceivingComponent
             if (replyTo != null) {
                 LOGGER.trace("Replying to " + replyTo);
                 try {
-                    frontEnd2Controller.basicPublish("", replyTo, replyProperties,
-                            response != null ? response : new byte[0]);
+                    sendToFrontEnd(replyTo, replyProperties, response != null ? response : new byte[0]);
                 } catch (IOException e) {
                     LOGGER.error("Exception while trying to send response to the front end.", e);
                 }
@@ -811,6 +1086,70 @@ public class PlatformController extends AbstractCommandReceivingComponent
         LOGGER.debug("Finished handling of front end request.");
     }
 
+    /**
+     * Sends the given response to the front end.
+     *
+     * @param replyTo
+     *            the queue to which the response should be sent
+     * @param replyProperties
+     *            properties that should be used for the message
+     * @param response
+     *            the response that should be sent
+     * @throws IOException
+     *             if the response couldn't be sent
+     */
+    protected void sendToFrontEnd(String replyTo, BasicProperties replyProperties, byte[] response)
+            throws IOException {
+        frontEnd2Controller.basicPublish("", replyTo, replyProperties, response);
+    }
+
+    /**
+     * Reads the experiment configurations of an
+     * {@link #ADD_EXPERIMENT_CONFIGURATIONS} request from the given buffer. Every
+     * configuration comprises the benchmark URI, the system URI and the
+     * serialized benchmark parameters.
+     *
+     * @param buffer
+     *            the buffer positioned behind the user name of the request
+     * @return the configurations as arrays of benchmark URI, system URI and
+     *         parameters or {@code null} if the remaining data does not form
+     *         complete configurations
+     */
+    protected static List<String[]> readExperimentConfigurations(ByteBuffer buffer) {
+        List<String[]> experiments = new ArrayList<>();
+        String benchmarkUri, systemUri, parameters;
+        while (buffer.hasRemaining()) {
+            benchmarkUri = readCompleteString(buffer);
+            systemUri = readCompleteString(buffer);
+            parameters = readCompleteString(buffer);
+            if ((benchmarkUri == null) || benchmarkUri.isEmpty() || (systemUri == null) || systemUri.isEmpty()
+                    || (parameters == null)) {
+                return null;
+            }
+            experiments.add(new String[] { benchmarkUri, systemUri, parameters });
+        }
+        return experiments;
+    }
+
+    /**
+     * Reads a string with a leading length from the given buffer.
+     *
+     * @param buffer
+     *            the buffer from which the string should be read
+     * @return the string or {@code null} if the buffer does not contain the
+     *         complete string
+     */
+    private static String readCompleteString(ByteBuffer buffer) {
+        if (buffer.remaining() < Integer.BYTES) {
+            return null;
+        }
+        int length = buffer.getInt(buffer.position());
+        if ((length < 0) || (length > (buffer.remaining() - Integer.BYTES))) {
+            return null;
+        }
+        return RabbitMQUtils.readString(buffer);
+    }
+
     /**
      * Retrieves model for the given challenge from the given graph (or without
      * selecting a certain graph if the graphUri is {@code null}).
@@ -890,6 +1229,10 @@ public class PlatformController extends AbstractCommandReceivingComponent
                     + ex.systemUri + " to the queue.");
             queue.add(ex);
         }
+        expManager.triggerExperimentStart();
+        if (imagePrefetcher != null) {
+            imagePrefetcher.trigger();
+        }
     }
 
     /**
@@ -1215,39 +1558,127 @@ public class PlatformController extends AbstractCommandReceivingComponent
                 benchmarkUri, systemUri, userName);
         queue.add(new ExperimentConfiguration(experimentId, benchmarkUri, serializedBenchParams, systemUri, userName,
                 challengUri, challengTaskUri, executionDate));
+        expManager.triggerExperimentStart();
+        if (imagePrefetcher != null) {
+            imagePrefetcher.trigger();
+        }
         return experimentId;
     }
 
+    /**
+     * Adds the given experiments to the queue. The ids of all experiments are
+     * generated in a single step and the experiments are added to the queue
+     * together.
+     *
+     * @param experiments
+     *            the experiments that should be added. Each array contains
+     *            the benchmark URI, the system URI and the serialized benchmark
+     *            parameters of a single experiment
+     * @param userName
+     *            the name of the user who requested the creation of the
+     *            experiments
+     * @return the Ids of the created experiments in the order of the given
+     *         experiments
+     */
+    protected List<String> addExperimentsToQueue(List<String[]> experiments, String userName) {
+        List<String> experimentIds = generateExperimentIds(experiments.size());
+        List<ExperimentConfiguration> configs = new ArrayList<>(experiments.size());
+        for (int i = 0; i < experiments.size(); ++i) {
+            String[] experiment = experiments.get(i);
+            configs.add(new ExperimentConfiguration(experimentIds.get(i), experiment[0], experiment[2],
+                    experiment[1], userName, null, null, null));
+        }
+        LOGGER.info("Adding {} experiments of user {} to the queue: {}", configs.size(), userName, experimentIds);
+        queue.addAll(configs);
+        if (!configs.isEmpty()) {
+            expManager.triggerExperimentStart();
+            if (imagePrefetcher != null) {
+                imagePrefetcher.trigger();
+            }
+        }
+        return experimentIds;
+    }
+
     /**
      * Creates a status object summarizing the current status of this controller.
+     * It contains the queued experiments at the given positions of the queue.
+     * If the given version of the queue is the current version, the queued
+     * experiments are omitted since the client already knows them.
      *
+     * @param userName
+     *            the name of the user requesting the status
+     * @param offset
+     *            the position of the first queued experiment that should be
+     *            returned
+     * @param limit
+     *            the maximum number of queued experiments that should be
+     *            returned
+     * @param knownVersion
+     *            the version of the queue known by the client or {@code -1} if
+     *            the client does not know the queue
      * @return the status of this controller
      */
-    private ControllerStatus getStatus(String userName) {
-        ControllerStatus status = new ControllerStatus();
-        expManager.addStatusInfo(status, userName);
-        RunningExperiment runningExperiment = status.experiment;
-        if ((runningExperiment != null) && (runningExperiment.systemUri != null)) {
-            Model model = imageManager.getSystemModel(runningExperiment.systemUri);
-            if (model != null) {
-                runningExperiment.systemName = RdfHelper.getLabel(model,
-                        model.getResource(runningExperiment.systemUri));
-            } else {
-                runningExperiment.systemName = runningExperiment.systemUri;
+    protected PagedControllerStatus getStatus(String userName, int offset, int limit, long knownVersion) {
+        PagedControllerStatus status = new PagedControllerStatus();
+        List<RunningExperiment> runningExperiments = expManager.getRunningExperimentInfos(userName);
+        Set<String> runningIds = new HashSet<>();
+        for (RunningExperiment runningExperiment : runningExperiments) {
+            addNames(runningExperiment);
+            if (runningExperiment.experimentId != null) {
+                runningIds.add(runningExperiment.experimentId);
             }
-            model = imageManager.getBenchmarkModel(runningExperiment.benchmarkUri);
-            if (model != null) {
-                runningExperiment.benchmarkName = RdfHelper.getLabel(model,
-                        model.getResource(runningExperiment.benchmarkUri));
-            } else {
-                runningExperiment.benchmarkName = runningExperiment.benchmarkUri;
+        }
+        if (!runningExperiments.isEmpty()) {
+            status.experiment = runningExperiments.get(0);
+        }
+        status.runningExperiments = runningExperiments.toArray(new RunningExperiment[runningExperiments.size()]);
+        // get the version before the content to make sure that a change happening
+        // in between leads to a new version for the client
+        status.queueVersion = queue.getVersion();
+        // The running experiments are part of the queue but they are not listed
+        // as queued experiments. Hence, the size, offset and limit have to be
+        // computed without them.
+        List<Integer> runningIndexes = new ArrayList<>();
+        int index;
+        for (String runningId : runningIds) {
+            index = queue.indexOf(runningId);
+            if (index >= 0) {
+                runningIndexes.add(index);
+            }
+        }
+        Collections.sort(runningIndexes);
+        status.queueSize = queue.size() - runningIndexes.size();
+        status.queueOffset = offset;
+        if ((knownVersion >= 0) && (knownVersion == status.queueVersion)) {
+            status.queueUnchanged = true;
+            return status;
+        }
+        List<ExperimentConfiguration> experiments;
+        if ((offset == 0) && (limit == Integer.MAX_VALUE)) {
+            experiments = queue.listAll();
+        } else {
+            // skip the running experiments in front of the page and fetch as
+            // many additional experiments as running experiments might be part
+            // of the page
+            int queueOffset = offset;
+            int runningOnPage = 0;
+            for (int runningIndex : runningIndexes) {
+                if (runningIndex <= queueOffset) {
+                    ++queueOffset;
+                } else {
+                    ++runningOnPage;
+                }
             }
+            experiments = queue.list(queueOffset,
+                    (limit > Integer.MAX_VALUE - runningOnPage) ? Integer.MAX_VALUE : limit + runningOnPage);
         }
-        List<ExperimentConfiguration> experiments = queue.listAll();
         List<QueuedExperiment> tempQueue = new ArrayList<QueuedExperiment>(experiments.size());
         QueuedExperiment queuedExp;
         for (ExperimentConfiguration experiment : experiments) {
-            if ((runningExperiment == null) || (!experiment.id.equals(runningExperiment.experimentId))) {
+            if (tempQueue.size() >= limit) {
+                break;
+            }
+            if (!runningIds.contains(experiment.id)) {
                 queuedExp = new QueuedExperiment();
                 queuedExp.experimentId = experiment.id;
                 queuedExp.benchmarkUri = experiment.benchmarkUri;
@@ -1267,6 +1698,32 @@ public class PlatformController extends AbstractCommandReceivingComponent
         return status;
     }
 
+    /**
+     * Adds the names of the benchmark and the system to the given running
+     * experiment.
+     *
+     * @param runningExperiment
+     *            the running experiment to which the names should be added
+     */
+    private void addNames(RunningExperiment runningExperiment) {
+        if (runningExperiment.systemUri != null) {
+            Model model = imageManager.getSystemModel(runningExperiment.systemUri);
+            if (model != null) {
+                runningExperiment.systemName = RdfHelper.getLabel(model,
+                        model.getResource(runningExperiment.systemUri));
+            } else {
+                runningExperiment.systemName = runningExperiment.systemUri;
+            }
+            model = imageManager.getBenchmarkModel(runningExperiment.benchmarkUri);
+            if (model != null) {
+                runningExperiment.benchmarkName = RdfHelper.getLabel(model,
+                        model.getResource(runningExperiment.benchmarkUri));
+            } else {
+                runningExperiment.benchmarkName = runningExperiment.benchmarkUri;
+            }
+        }
+    }
+
     /**
      * Generates a unique experiment Id based on the current time stamp and the last
      * Id ({@link #lastIdTime}) that has been created.
@@ -1282,6 +1739,28 @@ public class PlatformController extends AbstractCommandReceivingComponent
         return Long.toString(time);
     }
 
+    /**
+     * Generates the given number of unique experiment Ids in a single step.
+     *
+     * @param count
+     *            the number of Ids that should be generated
+     * @return the list of unique experiment Ids
+     */
+    private synchronized List<String> generateExperimentIds(int count) {
+        long time = System.currentTimeMillis();
+        if (time <= lastIdTime) {
+            time = lastIdTime + 1;
+        }
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            ids.add(Long.toString(time + i));
+        }
+        if (count > 0) {
+            lastIdTime = time + count - 1;
+        }
+        return ids;
+    }
+
     /**
      * Generates an experiment URI using the given id and the experiment URI
      * namespace defined by {@link Constants#EXPERIMENT_URI_NS}.
@@ -35,6 +35,10 @@ public class ExperimentConfiguration {
     public String challengeUri;
     public String challengeTaskUri;
     public String userName;
+    /**
+     * The time stamp at which the experiment has been added to the queue.
+     */
+    public long submissionTime;
 
     public ExperimentConfiguration() {
     }
@@ -19,10 +19,10 @@ package org.hobbit.controller.data;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.Calendar;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.Timer;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 
 import org.apache.jena.rdf.model.Model;
@@ -32,6 +32,7 @@ import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.rdf.model.StmtIterator;
 import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
 import org.hobbit.controller.ExperimentManager;
 import org.hobbit.controller.PlatformController;
 import org.hobbit.controller.docker.ImageManager;
@@ -120,9 +121,10 @@ public class ExperimentStatus implements Closeable {
      */
     private boolean systemRunning = false;
     /**
-     * Set of image names which were used during this experiment.
+     * Set of image names which were used during this experiment. The set is
+     * thread-safe since containers of an experiment are started in parallel.
      */
-    private Set<String> usedImages = new HashSet<>();
+    private Set<String> usedImages = ConcurrentHashMap.newKeySet();
     /**
      * Container name of the system.
      */
@@ -285,9 +287,11 @@ public class ExperimentStatus implements Closeable {
      *
      * @param image
      *            image name to add
+     * @return {@code true} if the image hasn't been used in this experiment
+     *         before
      */
-    public void addImage(String image) {
-        usedImages.add(image);
+    public boolean addImage(String image) {
+        return usedImages.add(image);
     }
 
     /**
@@ -427,6 +431,31 @@ public class ExperimentStatus implements Closeable {
         }
     }
 
+    /**
+     * Returns {@code true} if the result model contains an error, i.e., the
+     * experiment has been terminated with an error.
+     *
+     * <p>
+     * This method is thread-safe.
+     * </p>
+     *
+     * @return {@code true} if an error has been added to the result model
+     */
+    public boolean hasError() {
+        try {
+            modelMutex.acquire();
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted while waiting for mutex of result model. Returning.");
+            return false;
+        }
+        try {
+            return (resultModel != null)
+                    && resultModel.contains(resultModel.getResource(experimentUri), HOBBIT.terminatedWithError);
+        } finally {
+            modelMutex.release();
+        }
+    }
+
     /**
      * Adds the given error to the result model.
      *
@@ -454,6 +483,39 @@ public class ExperimentStatus implements Closeable {
         }
     }
 
+    /**
+     * Adds the information that the given image couldn't be pulled to the
+     * result model. Since the image might already be available on the nodes of
+     * the cluster, this is not regarded as an error of the experiment and the
+     * information is added as comment.
+     *
+     * <p>
+     * This method is thread-safe.
+     * </p>
+     *
+     * @param image
+     *            the name of the image that couldn't be pulled
+     * @param reason
+     *            a description why the image couldn't be pulled
+     */
+    public void addImagePullFailure(String image, String reason) {
+        try {
+            modelMutex.acquire();
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted while waiting for mutex of result model. Returning.");
+            return;
+        }
+        try {
+            if (resultModel == null) {
+                initModel_Unsecured();
+            }
+            resultModel.add(resultModel.getResource(experimentUri), RDFS.comment,
+                    "Couldn't prefetch the image \"" + image + "\". " + reason);
+        } finally {
+            modelMutex.release();
+        }
+    }
+
     /**
      * Adds the given error to the result model.
      *
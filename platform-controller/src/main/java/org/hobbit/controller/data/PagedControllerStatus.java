@@ -0,0 +1,56 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.data;
+
+import org.hobbit.core.data.status.ControllerStatus;
+import org.hobbit.core.data.status.RunningExperiment;
+
+/**
+ * The status of the controller containing only a part of the experiment queue.
+ * Next to the queued experiments of the requested part, it contains the size
+ * and the version of the queue. If the client already knows the current
+ * version of the queue, the queued experiments are omitted.
+ */
+public class PagedControllerStatus extends ControllerStatus {
+
+    /**
+     * The version of the queue or {@code -1} if the queue does not support
+     * versions.
+     */
+    public long queueVersion = -1;
+    /**
+     * All running experiments sorted by the time at which they have been
+     * started. The first of them is the running experiment of the status.
+     */
+    public RunningExperiment[] runningExperiments;
+    /**
+     * The number of queued experiments. The running experiments are not
+     * counted since they are not listed as queued experiments.
+     */
+    public int queueSize;
+    /**
+     * The position of the first queued experiment of this status within the
+     * queue.
+     */
+    public int queueOffset;
+    /**
+     * Flag indicating that the queue hasn't changed since the version known by
+     * the client. In this case, the queued experiments are not part of the
+     * status.
+     */
+    public boolean queueUnchanged = false;
+}
@@ -1,8 +1,10 @@
 package org.hobbit.controller.docker;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -10,21 +12,42 @@ import java.util.stream.Stream;
 import org.hobbit.core.data.BenchmarkMetaData;
 import org.hobbit.core.data.ImageMetaData;
 import org.hobbit.core.data.SystemMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * An abstract implementation of the {@link ImageManager} interface which takes
  * care of systems or benchmarks which have the same URI.
  * 
+ * <p>
+ * The meta data is kept in an immutable {@link MetaDataSnapshot} which offers
+ * indexes for the lookups of single images. The snapshot is only rebuilt if
+ * the version returned by {@link #getDataVersion()} changes, i.e., sub classes
+ * have to call {@link #dataChanged()} (or override {@link #getDataVersion()})
+ * when they fetched new meta data.
+ * </p>
+ * 
  * @author Michael R&ouml;der (michael.roeder@uni-paderborn.de)
  *
  */
 public abstract class AbstactImageManager implements ImageManager {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstactImageManager.class);
+
     protected Comparator<ImageMetaData> comparator = new DateBasedImageMetaDataComparator();
+    /**
+     * Version of the meta data of this manager.
+     */
+    private AtomicLong dataVersion = new AtomicLong(0);
+    /**
+     * The current snapshot of the meta data or {@code null} if it has not been
+     * created, yet.
+     */
+    private volatile MetaDataSnapshot snapshot = null;
 
     @Override
     public List<BenchmarkMetaData> getBenchmarks() {
-        return markDuplicates(getUncheckedBenchmarks());
+        return getSnapshot().getBenchmarks();
     }
 
     /**
@@ -37,7 +60,7 @@ public abstract class AbstactImageManager implements ImageManager {
 
     @Override
     public List<SystemMetaData> getSystems() {
-        return markDuplicates(getUncheckedSystems());
+        return getSnapshot().getSystems();
     }
 
     /**
@@ -48,6 +71,49 @@ public abstract class AbstactImageManager implements ImageManager {
      */
     protected abstract List<SystemMetaData> getUncheckedSystems();
 
+    /**
+     * Returns the current version of the meta data. A negative version means
+     * that the version is unknown and the snapshot has to be recreated for
+     * every request.
+     * 
+     * @return the current version of the meta data
+     */
+    protected long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    /**
+     * Informs this manager that its meta data has been changed and that the
+     * snapshot has to be recreated.
+     */
+    protected void dataChanged() {
+        dataVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns the snapshot of the current meta data. The snapshot is recreated
+     * if the version of the meta data has changed since it has been created.
+     * 
+     * @return the snapshot of the current meta data
+     */
+    public MetaDataSnapshot getSnapshot() {
+        long version = getDataVersion();
+        MetaDataSnapshot current = snapshot;
+        if ((version >= 0) && (current != null) && (current.getVersion() == version)) {
+            return current;
+        }
+        synchronized (this) {
+            // check whether another thread created the snapshot in the meantime
+            current = snapshot;
+            if ((version < 0) || (current == null) || (current.getVersion() != version)) {
+                current = MetaDataSnapshot.create(version, markDuplicates(getUncheckedBenchmarks()),
+                        markDuplicates(getUncheckedSystems()), comparator);
+                snapshot = current;
+            }
+        }
+        return current;
+    }
+
     /**
      * Retrieves the RDF model of the benchmark with the given URI. If multiple
      * benchmarks with this URI are defined, the one that is not marked as duplicate
@@ -61,8 +127,7 @@ public abstract class AbstactImageManager implements ImageManager {
         if (benchmarkUri == null) {
             return null;
         }
-        return getUncheckedBenchmarks().parallelStream().filter(b -> benchmarkUri.equals(b.uri)).sorted(comparator)
-                .findFirst().orElse(null);
+        return getSnapshot().getBenchmark(benchmarkUri);
     }
 
     /**
@@ -78,8 +143,28 @@ public abstract class AbstactImageManager implements ImageManager {
         if (systemUri == null) {
             return null;
         }
-        return getUncheckedSystems().parallelStream().filter(s -> systemUri.equals(s.uri)).sorted(comparator)
-                .findFirst().orElse(null);
+        return getSnapshot().getSystem(systemUri);
+    }
+
+    /**
+     * Retrieves the systems that are compatible to the given benchmark using the
+     * index of the APIs in the current snapshot, i.e., the effort depends on the
+     * number of compatible systems instead of the number of all systems. The
+     * systems are returned in the order of {@link #getSystems()}.
+     *
+     * @param benchmarkUri
+     *            the URI of the chosen benchmark
+     * @return a list of system meta data
+     */
+    @Override
+    public List<SystemMetaData> getSystemsForBenchmark(String benchmarkUri) {
+        MetaDataSnapshot current = getSnapshot();
+        BenchmarkMetaData benchmark = (benchmarkUri != null) ? current.getBenchmark(benchmarkUri) : null;
+        if (benchmark == null) {
+            LOGGER.error("Input benchmark not found, returning empty results.");
+            return new ArrayList<>(0);
+        }
+        return current.getSystemsOfApis(benchmark.definedApis);
     }
 
     /**
@@ -158,6 +243,8 @@ public abstract class AbstactImageManager implements ImageManager {
      */
     public void setComparator(Comparator<ImageMetaData> comparator) {
         this.comparator = comparator;
+        // the chosen images might change
+        snapshot = null;
     }
 
     public static class DateBasedImageMetaDataComparator implements Comparator<ImageMetaData> {
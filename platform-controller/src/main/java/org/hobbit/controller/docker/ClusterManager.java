@@ -18,6 +18,21 @@ public interface ClusterManager {
      */
     public Info getClusterInfo() throws DockerException, InterruptedException;
 
+    /**
+     * Get a snapshot of the nodes of the cluster. Implementations may cache the
+     * snapshot for a short time to avoid listing the nodes of the cluster
+     * several times for a single operation.
+     *
+     * @return the current topology of the cluster
+     */
+    public ClusterTopology getClusterTopology() throws DockerException, InterruptedException;
+
+    /**
+     * Removes a cached snapshot of the cluster topology (if there is any) so
+     * that the next request retrieves the current state of the cluster.
+     */
+    public void invalidateClusterTopology();
+
     /**
      * Get number of nodes in the cluster
      *
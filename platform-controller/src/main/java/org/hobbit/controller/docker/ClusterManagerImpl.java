@@ -1,7 +1,5 @@
 package org.hobbit.controller.docker;
 
-import java.util.stream.Stream;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -9,7 +7,6 @@ import com.spotify.docker.client.DockerClient;
 import com.spotify.docker.client.exceptions.DockerCertificateException;
 import com.spotify.docker.client.exceptions.DockerException;
 import com.spotify.docker.client.messages.Info;
-import com.spotify.docker.client.messages.swarm.Node;
 import com.spotify.docker.client.messages.swarm.OrchestrationConfig;
 import com.spotify.docker.client.messages.swarm.SwarmSpec;
 import com.spotify.docker.client.messages.swarm.Version;
@@ -23,15 +20,45 @@ import com.spotify.docker.client.messages.swarm.Version;
 public class ClusterManagerImpl implements ClusterManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(ClusterManagerImpl.class);
 
+    /**
+     * Name of the environment variable that defines the time (in ms) a
+     * snapshot of the cluster topology is cached.
+     */
+    public static final String CLUSTER_TOPOLOGY_TTL_KEY = "CLUSTER_TOPOLOGY_TTL";
+    /**
+     * Default time (in ms) a snapshot of the cluster topology is cached.
+     */
+    private static final long DEFAULT_CLUSTER_TOPOLOGY_TTL = 5000;
+
     /**
      * Docker client instance
      */
     private DockerClient dockerClient;
     private long expectedNumberOfNodes = 0;
     private String SWARM_NODE_NUMBER = null;
+    /**
+     * The cached snapshot of the cluster topology.
+     */
+    private volatile ClusterTopology topology = null;
+    /**
+     * Mutex used to make sure that only one thread refreshes the topology.
+     */
+    private final Object topologyMutex = new Object();
+    /**
+     * Time (in ms) a snapshot of the cluster topology is cached.
+     */
+    private long topologyTTL = DEFAULT_CLUSTER_TOPOLOGY_TTL;
 
     public ClusterManagerImpl() throws DockerCertificateException {
         dockerClient = DockerUtility.getDockerClient();
+        if (System.getenv().containsKey(CLUSTER_TOPOLOGY_TTL_KEY)) {
+            try {
+                topologyTTL = Long.parseLong(System.getenv().get(CLUSTER_TOPOLOGY_TTL_KEY));
+            } catch (NumberFormatException e) {
+                LOGGER.error("Couldn't parse the value of " + CLUSTER_TOPOLOGY_TTL_KEY + ". Using the default "
+                        + DEFAULT_CLUSTER_TOPOLOGY_TTL + "ms.", e);
+            }
+        }
         SWARM_NODE_NUMBER = System.getenv("SWARM_NODE_NUMBER");
         if(SWARM_NODE_NUMBER == null) {
             expectedNumberOfNodes = 1;
@@ -44,17 +71,32 @@ public class ClusterManagerImpl implements ClusterManager {
         return dockerClient.info();
     }
 
-    private Stream<Node> streamReadyNodes() throws DockerException, InterruptedException {
-        return dockerClient.listNodes().stream().filter(n->n.status().state().equalsIgnoreCase("ready"));
+    public ClusterTopology getClusterTopology() throws DockerException, InterruptedException {
+        ClusterTopology current = topology;
+        if ((current != null) && ((System.currentTimeMillis() - current.getCreationTime()) < topologyTTL)) {
+            return current;
+        }
+        synchronized (topologyMutex) {
+            // another thread might have refreshed the topology in the meantime
+            current = topology;
+            if ((current == null) || ((System.currentTimeMillis() - current.getCreationTime()) >= topologyTTL)) {
+                current = ClusterTopology.create(dockerClient.listNodes());
+                topology = current;
+            }
+            return current;
+        }
+    }
+
+    public void invalidateClusterTopology() {
+        topology = null;
     }
 
     public long getNumberOfNodes() throws DockerException, InterruptedException {
-        return streamReadyNodes().count();
+        return getClusterTopology().getNumberOfReadyNodes();
     }
 
     public long getNumberOfNodes(String label) throws DockerException, InterruptedException {
-        final String[] parts = label.split("=");
-        return streamReadyNodes().filter(n->parts[1].equals(n.spec().labels().get(parts[0]))).count();
+        return getClusterTopology().getNumberOfReadyNodes(label);
     }
 
     public boolean isClusterHealthy() throws DockerException, InterruptedException {
@@ -0,0 +1,125 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.spotify.docker.client.messages.swarm.Node;
+
+/**
+ * An immutable snapshot of the nodes of the Docker Swarm cluster. It contains
+ * the number of nodes, the IDs of the nodes that are ready and the number of
+ * ready nodes per node label (e.g., {@code org.hobbit.workergroup=system}).
+ */
+public class ClusterTopology {
+
+    /**
+     * State of a node that is ready to run containers.
+     */
+    public static final String NODE_STATE_READY = "ready";
+
+    /**
+     * Number of all nodes of the cluster (including nodes that are not ready).
+     */
+    private final long numberOfNodes;
+    /**
+     * IDs of all nodes that are ready.
+     */
+    private final List<String> readyNodeIds;
+    /**
+     * Number of ready nodes per label of the form "key=value".
+     */
+    private final Map<String, Long> readyNodesPerLabel;
+    /**
+     * Time stamp at which the snapshot has been created.
+     */
+    private final long creationTime;
+
+    public ClusterTopology(long numberOfNodes, List<String> readyNodeIds, Map<String, Long> readyNodesPerLabel) {
+        this.numberOfNodes = numberOfNodes;
+        this.readyNodeIds = Collections.unmodifiableList(new ArrayList<>(readyNodeIds));
+        this.readyNodesPerLabel = Collections.unmodifiableMap(new HashMap<>(readyNodesPerLabel));
+        this.creationTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates a snapshot based on the given list of nodes.
+     *
+     * @param nodes
+     *            the nodes of the cluster
+     * @return the snapshot of the cluster topology
+     */
+    public static ClusterTopology create(List<Node> nodes) {
+        List<String> readyNodeIds = new ArrayList<>();
+        Map<String, Long> readyNodesPerLabel = new HashMap<>();
+        for (Node node : nodes) {
+            if ((node.status() != null) && NODE_STATE_READY.equalsIgnoreCase(node.status().state())) {
+                readyNodeIds.add(node.id());
+                if ((node.spec() != null) && (node.spec().labels() != null)) {
+                    for (Map.Entry<String, String> label : node.spec().labels().entrySet()) {
+                        readyNodesPerLabel.merge(label.getKey() + "=" + label.getValue(), 1L, Long::sum);
+                    }
+                }
+            }
+        }
+        return new ClusterTopology(nodes.size(), readyNodeIds, readyNodesPerLabel);
+    }
+
+    /**
+     * @return the number of all nodes of the cluster (including nodes that are
+     *         not ready)
+     */
+    public long getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    /**
+     * @return the number of nodes that are ready
+     */
+    public long getNumberOfReadyNodes() {
+        return readyNodeIds.size();
+    }
+
+    /**
+     * Returns the number of ready nodes that have the given label.
+     *
+     * @param label
+     *            the label of the form "key=value"
+     * @return the number of ready nodes with the given label
+     */
+    public long getNumberOfReadyNodes(String label) {
+        return readyNodesPerLabel.getOrDefault(label, 0L);
+    }
+
+    /**
+     * @return the IDs of all nodes that are ready
+     */
+    public List<String> getReadyNodeIds() {
+        return readyNodeIds;
+    }
+
+    /**
+     * @return the time stamp at which the snapshot has been created
+     */
+    public long getCreationTime() {
+        return creationTime;
+    }
+}
@@ -16,7 +16,11 @@
  */
 package org.hobbit.controller.docker;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.spotify.docker.client.exceptions.DockerException;
 import com.spotify.docker.client.messages.ContainerStats;
@@ -31,6 +35,32 @@ import com.spotify.docker.client.messages.swarm.Service;
  */
 public interface ContainerManager {
 
+    /**
+     * The possible outcomes of the removal of a container.
+     */
+    public static enum RemovalOutcome {
+        /**
+         * The container has been removed.
+         */
+        REMOVED,
+        /**
+         * The container didn't exist (anymore).
+         */
+        NOT_FOUND,
+        /**
+         * The container has been kept on purpose (e.g., in development mode).
+         */
+        KEPT,
+        /**
+         * An error occurred while removing the container.
+         */
+        FAILED,
+        /**
+         * The container didn't disappear before the deadline.
+         */
+        TIMED_OUT
+    }
+
     /**
      * Exit code of containers
      * where process was terminated with SIGKILL (number 9).
@@ -193,6 +223,36 @@ public interface ContainerManager {
     public String startContainer(String imageName, String containerType, String parentId, String[] env,
     String[] netAliases, String[] command, boolean pullImage);
 
+    /**
+     * Starts the container with the given image name without blocking the
+     * calling thread while waiting for Docker. The default implementation
+     * simply calls
+     * {@link #startContainer(String, String, String, String[], String[], String[], boolean)}.
+     *
+     * @param imageName
+     *            name of the image to be started
+     * @param containerType
+     *            type to be assigned to container
+     * @param parentId
+     *            id of the parent container
+     * @param env
+     *            environment variables of the schema "key=value"
+     * @param netAliases
+     *            network aliases for this container
+     * @param command
+     *            commands that should be executed
+     * @param pullImage
+     *            whether the image needs to be prefetched
+     *
+     * @return a future that is completed with the container Id or with
+     *         {@code null} if an error occurred.
+     */
+    public default CompletableFuture<String> startContainerAsync(String imageName, String containerType,
+            String parentId, String[] env, String[] netAliases, String[] command, boolean pullImage) {
+        return CompletableFuture.completedFuture(
+                startContainer(imageName, containerType, parentId, env, netAliases, command, pullImage));
+    }
+
     /**
      * Starts the container with the given image name.
      *
@@ -232,6 +292,20 @@ public interface ContainerManager {
      */
     public void removeContainer(String serviceName);
 
+    /**
+     * Removes the container with the given container Id without blocking the
+     * calling thread while waiting for Docker. The default implementation
+     * simply calls {@link #removeContainer(String)}.
+     *
+     * @param serviceName
+     *            name of the container that should be removed
+     * @return a future that is completed when the removal has ended
+     */
+    public default CompletableFuture<Void> removeContainerAsync(String serviceName) {
+        removeContainer(serviceName);
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Stops the parent container and all its children given the parent id
      *
@@ -243,12 +317,14 @@ public interface ContainerManager {
     public void stopParentAndChildren(String parentId);
 
     /**
-     * Removes the parent container and all its children given the parent id
+     * Removes the parent container and all its (direct and indirect) children
+     * given the parent id
      *
      * @param parent
      *            id of the parent container
+     * @return the outcome of the removal for every container of the tree
      */
-    public void removeParentAndChildren(String parent);
+    public Map<String, RemovalOutcome> removeParentAndChildren(String parent);
 
     /**
      * Returns container's exit code or null if container is still running.
@@ -257,6 +333,32 @@ public interface ContainerManager {
      */
     public Integer getContainerExitCode(String serviceName) throws DockerException, InterruptedException;
 
+    /**
+     * Returns the exit codes of all containers of the given collection that
+     * terminated. Containers that are still running are not part of the returned
+     * map. Implementations should retrieve the exit codes of all containers with
+     * a constant number of requests instead of requesting every container
+     * separately. The default implementation simply calls
+     * {@link #getContainerExitCode(String)} for every container.
+     *
+     * @param serviceNames
+     *            names of the containers that should be checked
+     * @return a map of the names of the terminated containers and their exit
+     *         codes
+     */
+    public default Map<String, Integer> getContainerExitCodes(Collection<String> serviceNames)
+            throws DockerException, InterruptedException {
+        Map<String, Integer> exitCodes = new HashMap<>();
+        Integer exitCode;
+        for (String serviceName : serviceNames) {
+            exitCode = getContainerExitCode(serviceName);
+            if (exitCode != null) {
+                exitCodes.put(serviceName, exitCode);
+            }
+        }
+        return exitCodes;
+    }
+
     /**
      * Returns container info
      *
@@ -313,8 +415,24 @@ public interface ContainerManager {
      *
      * @param imageName
      *            the name of the image that should be pulled
+     * @return {@code false} if an error occurred while pulling the image, else
+     *         {@code true}
+     */
+    public boolean pullImage(String imageName);
+
+    /**
+     * Pulls the image with the given name without blocking the calling thread
+     * while waiting for Docker. The default implementation simply calls
+     * {@link #pullImage(String)}.
+     *
+     * @param imageName
+     *            the name of the image that should be pulled
+     * @return a future that is completed with {@code false} if an error
+     *         occurred while pulling the image, else with {@code true}
      */
-    public void pullImage(String imageName);
+    public default CompletableFuture<Boolean> pullImageAsync(String imageName) {
+        return CompletableFuture.completedFuture(pullImage(imageName));
+    }
 
     /**
      * Returns statistics of the container with the given Id or {@code null} if the
@@ -18,13 +18,21 @@ package org.hobbit.controller.docker;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -37,7 +45,6 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableMap;
 import com.spotify.docker.client.DockerClient;
-import com.spotify.docker.client.exceptions.DockerCertificateException;
 import com.spotify.docker.client.exceptions.DockerException;
 import com.spotify.docker.client.exceptions.ServiceNotFoundException;
 import com.spotify.docker.client.exceptions.TaskNotFoundException;
@@ -74,6 +81,11 @@ public class ContainerManagerImpl implements ContainerManager {
     public static final String USER_EMAIL_KEY = "GITLAB_EMAIL";
     public static final String USER_PASSWORD_KEY = GitlabControllerImpl.GITLAB_TOKEN_KEY;
     public static final String REGISTRY_URL_KEY = "REGISTRY_URL";
+    /**
+     * Name of the environment variable that defines the time (in ms) for which
+     * an image is assumed to be present on a node after it has been pulled.
+     */
+    public static final String IMAGE_CACHE_TTL_KEY = "IMAGE_CACHE_TTL";
 
     private static final int DOCKER_MAX_NAME_LENGTH = 63;
 
@@ -90,7 +102,12 @@ public class ContainerManagerImpl implements ContainerManager {
             : true;
 
     private static final long DOCKER_POLL_INTERVAL = 100;
+    private static final long DOCKER_MAX_POLL_INTERVAL = 2000;
+    private static final long DOCKER_CONTAINER_START_MAX_WAITING_TIME = 1200000; // 20 min
+    private static final long DOCKER_CONTAINER_REMOVAL_MAX_WAITING_TIME = 60000; // 1 min
     private static final long DOCKER_IMAGE_PULL_MAX_WAITING_TIME = 1200000; // 20 min
+    private static final long DEFAULT_IMAGE_CACHE_TTL = 3600000; // 1 h
+    private static final int MAX_PARALLEL_REMOVALS = 8;
 
     /**
      * Default network for new containers
@@ -139,13 +156,57 @@ public class ContainerManagerImpl implements ContainerManager {
 
     private String gelfAddress = null;
     private String experimentId = null;
+    /**
+     * Cluster manager used to retrieve the (cached) topology of the cluster.
+     */
+    private ClusterManager clusterManager;
+    /**
+     * Resolves the digests the tags of images currently point to.
+     */
+    private ImageDigestResolver digestResolver;
+    /**
+     * Cache recording the digests of the images that have been pulled on the
+     * single nodes.
+     */
+    private NodeImageCache imageCache;
+    /**
+     * Executor used to remove several containers in parallel.
+     */
+    private ExecutorService removalExecutor = Executors.newFixedThreadPool(MAX_PARALLEL_REMOVALS, runnable -> {
+        Thread thread = new Thread(runnable, "container-removal");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Constructor that creates new docker client instance
      */
     public ContainerManagerImpl() throws Exception {
+        this(new ClusterManagerImpl());
+    }
+
+    /**
+     * Constructor that creates new docker client instance
+     *
+     * @param clusterManager
+     *            cluster manager used to retrieve the topology of the cluster
+     */
+    public ContainerManagerImpl(ClusterManager clusterManager) throws Exception {
+        this(clusterManager, DockerUtility.getDockerClient());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param clusterManager
+     *            cluster manager used to retrieve the topology of the cluster
+     * @param dockerClient
+     *            Docker client used to manage the containers
+     */
+    public ContainerManagerImpl(ClusterManager clusterManager, DockerClient dockerClient) throws Exception {
         LOGGER.info("Deployed as \"{}\".", DEPLOY_ENV);
-        dockerClient = DockerUtility.getDockerClient();
+        this.dockerClient = dockerClient;
+        this.clusterManager = clusterManager;
 
         String username = System.getenv(USER_NAME_KEY);
         String email = System.getenv(USER_EMAIL_KEY);
@@ -161,6 +222,17 @@ public class ContainerManagerImpl implements ContainerManager {
                     USER_NAME_KEY, USER_EMAIL_KEY, USER_PASSWORD_KEY);
             gitlabAuth = null;
         }
+        digestResolver = new ImageDigestResolver(gitlabAuth);
+        long imageCacheTTL = DEFAULT_IMAGE_CACHE_TTL;
+        if (System.getenv().containsKey(IMAGE_CACHE_TTL_KEY)) {
+            try {
+                imageCacheTTL = Long.parseLong(System.getenv().get(IMAGE_CACHE_TTL_KEY));
+            } catch (NumberFormatException e) {
+                LOGGER.error("Couldn't parse the value of " + IMAGE_CACHE_TTL_KEY + ". Using the default "
+                        + DEFAULT_IMAGE_CACHE_TTL + "ms.", e);
+            }
+        }
+        imageCache = new NodeImageCache(imageCacheTTL);
         gelfAddress = System.getenv(LOGGING_GELF_ADDRESS_KEY);
         if (gelfAddress == null) {
             LOGGER.info(
@@ -243,14 +315,47 @@ public class ContainerManagerImpl implements ContainerManager {
      * @param imageName
      *            the name of the image that should be pulled
      */
-    public void pullImage(String imageName) {
+    public boolean pullImage(String imageName) {
+        return pullImageAsync(imageName).join();
+    }
+
+    /**
+     * Pulls the image with the given name. The pulling service is created by
+     * the calling thread while the waiting for the pulling to finish and the
+     * removal of the service are done asynchronously.
+     *
+     * @param imageName
+     *            the name of the image that should be pulled
+     */
+    @Override
+    public CompletableFuture<Boolean> pullImageAsync(String imageName) {
         // do not pull if env var is set to false
         if (!DOCKER_AUTOPULL) {
             LOGGER.warn("Skipping image pulling because DOCKER_AUTOPULL is unset");
-            return;
+            return CompletableFuture.completedFuture(true);
+        }
+
+        List<String> readyNodes;
+        try {
+            readyNodes = clusterManager.getClusterTopology().getReadyNodeIds();
+        } catch (Exception e) {
+            LOGGER.error("Couldn't retrieve list of swarm nodes!");
+            return CompletableFuture.completedFuture(false);
+        }
+        // determine the nodes that do not have the current version of the image
+        final String digest = digestResolver.resolveDigest(imageName);
+        Set<String> targetNodes;
+        if (digest != null) {
+            targetNodes = imageCache.getNodesWithoutImage(imageName, digest, readyNodes);
+            if (targetNodes.isEmpty()) {
+                LOGGER.info("All nodes already have the image \"{}\" ({}). Skipping pull.", imageName, digest);
+                return CompletableFuture.completedFuture(true);
+            }
+        } else {
+            targetNodes = new HashSet<>(readyNodes);
         }
 
-        LOGGER.info("Pulling the image \"{}\"", imageName);
+        LOGGER.info("Pulling the image \"{}\" on {}/{} nodes", imageName, targetNodes.size(), readyNodes.size());
 
         ServiceSpec.Builder serviceCfgBuilder = ServiceSpec.builder();
         TaskSpec.Builder taskCfgBuilder = TaskSpec.builder();
@@ -260,6 +365,12 @@ public class ContainerManagerImpl implements ContainerManager {
 
         taskCfgBuilder.restartPolicy(RestartPolicy.builder().condition(RestartPolicy.RESTART_POLICY_NONE).build());
 
+        // exclude the nodes that already have the image
+        if (targetNodes.size() < readyNodes.size()) {
+            taskCfgBuilder.placement(Placement.create(readyNodes.stream().filter(n -> !targetNodes.contains(n))
+                    .map(n -> "node.id!=" + n).collect(Collectors.toList())));
+        }
+
         cfgBuilder.image(imageName);
 
         // TODO: put some labels on it?
@@ -283,14 +394,8 @@ public class ContainerManagerImpl implements ContainerManager {
         serviceCfgBuilder.taskTemplate(taskCfgBuilder.build());
         serviceCfgBuilder.name(getInstanceName(imageName, "pull"));
         ServiceSpec serviceCfg = serviceCfgBuilder.build();
-        Integer totalNodes;
-        try {
-            // TODO: use ClusterManager
-            totalNodes = dockerClient.listNodes().size();
-        } catch (Exception e) {
-            LOGGER.error("Couldn't retrieve list of swarm nodes!");
-            return;
-        }
+        final int totalNodes = targetNodes.size();
+        final String serviceId;
         try {
             ServiceCreateResponse resp;
             // If we have authentication credentials and the image name contains
@@ -302,50 +407,63 @@ public class ContainerManagerImpl implements ContainerManager {
                 // pull image and wait for the pull to finish
                 resp = dockerClient.createService(serviceCfg, nullAuth);
             }
-            String serviceId = resp.id();
+            serviceId = resp.id();
             LOGGER.info("Pulling service id: {}", serviceId);
+        } catch (Exception e) {
+            LOGGER.error("Exception while pulling the image \"" + imageName + "\".", e);
+            return CompletableFuture.completedFuture(false);
+        }
 
-            // create a set to collect the tasks of nodes that have finished the pulling
-            final Set<String> finshedTaskIds = Collections.synchronizedSet(new HashSet<String>());
-
-            // wait for any container of that service to start on each node
-            try {
-                Waiting.waitFor(() -> {
-                    List<Task> pullingTasks = dockerClient
-                            .listTasks(Task.Criteria.builder().serviceName(serviceId).build());
-                    for (Task pullingTask : pullingTasks) {
-                        String state = pullingTask.status().state();
-                        if (!UNFINISHED_TASK_STATES.contains(state)) {
-                            if (state.equals(TaskStatus.TASK_STATE_REJECTED)) {
-                                LOGGER.error("Couldn't pull image {} on node {}. {}", imageName, pullingTask.nodeId(),
-                                        pullingTask.status().err());
-                                throw new Exception("Couldn't pull image on node " + pullingTask.nodeId() + ": " + pullingTask.status().err());
-                            }
-                            finshedTaskIds.add(pullingTask.id());
-                        }
+        // create a set to collect the tasks of nodes that have finished the pulling
+        final Set<String> finshedTaskIds = Collections.synchronizedSet(new HashSet<String>());
+
+        // wait for any container of that service to start on each node
+        return Waiting.waitForAsync(() -> {
+            List<Task> pullingTasks = dockerClient.listTasks(Task.Criteria.builder().serviceName(serviceId).build());
+            for (Task pullingTask : pullingTasks) {
+                String state = pullingTask.status().state();
+                if (!UNFINISHED_TASK_STATES.contains(state)) {
+                    if (state.equals(TaskStatus.TASK_STATE_REJECTED)) {
+                        LOGGER.error("Couldn't pull image {} on node {}. {}", imageName, pullingTask.nodeId(),
+                                pullingTask.status().err());
+                        throw new Exception("Couldn't pull image on node " + pullingTask.nodeId() + ": " + pullingTask.status().err());
                     }
-                    if (finshedTaskIds.size() >= totalNodes) {
-                        LOGGER.info("Swarm pulled the image \"{}\" ({})", imageName,
-                                pullingTasks.stream().map(t -> t.status().state()).collect(Collectors.joining(", ")));
-                        return true;
-                    } else {
-                        return false;
+                    if (finshedTaskIds.add(pullingTask.id()) && (digest != null)) {
+                        imageCache.add(imageName, pullingTask.nodeId(), digest);
                     }
-                }, DOCKER_POLL_INTERVAL, DOCKER_IMAGE_PULL_MAX_WAITING_TIME);
-            } catch (InterruptedException e) {
+                }
+            }
+            if (finshedTaskIds.size() >= totalNodes) {
+                LOGGER.info("Swarm pulled the image \"{}\" ({})", imageName,
+                        pullingTasks.stream().map(t -> t.status().state()).collect(Collectors.joining(", ")));
+                return true;
+            } else {
+                return false;
+            }
+        }, DOCKER_POLL_INTERVAL, DOCKER_MAX_POLL_INTERVAL, DOCKER_IMAGE_PULL_MAX_WAITING_TIME).handle((v, error) -> {
+            boolean success = true;
+            if (error instanceof InterruptedException) {
                 LOGGER.warn(
                         "Interrupted while waiting for the image {} to be pulled. Assuming that pulling was successful. Exception: {}",
-                        imageName, e.getLocalizedMessage());
+                        imageName, error.getLocalizedMessage());
+            } else if (error != null) {
+                LOGGER.error("Exception while pulling the image \"" + imageName + "\".", error);
+                success = false;
             }
-
-            dockerClient.removeService(serviceId);
-        } catch (Exception e) {
-            LOGGER.error("Exception while pulling the image \"" + imageName + "\".", e);
-        }
+            try {
+                dockerClient.removeService(serviceId);
+            } catch (Exception e) {
+                LOGGER.error("Exception while removing the pulling service of the image \"" + imageName + "\".", e);
+                success = false;
+            }
+            return success;
+        });
     }
 
     /**
-     * Creates new container using given image and assigns given type and parent
+     * Creates new container using given image and assigns given type and parent.
+     * The service is created by the calling thread while the waiting for its
+     * container to start is done asynchronously.
      *
      * @param imageName
      *            image to use as base for container
@@ -357,11 +475,14 @@ public class ContainerManagerImpl implements ContainerManager {
      *            (optional) environment variables
      * @param command
      *            (optional) command to be executed with image
+     * @param experimentId
+     *            (optional) experiment id that is added to the GELF tag
      *
-     * @return String the container Id or <code>null</code> if an error occurs
+     * @return a future that is completed with the container Id or with
+     *         <code>null</code> if an error occurs
      */
-    private String createContainer(String imageName, String containerType, String parentId, String[] env,
-            String[] netAliases, String[] command) {
+    private CompletableFuture<String> createContainerAsync(String imageName, String containerType, String parentId,
+            String[] env, String[] netAliases, String[] command, String experimentId) {
         ServiceSpec.Builder serviceCfgBuilder = ServiceSpec.builder();
 
         TaskSpec.Builder taskCfgBuilder = TaskSpec.builder();
@@ -392,7 +513,7 @@ public class ContainerManagerImpl implements ContainerManager {
                 LOGGER.error(
                         "Can't create container using image {} without a container type (either a given type or one that can be derived from the parent). Returning null.",
                         imageName);
-                return null;
+                return CompletableFuture.completedFuture(null);
             }
         }
 
@@ -401,13 +522,10 @@ public class ContainerManagerImpl implements ContainerManager {
         long numberOfSystemSwarmNodes = 0;
         long numberOfBenchmarkSwarmNodes = 0;
         try {
-            ClusterManager clusterManager = new ClusterManagerImpl();
-            numberOfSwarmNodes = clusterManager.getNumberOfNodes();
-            numberOfSystemSwarmNodes = clusterManager.getNumberOfNodes("org.hobbit.workergroup=system");
-            numberOfBenchmarkSwarmNodes = clusterManager.getNumberOfNodes("org.hobbit.workergroup=benchmark");
-        } catch (DockerCertificateException e) {
-            LOGGER.error("Could not initialize Cluster Manager, will use container placement constraints by default. ",
-                    e);
+            ClusterTopology topology = clusterManager.getClusterTopology();
+            numberOfSwarmNodes = topology.getNumberOfReadyNodes();
+            numberOfSystemSwarmNodes = topology.getNumberOfReadyNodes("org.hobbit.workergroup=system");
+            numberOfBenchmarkSwarmNodes = topology.getNumberOfReadyNodes("org.hobbit.workergroup=benchmark");
         } catch (Exception e) {
             LOGGER.error("Could not get number of swarm nodes. ", e);
         }
@@ -440,7 +558,7 @@ public class ContainerManagerImpl implements ContainerManager {
             } else {
                 LOGGER.error("Got a request to create a container with type={} and parentType={}. "
                         + "Got no rule to determine its type. Returning null.", containerType, parentType);
-                return null;
+                return CompletableFuture.completedFuture(null);
             }
         } else {
             LOGGER.warn("The swarm cluster got only 1 node, I will not use placement constraints.");
@@ -495,45 +613,45 @@ public class ContainerManagerImpl implements ContainerManager {
 
         serviceCfgBuilder.name(serviceName);
         ServiceSpec serviceCfg = serviceCfgBuilder.build();
-        String serviceId = null;
+        final String serviceId;
         try {
             ServiceCreateResponse resp = dockerClient.createService(serviceCfg, nullAuth);
             serviceId = resp.id();
-            final String serviceIdForLambda = serviceId;
-            // wait for a container of that service to start
-            List<Task> serviceTasks = new ArrayList<Task>();
-            Waiting.waitFor(() -> {
-                serviceTasks.clear();
-                serviceTasks.addAll(dockerClient.listTasks(Task.Criteria.builder().serviceName(serviceIdForLambda).build()));
-
-                if (!serviceTasks.isEmpty()) {
-                    TaskStatus status = serviceTasks.get(0).status();
-                    if (status.state().equals(TaskStatus.TASK_STATE_PENDING)) {
-                        if (status.err() != null && status.err().matches("no suitable node.*")) {
-                            throw new Exception(status.err());
-                        }
+        } catch (Exception e) {
+            LOGGER.error("Couldn't create Docker container. Returning null.", e);
+            return CompletableFuture.completedFuture(null);
+        }
+        // wait for a container of that service to start
+        return Waiting.waitForAsync(() -> {
+            List<Task> serviceTasks = dockerClient.listTasks(Task.Criteria.builder().serviceName(serviceId).build());
+
+            if (!serviceTasks.isEmpty()) {
+                TaskStatus status = serviceTasks.get(0).status();
+                if (status.state().equals(TaskStatus.TASK_STATE_PENDING)) {
+                    if (status.err() != null && status.err().matches("no suitable node.*")) {
+                        throw new Exception(status.err());
                     }
-                    return !NEW_TASKS_STATES.contains(status.state());
                 }
+                return !NEW_TASKS_STATES.contains(status.state());
+            }
 
-                return false;
-            }, DOCKER_POLL_INTERVAL);
-            // return new container id
-            LOGGER.info("Container {} created", serviceName);
-            return serviceName;
-        } catch (Exception e) {
-            if (serviceId != null) {
-                try {
-                    LOGGER.info("Removing service {} which didn't cleanly start", serviceId);
-                    dockerClient.removeService(serviceId);
-                } catch (Exception cleanupE) {
-                    LOGGER.error("Couldn't remove service {} which didn't cleanly start", serviceId, cleanupE);
-                }
+            return false;
+        }, DOCKER_POLL_INTERVAL, DOCKER_MAX_POLL_INTERVAL, DOCKER_CONTAINER_START_MAX_WAITING_TIME).handle((v, error) -> {
+            if (error == null) {
+                // return new container id
+                LOGGER.info("Container {} created", serviceName);
+                return serviceName;
+            }
+            try {
+                LOGGER.info("Removing service {} which didn't cleanly start", serviceId);
+                dockerClient.removeService(serviceId);
+            } catch (Exception cleanupE) {
+                LOGGER.error("Couldn't remove service {} which didn't cleanly start", serviceId, cleanupE);
             }
 
-            LOGGER.error("Couldn't create Docker container. Returning null.", e);
+            LOGGER.error("Couldn't create Docker container. Returning null.", error);
             return null;
-        }
+        });
     }
 
     @Deprecated
@@ -576,20 +694,26 @@ public class ContainerManagerImpl implements ContainerManager {
     @Override
     public String startContainer(String imageName, String containerType, String parentId, String[] env,
             String[] netAliases, String[] command, boolean pullImage) {
-        if (pullImage) {
-            pullImage(imageName);
-        }
-
-        String containerId = createContainer(imageName, containerType, parentId, env, netAliases, command);
+        return startContainerAsync(imageName, containerType, parentId, env, netAliases, command, pullImage).join();
+    }
 
-        // if the creation was successful
-        if (containerId != null) {
-            for (ContainerStateObserver observer : containerObservers) {
-                observer.addObservedContainer(containerId);
+    @Override
+    public CompletableFuture<String> startContainerAsync(String imageName, String containerType, String parentId,
+            String[] env, String[] netAliases, String[] command, boolean pullImage) {
+        // the experiment id may change while we are waiting for the pulling
+        final String experimentId = this.experimentId;
+        CompletableFuture<Boolean> pulling = pullImage ? pullImageAsync(imageName)
+                : CompletableFuture.completedFuture(true);
+        return pulling.thenCompose(pulled -> createContainerAsync(imageName, containerType, parentId, env,
+                netAliases, command, experimentId)).thenApply(containerId -> {
+            // if the creation was successful
+            if (containerId != null) {
+                for (ContainerStateObserver observer : containerObservers) {
+                    observer.addObservedContainer(containerId);
+                }
             }
             return containerId;
-        }
-        return null;
+        });
     }
 
     @Override
@@ -601,6 +725,11 @@ public class ContainerManagerImpl implements ContainerManager {
 
     @Override
     public void removeContainer(String serviceName) {
+        removeContainerAsync(serviceName).join();
+    }
+
+    @Override
+    public CompletableFuture<Void> removeContainerAsync(String serviceName) {
         try {
             Integer exitCode = getContainerExitCode(serviceName);
             if (DEPLOY_ENV.equals(DEPLOY_ENV_DEVELOP)) {
@@ -619,20 +748,27 @@ public class ContainerManagerImpl implements ContainerManager {
                 dockerClient.removeService(serviceName);
 
                 // wait for the service to disappear
-                Waiting.waitFor(() -> {
+                return Waiting.waitForAsync(() -> {
                     try {
                         dockerClient.inspectService(serviceName);
                         return false;
                     } catch (ServiceNotFoundException e) {
                         return true;
                     }
-                }, DOCKER_POLL_INTERVAL);
+                }, DOCKER_POLL_INTERVAL, DOCKER_MAX_POLL_INTERVAL, DOCKER_CONTAINER_REMOVAL_MAX_WAITING_TIME)
+                        .handle((v, error) -> {
+                            if (error != null) {
+                                LOGGER.error("Couldn't remove container {}.", serviceName, error);
+                            }
+                            return null;
+                        });
             }
         } catch (TaskNotFoundException | ServiceNotFoundException e) {
             LOGGER.error("Couldn't remove container {} because it doesn't exist", serviceName);
         } catch (Exception e) {
             LOGGER.error("Couldn't remove container {}.", serviceName, e);
         }
+        return CompletableFuture.completedFuture(null);
     }
 
     @Deprecated
@@ -650,22 +786,194 @@ public class ContainerManagerImpl implements ContainerManager {
     }
 
     @Override
-    public void removeParentAndChildren(String parent) {
-        // stop parent
-        removeContainer(parent);
-
-        // find children
+    public Map<String, RemovalOutcome> removeParentAndChildren(String parent) {
+        Map<String, RemovalOutcome> outcomes = new ConcurrentHashMap<>();
+        if (parent == null) {
+            return outcomes;
+        }
+        // gather the complete container tree with a single request
+        List<String> tree;
         try {
-            List<Service> services = dockerClient.listServices(Service.Criteria.builder().labels(ImmutableMap.of(LABEL_PARENT, parent)).build());
-
-            for (Service c : services) {
-                if (c != null) {
-                    removeParentAndChildren(c.spec().name());
+            tree = getContainerTree(parent, dockerClient.listServices());
+        } catch (Exception e) {
+            LOGGER.error("Error while retrieving the children of " + parent + ". Removing only the parent.", e);
+            tree = Arrays.asList(parent);
+        }
+        if (DEPLOY_ENV.equals(DEPLOY_ENV_DEVELOP)) {
+            LOGGER.info("Will not remove containers {}. Development mode is enabled.", tree);
+            for (String serviceName : tree) {
+                outcomes.put(serviceName, RemovalOutcome.KEPT);
+            }
+            return outcomes;
+        }
+        long deadline = System.currentTimeMillis() + DOCKER_CONTAINER_REMOVAL_MAX_WAITING_TIME;
+        Set<String> handledServices = new HashSet<>();
+        Set<String> removedServices = ConcurrentHashMap.newKeySet();
+        List<String> services = tree;
+        while (!services.isEmpty()) {
+            handledServices.addAll(services);
+            removeServices(services, outcomes, removedServices, deadline);
+            // children that have been created while their parents were removed
+            // are only found by listing the services again
+            if (System.currentTimeMillis() >= deadline) {
+                break;
+            }
+            services = new ArrayList<>();
+            try {
+                for (String serviceName : getContainerTree(parent, dockerClient.listServices())) {
+                    if (!handledServices.contains(serviceName)) {
+                        services.add(serviceName);
+                    }
                 }
+            } catch (Exception e) {
+                LOGGER.error("Error while checking for remaining children of " + parent + ".", e);
+            }
+            if (!services.isEmpty()) {
+                LOGGER.info("Found children {} of {} that have been created during the removal. Removing them.",
+                        services, parent);
             }
+        }
+        // wait for all removed services to disappear using a single request per
+        // check
+        Set<String> remainingServices = new HashSet<>(removedServices);
+        try {
+            Waiting.waitFor(() -> {
+                Set<String> existingServices = dockerClient.listServices().stream().map(service -> service.spec().name())
+                        .collect(Collectors.toSet());
+                remainingServices.retainAll(existingServices);
+                return remainingServices.isEmpty();
+            }, DOCKER_POLL_INTERVAL, DOCKER_MAX_POLL_INTERVAL, Math.max(0, deadline - System.currentTimeMillis()));
+        } catch (InterruptedException e) {
+            LOGGER.warn("The containers {} didn't disappear before the deadline.", remainingServices);
         } catch (Exception e) {
-            LOGGER.error("Error while removing containers: " + e.toString());
+            LOGGER.error("Error while waiting for the containers to disappear.", e);
+        }
+        for (String serviceName : removedServices) {
+            if (!remainingServices.contains(serviceName)) {
+                outcomes.put(serviceName, RemovalOutcome.REMOVED);
+            }
         }
+        for (String serviceName : handledServices) {
+            outcomes.putIfAbsent(serviceName, RemovalOutcome.TIMED_OUT);
+        }
+        return outcomes;
+    }
+
+    /**
+     * Removes the given services concurrently and waits until the removal
+     * requests have been answered or the given deadline has been reached.
+     *
+     * @param serviceNames
+     *            the names of the services that should be removed
+     * @param outcomes
+     *            the map to which the outcomes of services that are kept or
+     *            couldn't be removed are added
+     * @param removedServices
+     *            the set to which the names of the services are added whose
+     *            removal has been accepted by Docker
+     * @param deadline
+     *            the time stamp until which the removal may take
+     */
+    private void removeServices(List<String> serviceNames, Map<String, RemovalOutcome> outcomes,
+            Set<String> removedServices, long deadline) {
+        Map<String, Integer> exitCodes = Collections.emptyMap();
+        if (DEPLOY_ENV.equals(DEPLOY_ENV_TESTING)) {
+            try {
+                exitCodes = getContainerExitCodes(serviceNames);
+            } catch (Exception e) {
+                LOGGER.error("Couldn't get the exit codes of the containers " + serviceNames + ".", e);
+            }
+        }
+        // remove the services concurrently
+        List<Future<?>> removals = new ArrayList<>(serviceNames.size());
+        for (String serviceName : serviceNames) {
+            Integer exitCode = exitCodes.get(serviceName);
+            if (DEPLOY_ENV.equals(DEPLOY_ENV_TESTING) && (exitCode == null || exitCode != 0)) {
+                // In testing - do not remove containers if they returned non-zero exit code
+                LOGGER.info("Will not remove container {}. ExitCode: {} != 0 and testing mode is enabled.",
+                        serviceName, exitCode);
+                outcomes.put(serviceName, RemovalOutcome.KEPT);
+                continue;
+            }
+            removals.add(removalExecutor.submit(() -> {
+                try {
+                    LOGGER.info("Removing container {}. ", serviceName);
+                    dockerClient.removeService(serviceName);
+                    removedServices.add(serviceName);
+                } catch (ServiceNotFoundException e) {
+                    outcomes.put(serviceName, RemovalOutcome.NOT_FOUND);
+                } catch (Exception e) {
+                    LOGGER.error("Couldn't remove container " + serviceName + ".", e);
+                    outcomes.put(serviceName, RemovalOutcome.FAILED);
+                }
+            }));
+        }
+        for (Future<?> removal : removals) {
+            try {
+                removal.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                // the outcome of the container stays undefined and will be set to
+                // TIMED_OUT
+                removal.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Determines the given parent and all its (direct and indirect) children
+     * based on the {@link #LABEL_PARENT} labels of the given services.
+     *
+     * @param parent
+     *            the name of the parent container
+     * @param services
+     *            all services of the cluster
+     * @return the names of the parent and all its children
+     */
+    protected static List<String> getContainerTree(String parent, List<Service> services) {
+        // keep the order of the services
+        Map<String, String> parents = new LinkedHashMap<>();
+        String parentName;
+        for (Service service : services) {
+            if ((service != null) && (service.spec().labels() != null)) {
+                parentName = service.spec().labels().get(LABEL_PARENT);
+                if (parentName != null) {
+                    parents.put(service.spec().name(), parentName);
+                }
+            }
+        }
+        return getContainerTree(parent, parents);
+    }
+
+    /**
+     * Determines the given parent and all its (direct and indirect) children
+     * based on the given parents of the services. The parent is the first
+     * element of the returned list and every child is listed after its parent.
+     *
+     * @param parent
+     *            the name of the parent container
+     * @param parents
+     *            the names of the parents mapped to the names of the services
+     *            (services without parent can be omitted)
+     * @return the names of the parent and all its children
+     */
+    protected static List<String> getContainerTree(String parent, Map<String, String> parents) {
+        Map<String, List<String>> children = new HashMap<>();
+        for (Map.Entry<String, String> entry : parents.entrySet()) {
+            children.computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(entry.getKey());
+        }
+        List<String> tree = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        tree.add(parent);
+        visited.add(parent);
+        // breadth-first traversal
+        for (int i = 0; i < tree.size(); ++i) {
+            for (String child : children.getOrDefault(tree.get(i), Collections.emptyList())) {
+                if (visited.add(child)) {
+                    tree.add(child);
+                }
+            }
+        }
+        return tree;
     }
 
     @Override
@@ -700,6 +1008,63 @@ public class ContainerManagerImpl implements ContainerManager {
 
         // Service exists, but no tasks are observed.
         List<Task> tasks = dockerClient.listTasks(Task.Criteria.builder().serviceName(serviceName).build());
+        return getExitCode(serviceName, tasks);
+    }
+
+    @Override
+    public Map<String, Integer> getContainerExitCodes(Collection<String> serviceNames)
+            throws DockerException, InterruptedException {
+        Map<String, Integer> exitCodes = new HashMap<>();
+        if (serviceNames.isEmpty()) {
+            return exitCodes;
+        }
+        // Map the IDs of all services created by the platform (i.e., services
+        // that have a type label) to their names. The label filter makes sure
+        // that Docker only sends the services of the platform.
+        Map<String, String> serviceNamesById = new HashMap<>();
+        for (Service service : dockerClient
+                .listServices(Service.Criteria.builder().labels(ImmutableMap.of(LABEL_TYPE, "")).build())) {
+            serviceNamesById.put(service.id(), service.spec().name());
+        }
+        // Retrieve a single snapshot of the tasks of the platform services and
+        // assign them to the services
+        Map<String, List<Task>> tasksPerService = new HashMap<>();
+        String name;
+        for (Task task : dockerClient.listTasks(Task.Criteria.builder().label(LABEL_TYPE).build())) {
+            name = serviceNamesById.get(task.serviceId());
+            if (name != null) {
+                tasksPerService.computeIfAbsent(name, k -> new ArrayList<>()).add(task);
+            }
+        }
+        Set<String> existingServiceNames = new HashSet<>(serviceNamesById.values());
+        Integer exitCode;
+        for (String serviceName : serviceNames) {
+            if (!existingServiceNames.contains(serviceName)) {
+                LOGGER.warn("Couldn't get the exit code for container {}. Service doesn't exist. Assuming it was stopped by the platform.", serviceName);
+                exitCodes.put(serviceName, DOCKER_EXITCODE_SIGKILL);
+            } else {
+                exitCode = getExitCode(serviceName,
+                        tasksPerService.getOrDefault(serviceName, Collections.emptyList()));
+                if (exitCode != null) {
+                    exitCodes.put(serviceName, exitCode);
+                }
+            }
+        }
+        return exitCodes;
+    }
+
+    /**
+     * Determines the exit code of the service with the given name based on the
+     * given list of its tasks.
+     *
+     * @param serviceName
+     *            name of the service (used for logging)
+     * @param tasks
+     *            the tasks of the service
+     * @return the exit code of the service or {@code null} if it is still
+     *         running
+     */
+    private Integer getExitCode(String serviceName, List<Task> tasks) {
         if (tasks.size() == 0) {
             LOGGER.warn("Couldn't get the exit code for container {}. Service has no tasks. Returning null.", serviceName);
             return null;
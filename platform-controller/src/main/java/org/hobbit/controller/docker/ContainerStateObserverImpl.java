@@ -17,9 +17,12 @@
 package org.hobbit.controller.docker;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,8 +31,9 @@ import com.spotify.docker.client.exceptions.DockerException;
 
 /**
  * This class implements the {@link ContainerStateObserver} interface by
- * starting a scheduled job that retrieves a list of containers and their status
- * using the given {@link ContainerManager}. If a container has the status
+ * starting a scheduled job that retrieves the status of all monitored containers
+ * with a single {@link ContainerManager#getContainerExitCodes(java.util.Collection)}
+ * call using the given {@link ContainerManager}. If a container has the status
  * "exited" and can be found in the internal list of monitored containers, the
  * {@link ContainerTerminationCallback#notifyTermination(String, int)} methods
  * of all registered callbacks are called.
@@ -53,7 +57,7 @@ public class ContainerStateObserverImpl implements ContainerStateObserver {
      * The {@link ContainerManager} class that is used to retrieve information about
      * containers.
      */
-    private ContainerManager manager;
+    protected ContainerManager manager;
     /**
      * The time interval in which the checking of containers is performed.
      */
@@ -77,7 +81,7 @@ public class ContainerStateObserverImpl implements ContainerStateObserver {
         this.manager = manager;
         this.repeatInterval = repeatInterval;
         monitoredContainers = new ArrayList<>();
-        terminationCallbacks = new ArrayList<>();
+        terminationCallbacks = new CopyOnWriteArrayList<>();
         timer = new Timer();
     }
 
@@ -86,35 +90,74 @@ public class ContainerStateObserverImpl implements ContainerStateObserver {
         timer.scheduleAtFixedRate(new TimerTask() {
             @Override
             public void run() {
-                String containerIds[] = null;
-                // copy the list of containers so that we don't have to care for
-                // access conflicts with other threads after this point
-                synchronized (monitoredContainers) {
-                    containerIds = monitoredContainers.toArray(new String[monitoredContainers.size()]);
-                }
-                for (String id : containerIds) {
-                    try {
-                        Integer exitStatus = manager.getContainerExitCode(id);
-
-                        if (exitStatus != null) {
-                            // notify all callbacks
-                            for (ContainerTerminationCallback cb : terminationCallbacks) {
-                                try {
-                                    cb.notifyTermination(id, exitStatus);
-                                } catch (Throwable e) {
-                                    LOGGER.error("Error while calling container termination callback.", e);
-                                }
-                            }
-                        }
-                    } catch (DockerException | InterruptedException e) {
-                        LOGGER.error("Couldn't get the status of container " + id
-                                + ". It will be ignored during this run but will be checked again during the next run.");
-                    }
-                }
+                checkContainers();
             }
         }, repeatInterval, repeatInterval);
     }
 
+    /**
+     * Retrieves the exit codes of all monitored containers and notifies the
+     * callbacks about every container that terminated.
+     */
+    protected void checkContainers() {
+        String containerIds[] = null;
+        // copy the list of containers so that we don't have to care for
+        // access conflicts with other threads after this point
+        synchronized (monitoredContainers) {
+            containerIds = monitoredContainers.toArray(new String[monitoredContainers.size()]);
+        }
+        if (containerIds.length == 0) {
+            return;
+        }
+        // retrieve the exit codes of all containers at once
+        Map<String, Integer> exitCodes;
+        try {
+            exitCodes = manager.getContainerExitCodes(Arrays.asList(containerIds));
+        } catch (DockerException | InterruptedException e) {
+            LOGGER.error("Couldn't get the status of the observed containers. "
+                    + "They will be ignored during this run but will be checked again during the next run.", e);
+            return;
+        }
+        for (String id : containerIds) {
+            if (exitCodes.containsKey(id)) {
+                notifyTermination(id, exitCodes.get(id));
+            }
+        }
+    }
+
+    /**
+     * Notifies all registered callbacks that the container with the given Id
+     * terminated with the given exit code.
+     *
+     * @param containerId
+     *            the Id of the terminated container
+     * @param exitCode
+     *            the exit code of the container
+     */
+    protected void notifyTermination(String containerId, int exitCode) {
+        for (ContainerTerminationCallback cb : terminationCallbacks) {
+            try {
+                cb.notifyTermination(containerId, exitCode);
+            } catch (Throwable e) {
+                LOGGER.error("Error while calling container termination callback.", e);
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the container with the given Id is part of the
+     * list of monitored containers.
+     *
+     * @param containerId
+     *            the Id of the container
+     * @return {@code true} if the container is observed
+     */
+    protected boolean isObserved(String containerId) {
+        synchronized (monitoredContainers) {
+            return monitoredContainers.contains(containerId);
+        }
+    }
+
     @Override
     public void stopObserving() {
         timer.cancel();
@@ -0,0 +1,334 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.spotify.docker.client.DockerClient;
+import com.spotify.docker.client.DockerClient.EventsParam;
+import com.spotify.docker.client.EventStream;
+import com.spotify.docker.client.exceptions.DockerCertificateException;
+import com.spotify.docker.client.messages.Event;
+
+/**
+ * An extension of the {@link ContainerStateObserverImpl} that subscribes to the
+ * Docker events API and notifies the termination callbacks as soon as a
+ * container of one of the monitored services dies. Since the Docker daemon only
+ * reports container events of its own node, the polling of the super class is
+ * kept as reconciliation for containers running on other nodes of the swarm and
+ * for events that might have been missed while the event stream was
+ * reconnecting.
+ *
+ * <p>
+ * Every container is reported only once to the callbacks, regardless whether
+ * its termination has been detected by an event or by the polling.
+ * </p>
+ */
+public class EventBasedContainerStateObserver extends ContainerStateObserverImpl {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventBasedContainerStateObserver.class);
+
+    /**
+     * Label that Docker Swarm adds to every container of a service.
+     */
+    public static final String SWARM_SERVICE_NAME_LABEL = "com.docker.swarm.service.name";
+    /**
+     * Attribute of a container event that contains the exit code.
+     */
+    private static final String EXIT_CODE_ATTRIBUTE = "exitCode";
+    /**
+     * Action of a container event that is sent if the container terminated.
+     */
+    private static final String DIE_ACTION = "die";
+    /**
+     * Time the observer waits before it tries to reconnect to the event stream.
+     */
+    private static final long RECONNECT_DELAY = 1000;
+
+    /**
+     * Docker client used to subscribe to the events API.
+     */
+    private DockerClient dockerClient;
+    /**
+     * Ids of the monitored containers whose termination has already been
+     * reported to the callbacks. An id is kept after the container has been
+     * removed from the observer since a polling run might still work on a
+     * list of containers that has been copied before the removal. It is
+     * forgotten at the beginning of the next polling run.
+     */
+    private Set<String> reportedContainers = ConcurrentHashMap.newKeySet();
+    /**
+     * Thread reading the event stream.
+     */
+    private Thread eventThread;
+    /**
+     * The currently open event stream.
+     */
+    private volatile EventStream eventStream;
+    /**
+     * Flag indicating whether the observer is running.
+     */
+    private volatile boolean running = false;
+    /**
+     * Time stamp (in seconds) of the last received event. It is used to resume
+     * the stream after a reconnect.
+     */
+    private volatile long lastEventTime = 0;
+
+    /**
+     * Number of terminations that have been detected by an event.
+     */
+    private AtomicLong eventDetections = new AtomicLong();
+    /**
+     * Number of terminations that have been detected by the reconciliation
+     * polling.
+     */
+    private AtomicLong pollingDetections = new AtomicLong();
+    /**
+     * Sum of the time spans between the termination of a container and its
+     * detection by an event (in ms).
+     */
+    private AtomicLong eventLatencySum = new AtomicLong();
+    /**
+     * Maximum time span between the termination of a container and its
+     * detection by an event (in ms).
+     */
+    private AtomicLong eventLatencyMax = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param manager
+     *            The {@link ContainerManager} class that is used to retrieve
+     *            information about containers during the reconciliation.
+     * @param reconciliationInterval
+     *            The time interval in which the reconciliation polling is
+     *            performed.
+     * @throws DockerCertificateException
+     *             if the Docker client can not be created
+     */
+    public EventBasedContainerStateObserver(ContainerManager manager, int reconciliationInterval)
+            throws DockerCertificateException {
+        this(manager, reconciliationInterval, DockerUtility.getDockerClient());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param manager
+     *            The {@link ContainerManager} class that is used to retrieve
+     *            information about containers during the reconciliation.
+     * @param reconciliationInterval
+     *            The time interval in which the reconciliation polling is
+     *            performed.
+     * @param dockerClient
+     *            The Docker client used to subscribe to the events API.
+     */
+    public EventBasedContainerStateObserver(ContainerManager manager, int reconciliationInterval,
+            DockerClient dockerClient) {
+        super(manager, reconciliationInterval);
+        this.dockerClient = dockerClient;
+    }
+
+    @Override
+    public void startObserving() {
+        super.startObserving();
+        running = true;
+        eventThread = new Thread(this::readEvents, "container-event-observer");
+        eventThread.setDaemon(true);
+        eventThread.start();
+    }
+
+    @Override
+    public void stopObserving() {
+        running = false;
+        closeEventStream();
+        if (eventThread != null) {
+            eventThread.interrupt();
+        }
+        super.stopObserving();
+        logMetrics();
+    }
+
+    /**
+     * Reads the container events until the observer is stopped and reconnects
+     * to the event stream if it breaks.
+     */
+    private void readEvents() {
+        while (running) {
+            try {
+                eventStream = dockerClient.events(createEventsParams());
+                while (running && eventStream.hasNext()) {
+                    handleEvent(eventStream.next());
+                }
+            } catch (Exception e) {
+                if (running) {
+                    LOGGER.debug("The Docker event stream broke. Reconnecting.", e);
+                }
+            } finally {
+                closeEventStream();
+            }
+            if (running) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException e) {
+                    // the observer is stopped
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the parameters of the event stream. If events have already been
+     * received, the stream is resumed at the time of the last event.
+     *
+     * @return the parameters of the event stream
+     */
+    protected EventsParam[] createEventsParams() {
+        if (lastEventTime > 0) {
+            return new EventsParam[] { EventsParam.type(Event.Type.CONTAINER), EventsParam.event(DIE_ACTION),
+                    EventsParam.since(lastEventTime) };
+        } else {
+            return new EventsParam[] { EventsParam.type(Event.Type.CONTAINER), EventsParam.event(DIE_ACTION) };
+        }
+    }
+
+    /**
+     * Handles the given container event and notifies the callbacks if it
+     * reports the termination of a monitored container. Events without a valid
+     * exit code are ignored, i.e., the termination is left to the
+     * reconciliation polling which retrieves the exit code from the daemon.
+     *
+     * @param event
+     *            the received event
+     */
+    protected void handleEvent(Event event) {
+        long detectionTime = System.currentTimeMillis();
+        if (event.time() != null) {
+            lastEventTime = TimeUnit.MILLISECONDS.toSeconds(event.time().getTime());
+        }
+        if ((event.actor() == null) || !DIE_ACTION.equals(event.action())) {
+            return;
+        }
+        Map<String, String> attributes = event.actor().attributes();
+        if (attributes == null) {
+            return;
+        }
+        String serviceName = attributes.get(SWARM_SERVICE_NAME_LABEL);
+        if ((serviceName == null) || !isObserved(serviceName)) {
+            return;
+        }
+        int exitCode;
+        try {
+            exitCode = Integer.parseInt(attributes.get(EXIT_CODE_ATTRIBUTE));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Couldn't get the exit code of container {} from its die event. "
+                    + "Leaving it to the reconciliation polling.", serviceName);
+            return;
+        }
+        if (reportedContainers.add(serviceName)) {
+            if (event.timeNano() != null) {
+                long latency = detectionTime - TimeUnit.NANOSECONDS.toMillis(event.timeNano());
+                eventLatencySum.addAndGet(latency);
+                eventLatencyMax.accumulateAndGet(latency, Math::max);
+                LOGGER.debug("Detected termination of {} {}ms after it happened.", serviceName, latency);
+            }
+            eventDetections.incrementAndGet();
+            super.notifyTermination(serviceName, exitCode);
+        }
+    }
+
+    @Override
+    protected void notifyTermination(String containerId, int exitCode) {
+        // this method is only called by the reconciliation polling
+        if (reportedContainers.add(containerId)) {
+            pollingDetections.incrementAndGet();
+            LOGGER.info("The termination of {} has been detected by the reconciliation polling.", containerId);
+            logMetrics();
+            super.notifyTermination(containerId, exitCode);
+        }
+    }
+
+    @Override
+    protected void checkContainers() {
+        // the polling runs one after the other, i.e., no earlier run can
+        // report a container that is not observed anymore
+        reportedContainers.retainAll(getObservedContainers());
+        super.checkContainers();
+    }
+
+    /**
+     * Logs the number of terminations detected by events and by the polling
+     * together with the latency of the event based detection.
+     */
+    protected void logMetrics() {
+        LOGGER.info("Terminations detected by events: {} (avg. latency: {}ms, max. latency: {}ms), "
+                + "detected by polling: {}", getEventDetections(), String.format("%.1f", getAverageEventLatency()),
+                getMaxEventLatency(), getPollingDetections());
+    }
+
+    private void closeEventStream() {
+        EventStream stream = eventStream;
+        eventStream = null;
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (Exception e) {
+                // nothing to do
+            }
+        }
+    }
+
+    /**
+     * @return the number of terminations that have been detected by an event
+     */
+    public long getEventDetections() {
+        return eventDetections.get();
+    }
+
+    /**
+     * @return the number of terminations that have been detected by the
+     *         reconciliation polling, i.e., that have been missed by the events
+     */
+    public long getPollingDetections() {
+        return pollingDetections.get();
+    }
+
+    /**
+     * @return the average time span between the termination of a container and
+     *         its detection by an event (in ms)
+     */
+    public double getAverageEventLatency() {
+        long detections = eventDetections.get();
+        return detections > 0 ? eventLatencySum.get() / (double) detections : 0;
+    }
+
+    /**
+     * @return the maximum time span between the termination of a container and
+     *         its detection by an event (in ms)
+     */
+    public long getMaxEventLatency() {
+        return eventLatencyMax.get();
+    }
+}
@@ -16,37 +16,74 @@
  */
 package org.hobbit.controller.docker;
 
-import java.io.File;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.Closeable;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.jena.rdf.model.Model;
 import org.hobbit.core.data.BenchmarkMetaData;
 import org.hobbit.core.data.SystemMetaData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class FileBasedImageManager extends AbstactImageManager {
+/**
+ * An image manager reading the meta data of benchmarks and systems from the
+ * *.ttl files of a local directory. The directory is observed using a
+ * {@link WatchService}, i.e., changes are noticed shortly after they happened.
+ * Only files that have been created or changed (based on their modification
+ * time, size and checksum) are parsed again. A periodic scan of the directory
+ * makes sure that changes are noticed even if the file system does not support
+ * watching.
+ *
+ * @author Michael R&ouml;der (michael.roeder@uni-paderborn.de)
+ *
+ */
+public class FileBasedImageManager extends AbstactImageManager implements Closeable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FileBasedImageManager.class);
 
     private static final String DEFAULT_DEF_FOLDER = "metadata";
     private static final Date DEFAULT_DATE = new Date(0);
+    /**
+     * Time (in ms) the watcher waits for further events before it scans the
+     * directory, e.g., to let a file be written completely.
+     */
+    private static final long EVENT_SETTLE_TIME = 200;
 
     private final String inputFolder;
     private Timer timer;
     private int repeatInterval = 60 * 1000; // every 1 min
-    @SuppressWarnings("unchecked")
-    private List<BenchmarkMetaData> benchmarks = Collections.EMPTY_LIST;
-    @SuppressWarnings("unchecked")
-    private List<SystemMetaData> systems = Collections.EMPTY_LIST;
+    private WatchService watchService;
+    private Thread watcherThread;
+    /**
+     * The files that have been parsed mapped to their paths. It is only
+     * accessed within {@link #scanDirectory()}.
+     */
+    private Map<Path, ParsedFile> parsedFiles = new TreeMap<>();
+    /**
+     * The current meta data. Benchmarks and systems are published together.
+     */
+    private volatile MetaData metaData = new MetaData(Collections.emptyList(), Collections.emptyList());
 
     public FileBasedImageManager() {
         this(DEFAULT_DEF_FOLDER);
@@ -62,80 +99,224 @@ public class FileBasedImageManager extends AbstactImageManager {
         timer.scheduleAtFixedRate(new TimerTask() {
             @Override
             public void run() {
-                List<BenchmarkMetaData> newBenchmarks = new ArrayList<>();
-                List<SystemMetaData> newSystems = new ArrayList<>();
-
-                try {
-                    // Get a list of *.ttl files
-                    Collection<File> files = FileUtils.listFiles(new File(inputFolder), new String[] { "ttl" }, false);
-                    // Go through the list and try to read the files
-                    for (File f : files) {
-                        readFile(f, newBenchmarks, newSystems);
-                    }
-                } catch (Exception e) {
-                    LOGGER.error("Exception while reading ", e);
+                scanDirectory();
+            }
+        }, 0, repeatInterval);
+        startWatching();
+    }
+
+    /**
+     * Starts a thread that observes the directory and scans it as soon as a
+     * file has been created, changed or deleted.
+     */
+    protected void startWatching() {
+        Path directory = Paths.get(inputFolder);
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        } catch (Exception e) {
+            LOGGER.warn("Couldn't watch {}. Changes will only be noticed by the periodic scan. {}", inputFolder,
+                    e.toString());
+            closeWatchService();
+            return;
+        }
+        watcherThread = new Thread(this::watchDirectory, "metadata-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    private void watchDirectory() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Thread.sleep(EVENT_SETTLE_TIME);
+                // the single events are not needed since the scan compares all
+                // files with their previous state (this handles overflows, too)
+                key.pollEvents();
+                boolean valid = key.reset();
+                scanDirectory();
+                if (!valid) {
+                    LOGGER.warn("{} can not be watched anymore. Changes will only be noticed by the periodic scan.",
+                            inputFolder);
+                    return;
                 }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // the manager has been closed
+        } catch (Throwable t) {
+            LOGGER.error("Got an exception while watching " + inputFolder
+                    + ". Changes will only be noticed by the periodic scan.", t);
+        }
+    }
 
-                if (benchmarks == null) {
-                    // This is the first fetching of projects -> we might have
-                    // to notify threads that are waiting for that
-                    benchmarks = newBenchmarks;
-                    systems = newSystems;
-                    synchronized (this) {
-                        this.notifyAll();
-                    }
-                } else {
-                    // update cached version
-                    benchmarks = newBenchmarks;
-                    systems = newSystems;
+    /**
+     * Scans the directory and parses all files that have been created or
+     * changed since the last scan. The meta data is only published if it has
+     * been changed.
+     */
+    protected synchronized void scanDirectory() {
+        Map<Path, ParsedFile> newParsedFiles = new TreeMap<>();
+        boolean changed = false;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(inputFolder), "*.ttl")) {
+            for (Path file : stream) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) {
+                    continue;
                 }
+                ParsedFile previous = parsedFiles.get(file);
+                ParsedFile parsed = readFile(file, attributes.lastModifiedTime().toMillis(), attributes.size(),
+                        previous);
+                newParsedFiles.put(file, parsed);
+                changed |= (previous == null) || (parsed.benchmarks != previous.benchmarks);
             }
-        }, 0, repeatInterval);
+        } catch (Exception e) {
+            LOGGER.error("Exception while reading " + inputFolder + ". Keeping the previous meta data.", e);
+            return;
+        }
+        changed |= !newParsedFiles.keySet().equals(parsedFiles.keySet());
+        parsedFiles = newParsedFiles;
+        if (changed) {
+            List<BenchmarkMetaData> newBenchmarks = new ArrayList<>();
+            List<SystemMetaData> newSystems = new ArrayList<>();
+            for (ParsedFile parsed : newParsedFiles.values()) {
+                newBenchmarks.addAll(parsed.benchmarks);
+                newSystems.addAll(parsed.systems);
+            }
+            metaData = new MetaData(newBenchmarks, newSystems);
+            dataChanged();
+            LOGGER.info("Loaded {} benchmarks and {} systems from {} files in {}.", newBenchmarks.size(),
+                    newSystems.size(), newParsedFiles.size(), inputFolder);
+        }
     }
 
-    protected void readFile(File f, List<BenchmarkMetaData> newBenchmarks, List<SystemMetaData> newSystems) {
+    /**
+     * Returns the parsed content of the given file. The previously parsed
+     * content is reused if the file has not been changed. A file that couldn't
+     * be read or parsed is remembered without any benchmarks and systems, i.e.,
+     * it is only read again after it has been changed.
+     *
+     * @param file
+     *            the file that should be read
+     * @param modified
+     *            the last modification time of the file
+     * @param size
+     *            the size of the file
+     * @param previous
+     *            the result of the previous parsing of the file or {@code null}
+     * @return the parsed file
+     */
+    protected ParsedFile readFile(Path file, long modified, long size, ParsedFile previous) {
+        if ((previous != null) && (previous.modified == modified) && (previous.size == size)) {
+            return previous;
+        }
         byte[] data = null;
         try {
-            data = FileUtils.readFileToByteArray(f);
+            data = Files.readAllBytes(file);
         } catch (IOException e) {
-            LOGGER.error("Couldn't read {}. It will be ignored.", f.getAbsolutePath());
-            return;
+            LOGGER.error("Couldn't read {}. It will be ignored.", file.toAbsolutePath());
+            return new ParsedFile(modified, size, 0, Collections.emptyList(), Collections.emptyList());
         }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        long checksum = crc.getValue();
+        if ((previous != null) && (previous.checksum == checksum) && (previous.size == data.length)) {
+            // only the modification time changed
+            return new ParsedFile(modified, size, checksum, previous.benchmarks, previous.systems);
+        }
+        List<BenchmarkMetaData> newBenchmarks = new ArrayList<>();
+        List<SystemMetaData> newSystems = new ArrayList<>();
+        if (!parseData(data, file.toAbsolutePath().toString(), newBenchmarks, newSystems)) {
+            return new ParsedFile(modified, size, checksum, Collections.emptyList(), Collections.emptyList());
+        }
+        return new ParsedFile(modified, size, checksum, newBenchmarks, newSystems);
+    }
+
+    /**
+     * Parses the given data and adds the benchmarks and systems found in it to
+     * the given lists.
+     *
+     * @return {@code true} if the data could be parsed
+     */
+    protected boolean parseData(byte[] data, String source, List<BenchmarkMetaData> newBenchmarks,
+            List<SystemMetaData> newSystems) {
         Model model = null;
         try {
             model = MetaDataFactory.byteArrayToModel(data, "TTL");
         } catch (Exception e) {
-            LOGGER.error("Couldn't parse " + f.getAbsolutePath() + ". It will be ignored.", e);
-            return;
+            LOGGER.error("Couldn't parse " + source + ". It will be ignored.", e);
+            return false;
         }
         // Add all benchmarks found in a copy of the model that does not contain any
         // systems
         newBenchmarks.addAll(MetaDataFactory.modelToBenchmarkMetaData(
-                MetaDataFactory.getModelWithUniqueSystem(model, ""), f.getAbsolutePath(), DEFAULT_DATE));
+                MetaDataFactory.getModelWithUniqueSystem(model, ""), source, DEFAULT_DATE));
         // Add all systems found in a copy of the model that does not contain any
         // benchmarks
         newSystems.addAll(MetaDataFactory.modelToSystemMetaData(MetaDataFactory.getModelWithUniqueBenchmark(model, ""),
-                f.getAbsolutePath(), DEFAULT_DATE));
+                source, DEFAULT_DATE));
+        return true;
     }
 
-//    @Override
-//    public List<BenchmarkMetaData> getBenchmarks() {
-//        return new ArrayList<>(benchmarks);
-//    }
-//
-//    @Override
-//    public List<SystemMetaData> getSystems() {
-//        return new ArrayList<>(systems);
-//    }
-
     @Override
     protected List<BenchmarkMetaData> getUncheckedBenchmarks() {
-        return new ArrayList<>(benchmarks);
+        return new ArrayList<>(metaData.benchmarks);
     }
 
     @Override
     protected List<SystemMetaData> getUncheckedSystems() {
-        return new ArrayList<>(systems);
+        return new ArrayList<>(metaData.systems);
+    }
+
+    @Override
+    public void close() {
+        timer.cancel();
+        closeWatchService();
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+        }
+    }
+
+    /**
+     * The meta data read from a single file together with the state of the
+     * file at the time it has been read.
+     */
+    protected static class ParsedFile {
+        private final long modified;
+        private final long size;
+        private final long checksum;
+        private final List<BenchmarkMetaData> benchmarks;
+        private final List<SystemMetaData> systems;
+
+        public ParsedFile(long modified, long size, long checksum, List<BenchmarkMetaData> benchmarks,
+                List<SystemMetaData> systems) {
+            this.modified = modified;
+            this.size = size;
+            this.checksum = checksum;
+            this.benchmarks = benchmarks;
+            this.systems = systems;
+        }
     }
 
+    /**
+     * The benchmarks and systems of all files.
+     */
+    private static class MetaData {
+        private final List<BenchmarkMetaData> benchmarks;
+        private final List<SystemMetaData> systems;
+
+        public MetaData(List<BenchmarkMetaData> benchmarks, List<SystemMetaData> systems) {
+            this.benchmarks = benchmarks;
+            this.systems = systems;
+        }
+    }
 }
@@ -16,6 +16,7 @@
  */
 package org.hobbit.controller.docker;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -61,15 +62,49 @@ public class GitlabBasedImageManager extends AbstactImageManager implements Imag
                 .collect(Collectors.toList());
     }
 
+    @Override
+    protected long getDataVersion() {
+        return gitlab.getProjectsVersion();
+    }
+
     @Override
     public List<SystemMetaData> getSystemsOfUser(String email) {
-        Set<String> visibleProjects = gitlab.getProjectsVisibleForUser(email).stream()
+        Set<String> visibleProjects = getVisibleSystemProjects(email);
+        // use the index of the snapshot instead of filtering all systems
+        MetaDataSnapshot snapshot = getSnapshot();
+        List<SystemMetaData> systems = new ArrayList<>();
+        for (String project : visibleProjects) {
+            systems.addAll(snapshot.getSystemsOfSource(project));
+        }
+        return systems;
+    }
+
+    @Override
+    public List<SystemMetaData> getSystemsForBenchmark(String benchmarkUri, String email) {
+        List<SystemMetaData> systems4Benchmark = getSystemsForBenchmark(benchmarkUri);
+        if (systems4Benchmark.isEmpty()) {
+            return systems4Benchmark;
+        }
+        Set<String> visibleProjects = getVisibleSystemProjects(email);
+        return systems4Benchmark.stream().filter(s -> visibleProjects.contains(s.source))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the names of the projects with system information that are
+     * visible for the given user.
+     *
+     * @param email
+     *            the e-mail of the user
+     * @return the names of the projects
+     */
+    protected Set<String> getVisibleSystemProjects(String email) {
+        return gitlab.getProjectsVisibleForUser(email).stream()
                 // get all projects which have system information
                 .filter(p -> p.systemModel != null)
                 // get the project names
                 .map(Project::getName)
                 // get
                 .collect(Collectors.toSet());
-        return getFilteredSystems(s -> visibleProjects.contains(s.source));
     }
 }
@@ -0,0 +1,246 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.spotify.docker.client.messages.RegistryAuth;
+
+/**
+ * Resolves the digest that a tag of an image currently points to by sending a
+ * HEAD request for its manifest to the registry (Docker Registry HTTP API V2).
+ * The token authentication of the registries is supported. If the digest can
+ * not be resolved, {@code null} is returned so that callers can fall back to
+ * simply pulling the image.
+ */
+public class ImageDigestResolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageDigestResolver.class);
+
+    /**
+     * Registry that is used if the image name does not contain a registry.
+     */
+    private static final String DEFAULT_REGISTRY = "registry-1.docker.io";
+    /**
+     * Tag that is used if the image name does not contain a tag.
+     */
+    private static final String DEFAULT_TAG = "latest";
+    /**
+     * Header of the response containing the digest of the manifest.
+     */
+    private static final String DIGEST_HEADER = "Docker-Content-Digest";
+    /**
+     * Manifest types that are accepted. Note that the digest depends on the
+     * type of the manifest.
+     */
+    private static final String MANIFEST_TYPES = "application/vnd.docker.distribution.manifest.list.v2+json, "
+            + "application/vnd.docker.distribution.manifest.v2+json, "
+            + "application/vnd.oci.image.index.v1+json, application/vnd.oci.image.manifest.v1+json";
+    /**
+     * Timeout (in ms) for connecting to and reading from the registry.
+     */
+    private static final int TIMEOUT = 10000;
+    /**
+     * Pattern of the parameters of a WWW-Authenticate header.
+     */
+    private static final Pattern CHALLENGE_PARAM_PATTERN = Pattern.compile("(\\w+)=\"([^\"]*)\"");
+
+    /**
+     * Credentials that are used for the registry with the server address of
+     * the credentials.
+     */
+    private final RegistryAuth auth;
+
+    /**
+     * Constructor.
+     *
+     * @param auth
+     *            credentials that are used for the registry of their server
+     *            address or {@code null} if only anonymous access is possible
+     */
+    public ImageDigestResolver(RegistryAuth auth) {
+        this.auth = auth;
+    }
+
+    /**
+     * Resolves the digest of the manifest the given image name points to.
+     *
+     * @param imageName
+     *            the name of the image
+     * @return the digest or {@code null} if it couldn't be resolved
+     */
+    public String resolveDigest(String imageName) {
+        ImageReference reference = ImageReference.parse(imageName);
+        if (reference.digest != null) {
+            // the image name is already pinned to a digest
+            return reference.digest;
+        }
+        String manifestUrl = "https://" + reference.registry + "/v2/" + reference.repository + "/manifests/"
+                + reference.tag;
+        try {
+            HttpURLConnection connection = requestManifest(manifestUrl, null);
+            if (connection.getResponseCode() == HttpURLConnection.HTTP_UNAUTHORIZED) {
+                String token = requestToken(connection.getHeaderField("WWW-Authenticate"), reference);
+                connection.disconnect();
+                if (token == null) {
+                    return null;
+                }
+                connection = requestManifest(manifestUrl, "Bearer " + token);
+            }
+            try {
+                if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                    LOGGER.debug("Couldn't resolve digest of {}. Registry responded with {}.", imageName,
+                            connection.getResponseCode());
+                    return null;
+                }
+                return connection.getHeaderField(DIGEST_HEADER);
+            } finally {
+                connection.disconnect();
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Couldn't resolve digest of " + imageName + ".", e);
+            return null;
+        }
+    }
+
+    private HttpURLConnection requestManifest(String manifestUrl, String authorization) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(manifestUrl).openConnection();
+        connection.setRequestMethod("HEAD");
+        connection.setConnectTimeout(TIMEOUT);
+        connection.setReadTimeout(TIMEOUT);
+        connection.setRequestProperty("Accept", MANIFEST_TYPES);
+        if (authorization != null) {
+            connection.setRequestProperty("Authorization", authorization);
+        }
+        return connection;
+    }
+
+    /**
+     * Requests a bearer token based on the given challenge of the registry.
+     */
+    private String requestToken(String challenge, ImageReference reference) throws IOException {
+        if ((challenge == null) || !challenge.startsWith("Bearer")) {
+            LOGGER.debug("Got an unsupported authentication challenge from {}: {}", reference.registry, challenge);
+            return null;
+        }
+        Map<String, String> params = new HashMap<>();
+        Matcher matcher = CHALLENGE_PARAM_PATTERN.matcher(challenge);
+        while (matcher.find()) {
+            params.put(matcher.group(1), matcher.group(2));
+        }
+        if (!params.containsKey("realm")) {
+            return null;
+        }
+        StringBuilder tokenUrl = new StringBuilder(params.get("realm"));
+        tokenUrl.append("?scope=");
+        tokenUrl.append(URLEncoder.encode(params.containsKey("scope") ? params.get("scope")
+                : ("repository:" + reference.repository + ":pull"), "UTF-8"));
+        if (params.containsKey("service")) {
+            tokenUrl.append("&service=");
+            tokenUrl.append(URLEncoder.encode(params.get("service"), "UTF-8"));
+        }
+        HttpURLConnection connection = (HttpURLConnection) new URL(tokenUrl.toString()).openConnection();
+        connection.setConnectTimeout(TIMEOUT);
+        connection.setReadTimeout(TIMEOUT);
+        if ((auth != null) && (auth.serverAddress() != null) && auth.serverAddress().startsWith(reference.registry)) {
+            String credentials = auth.username() + ":" + auth.password();
+            connection.setRequestProperty("Authorization",
+                    "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+        try {
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                LOGGER.debug("Couldn't get a token from {}. Got response code {}.", params.get("realm"),
+                        connection.getResponseCode());
+                return null;
+            }
+            try (InputStream in = connection.getInputStream()) {
+                JsonObject response = new JsonParser().parse(IOUtils.toString(in, StandardCharsets.UTF_8))
+                        .getAsJsonObject();
+                JsonElement token = response.has("token") ? response.get("token") : response.get("access_token");
+                return (token == null) ? null : token.getAsString();
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * The parts of an image name.
+     */
+    protected static class ImageReference {
+        protected String registry;
+        protected String repository;
+        protected String tag;
+        protected String digest;
+
+        /**
+         * Splits the given image name of the form
+         * {@code [registry/]repository[:tag][@digest]} into its parts.
+         *
+         * @param imageName
+         *            the image name
+         * @return the parts of the image name
+         */
+        protected static ImageReference parse(String imageName) {
+            ImageReference reference = new ImageReference();
+            String name = imageName;
+            int pos = name.indexOf('@');
+            if (pos >= 0) {
+                reference.digest = name.substring(pos + 1);
+                name = name.substring(0, pos);
+            }
+            pos = name.indexOf('/');
+            String firstPart = (pos >= 0) ? name.substring(0, pos) : null;
+            if ((firstPart != null)
+                    && (firstPart.contains(".") || firstPart.contains(":") || firstPart.equals("localhost"))) {
+                reference.registry = firstPart;
+                name = name.substring(pos + 1);
+            } else {
+                reference.registry = DEFAULT_REGISTRY;
+            }
+            pos = name.lastIndexOf(':');
+            if (pos >= 0) {
+                reference.tag = name.substring(pos + 1);
+                name = name.substring(0, pos);
+            } else {
+                reference.tag = DEFAULT_TAG;
+            }
+            if (DEFAULT_REGISTRY.equals(reference.registry) && (name.indexOf('/') < 0)) {
+                name = "library/" + name;
+            }
+            reference.repository = name;
+            return reference;
+        }
+    }
+}
@@ -17,7 +17,9 @@
 package org.hobbit.controller.docker;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.jena.rdf.model.Model;
@@ -87,6 +89,27 @@ public interface ImageManager {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves a list of systems that are compatible to the given benchmark and
+     * that are visible for the given user. The default implementation filters
+     * the result of {@link #getSystemsForBenchmark(String)} using
+     * {@link #getSystemsOfUser(String)}.
+     *
+     * @param benchmarkUri
+     *            the URI of the chosen benchmark
+     * @param email
+     *            the e-mail of the user
+     * @return a list of system meta data
+     */
+    public default List<SystemMetaData> getSystemsForBenchmark(String benchmarkUri, String email) {
+        List<SystemMetaData> systems4Benchmark = getSystemsForBenchmark(benchmarkUri);
+        if (systems4Benchmark.isEmpty()) {
+            return systems4Benchmark;
+        }
+        Set<SystemMetaData> userSystems = new HashSet<SystemMetaData>(getSystemsOfUser(email));
+        return systems4Benchmark.stream().filter(s -> userSystems.contains(s)).collect(Collectors.toList());
+    }
+
     /**
      * Retrieves a list of systems that are compatible to the given benchmark.
      *
@@ -45,11 +45,43 @@ public class ImageManagerFacade extends AbstactImageManager implements ImageMana
         for (ImageManager manager : managers) {
             result.addAll((List<? extends T>) (retrieveBenchmarks ? manager.getBenchmarks() : manager.getSystems()));
         }
-        markDuplicates(result);
         return result;
     }
 
+    /**
+     * Returns the sum of the versions of all managers, i.e., the version
+     * changes as soon as one of the managers fetched new data. If one of the
+     * managers does not offer a version, {@code -1} is returned.
+     */
+    @Override
+    protected long getDataVersion() {
+        long version = super.getDataVersion();
+        long managerVersion;
+        for (ImageManager manager : managers) {
+            if (!(manager instanceof AbstactImageManager)) {
+                return -1;
+            }
+            managerVersion = ((AbstactImageManager) manager).getDataVersion();
+            if (managerVersion < 0) {
+                return -1;
+            }
+            version += managerVersion;
+        }
+        return version;
+    }
+
+    /**
+     * The facade does not filter the systems based on the user (see
+     * {@link #getSystemsOfUser(String)}), i.e., all systems compatible to the
+     * given benchmark are returned.
+     */
+    @Override
+    public List<SystemMetaData> getSystemsForBenchmark(String benchmarkUri, String email) {
+        return getSystemsForBenchmark(benchmarkUri);
+    }
+
     public void addManager(ImageManager manager) {
         this.managers.add(manager);
+        dataChanged();
     }
 }
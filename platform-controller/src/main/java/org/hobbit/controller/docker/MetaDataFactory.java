@@ -6,11 +6,21 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.compose.Union;
+import org.apache.jena.graph.impl.GraphBase;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
-import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.ResIterator;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NullIterator;
 import org.apache.jena.vocabulary.RDF;
 import org.hobbit.core.data.BenchmarkMetaData;
 import org.hobbit.core.data.ImageMetaData;
@@ -91,14 +101,15 @@ public class MetaDataFactory {
     /**
      * Creates a new model that contains all triples of the old model except the
      * definitions of other hobbit:Benchmark elements than the benchmark with the
-     * given URI.
+     * given URI. The triples are not copied, i.e., the returned model is a view
+     * on the given model (see {@link #getModelWithUniqueResource(Model, String, Resource)}).
      * 
      * @param model
-     *            the model from which all triples will be copied
+     *            the model from which all triples will be taken
      * @param benchmarkUri
-     *            the URI of the only benchmark which is not removed from the copied
+     *            the URI of the only benchmark which is not removed from the
      *            model
-     * @return the copied model
+     * @return the view on the model
      */
     public static Model getModelWithUniqueBenchmark(Model model, String benchmarkUri) {
         return getModelWithUniqueResource(model, benchmarkUri, HOBBIT.Benchmark);
@@ -110,35 +121,83 @@ public class MetaDataFactory {
      * with the given URI. Removing a system means that all triples are removed that
      * have a system URI as subject. A system URI is a URI of a resource {@code s}
      * for which a triple {@code s rdf:type hobbit:SystemInstance} can be found in
-     * the given model.
+     * the given model. The triples are not copied, i.e., the returned model is a
+     * view on the given model (see
+     * {@link #getModelWithUniqueResource(Model, String, Resource)}).
      * 
      * @param model
-     *            the model from which all triples will be copied
+     *            the model from which all triples will be taken
      * @param systemUri
-     *            the URI of the only system which is not removed from the copied
-     *            model
-     * @return the copied model
+     *            the URI of the only system which is not removed from the model
+     * @return the view on the model
      */
     public static Model getModelWithUniqueSystem(Model model, String systemUri) {
         return getModelWithUniqueResource(model, systemUri, HOBBIT.SystemInstance);
     }
 
+    /**
+     * Returns a model that contains all triples of the given model except the
+     * triples that have a resource of the given type as subject which is not
+     * the resource with the given URI. If the model does not contain more than
+     * one resource of the given type, the model itself is returned.
+     * 
+     * <p>
+     * The triples are not copied. Instead, the returned model is based on a
+     * graph that filters the triples of the given model while they are read.
+     * Triples added to the returned model are stored in a separate graph, i.e.,
+     * they do not change the given model. Removing triples of the given model
+     * from the returned model is not supported.
+     * </p>
+     * 
+     * @param model
+     *            the model from which all triples will be taken
+     * @param uri
+     *            the URI of the only resource of the given type which is not
+     *            removed from the model
+     * @param type
+     *            the type of the resources that should be removed
+     * @return the view on the model
+     */
     protected static Model getModelWithUniqueResource(Model model, String uri, Resource type) {
         if (model == null) {
             return ModelFactory.createDefaultModel();
         }
-        List<Resource> resources = RdfHelper.getSubjectResources(model, RDF.type, type);
-        if (resources.size() <= 1) {
+        Set<Node> removedSubjects = new HashSet<>();
+        ResIterator iterator = model.listSubjectsWithProperty(RDF.type, type);
+        while (iterator.hasNext()) {
+            removedSubjects.add(iterator.next().asNode());
+        }
+        if (removedSubjects.size() <= 1) {
             return model;
         }
-        Model newModel = ModelFactory.createDefaultModel();
-        newModel.add(model);
-        for (Resource r : resources) {
-            if (!r.getURI().equals(uri)) {
-                newModel.removeAll(r, null, (RDFNode) null);
+        removedSubjects.remove(NodeFactory.createURI(uri));
+        Graph view = new Union(GraphFactory.createDefaultGraph(),
+                new SubjectFilteringGraph(model.getGraph(), removedSubjects));
+        view.getPrefixMapping().setNsPrefixes(model);
+        return ModelFactory.createModelForGraph(view);
+    }
+
+    /**
+     * A read-only view on a graph hiding all triples with one of the given
+     * subjects.
+     */
+    protected static class SubjectFilteringGraph extends GraphBase {
+        private final Graph graph;
+        private final Set<Node> removedSubjects;
+
+        public SubjectFilteringGraph(Graph graph, Set<Node> removedSubjects) {
+            this.graph = graph;
+            this.removedSubjects = removedSubjects;
+        }
+
+        @Override
+        protected ExtendedIterator<Triple> graphBaseFind(Triple triplePattern) {
+            Node subject = triplePattern.getSubject();
+            if (subject.isConcrete() && removedSubjects.contains(subject)) {
+                return NullIterator.instance();
             }
+            return graph.find(triplePattern).filterDrop(t -> removedSubjects.contains(t.getSubject()));
         }
-        return newModel;
     }
 
 }
@@ -0,0 +1,267 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.hobbit.core.data.BenchmarkMetaData;
+import org.hobbit.core.data.ImageMetaData;
+import org.hobbit.core.data.SystemMetaData;
+
+/**
+ * An immutable snapshot of the benchmark and system meta data known by an
+ * {@link ImageManager}. Next to the lists of benchmarks and systems, it offers
+ * hash-based indexes of the meta data by URI, by API and by source project.
+ * The snapshot is tagged with the version of the data it has been created
+ * from, i.e., it can be reused as long as this version does not change.
+ */
+public class MetaDataSnapshot {
+
+    /**
+     * The version of the data this snapshot has been created from.
+     */
+    private final long version;
+    private final List<BenchmarkMetaData> benchmarks;
+    private final List<SystemMetaData> systems;
+    /**
+     * The benchmarks mapped to their URIs. If several benchmarks share the same
+     * URI, the one that is not marked as duplicate is used.
+     */
+    private final Map<String, BenchmarkMetaData> benchmarksByUri;
+    /**
+     * The systems mapped to their URIs. If several systems share the same URI,
+     * the one that is not marked as duplicate is used.
+     */
+    private final Map<String, SystemMetaData> systemsByUri;
+    /**
+     * The benchmarks mapped to the APIs they define.
+     */
+    private final Map<String, List<BenchmarkMetaData>> benchmarksByApi;
+    /**
+     * The systems mapped to the APIs they implement.
+     */
+    private final Map<String, List<SystemMetaData>> systemsByApi;
+    /**
+     * The benchmarks mapped to the projects they are defined in.
+     */
+    private final Map<String, List<BenchmarkMetaData>> benchmarksBySource;
+    /**
+     * The systems mapped to the projects they are defined in.
+     */
+    private final Map<String, List<SystemMetaData>> systemsBySource;
+    /**
+     * The positions of the systems in the list of systems.
+     */
+    private final Map<SystemMetaData, Integer> systemPositions;
+
+    protected MetaDataSnapshot(long version, List<BenchmarkMetaData> benchmarks, List<SystemMetaData> systems,
+            Map<String, BenchmarkMetaData> benchmarksByUri, Map<String, SystemMetaData> systemsByUri,
+            Map<String, List<BenchmarkMetaData>> benchmarksByApi, Map<String, List<SystemMetaData>> systemsByApi,
+            Map<String, List<BenchmarkMetaData>> benchmarksBySource,
+            Map<String, List<SystemMetaData>> systemsBySource) {
+        this.version = version;
+        this.benchmarks = benchmarks;
+        this.systems = systems;
+        this.benchmarksByUri = benchmarksByUri;
+        this.systemsByUri = systemsByUri;
+        this.benchmarksByApi = benchmarksByApi;
+        this.systemsByApi = systemsByApi;
+        this.benchmarksBySource = benchmarksBySource;
+        this.systemsBySource = systemsBySource;
+        systemPositions = new IdentityHashMap<>(systems.size());
+        for (int i = 0; i < systems.size(); ++i) {
+            systemPositions.put(systems.get(i), i);
+        }
+    }
+
+    /**
+     * Creates a snapshot of the given meta data. Duplicates should already be
+     * marked since the given meta data objects are not changed.
+     *
+     * @param version
+     *            the version of the data the given lists have been retrieved
+     *            from
+     * @param benchmarks
+     *            the known benchmarks
+     * @param systems
+     *            the known systems
+     * @param comparator
+     *            the comparator used to choose one of several images with the
+     *            same URI (the first image is chosen)
+     * @return the snapshot of the given meta data
+     */
+    public static MetaDataSnapshot create(long version, List<BenchmarkMetaData> benchmarks,
+            List<SystemMetaData> systems, Comparator<ImageMetaData> comparator) {
+        return new MetaDataSnapshot(version, Collections.unmodifiableList(new ArrayList<>(benchmarks)),
+                Collections.unmodifiableList(new ArrayList<>(systems)), indexByUri(benchmarks, comparator),
+                indexByUri(systems, comparator), indexByKeys(benchmarks, b -> b.definedApis),
+                indexByKeys(systems, s -> s.implementedApis),
+                indexByKeys(benchmarks, b -> Collections.singleton(b.source)),
+                indexByKeys(systems, s -> Collections.singleton(s.source)));
+    }
+
+    /**
+     * Maps the given images to their URIs. If several images share the same
+     * URI, the first image according to the given comparator is chosen.
+     */
+    protected static <T extends ImageMetaData> Map<String, T> indexByUri(List<T> images,
+            Comparator<ImageMetaData> comparator) {
+        Map<String, T> index = new HashMap<>();
+        for (T image : images) {
+            if (image.uri != null) {
+                index.merge(image.uri, image, (i1, i2) -> comparator.compare(i1, i2) <= 0 ? i1 : i2);
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Maps the given images to all keys the given function returns for them.
+     * The lists of the index have the same order as the given list of images.
+     */
+    protected static <T extends ImageMetaData> Map<String, List<T>> indexByKeys(List<T> images,
+            Function<T, Collection<String>> keyFunction) {
+        Map<String, List<T>> index = new HashMap<>();
+        Collection<String> keys;
+        for (T image : images) {
+            keys = keyFunction.apply(image);
+            if (keys != null) {
+                for (String key : keys) {
+                    if (key != null) {
+                        index.computeIfAbsent(key, k -> new ArrayList<>()).add(image);
+                    }
+                }
+            }
+        }
+        for (Map.Entry<String, List<T>> entry : index.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * @return the version of the data this snapshot has been created from
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return an unmodifiable list of all known benchmarks
+     */
+    public List<BenchmarkMetaData> getBenchmarks() {
+        return benchmarks;
+    }
+
+    /**
+     * @return an unmodifiable list of all known systems
+     */
+    public List<SystemMetaData> getSystems() {
+        return systems;
+    }
+
+    /**
+     * @param uri
+     *            the URI of the benchmark
+     * @return the benchmark with the given URI or {@code null} if it is not
+     *         known
+     */
+    public BenchmarkMetaData getBenchmark(String uri) {
+        return benchmarksByUri.get(uri);
+    }
+
+    /**
+     * @param uri
+     *            the URI of the system
+     * @return the system with the given URI or {@code null} if it is not known
+     */
+    public SystemMetaData getSystem(String uri) {
+        return systemsByUri.get(uri);
+    }
+
+    /**
+     * @param apiUri
+     *            the URI of an API
+     * @return an unmodifiable list of the benchmarks defining the given API
+     */
+    public List<BenchmarkMetaData> getBenchmarksOfApi(String apiUri) {
+        return benchmarksByApi.getOrDefault(apiUri, Collections.emptyList());
+    }
+
+    /**
+     * @param apiUri
+     *            the URI of an API
+     * @return an unmodifiable list of the systems implementing the given API
+     */
+    public List<SystemMetaData> getSystemsOfApi(String apiUri) {
+        return systemsByApi.getOrDefault(apiUri, Collections.emptyList());
+    }
+
+    /**
+     * Returns the systems implementing at least one of the given APIs in the
+     * order of {@link #getSystems()}. The effort depends on the number of
+     * returned systems instead of the number of all systems.
+     *
+     * @param apiUris
+     *            the URIs of the APIs
+     * @return a list of the systems implementing at least one of the APIs
+     */
+    public List<SystemMetaData> getSystemsOfApis(Collection<String> apiUris) {
+        if ((apiUris == null) || apiUris.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        if (apiUris.size() == 1) {
+            return new ArrayList<>(getSystemsOfApi(apiUris.iterator().next()));
+        }
+        // a system may implement several of the APIs
+        Set<SystemMetaData> systems = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String apiUri : apiUris) {
+            systems.addAll(getSystemsOfApi(apiUri));
+        }
+        List<SystemMetaData> result = new ArrayList<>(systems);
+        result.sort(Comparator.comparing(systemPositions::get));
+        return result;
+    }
+
+    /**
+     * @param source
+     *            the name of a project
+     * @return an unmodifiable list of the benchmarks defined in the given
+     *         project
+     */
+    public List<BenchmarkMetaData> getBenchmarksOfSource(String source) {
+        return benchmarksBySource.getOrDefault(source, Collections.emptyList());
+    }
+
+    /**
+     * @param source
+     *            the name of a project
+     * @return an unmodifiable list of the systems defined in the given project
+     */
+    public List<SystemMetaData> getSystemsOfSource(String source) {
+        return systemsBySource.getOrDefault(source, Collections.emptyList());
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe cache that records which digest of an image has been pulled
+ * on which node of the cluster. Entries expire after a given time to make sure
+ * that images that have been removed from a node (e.g., by a cleanup job) are
+ * pulled again eventually.
+ */
+public class NodeImageCache {
+
+    /**
+     * Image name &rarr; node ID &rarr; pulled digest.
+     */
+    private Map<String, Map<String, CachedImage>> images = new ConcurrentHashMap<>();
+    /**
+     * Time (in ms) after which an entry expires.
+     */
+    private long ttl;
+
+    /**
+     * Constructor.
+     *
+     * @param ttl
+     *            time (in ms) after which an entry expires
+     */
+    public NodeImageCache(long ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * Records that the given node holds the given digest of the image.
+     *
+     * @param imageName
+     *            the name of the image
+     * @param nodeId
+     *            the ID of the node
+     * @param digest
+     *            the digest the node holds
+     */
+    public void add(String imageName, String nodeId, String digest) {
+        images.computeIfAbsent(imageName, k -> new ConcurrentHashMap<>()).put(nodeId,
+                new CachedImage(digest, System.currentTimeMillis()));
+    }
+
+    /**
+     * Returns the nodes of the given collection that do not hold the given
+     * digest of the image.
+     *
+     * @param imageName
+     *            the name of the image
+     * @param digest
+     *            the current digest of the image
+     * @param nodeIds
+     *            the IDs of the nodes that should be checked
+     * @return the IDs of the nodes that need to pull the image
+     */
+    public Set<String> getNodesWithoutImage(String imageName, String digest, Collection<String> nodeIds) {
+        Set<String> missing = new LinkedHashSet<>();
+        Map<String, CachedImage> nodes = images.get(imageName);
+        long now = System.currentTimeMillis();
+        CachedImage cached;
+        for (String nodeId : nodeIds) {
+            cached = (nodes == null) ? null : nodes.get(nodeId);
+            if ((cached == null) || !cached.digest.equals(digest) || ((now - cached.timestamp) > ttl)) {
+                missing.add(nodeId);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Removes all entries of the given image.
+     *
+     * @param imageName
+     *            the name of the image
+     */
+    public void invalidate(String imageName) {
+        images.remove(imageName);
+    }
+
+    private static class CachedImage {
+        private final String digest;
+        private final long timestamp;
+
+        public CachedImage(String digest, long timestamp) {
+            this.digest = digest;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package org.hobbit.controller.docker;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.ws.rs.core.UriBuilder;
 
@@ -62,6 +70,11 @@ public class ResourceInformationCollectorImpl implements ResourceInformationColl
     private static final String PROMETHEUS_METRIC_MEMORY_USAGE = "container_memory_usage_bytes";
     private static final String PROMETHEUS_METRIC_SWAP = "node_memory_SwapTotal_bytes";
     private static final String PROMETHEUS_METRIC_UNAME = "node_uname_info";
+    private static final String PROMETHEUS_LABEL_SERVICE_NAME = "container_label_com_docker_swarm_service_name";
+    /**
+     * Timeout (in ms) for connecting to Prometheus and reading its response.
+     */
+    private static final int PROMETHEUS_TIMEOUT = 10000;
 
     private ContainerManager manager;
     private DockerClient dockerClient;
@@ -101,64 +114,155 @@ public class ResourceInformationCollectorImpl implements ResourceInformationColl
                 .build());
     }
 
-    private long countRunningTasks(String serviceName) {
+    /**
+     * Retrieves the ids of all services that have at least one running task
+     * using a single request to Docker.
+     *
+     * @return the ids of the services with running tasks
+     */
+    private Set<String> getServicesWithRunningTasks() {
         try {
-            return dockerClient.listTasks(
-                    Task.Criteria.builder().serviceName(serviceName).build()
-            )
-            .stream()
-            .filter(t -> TaskStatus.TASK_STATE_RUNNING.equals(t.status().state()))
-            .count();
+            return dockerClient.listTasks().stream()
+                    .filter(t -> TaskStatus.TASK_STATE_RUNNING.equals(t.status().state()))
+                    .map(Task::serviceId)
+                    .collect(Collectors.toSet());
         } catch (DockerException | InterruptedException e) {
-            return 0;
+            LOGGER.error("Couldn't list the running tasks.", e);
+            return Collections.emptySet();
         }
     }
 
     @Override
     public ResourceUsageInformation getUsageInformation(Service.Criteria criteria) {
         List<Service> services = manager.getContainers(criteria);
+        Set<String> runningServices = getServicesWithRunningTasks();
 
-        Map<String, Service> containerMapping = new HashMap<>();
+        Set<String> serviceNames = new LinkedHashSet<>();
         for (Service c : services) {
-            containerMapping.put(c.spec().name(), c);
+            // filter all containers that are not running
+            if (runningServices.contains(c.id())) {
+                serviceNames.add(c.spec().name());
+            }
         }
-        ResourceUsageInformation resourceInfo = containerMapping.keySet().parallelStream()
-                // filter all containers that are not running
-                .filter(s -> countRunningTasks(s) != 0)
-                // get the stats for the single
-                .map(id -> requestCpuAndMemoryStats(id))
-                // sum up the stats
+        if (serviceNames.isEmpty()) {
+            return null;
+        }
+        // sum up the stats of the single services
+        return requestCpuAndMemoryStats(serviceNames).values().stream()
                 .collect(Collectors.reducing(ResourceUsageInformation::staticMerge)).orElse(null);
-        return resourceInfo;
     }
 
     protected ResourceUsageInformation requestCpuAndMemoryStats(String serviceName) {
-        ResourceUsageInformation resourceInfo = new ResourceUsageInformation();
+        return requestCpuAndMemoryStats(Collections.singleton(serviceName)).get(serviceName);
+    }
+
+    /**
+     * Requests the CPU, memory and disk usage of the given services. Each of
+     * the three metrics is requested for all services using a single query.
+     *
+     * @param serviceNames
+     *            the names of the services
+     * @return the usage information mapped to the names of the services
+     */
+    protected Map<String, ResourceUsageInformation> requestCpuAndMemoryStats(Collection<String> serviceNames) {
+        Map<String, ResourceUsageInformation> resourceInfos = new HashMap<>();
+        for (String serviceName : serviceNames) {
+            resourceInfos.put(serviceName, new ResourceUsageInformation());
+        }
         try {
-            Double value = requestAveragePrometheusValue(PROMETHEUS_METRIC_CPU_USAGE, serviceName);
-            if (value != null) {
-                resourceInfo.setCpuStats(new CpuStats(Math.round(value * 1000)));
+            for (Map.Entry<String, Double> entry : requestPrometheusValuesOfServices(PROMETHEUS_METRIC_CPU_USAGE,
+                    serviceNames).entrySet()) {
+                resourceInfos.get(entry.getKey()).setCpuStats(new CpuStats(Math.round(entry.getValue() * 1000)));
             }
         } catch (Exception e) {
-            LOGGER.error("Could not get cpu usage stats for container {}", serviceName, e);
+            LOGGER.error("Could not get cpu usage stats for containers {}", serviceNames, e);
         }
         try {
-            String value = requestSamplePrometheusValue(PROMETHEUS_METRIC_MEMORY_USAGE, serviceName);
-            if (value != null) {
-                resourceInfo.setMemoryStats(new MemoryStats(Long.parseLong(value)));
+            for (Map.Entry<String, Double> entry : requestPrometheusValuesOfServices(PROMETHEUS_METRIC_MEMORY_USAGE,
+                    serviceNames).entrySet()) {
+                resourceInfos.get(entry.getKey()).setMemoryStats(new MemoryStats(Math.round(entry.getValue())));
             }
         } catch (Exception e) {
-            LOGGER.error("Could not get memory usage stats for container {}", serviceName, e);
+            LOGGER.error("Could not get memory usage stats for containers {}", serviceNames, e);
         }
         try {
-            String value = requestSamplePrometheusValue(PROMETHEUS_METRIC_FS_USAGE, serviceName);
-            if (value != null) {
-                resourceInfo.setDiskStats(new DiskStats(Long.parseLong(value)));
+            for (Map.Entry<String, Double> entry : requestPrometheusValuesOfServices(PROMETHEUS_METRIC_FS_USAGE,
+                    serviceNames).entrySet()) {
+                resourceInfos.get(entry.getKey()).setDiskStats(new DiskStats(Math.round(entry.getValue())));
             }
         } catch (Exception e) {
-            LOGGER.error("Could not get disk usage stats for container {}", serviceName, e);
+            LOGGER.error("Could not get disk usage stats for containers {}", serviceNames, e);
+        }
+        return resourceInfos;
+    }
+
+    /**
+     * Requests the values of the given metric summed up for each of the given
+     * services using a single query.
+     *
+     * @param metric
+     *            the name of the metric
+     * @param serviceNames
+     *            the names of the services
+     * @return the values of the metric mapped to the service names. Services
+     *         without a value are not contained.
+     */
+    protected Map<String, Double> requestPrometheusValuesOfServices(String metric, Collection<String> serviceNames) {
+        JsonArray result = queryPrometheus(buildServicesQuery(metric, serviceNames));
+        Map<String, Double> values = new HashMap<>();
+        if (result == null) {
+            return values;
+        }
+        Set<String> requestedNames = new HashSet<>(serviceNames);
+        for (JsonElement element : result) {
+            JsonObject obj = element.getAsJsonObject();
+            JsonElement serviceName = obj.getAsJsonObject("metric").get(PROMETHEUS_LABEL_SERVICE_NAME);
+            if ((serviceName != null) && requestedNames.contains(serviceName.getAsString())) {
+                values.put(serviceName.getAsString(),
+                        Double.parseDouble(obj.get("value").getAsJsonArray().get(1).getAsString()));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Creates a query for the given metric summed up by service for all of the
+     * given services, e.g.,
+     * {@code sum by (container_label_com_docker_swarm_service_name) (metric{container_label_com_docker_swarm_service_name=~"^(a|b)$"})}.
+     */
+    protected static String buildServicesQuery(String metric, Collection<String> serviceNames) {
+        StringBuilder query = new StringBuilder();
+        query.append("sum by (").append(PROMETHEUS_LABEL_SERVICE_NAME).append(") (");
+        query.append(metric).append('{').append(PROMETHEUS_LABEL_SERVICE_NAME).append("=~\"^(");
+        boolean first = true;
+        for (String serviceName : serviceNames) {
+            if (first) {
+                first = false;
+            } else {
+                query.append('|');
+            }
+            appendEscapedRegex(query, serviceName);
+        }
+        query.append(")$\"})");
+        return query.toString();
+    }
+
+    /**
+     * Appends the given value to the given builder escaping all characters
+     * that have a special meaning in a regular expression within a PromQL
+     * string.
+     */
+    private static void appendEscapedRegex(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            if ("\\.+*?()|[]{}^$".indexOf(c) >= 0) {
+                // the backslash has to be escaped within the PromQL string
+                builder.append("\\\\");
+            } else if (c == '"') {
+                builder.append('\\');
+            }
+            builder.append(c);
         }
-        return resourceInfo;
     }
 
     private JsonArray queryPrometheus(String query) {
@@ -176,10 +280,19 @@ public class ResourceInformationCollectorImpl implements ResourceInformationColl
         }
         LOGGER.debug("Prometheus URL: {}", url);
         String content = null;
+        HttpURLConnection connection = null;
         try {
-            content = IOUtils.toString(url.openConnection().getInputStream());
+            connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(PROMETHEUS_TIMEOUT);
+            connection.setReadTimeout(PROMETHEUS_TIMEOUT);
+            // The response is read completely and the stream is closed, i.e.,
+            // the connection is kept alive and reused by the following requests
+            try (InputStream in = connection.getInputStream()) {
+                content = IOUtils.toString(in, StandardCharsets.UTF_8);
+            }
         } catch (IOException e) {
             LOGGER.error("Error while requesting Prometheus", e);
+            discardErrorStream(connection);
             return null;
         }
         LOGGER.debug("Prometheus response: {}", content);
@@ -187,6 +300,23 @@ public class ResourceInformationCollectorImpl implements ResourceInformationColl
         return root.getAsJsonObject("data").getAsJsonArray("result");
     }
 
+    /**
+     * Reads and closes the error stream of the given connection (if there is
+     * one) to make sure that the connection can be reused.
+     */
+    private static void discardErrorStream(HttpURLConnection connection) {
+        if (connection == null) {
+            return;
+        }
+        try (InputStream err = connection.getErrorStream()) {
+            if (err != null) {
+                IOUtils.toByteArray(err);
+            }
+        } catch (IOException e) {
+            // nothing to do
+        }
+    }
+
     private String prometheusMetricValue(JsonObject obj) {
         JsonObject metricObj = obj.getAsJsonObject("metric");
         switch (metricObj.get("__name__").getAsString()) {
@@ -236,25 +366,6 @@ public class ResourceInformationCollectorImpl implements ResourceInformationColl
         );
     }
 
-    private String requestSamplePrometheusValue(String metric, String serviceName) {
-        Map<String, Map<String, List<String>>> instances = requestPrometheusMetrics(new String[] {metric}, serviceName);
-        if (instances.size() == 0) {
-            return null;
-        }
-        return instances.values().iterator().next().get(metric).get(0);
-    }
-
-    private Double requestAveragePrometheusValue(String metric, String serviceName) {
-        Map<String, Map<String, List<String>>> instances = requestPrometheusMetrics(new String[] {metric}, serviceName);
-        if (instances.size() == 0) {
-            return null;
-        }
-        return instances.values().stream().map(item -> item.get(metric).get(0))
-                .collect(
-                        Collectors.averagingDouble(Double::parseDouble)
-                );
-    }
-
     @Override
     public SetupHardwareInformation getHardwareInformation() {
         SetupHardwareInformation setupInfo = new SetupHardwareInformation();
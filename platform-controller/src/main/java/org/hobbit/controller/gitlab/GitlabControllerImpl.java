@@ -17,19 +17,30 @@
 package org.hobbit.controller.gitlab;
 
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.TreeSet;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -70,9 +81,55 @@ public class GitlabControllerImpl implements GitlabController {
     private static final String SYSTEM_CONFIG_FILENAME = "system.ttl";
     private static final String BENCHMARK_CONFIG_FILENAME = "benchmark.ttl";
 
+    /**
+     * Key of the environmental variable defining the maximum number of projects
+     * that are fetched in parallel.
+     */
+    public static final String GITLAB_FETCH_PARALLELISM_KEY = "GITLAB_FETCH_PARALLELISM";
+    /**
+     * Key of the environmental variable defining the timeout (in ms) of a
+     * single request to GitLab.
+     */
+    public static final String GITLAB_REQUEST_TIMEOUT_KEY = "GITLAB_REQUEST_TIMEOUT";
+    /**
+     * Key of the environmental variable defining the maximum number of retries
+     * of a failed request to GitLab.
+     */
+    public static final String GITLAB_MAX_RETRIES_KEY = "GITLAB_MAX_RETRIES";
+    /**
+     * Key of the environmental variable defining the maximum time (in ms) a
+     * complete fetching of all projects may take.
+     */
+    public static final String GITLAB_FETCH_TIMEOUT_KEY = "GITLAB_FETCH_TIMEOUT";
+    /**
+     * Key of the environmental variable defining the maximum number of users
+     * for which the visible projects are cached.
+     */
+    public static final String GITLAB_VISIBILITY_CACHE_SIZE_KEY = "GITLAB_VISIBILITY_CACHE_SIZE";
+
+    private static final int DEFAULT_FETCH_PARALLELISM = 8;
+    private static final int DEFAULT_REQUEST_TIMEOUT = 30000;
+    private static final int DEFAULT_MAX_RETRIES = 2;
+    private static final int DEFAULT_FETCH_TIMEOUT = 10 * 60 * 1000;
+    /**
+     * Time (in ms) the controller waits before it retries a failed request for
+     * the first time. The time is doubled for every further retry.
+     */
+    private static final long INITIAL_RETRY_BACKOFF = 500;
+
     private static final int MAX_PARSING_ERRORS = 50;
-    private static final int MAX_SIZE_OF_PROJECT_VISIBILITY_CHACHE = 50;
-    private static final int VISIBILITY_CACHE_ELEMENT_LIFETIME_IN_SECS = 30;
+    private static final int DEFAULT_SIZE_OF_PROJECT_VISIBILITY_CHACHE = 1000;
+    private static final int VISIBILITY_CACHE_ELEMENT_LIFETIME_IN_SECS = 30 * 60;
+    /**
+     * Time after which the visible projects of a user are reloaded in the
+     * background while the cached projects are still served.
+     */
+    private static final int VISIBILITY_CACHE_REFRESH_IN_SECS = 60;
+    /**
+     * Minimum time (in ms) between two loadings of the user list that are
+     * triggered by requests for unknown users.
+     */
+    private static final long MIN_USER_RELOAD_INTERVAL = 10000;
 
     protected static final String GITLAB_VISIBILITY_PUBLIC = "public";
     protected static final String GITLAB_VISIBILITY_PROTECTED = "internal";
@@ -80,6 +137,7 @@ public class GitlabControllerImpl implements GitlabController {
 
     // gitlab api
     private GitlabAPI api;
+    private String gitlabUrl;
     // projects refresh timer
     private Timer timer;
     private int repeatInterval = 60 * 1000; // every 1 min
@@ -89,12 +147,64 @@ public class GitlabControllerImpl implements GitlabController {
     // projects array
     private List<Project> projects;
     private Set<String> projectUris;
+    /**
+     * Version of the project list which is increased every time new projects
+     * have been fetched.
+     */
+    private volatile long projectsVersion = 0;
+    /**
+     * The state of the GitLab projects at the last fetching mapped to their
+     * ids. It is used to fetch only projects that have been changed.
+     */
+    private Map<Integer, FetchedProject> fetchedProjects = new HashMap<>();
     private Set<String> parsingErrors = new HashSet<String>();
     private Deque<String> sortedParsingErrors = new LinkedList<String>();
-    private LoadingCache<String, Set<String>> visibleProjectsCache;
+    /**
+     * Names of the projects visible for a user mapped to the id of the user.
+     */
+    private LoadingCache<Integer, Set<String>> visibleProjectsCache;
+    /**
+     * Flag indicating whether the account used to access GitLab has admin
+     * rights or {@code null} if this hasn't been checked, yet. It is refreshed
+     * together with the projects.
+     */
+    private volatile Boolean adminAccess = null;
+    /**
+     * The users of GitLab mapped to their e-mail addresses. It is refreshed
+     * together with the projects and is {@code null} as long as it hasn't been
+     * loaded.
+     */
+    private volatile Map<String, GitlabUser> usersByMail = null;
+    /**
+     * Time (in ms) at which {@link #usersByMail} has been loaded.
+     */
+    private volatile long usersLoadTime = 0;
+    /**
+     * Executor used to fetch the single projects. It is separated from the
+     * common fork join pool to make sure that a slow GitLab does not block
+     * other parts of the controller.
+     */
+    private ThreadPoolExecutor fetchExecutor;
+    /**
+     * Maximum number of retries of a failed request.
+     */
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    /**
+     * Maximum time (in ms) a complete fetching of all projects may take.
+     */
+    private long fetchTimeout = DEFAULT_FETCH_TIMEOUT;
+    /**
+     * Metrics of the project fetching.
+     */
+    private GitlabFetchMetrics metrics = new GitlabFetchMetrics();
+    /**
+     * Store of the last known state of the projects or {@code null} if the
+     * state should not be persisted.
+     */
+    private ProjectSnapshotStore snapshotStore;
 
     public GitlabControllerImpl() {
-        this(GITLAB_TOKEN, true, true);
+        this(GITLAB_URL, GITLAB_TOKEN, new RedisProjectSnapshotStore(), true, true);
     }
 
     public GitlabControllerImpl(boolean startFetchingProjects, boolean useCache) {
@@ -102,34 +212,103 @@ public class GitlabControllerImpl implements GitlabController {
     }
 
     public GitlabControllerImpl(String token, boolean startFetchingProjects, boolean useCache) {
+        this(GITLAB_URL, token, startFetchingProjects, useCache);
+    }
+
+    public GitlabControllerImpl(String gitlabUrl, String token, boolean startFetchingProjects, boolean useCache) {
+        this(gitlabUrl, token, null, startFetchingProjects, useCache);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param gitlabUrl
+     *            the URL of the GitLab instance
+     * @param token
+     *            the access token used to access GitLab
+     * @param snapshotStore
+     *            the store from which the last known state of the projects is
+     *            loaded and to which it is persisted after every change or
+     *            {@code null} if the state should not be persisted
+     * @param startFetchingProjects
+     *            flag indicating whether the controller should start to fetch
+     *            the projects directly
+     * @param useCache
+     *            flag indicating whether the visible projects of users should
+     *            be cached
+     */
+    public GitlabControllerImpl(String gitlabUrl, String token, ProjectSnapshotStore snapshotStore,
+            boolean startFetchingProjects, boolean useCache) {
         if (token == null || token.isEmpty()) {
             // use default "guest" token, to use openly available projects
             token = GITLAB_DEFAULT_GUEST_TOKEN;
         }
-        api = GitlabAPI.connect(GITLAB_URL, token);
+        this.gitlabUrl = gitlabUrl;
+        api = GitlabAPI.connect(gitlabUrl, token);
+        api.setRequestTimeout(readPositiveIntFromEnv(GITLAB_REQUEST_TIMEOUT_KEY, DEFAULT_REQUEST_TIMEOUT));
+        maxRetries = readPositiveIntFromEnv(GITLAB_MAX_RETRIES_KEY, DEFAULT_MAX_RETRIES);
+        fetchTimeout = readPositiveIntFromEnv(GITLAB_FETCH_TIMEOUT_KEY, DEFAULT_FETCH_TIMEOUT);
+        int parallelism = Math.max(1, readPositiveIntFromEnv(GITLAB_FETCH_PARALLELISM_KEY, DEFAULT_FETCH_PARALLELISM));
+        fetchExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "gitlab-fetch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        fetchExecutor.allowCoreThreadTimeOut(true);
         timer = new Timer();
         projects = new ArrayList<>();
         readyRunnable = new ArrayList<>();
 
         if (useCache) {
+            // Entries are reloaded in the background, i.e., requests are not
+            // blocked by GitLab as long as the user has been seen before
             visibleProjectsCache = CacheBuilder.newBuilder()
                     .expireAfterAccess(VISIBILITY_CACHE_ELEMENT_LIFETIME_IN_SECS, TimeUnit.SECONDS)
-                    .maximumSize(MAX_SIZE_OF_PROJECT_VISIBILITY_CHACHE).build(new CacheLoader<String, Set<String>>() {
+                    .refreshAfterWrite(VISIBILITY_CACHE_REFRESH_IN_SECS, TimeUnit.SECONDS)
+                    .maximumSize(readPositiveIntFromEnv(GITLAB_VISIBILITY_CACHE_SIZE_KEY,
+                            DEFAULT_SIZE_OF_PROJECT_VISIBILITY_CHACHE))
+                    .build(CacheLoader.asyncReloading(new CacheLoader<Integer, Set<String>>() {
                         @Override
-                        public Set<String> load(String mail) throws Exception {
-                            return getProjectsOfUser(mail);
+                        public Set<String> load(Integer userId) throws Exception {
+                            return getProjectNamesVisibleForUser(userId);
                         }
-                    });
+                    }, fetchExecutor));
         } else {
             visibleProjectsCache = null;
         }
 
+        // make the last known projects available while GitLab is fetched
+        this.snapshotStore = snapshotStore;
+        loadSnapshot();
+
         // start fetching projects
         if (startFetchingProjects) {
             startFetchingProjects();
         }
     }
 
+    /**
+     * Reads the given environmental variable as non-negative integer.
+     *
+     * @param key
+     *            the key of the environmental variable
+     * @param defaultValue
+     *            the value that is used if the variable is not defined or can
+     *            not be parsed
+     * @return the value of the variable or the default value
+     */
+    private static int readPositiveIntFromEnv(String key, int defaultValue) {
+        if (System.getenv().containsKey(key)) {
+            try {
+                return Math.max(0, Integer.parseInt(System.getenv().get(key)));
+            } catch (NumberFormatException e) {
+                LOGGER.error("Could not parse {}. Using default value {}.", key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     public void runAfterFirstFetch(Runnable r) {
         readyRunnable.add(r);
     }
@@ -152,31 +331,67 @@ public class GitlabControllerImpl implements GitlabController {
                 // In GitLab API V4, `/projects/visible` & `/projects/all`
                 // are consolidated into `/projects`
                 // and can be used with or without authorization.
-                List<GitlabProject> gitProjects = api.getAllProjects();
+                long fetchStart = System.nanoTime();
+                List<GitlabProject> gitProjects = requestWithRetries(() -> api.getAllProjects());
 
                 LOGGER.info("Projects: " + gitProjects.size());
 
-                newProjects = gitProjects.parallelStream()
-                        // Map every gitlab project to a project object (or null_)
-                        .map(p -> gitlabToProject(p))
-                        // Filter all projects that couldn't be converted
-                        .filter(p -> p != null)
+                Map<Integer, FetchedProject> previousProjects = fetchedProjects;
+                Map<Integer, FetchedProject> newFetchedProjects = new LinkedHashMap<>();
+                // Fetch the single projects using the executor
+                List<Future<FetchedProject>> futures = new ArrayList<>(gitProjects.size());
+                for (GitlabProject gitProject : gitProjects) {
+                    FetchedProject previous = previousProjects.get(gitProject.getId());
+                    futures.add(fetchExecutor.submit(() -> {
+                        long projectStart = System.nanoTime();
+                        FetchedProject fetched = fetchProject(gitProject, previous);
+                        metrics.projectFetched(GitlabFetchMetrics.toMillis(System.nanoTime() - projectStart));
+                        return fetched;
+                    }));
+                }
+                long deadline = fetchStart + TimeUnit.MILLISECONDS.toNanos(fetchTimeout);
+                newProjects = new ArrayList<>(gitProjects.size());
+                for (int i = 0; i < futures.size(); ++i) {
+                    Integer projectId = gitProjects.get(i).getId();
+                    FetchedProject fetched;
+                    try {
+                        fetched = futures.get(i).get(Math.max(0, deadline - System.nanoTime()),
+                                TimeUnit.NANOSECONDS);
+                    } catch (TimeoutException e) {
+                        futures.get(i).cancel(true);
+                        metrics.projectTimedOut();
+                        // keep the previous state of the project
+                        fetched = previousProjects.get(projectId);
+                    } catch (ExecutionException e) {
+                        LOGGER.warn("Couldn't fetch project {}. Keeping its previous state. {}",
+                                gitProjects.get(i).getNameWithNamespace(), e.getCause().toString());
+                        metrics.projectFailed();
+                        fetched = previousProjects.get(projectId);
+                    }
+                    if (fetched != null) {
+                        newFetchedProjects.put(projectId, fetched);
                         // Filter all projects that didn't contain any benchmark or system definition
-                        .filter(p -> ((p.benchmarkModel != null)
-                                && (p.benchmarkModel.contains(null, RDF.type, HOBBIT.Benchmark)))
-                                || ((p.systemModel != null)
-                                        && (p.systemModel.contains(null, RDF.type, HOBBIT.SystemInstance))))
-                        // Put remaining projects in a list
-                        .collect(Collectors.toList());
+                        if (containsMetaData(fetched.project)) {
+                            newProjects.add(fetched.project);
+                        }
+                    }
+                }
+                metrics.fetchFinished(GitlabFetchMetrics.toMillis(System.nanoTime() - fetchStart));
+                LOGGER.info("GitLab fetch metrics: {}", metrics);
                 for (Project project : newProjects) {
                     newProjectUris.add(project.name);
                 }
+                fetchedProjects = newFetchedProjects;
+                if (!isSameState(previousProjects, newFetchedProjects)) {
+                    storeSnapshot(newFetchedProjects);
+                }
             } catch (Exception | Error e) {
-                LOGGER.error("Couldn't get GitLab projects from {}.", GITLAB_URL, e);
+                LOGGER.error("Couldn't get GitLab projects from {}.", gitlabUrl, e);
                 // Do not replace previously fetched project list.
                 return;
             }
 
+            boolean changed = !isSameProjectList(projects, newProjects);
             if (projects == null) {
                 // This is the first fetching of projects -> we might
                 // have
@@ -191,6 +406,11 @@ public class GitlabControllerImpl implements GitlabController {
                 projects = newProjects;
                 projectUris = newProjectUris;
             }
+            if (changed) {
+                ++projectsVersion;
+            }
+            LOGGER.info("Fetched {} projects ({}).", newProjects.size(), changed ? "changed" : "unchanged");
+            refreshUsers();
             // indicate that projects were fetched
             if (!projectsFetched) {
                 projectsFetched = true;
@@ -203,6 +423,86 @@ public class GitlabControllerImpl implements GitlabController {
         }
     }
 
+    /**
+     * Checks whether the given project contains at least one benchmark or
+     * system definition.
+     */
+    private static boolean containsMetaData(Project p) {
+        return (p != null) && (((p.benchmarkModel != null)
+                && (p.benchmarkModel.contains(null, RDF.type, HOBBIT.Benchmark)))
+                || ((p.systemModel != null) && (p.systemModel.contains(null, RDF.type, HOBBIT.SystemInstance))));
+    }
+
+    /**
+     * Loads the last known state of the projects from the snapshot store (if
+     * available). The loaded projects are served until the next fetching
+     * replaced them. Since the loaded state is used as previous state of this
+     * fetching, only projects that have been changed in the meantime are
+     * downloaded again.
+     */
+    protected void loadSnapshot() {
+        if (snapshotStore == null) {
+            return;
+        }
+        try {
+            ProjectSnapshot snapshot = snapshotStore.load();
+            if (snapshot == null) {
+                return;
+            }
+            List<Project> loadedProjects = new ArrayList<>();
+            Set<String> loadedProjectUris = new HashSet<String>();
+            for (FetchedProject fetched : snapshot.getProjects().values()) {
+                if (containsMetaData(fetched.project)) {
+                    loadedProjects.add(fetched.project);
+                    loadedProjectUris.add(fetched.project.name);
+                }
+            }
+            fetchedProjects = new LinkedHashMap<>(snapshot.getProjects());
+            projects = loadedProjects;
+            projectUris = loadedProjectUris;
+            ++projectsVersion;
+            LOGGER.info("Loaded {} projects from the snapshot. They will be reconciled with GitLab in the background.",
+                    loadedProjects.size());
+        } catch (Exception e) {
+            LOGGER.warn("Couldn't load the project snapshot. The projects will be available after fetching them. {}",
+                    e.toString());
+        }
+    }
+
+    /**
+     * Persists the given state of the projects using the snapshot store (if
+     * available).
+     */
+    protected void storeSnapshot(Map<Integer, FetchedProject> state) {
+        if (snapshotStore == null) {
+            return;
+        }
+        try {
+            snapshotStore.store(new ProjectSnapshot(state));
+        } catch (Exception e) {
+            LOGGER.warn("Couldn't store the project snapshot. {}", e.toString());
+        }
+    }
+
+    /**
+     * Checks whether both states contain the same projects with the same last
+     * activities, commits and project instances.
+     */
+    private static boolean isSameState(Map<Integer, FetchedProject> state1, Map<Integer, FetchedProject> state2) {
+        if (!state1.keySet().equals(state2.keySet())) {
+            return false;
+        }
+        for (Map.Entry<Integer, FetchedProject> entry : state1.entrySet()) {
+            FetchedProject fetched1 = entry.getValue();
+            FetchedProject fetched2 = state2.get(entry.getKey());
+            if (!Objects.equals(fetched1.lastActivity, fetched2.lastActivity)
+                    || !Objects.equals(fetched1.commitId, fetched2.commitId) || (fetched1.project != fetched2.project)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Collects the URIs of benchmarks and systems defined within the given project
      * element and streams them as pairs of the benchmark and system URIs as keys
@@ -226,6 +526,24 @@ public class GitlabControllerImpl implements GitlabController {
     public void stopFetchingProjects() {
         timer.cancel();
         timer.purge();
+        fetchExecutor.shutdownNow();
+        if (snapshotStore instanceof Closeable) {
+            try {
+                ((Closeable) snapshotStore).close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+        }
+    }
+
+    /**
+     * Returns the version of the project list. It is increased every time the
+     * projects have been fetched from GitLab.
+     *
+     * @return the version of the project list
+     */
+    public long getProjectsVersion() {
+        return projectsVersion;
     }
 
     @Override
@@ -243,6 +561,73 @@ public class GitlabControllerImpl implements GitlabController {
         return projects;
     }
 
+    /**
+     * Checks whether both lists contain the same project instances in the same
+     * order.
+     */
+    private static boolean isSameProjectList(List<Project> projects1, List<Project> projects2) {
+        if ((projects1 == null) || (projects1.size() != projects2.size())) {
+            return false;
+        }
+        for (int i = 0; i < projects1.size(); ++i) {
+            if (projects1.get(i) != projects2.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fetches the data of the given GitLab project. The data is only downloaded
+     * and parsed again if the commit of its default branch differs from the
+     * previous fetching. The commit is always requested since GitLab updates
+     * the last activity of a project at most once per hour, i.e., a push
+     * shortly after another activity does not change it.
+     *
+     * @param project
+     *            the GitLab project
+     * @param previous
+     *            the result of the previous fetching of the project or
+     *            {@code null} if it has not been fetched before
+     * @return the fetched project
+     * @throws IOException
+     *             if the project couldn't be retrieved from GitLab
+     */
+    protected FetchedProject fetchProject(GitlabProject project, FetchedProject previous) throws IOException {
+        Date lastActivity = project.getLastActivityAt();
+        // get default branch
+        GitlabBranch b;
+        try {
+            b = requestWithRetries(() -> api.getBranch(project, project.getDefaultBranch()));
+        } catch (FileNotFoundException e) {
+            // there is no default branch -> the project is empty
+            return new FetchedProject(lastActivity, null, null);
+        }
+        String commitId = b.getCommit().getId();
+        if ((previous != null) && commitId.equals(previous.commitId)) {
+            return new FetchedProject(lastActivity, commitId, updateProject(project, previous.project));
+        }
+        return new FetchedProject(lastActivity, commitId, gitlabToProject(project, commitId));
+    }
+
+    /**
+     * Returns the given previously created project or a new project with the
+     * same models if the meta data of the GitLab project (e.g., its owner) has
+     * been changed.
+     */
+    private Project updateProject(GitlabProject gitProject, Project previous) {
+        if (previous == null) {
+            return null;
+        }
+        Project project = createProject(gitProject, previous.benchmarkModel, previous.systemModel);
+        if (Objects.equals(project.user, previous.user) && Objects.equals(project.name, previous.name)
+                && Objects.equals(project.createdAt, previous.createdAt) && (project.isPrivate == previous.isPrivate)) {
+            return previous;
+        } else {
+            return project;
+        }
+    }
+
     @Override
     public Project gitlabToProject(GitlabProject project) {
         // get default branch
@@ -254,41 +639,117 @@ public class GitlabControllerImpl implements GitlabController {
             // we can return null and don't have to log this error
             return null;
         }
+        try {
+            return gitlabToProject(project, b.getCommit().getId());
+        } catch (IOException e) {
+            LOGGER.warn("Couldn't read the configuration files of {}. {}", project.getWebUrl(), e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the system and benchmark models of the given project at the given
+     * commit.
+     *
+     * @param project
+     *            the GitLab project
+     * @param commitId
+     *            the id of the commit from which the models should be read
+     * @return the project or {@code null} if it does not contain any model
+     * @throws IOException
+     *             if one of the files couldn't be retrieved for another reason
+     *             than its absence
+     */
+    protected Project gitlabToProject(GitlabProject project, String commitId) throws IOException {
         // read system config
         Model systemModel = null;
         try {
-            byte[] systemCfgBytes = api.getRawFileContent(project, b.getCommit().getId(), SYSTEM_CONFIG_FILENAME);
+            byte[] systemCfgBytes = requestWithRetries(
+                    () -> api.getRawFileContent(project, commitId, SYSTEM_CONFIG_FILENAME));
             systemModel = getCheckedModel(systemCfgBytes, "system", project.getWebUrl());
-        } catch (Exception e) {
+        } catch (FileNotFoundException e) {
             LOGGER.debug("system.ttl configuration file NOT FOUND in {}", project.getWebUrl());
         }
         // read benchmark config
         Model benchmarkModel = null;
         try {
-            byte[] benchmarkCfgBytes = api.getRawFileContent(project, b.getCommit().getId(), BENCHMARK_CONFIG_FILENAME);
+            byte[] benchmarkCfgBytes = requestWithRetries(
+                    () -> api.getRawFileContent(project, commitId, BENCHMARK_CONFIG_FILENAME));
             benchmarkModel = getCheckedModel(benchmarkCfgBytes, "benchmark", project.getWebUrl());
-        } catch (Exception e) {
+        } catch (FileNotFoundException e) {
             LOGGER.debug("benchmark.ttl configuration file NOT FOUND in {}", project.getWebUrl());
         }
         if ((benchmarkModel != null) || (systemModel != null)) {
-            // get user
-            String user = null;
-            GitlabUser owner = project.getOwner();
-            if (owner != null) {
-                user = owner.getEmail();
-            } else {
-                String warning = "The project " + project.getNameWithNamespace() + " has no owner.";
-                handleErrorMsg(warning, null, false);
-            }
-            Project p = new Project(benchmarkModel, systemModel, user, project.getNameWithNamespace(),
-                    project.getCreatedAt(), project.getVisibility() == GITLAB_VISIBILITY_PRIVATE);
-            return p;
+            return createProject(project, benchmarkModel, systemModel);
         } else {
             // There is no data which is interesting for us. We can ignore this project.
             return null;
         }
     }
 
+    /**
+     * Executes the given request. If it fails, it is retried with an
+     * exponentially growing pause up to {@link #maxRetries} times. Requests
+     * for resources that do not exist are not retried.
+     *
+     * @param request
+     *            the request that should be executed
+     * @return the result of the request
+     * @throws IOException
+     *             if the request failed
+     */
+    protected <T> T requestWithRetries(GitlabRequest<T> request) throws IOException {
+        long backoff = INITIAL_RETRY_BACKOFF;
+        int attempt = 0;
+        while (true) {
+            try {
+                return request.execute();
+            } catch (FileNotFoundException e) {
+                // the resource does not exist
+                throw e;
+            } catch (IOException e) {
+                metrics.requestFailed();
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                LOGGER.debug("Request to GitLab failed. Retrying in {}ms. {}", backoff, e.toString());
+                metrics.requestRetried();
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoff *= 2;
+                ++attempt;
+            }
+        }
+    }
+
+    /**
+     * @return the metrics of the project fetching
+     */
+    public GitlabFetchMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Creates a project object for the given GitLab project and models.
+     */
+    private Project createProject(GitlabProject project, Model benchmarkModel, Model systemModel) {
+        // get user
+        String user = null;
+        GitlabUser owner = project.getOwner();
+        if (owner != null) {
+            user = owner.getEmail();
+        } else {
+            String warning = "The project " + project.getNameWithNamespace() + " has no owner.";
+            handleErrorMsg(warning, null, false);
+        }
+        return new Project(benchmarkModel, systemModel, user, project.getNameWithNamespace(), project.getCreatedAt(),
+                project.getVisibility() == GITLAB_VISIBILITY_PRIVATE);
+    }
+
     public static void main(String[] args) throws InterruptedException, IOException {
         GitlabControllerImpl c = new GitlabControllerImpl(System.getenv(GITLAB_TOKEN), true, true);
         Thread.sleep(40000);
@@ -362,7 +823,19 @@ public class GitlabControllerImpl implements GitlabController {
      *             If the Gitlab API throws an IOException
      */
     protected boolean isAdmin() throws IOException {
-        GitlabUser user = api.getUser();
+        Boolean admin = adminAccess;
+        if (admin == null) {
+            admin = requestAdminAccess();
+            adminAccess = admin;
+        }
+        return admin;
+    }
+
+    /**
+     * Asks GitLab whether the account used to access it has admin rights.
+     */
+    private boolean requestAdminAccess() throws IOException {
+        GitlabUser user = requestWithRetries(() -> api.getUser());
         if (user == null) {
             return false;
         }
@@ -374,6 +847,49 @@ public class GitlabControllerImpl implements GitlabController {
         }
     }
 
+    /**
+     * Refreshes the admin rights of the account used to access GitLab and, if
+     * the account has admin rights, the index of users. Users that do not exist
+     * anymore are removed from the cache of visible projects.
+     */
+    protected void refreshUsers() {
+        try {
+            boolean admin = requestAdminAccess();
+            adminAccess = admin;
+            if (admin) {
+                Map<String, GitlabUser> users = loadUsers();
+                if (visibleProjectsCache != null) {
+                    Set<Integer> userIds = users.values().stream().map(u -> u.getId()).collect(Collectors.toSet());
+                    visibleProjectsCache.asMap().keySet().retainAll(userIds);
+                }
+            } else {
+                usersByMail = null;
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Couldn't refresh the GitLab users. {}", e.toString());
+        }
+    }
+
+    /**
+     * Loads all users from GitLab and replaces the index of users with them.
+     *
+     * @return the users mapped to their e-mail addresses
+     * @throws IOException
+     *             If the Gitlab API throws an IOException
+     */
+    private synchronized Map<String, GitlabUser> loadUsers() throws IOException {
+        List<GitlabUser> users = requestWithRetries(() -> api.getUsers());
+        Map<String, GitlabUser> newUsersByMail = new HashMap<>();
+        for (GitlabUser user : users) {
+            if (user.getEmail() != null) {
+                newUsersByMail.put(user.getEmail(), user);
+            }
+        }
+        usersByMail = newUsersByMail;
+        usersLoadTime = System.currentTimeMillis();
+        return newUsersByMail;
+    }
+
     /**
      * If the Gitlab API is used with an admin account, this method returns the
      * names of the projects that are visible for this user. Otherwise, it returns
@@ -394,13 +910,14 @@ public class GitlabControllerImpl implements GitlabController {
                 LOGGER.warn("Couldn't find user with mail \"{}\". returning empty list of projects.", mail);
                 return new TreeSet<>();
             }
-            // List<GitlabProject> gitProjects = api.getProjectsViaSudo(user);
-            List<GitlabProject> gitProjects = getProjectsVisibleForUser(user);
-            Set<String> projectNames = new HashSet<String>();
-            for (GitlabProject p : gitProjects) {
-                projectNames.add(p.getNameWithNamespace());
+            if (visibleProjectsCache == null) {
+                return getProjectNamesVisibleForUser(user.getId());
+            }
+            try {
+                return visibleProjectsCache.get(user.getId());
+            } catch (ExecutionException e) {
+                throw new IOException("Couldn't retrieve the projects of user " + user.getId() + ".", e.getCause());
             }
-            return projectNames;
         } else {
             // We can not check the access of a single user. Simply return all known
             // projects.
@@ -409,7 +926,11 @@ public class GitlabControllerImpl implements GitlabController {
     }
 
     /**
-     * Tries to find the GitlabUser with the given mail address.
+     * Tries to find the GitlabUser with the given mail address using the index
+     * of users. If the user is not known, the index is reloaded if it is older
+     * than {@link #MIN_USER_RELOAD_INTERVAL}, i.e., users that have been
+     * created since the last refresh are found without the risk of requesting
+     * all users for every unknown mail address.
      *
      * @param mail
      *            the mail address of the user
@@ -422,47 +943,93 @@ public class GitlabControllerImpl implements GitlabController {
         if (mail == null) {
             return null;
         }
-        List<GitlabUser> users = api.getUsers();
-        for (GitlabUser user : users) {
-            String email = user.getEmail();
-            if (email != null && email.equals(mail)) {
-                return user;
+        Map<String, GitlabUser> users = usersByMail;
+        if ((users != null) && users.containsKey(mail)) {
+            return users.get(mail);
+        }
+        synchronized (this) {
+            // make sure that the users haven't been loaded while we were waiting
+            if ((usersByMail == null)
+                    || (System.currentTimeMillis() - usersLoadTime > MIN_USER_RELOAD_INTERVAL)) {
+                users = loadUsers();
+            } else {
+                users = usersByMail;
             }
         }
-        return null;
+        return users.get(mail);
     }
 
     public List<Project> getProjectsVisibleForUser(String mail) {
         Set<String> projectNames;
         try {
-            if (visibleProjectsCache != null) {
-                projectNames = visibleProjectsCache.get(mail);
-            } else {
-                projectNames = getProjectsOfUser(mail);
-            }
+            projectNames = getProjectsOfUser(mail);
         } catch (IOException e) {
             LOGGER.error("Exception while trying to retrieve projects of the user with the mail \"" + mail
                     + "\". Returning null.", e);
             return null;
-        } catch (ExecutionException e) {
-            LOGGER.error("Exception while trying to retrieve projects of the user with the mail \"" + mail
-                    + "\". Returning null.", e);
-            return null;
         }
-        List<Project> userProjects = projects.parallelStream()
+        List<Project> userProjects = projects.stream()
                 .filter(p -> ((!p.isPrivate) || projectNames.contains(p.name))).collect(Collectors.toList());
         return userProjects;
     }
 
     protected List<GitlabProject> getProjectsVisibleForUser(GitlabUser user) throws IOException {
+        return requestProjectsVisibleForUser(user.getId());
+    }
+
+    private List<GitlabProject> requestProjectsVisibleForUser(int userId) throws IOException {
         StringBuilder builder = new StringBuilder();
         builder.append(GitlabUser.URL);
         builder.append('/');
-        builder.append(user.getId());
+        builder.append(userId);
         builder.append("/projects");
         builder.append(new Pagination().withPerPage(Pagination.MAX_ITEMS_PER_PAGE).toString());
         builder.append("&simple=true");
-        return api.retrieve().getAll(builder.toString(), GitlabProject[].class);
+        return requestWithRetries(() -> api.retrieve().getAll(builder.toString(), GitlabProject[].class));
     }
 
+    /**
+     * Retrieves the names of the projects that are visible for the user with
+     * the given id from GitLab.
+     */
+    protected Set<String> getProjectNamesVisibleForUser(int userId) throws IOException {
+        Set<String> projectNames = new HashSet<String>();
+        for (GitlabProject p : requestProjectsVisibleForUser(userId)) {
+            projectNames.add(p.getNameWithNamespace());
+        }
+        return projectNames;
+    }
+
+    /**
+     * A single request to GitLab.
+     */
+    @FunctionalInterface
+    protected static interface GitlabRequest<T> {
+        public T execute() throws IOException;
+    }
+
+    /**
+     * The state of a GitLab project at the time it has been fetched.
+     */
+    protected static class FetchedProject {
+        /**
+         * The last activity of the project reported by GitLab.
+         */
+        public final Date lastActivity;
+        /**
+         * The id of the commit of the default branch the models have been read
+         * from.
+         */
+        public final String commitId;
+        /**
+         * The project or {@code null} if it does not contain any model.
+         */
+        public final Project project;
+
+        public FetchedProject(Date lastActivity, String commitId, Project project) {
+            this.lastActivity = lastActivity;
+            this.commitId = commitId;
+            this.project = project;
+        }
+    }
 }
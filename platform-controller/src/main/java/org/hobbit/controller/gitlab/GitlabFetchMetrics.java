@@ -0,0 +1,149 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.gitlab;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simple, thread safe metrics of the fetching of GitLab projects.
+ */
+public class GitlabFetchMetrics {
+
+    private AtomicLong fetches = new AtomicLong();
+    private AtomicLong lastFetchDuration = new AtomicLong();
+    private AtomicLong totalFetchDuration = new AtomicLong();
+    private AtomicLong fetchedProjects = new AtomicLong();
+    private AtomicLong totalProjectLatency = new AtomicLong();
+    private AtomicLong maxProjectLatency = new AtomicLong();
+    private AtomicLong failedProjects = new AtomicLong();
+    private AtomicLong timedOutProjects = new AtomicLong();
+    private AtomicLong failedRequests = new AtomicLong();
+    private AtomicLong retriedRequests = new AtomicLong();
+
+    /**
+     * Records a finished fetching of the project list.
+     *
+     * @param duration
+     *            the duration of the fetching in ms
+     */
+    public void fetchFinished(long duration) {
+        fetches.incrementAndGet();
+        lastFetchDuration.set(duration);
+        totalFetchDuration.addAndGet(duration);
+    }
+
+    /**
+     * Records the successful fetching of a single project.
+     *
+     * @param latency
+     *            the time (in ms) needed to fetch the project
+     */
+    public void projectFetched(long latency) {
+        fetchedProjects.incrementAndGet();
+        totalProjectLatency.addAndGet(latency);
+        maxProjectLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Records a project that couldn't be fetched because of an error.
+     */
+    public void projectFailed() {
+        failedProjects.incrementAndGet();
+    }
+
+    /**
+     * Records a project that couldn't be fetched within the time limit.
+     */
+    public void projectTimedOut() {
+        timedOutProjects.incrementAndGet();
+    }
+
+    /**
+     * Records a failed request to GitLab.
+     */
+    public void requestFailed() {
+        failedRequests.incrementAndGet();
+    }
+
+    /**
+     * Records the retry of a failed request to GitLab.
+     */
+    public void requestRetried() {
+        retriedRequests.incrementAndGet();
+    }
+
+    public long getFetches() {
+        return fetches.get();
+    }
+
+    public long getLastFetchDuration() {
+        return lastFetchDuration.get();
+    }
+
+    public long getTotalFetchDuration() {
+        return totalFetchDuration.get();
+    }
+
+    public long getFetchedProjects() {
+        return fetchedProjects.get();
+    }
+
+    /**
+     * @return the average time (in ms) needed to fetch a single project
+     */
+    public double getAverageProjectLatency() {
+        long count = fetchedProjects.get();
+        return count > 0 ? ((double) totalProjectLatency.get() / count) : 0;
+    }
+
+    public long getMaxProjectLatency() {
+        return maxProjectLatency.get();
+    }
+
+    public long getFailedProjects() {
+        return failedProjects.get();
+    }
+
+    public long getTimedOutProjects() {
+        return timedOutProjects.get();
+    }
+
+    public long getFailedRequests() {
+        return failedRequests.get();
+    }
+
+    public long getRetriedRequests() {
+        return retriedRequests.get();
+    }
+
+    /**
+     * Helper method to transform the given nano seconds into milliseconds.
+     */
+    public static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "fetches=%d, lastFetchDuration=%dms, fetchedProjects=%d, avgProjectLatency=%.1fms, maxProjectLatency=%dms, failedProjects=%d, timedOutProjects=%d, failedRequests=%d, retriedRequests=%d",
+                getFetches(), getLastFetchDuration(), getFetchedProjects(), getAverageProjectLatency(),
+                getMaxProjectLatency(), getFailedProjects(), getTimedOutProjects(), getFailedRequests(),
+                getRetriedRequests());
+    }
+}
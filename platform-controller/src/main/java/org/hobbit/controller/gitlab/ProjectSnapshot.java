@@ -0,0 +1,191 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.gitlab;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.hobbit.controller.gitlab.GitlabControllerImpl.FetchedProject;
+
+/**
+ * The state of all GitLab projects at the end of a fetching. It can be
+ * serialized into a compact, gzipped binary form to persist it across restarts
+ * of the controller.
+ */
+public class ProjectSnapshot {
+
+    /**
+     * Version of the serialization format. Snapshots with a different version
+     * are not read.
+     */
+    private static final int FORMAT_VERSION = 1;
+    private static final String MODEL_LANG = "TTL";
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    /**
+     * The fetched projects mapped to their GitLab ids in the order GitLab
+     * listed them.
+     */
+    private final Map<Integer, FetchedProject> projects;
+
+    ProjectSnapshot(Map<Integer, FetchedProject> projects) {
+        this.projects = Collections.unmodifiableMap(new LinkedHashMap<>(projects));
+    }
+
+    /**
+     * @return the fetched projects mapped to their GitLab ids
+     */
+    Map<Integer, FetchedProject> getProjects() {
+        return projects;
+    }
+
+    /**
+     * @return the number of projects in this snapshot
+     */
+    public int size() {
+        return projects.size();
+    }
+
+    /**
+     * Serializes the given snapshot.
+     *
+     * @param snapshot
+     *            the snapshot that should be serialized
+     * @return the serialized snapshot
+     * @throws IOException
+     *             if the snapshot couldn't be serialized
+     */
+    public static byte[] serialize(ProjectSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bout))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(snapshot.projects.size());
+            for (Map.Entry<Integer, FetchedProject> entry : snapshot.projects.entrySet()) {
+                FetchedProject fetched = entry.getValue();
+                out.writeInt(entry.getKey());
+                writeDate(out, fetched.lastActivity);
+                writeString(out, fetched.commitId);
+                Project project = fetched.project;
+                out.writeBoolean(project != null);
+                if (project != null) {
+                    writeString(out, project.name);
+                    writeString(out, project.user);
+                    writeDate(out, project.createdAt);
+                    out.writeBoolean(project.isPrivate);
+                    writeModel(out, project.benchmarkModel);
+                    writeModel(out, project.systemModel);
+                }
+            }
+        }
+        return bout.toByteArray();
+    }
+
+    /**
+     * Deserializes the given snapshot.
+     *
+     * @param data
+     *            the serialized snapshot
+     * @return the snapshot
+     * @throws IOException
+     *             if the data couldn't be read or has an unknown format
+     */
+    public static ProjectSnapshot deserialize(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unknown snapshot format version " + version + ".");
+            }
+            int count = in.readInt();
+            Map<Integer, FetchedProject> projects = new LinkedHashMap<>();
+            for (int i = 0; i < count; ++i) {
+                int id = in.readInt();
+                Date lastActivity = readDate(in);
+                String commitId = readString(in);
+                Project project = null;
+                if (in.readBoolean()) {
+                    String name = readString(in);
+                    String user = readString(in);
+                    Date createdAt = readDate(in);
+                    boolean isPrivate = in.readBoolean();
+                    Model benchmarkModel = readModel(in);
+                    Model systemModel = readModel(in);
+                    project = new Project(benchmarkModel, systemModel, user, name, createdAt, isPrivate);
+                }
+                projects.put(id, new FetchedProject(lastActivity, commitId, project));
+            }
+            return new ProjectSnapshot(projects);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Couldn't read project snapshot.", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, Date date) throws IOException {
+        out.writeLong(date != null ? date.getTime() : NO_DATE);
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        long time = in.readLong();
+        return (time != NO_DATE) ? new Date(time) : null;
+    }
+
+    private static void writeModel(DataOutputStream out, Model model) throws IOException {
+        if (model == null) {
+            out.writeInt(-1);
+            return;
+        }
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        model.write(bout, MODEL_LANG);
+        out.writeInt(bout.size());
+        bout.writeTo(out);
+    }
+
+    private static Model readModel(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] data = new byte[length];
+        in.readFully(data);
+        Model model = ModelFactory.createDefaultModel();
+        model.read(new ByteArrayInputStream(data), null, MODEL_LANG);
+        return model;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.gitlab;
+
+import java.io.IOException;
+
+/**
+ * Interface of a storage for the last known {@link ProjectSnapshot}. It is used
+ * to make the projects available directly after a restart of the controller
+ * instead of waiting for GitLab.
+ */
+public interface ProjectSnapshotStore {
+
+    /**
+     * Loads the last stored snapshot.
+     *
+     * @return the snapshot or {@code null} if there is no stored snapshot
+     * @throws IOException
+     *             if the snapshot couldn't be loaded
+     */
+    public ProjectSnapshot load() throws IOException;
+
+    /**
+     * Stores the given snapshot replacing the previously stored snapshot.
+     *
+     * @param snapshot
+     *            the snapshot that should be stored
+     * @throws IOException
+     *             if the snapshot couldn't be stored
+     */
+    public void store(ProjectSnapshot snapshot) throws IOException;
+}
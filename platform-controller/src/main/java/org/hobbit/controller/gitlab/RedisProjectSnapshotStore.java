@@ -0,0 +1,117 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.gitlab;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.lambdaworks.redis.RedisClient;
+import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.RedisURI;
+import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+
+/**
+ * A {@link ProjectSnapshotStore} storing the snapshot as single value in the
+ * Redis instance that is used by the experiment queue. The connection is
+ * established lazily and re-established after it failed.
+ */
+public class RedisProjectSnapshotStore implements ProjectSnapshotStore, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisProjectSnapshotStore.class);
+
+    public static final String REDIS_HOST_KEY = "HOBBIT_REDIS_HOST";
+    /**
+     * Key under which the snapshot is stored.
+     */
+    public static final String SNAPSHOT_KEY = "gitlab_projects_snapshot";
+
+    /**
+     * Timeout (in seconds) of connecting to Redis and of the single commands.
+     * It makes sure that an unavailable Redis does not delay the start of the
+     * controller for long.
+     */
+    private static final long REDIS_TIMEOUT = 10;
+
+    private static final byte[] SNAPSHOT_KEY_BYTES = SNAPSHOT_KEY.getBytes();
+
+    private RedisClient redisClient;
+    private StatefulRedisConnection<byte[], byte[]> redisConnection;
+
+    public RedisProjectSnapshotStore() {
+        String host = "redis://localhost";
+        if (System.getenv().containsKey(REDIS_HOST_KEY)) {
+            host = "redis://" + System.getenv().get(REDIS_HOST_KEY);
+        }
+        RedisURI uri = RedisURI.create(host);
+        uri.setTimeout(REDIS_TIMEOUT);
+        uri.setUnit(TimeUnit.SECONDS);
+        redisClient = RedisClient.create(uri);
+    }
+
+    @Override
+    public ProjectSnapshot load() throws IOException {
+        byte[] data;
+        try {
+            data = getConnection().sync().get(SNAPSHOT_KEY_BYTES);
+        } catch (RedisException e) {
+            closeConnection();
+            throw new IOException("Couldn't load the project snapshot from Redis.", e);
+        }
+        return (data == null) ? null : ProjectSnapshot.deserialize(data);
+    }
+
+    @Override
+    public void store(ProjectSnapshot snapshot) throws IOException {
+        byte[] data = ProjectSnapshot.serialize(snapshot);
+        try {
+            getConnection().sync().set(SNAPSHOT_KEY_BYTES, data);
+        } catch (RedisException e) {
+            closeConnection();
+            throw new IOException("Couldn't store the project snapshot in Redis.", e);
+        }
+        LOGGER.debug("Stored project snapshot ({} bytes).", data.length);
+    }
+
+    private synchronized StatefulRedisConnection<byte[], byte[]> getConnection() {
+        if (redisConnection == null) {
+            redisConnection = redisClient.connect(new ByteArrayCodec());
+        }
+        return redisConnection;
+    }
+
+    private synchronized void closeConnection() {
+        if (redisConnection != null) {
+            try {
+                redisConnection.close();
+            } catch (Exception e) {
+                // nothing to do
+            }
+            redisConnection = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        closeConnection();
+        redisClient.shutdown();
+    }
+}
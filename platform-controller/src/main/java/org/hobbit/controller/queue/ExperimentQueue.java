@@ -16,6 +16,8 @@
  */
 package org.hobbit.controller.queue;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.hobbit.controller.data.ExperimentConfiguration;
@@ -35,6 +37,50 @@ public interface ExperimentQueue {
      */
     public ExperimentConfiguration getNextExperiment();
 
+    /**
+     * Returns the experiment that should be executed next while ignoring all
+     * experiments with one of the given ids, e.g., because they are already
+     * running. The default implementation only checks the head of the queue.
+     *
+     * @param excludedIds
+     *            ids of experiments that should not be returned
+     * @return the experiment that should be executed next or {@code null} if
+     *         there is no such experiment
+     */
+    public default ExperimentConfiguration getNextExperiment(Collection<String> excludedIds) {
+        ExperimentConfiguration next = getNextExperiment();
+        if ((next != null) && excludedIds.contains(next.id)) {
+            return null;
+        }
+        return next;
+    }
+
+    /**
+     * Returns up to the given number of experiments in the order in which they
+     * would be started next if the experiments with the given ids keep running.
+     * In contrast to {@link #getNextExperiment(Collection)}, the experiments
+     * are not considered to be started. The default implementation returns the
+     * first experiments of {@link #listAll()} that are not running.
+     *
+     * @param runningIds
+     *            ids of the experiments that are currently running
+     * @param count
+     *            the maximum number of experiments that should be returned
+     * @return the experiments that would be started next
+     */
+    public default List<ExperimentConfiguration> listNextExperiments(Collection<String> runningIds, int count) {
+        List<ExperimentConfiguration> result = new ArrayList<>();
+        for (ExperimentConfiguration experiment : listAll()) {
+            if (result.size() >= count) {
+                break;
+            }
+            if (!runningIds.contains(experiment.id)) {
+                result.add(experiment);
+            }
+        }
+        return result;
+    }
+
     /**
      * Adds the given experiment to the queue.
      *
@@ -43,6 +89,21 @@ public interface ExperimentQueue {
      */
     public void add(ExperimentConfiguration experiment);
 
+    /**
+     * Adds the given experiments to the queue. Implementations should add all
+     * experiments in a single step, i.e., other clients should either see all
+     * or none of them. The default implementation adds the experiments one
+     * after the other.
+     *
+     * @param experiments
+     *            the experiments that should be added
+     */
+    public default void addAll(Collection<ExperimentConfiguration> experiments) {
+        for (ExperimentConfiguration experiment : experiments) {
+            add(experiment);
+        }
+    }
+
     /**
      * Removes the experiment from the queue.
      *
@@ -59,6 +120,68 @@ public interface ExperimentQueue {
      */
     public List<ExperimentConfiguration> listAll();
 
+    /**
+     * Returns the given part of the list of experiments waiting in this queue.
+     * The list has the same order as {@link #listAll()}. The default
+     * implementation retrieves the complete list.
+     *
+     * @param offset
+     *            the position of the first experiment that should be returned
+     * @param limit
+     *            the maximum number of experiments that should be returned
+     * @return the experiments at the given positions of this queue
+     */
+    public default List<ExperimentConfiguration> list(int offset, int limit) {
+        List<ExperimentConfiguration> all = listAll();
+        if (offset >= all.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(all.subList(offset, (int) Math.min(all.size(), (long) offset + limit)));
+    }
+
+    /**
+     * Returns the position of the experiment with the given id within the list
+     * returned by {@link #listAll()}. The default implementation retrieves the
+     * complete list.
+     *
+     * @param experimentId
+     *            the id of the experiment
+     * @return the position of the experiment or {@code -1} if it is not part
+     *         of this queue
+     */
+    public default int indexOf(String experimentId) {
+        List<ExperimentConfiguration> all = listAll();
+        for (int i = 0; i < all.size(); ++i) {
+            if (all.get(i).id.equals(experimentId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of experiments waiting in this queue.
+     *
+     * @return the number of experiments waiting in this queue
+     */
+    public default int size() {
+        return listAll().size();
+    }
+
+    /**
+     * Returns the version of this queue. The version changes every time an
+     * experiment is added to or removed from the queue, i.e., a client can
+     * reuse a previously retrieved list as long as the version does not change.
+     * The default implementation returns {@code -1} which means that the queue
+     * does not support versions.
+     *
+     * @return the current version of this queue or {@code -1} if the queue
+     *         does not support versions
+     */
+    public default long getVersion() {
+        return -1;
+    }
+
     /**
      * Retrieves the experiment configuration with the given experiment id.
      * 
@@ -68,4 +191,18 @@ public interface ExperimentQueue {
      *         can not be found
      */
     public ExperimentConfiguration getExperiment(String experimentId);
+
+    /**
+     * Informs the queue that the given experiment has been finished, e.g., to
+     * let its scheduling policy learn the runtimes of experiments. The default
+     * implementation does nothing.
+     *
+     * @param experiment
+     *            the experiment that has been finished
+     * @param runtime
+     *            the time (in ms) the experiment has been running
+     */
+    public default void experimentFinished(ExperimentConfiguration experiment, long runtime) {
+        // nothing to do
+    }
 }
@@ -20,16 +20,28 @@ import java.io.Closeable;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.hobbit.controller.data.ExperimentConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.lambdaworks.redis.LettuceFutures;
 import com.lambdaworks.redis.RedisClient;
+import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.RedisFuture;
+import com.lambdaworks.redis.ScriptOutputType;
 import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.api.async.RedisAsyncCommands;
 import com.lambdaworks.redis.api.sync.RedisCommands;
 
 /**
@@ -37,6 +49,20 @@ import com.lambdaworks.redis.api.sync.RedisCommands;
  * normal experiments 2. Setup Redis-based queue for challenge experiments 3.
  * Way to get next task in queue, prioritise challenges if challenge.startTime =
  * now
+ *
+ * <p>
+ * Commands that are independent of each other are sent using the asynchronous
+ * API, i.e., they are pipelined on the connection and need only a single round
+ * trip. The head of a queue is retrieved together with its configuration by a
+ * Lua script. Decoded configurations are cached and reused as long as their
+ * JSON representation in Redis does not change.
+ * </p>
+ * <p>
+ * Several experiments can be added at once using {@link #addAll(Collection)}.
+ * They are inserted within a single MULTI/EXEC transaction that is sent on a
+ * separate connection, i.e., the commands of other threads can not become part
+ * of the transaction.
+ * </p>
  */
 public class ExperimentQueueImpl implements ExperimentQueue, Closeable {
 
@@ -46,13 +72,97 @@ public class ExperimentQueueImpl implements ExperimentQueue, Closeable {
     public final static String EXPERIMENT_KEY = "experiment";
     public final static String CHALLENGE_QUEUE = "challenge_queue";
     public final static String EXPERIMENT_QUEUE = "experiment_queue";
+    public final static String VERSION_KEY = "queue_version";
+
+    /**
+     * Lua script returning the id and the configuration of the first entry of
+     * the sorted set KEYS[1] with a score &lt;= ARGV[1] that is not one of the
+     * excluded ids ARGV[3..n]. Only the first ARGV[2] entries are retrieved
+     * from the sorted set.
+     */
+    private static final String NEXT_EXPERIMENT_SCRIPT = "local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))\n"
+            + "local excluded = {}\n"
+            + "for i = 3, #ARGV do excluded[ARGV[i]] = true end\n"
+            + "for _, id in ipairs(ids) do\n"
+            + "  if not excluded[id] then\n"
+            + "    local config = redis.call('HGET', KEYS[2], id)\n"
+            + "    if config then return {id, config} end\n"
+            + "  end\n"
+            + "end\n"
+            + "return nil";
+    /**
+     * Lua script returning the ids and configurations of the entries at the
+     * positions ARGV[1] to ARGV[1] + ARGV[2] - 1 of the challenge queue
+     * (KEYS[1], KEYS[2]) followed by the experiment queue (KEYS[3], KEYS[4])
+     * as flat list of id-configuration pairs.
+     */
+    private static final String LIST_SCRIPT = "local offset = tonumber(ARGV[1])\n"
+            + "local limit = tonumber(ARGV[2])\n"
+            + "local result = {}\n"
+            + "local function addPage(queueKey, hashKey, start, count)\n"
+            + "  if count <= 0 then return end\n"
+            + "  local ids = redis.call('ZRANGE', queueKey, start, start + count - 1)\n"
+            + "  for _, id in ipairs(ids) do\n"
+            + "    local config = redis.call('HGET', hashKey, id)\n"
+            + "    if config then\n"
+            + "      table.insert(result, id)\n"
+            + "      table.insert(result, config)\n"
+            + "    end\n"
+            + "  end\n"
+            + "end\n"
+            + "local challengeCount = redis.call('ZCARD', KEYS[1])\n"
+            + "if offset < challengeCount then\n"
+            + "  local count = math.min(limit, challengeCount - offset)\n"
+            + "  addPage(KEYS[1], KEYS[2], offset, count)\n"
+            + "  limit = limit - count\n"
+            + "  offset = 0\n"
+            + "else\n"
+            + "  offset = offset - challengeCount\n"
+            + "end\n"
+            + "addPage(KEYS[3], KEYS[4], offset, limit)\n"
+            + "return result";
+    /**
+     * Maximum time (in ms) the queue waits for the replies of Redis.
+     */
+    private static final long REDIS_TIMEOUT = 60000;
 
     // redis connection
     private RedisClient redisClient;
     private StatefulRedisConnection<String, String> redisConnection;
     private RedisCommands<String, String> redisSyncCommands;
+    private RedisAsyncCommands<String, String> redisAsyncCommands;
+    /**
+     * Connection that is used for transactions. It is guarded by itself.
+     */
+    private StatefulRedisConnection<String, String> transactionConnection;
+    /**
+     * SHA1 digest of the {@link #NEXT_EXPERIMENT_SCRIPT}.
+     */
+    private String nextExperimentScriptSha;
+    /**
+     * SHA1 digest of the {@link #LIST_SCRIPT}.
+     */
+    private String listScriptSha;
+    /**
+     * Decoded experiment configurations mapped to their ids.
+     */
+    private Map<String, CachedConfiguration> configurationCache = new ConcurrentHashMap<>();
+    /**
+     * Gson instance used to encode and decode the configurations.
+     */
+    private Gson gson = new Gson();
+    /**
+     * The policy that selects the next experiment (challenge experiments are
+     * always preferred).
+     */
+    private SchedulingPolicy policy;
 
     public ExperimentQueueImpl() {
+        this(SchedulingPolicies.createFromEnv());
+    }
+
+    public ExperimentQueueImpl(SchedulingPolicy policy) {
+        this.policy = policy;
         // init redis redisConnection
         String host = "redis://localhost";
         if (System.getenv().containsKey("HOBBIT_REDIS_HOST")) {
@@ -61,35 +171,118 @@ public class ExperimentQueueImpl implements ExperimentQueue, Closeable {
         redisClient = RedisClient.create(host);
         redisConnection = redisClient.connect();
         redisSyncCommands = redisConnection.sync();
+        redisAsyncCommands = redisConnection.async();
+        transactionConnection = redisClient.connect();
+        loadScripts();
+    }
+
+    /**
+     * Loads the Lua scripts of this queue into Redis.
+     */
+    private void loadScripts() {
+        nextExperimentScriptSha = redisSyncCommands.scriptLoad(NEXT_EXPERIMENT_SCRIPT);
+        listScriptSha = redisSyncCommands.scriptLoad(LIST_SCRIPT);
+    }
+
+    /**
+     * Checks whether the given exception has been thrown because Redis does
+     * not know a script, e.g., after it has been restarted.
+     */
+    private static boolean isNoScriptException(RedisException e) {
+        return (e.getMessage() != null) && e.getMessage().contains("NOSCRIPT");
     }
 
     private ExperimentConfiguration decodeExperimentFromString(String json) {
-        Gson gson = new Gson();
-        return gson.fromJson(json, ExperimentConfiguration.class);
+        ExperimentConfiguration config = gson.fromJson(json, ExperimentConfiguration.class);
+        // entries that have been stored before the submission time has been
+        // introduced are regarded as submitted now
+        if ((config != null) && (config.submissionTime == 0)) {
+            config.submissionTime = System.currentTimeMillis();
+        }
+        return config;
+    }
+
+    /**
+     * Returns the decoded configuration with the given id. The cached instance
+     * is returned if it has been decoded from the same JSON string.
+     *
+     * @param id
+     *            the id of the experiment
+     * @param json
+     *            the JSON representation of the configuration stored in Redis
+     * @return the decoded configuration
+     */
+    private ExperimentConfiguration decodeExperiment(String id, String json) {
+        CachedConfiguration cached = configurationCache.get(id);
+        if ((cached != null) && cached.json.equals(json)) {
+            return cached.config;
+        }
+        ExperimentConfiguration config = decodeExperimentFromString(json);
+        configurationCache.put(id, new CachedConfiguration(json, config));
+        return config;
+    }
+
+    /**
+     * Waits for the reply of the given command.
+     *
+     * @param future
+     *            the future of the sent command
+     * @return the reply of the command
+     */
+    private static <T> T await(RedisFuture<T> future) {
+        return LettuceFutures.awaitOrCancel(future, REDIS_TIMEOUT, TimeUnit.MILLISECONDS);
     }
 
     @Override
     public ExperimentConfiguration getNextExperiment() {
+        return getNextExperiment(Collections.emptySet());
+    }
+
+    @Override
+    public ExperimentConfiguration getNextExperiment(Collection<String> excludedIds) {
         String timestamp = Long.toString(new Timestamp(System.currentTimeMillis()).getTime());
-        List<String> experimentIds = redisSyncCommands.zrangebyscore(EXPERIMENT_QUEUE, "-inf", timestamp);
-        List<String> challengeIds = redisSyncCommands.zrangebyscore(CHALLENGE_QUEUE, "-inf", timestamp);
-        if (experimentIds.isEmpty() && challengeIds.isEmpty()) {
-            return null;
+        // the excluded experiments might be at the head of the queues, i.e., we
+        // have to look at one entry more than there are excluded ids
+        String[] args = new String[excludedIds.size() + 2];
+        args[0] = timestamp;
+        args[1] = Integer.toString(excludedIds.size() + 1);
+        int pos = 2;
+        for (String id : excludedIds) {
+            args[pos] = id;
+            ++pos;
+        }
+        List<Object> experimentHead;
+        List<Object> challengeHead;
+        try {
+            // send both requests before waiting for the first reply
+            RedisFuture<List<Object>> experimentFuture = redisAsyncCommands.evalsha(nextExperimentScriptSha,
+                    ScriptOutputType.MULTI, new String[] { EXPERIMENT_QUEUE, EXPERIMENT_KEY }, args);
+            RedisFuture<List<Object>> challengeFuture = redisAsyncCommands.evalsha(nextExperimentScriptSha,
+                    ScriptOutputType.MULTI, new String[] { CHALLENGE_QUEUE, CHALLENGE_KEY }, args);
+            experimentHead = await(experimentFuture);
+            challengeHead = await(challengeFuture);
+        } catch (RedisException e) {
+            if (!isNoScriptException(e)) {
+                throw e;
+            }
+            // Redis has been restarted and lost the script
+            LOGGER.info("Redis does not know the queue scripts. Loading them again.");
+            loadScripts();
+            experimentHead = redisSyncCommands.evalsha(nextExperimentScriptSha, ScriptOutputType.MULTI,
+                    new String[] { EXPERIMENT_QUEUE, EXPERIMENT_KEY }, args);
+            challengeHead = redisSyncCommands.evalsha(nextExperimentScriptSha, ScriptOutputType.MULTI,
+                    new String[] { CHALLENGE_QUEUE, CHALLENGE_KEY }, args);
         }
 
         ExperimentConfiguration experiment = null;
         ExperimentConfiguration challenge = null;
 
-        if (!experimentIds.isEmpty()) {
-            String experimentId = experimentIds.get(0);
-            String experimentStr = redisSyncCommands.hget(EXPERIMENT_KEY, experimentId);
-            experiment = decodeExperimentFromString(experimentStr);
+        if ((experimentHead != null) && (experimentHead.size() == 2)) {
+            experiment = decodeExperiment((String) experimentHead.get(0), (String) experimentHead.get(1));
         }
 
-        if (!challengeIds.isEmpty()) {
-            String challengeId = challengeIds.get(0);
-            String challengeStr = redisSyncCommands.hget(CHALLENGE_KEY, challengeId);
-            challenge = decodeExperimentFromString(challengeStr);
+        if ((challengeHead != null) && (challengeHead.size() == 2)) {
+            challenge = decodeExperiment((String) challengeHead.get(0), (String) challengeHead.get(1));
         }
 
         // If a challenge experiment is available
@@ -98,6 +291,8 @@ public class ExperimentQueueImpl implements ExperimentQueue, Closeable {
             if (challenge.executionDate == null) {
                 LOGGER.error(
                         "Got a challenge experiment without an execution date. Setting the execution date to 'now' and returning it.");
+                // work on a copy to keep the cached instance untouched
+                challenge = decodeExperimentFromString((String) challengeHead.get(1));
                 challenge.executionDate = Calendar.getInstance();
                 return challenge;
                 // If we reached the point in time to execute this experiment
@@ -105,12 +300,45 @@ public class ExperimentQueueImpl implements ExperimentQueue, Closeable {
                 return challenge;
             }
         }
-        return experiment;
+        if (policy.preservesQueueOrder()) {
+            return experiment;
+        } else {
+            return selectExperiment(timestamp, excludedIds);
+        }
+    }
+
+    /**
+     * Retrieves all experiments that could be executed now and lets the
+     * {@link #policy} select the next experiment.
+     *
+     * @param timestamp
+     *            the current time stamp
+     * @param excludedIds
+     *            the ids of the running experiments
+     * @return the selected experiment or {@code null}
+     */
+    private ExperimentConfiguration selectExperiment(String timestamp, Collection<String> excludedIds) {
+        List<String> ids = redisSyncCommands.zrangebyscore(EXPERIMENT_QUEUE, "-inf", timestamp);
+        if (ids.isEmpty()) {
+            return null;
+        }
+        List<String> configs = redisSyncCommands.hmget(EXPERIMENT_KEY, ids.toArray(new String[ids.size()]));
+        List<ExperimentConfiguration> candidates = new ArrayList<>(ids.size());
+        List<ExperimentConfiguration> running = new ArrayList<>();
+        for (int i = 0; i < ids.size(); ++i) {
+            if (configs.get(i) != null) {
+                if (excludedIds.contains(ids.get(i))) {
+                    running.add(decodeExperiment(ids.get(i), configs.get(i)));
+                } else {
+                    candidates.add(decodeExperiment(ids.get(i), configs.get(i)));
+                }
+            }
+        }
+        return policy.selectNext(candidates, running);
     }
 
     @Override
     public void add(ExperimentConfiguration experiment) {
-        Gson gson = new Gson();
         String typeKey, queueKey;
         if ((experiment.challengeUri != null) && (experiment.challengeTaskUri != null)) {
             typeKey = CHALLENGE_KEY;
@@ -120,16 +348,74 @@ public class ExperimentQueueImpl implements ExperimentQueue, Closeable {
             queueKey = EXPERIMENT_QUEUE;
         }
         String idKey = experiment.id;
+        if (experiment.submissionTime == 0) {
+            experiment.submissionTime = System.currentTimeMillis();
+        }
         String experimentJson = gson.toJson(experiment);
 
-        // add to experiment data store
-        redisSyncCommands.hset(typeKey, idKey, experimentJson);
         long timestamp = 0;
         if (experiment.executionDate != null) {
             timestamp = experiment.executionDate.getTimeInMillis();
         }
-        // append it to queue
-        redisSyncCommands.zadd(queueKey, (double) timestamp, idKey);
+        // add to experiment data store and append it to queue (pipelined)
+        RedisFuture<Boolean> hsetFuture = redisAsyncCommands.hset(typeKey, idKey, experimentJson);
+        RedisFuture<Long> zaddFuture = redisAsyncCommands.zadd(queueKey, (double) timestamp, idKey);
+        RedisFuture<Long> versionFuture = redisAsyncCommands.incr(VERSION_KEY);
+        await(hsetFuture);
+        await(zaddFuture);
+        await(versionFuture);
+    }
+
+    @Override
+    public void addAll(Collection<ExperimentConfiguration> experiments) {
+        if (experiments.isEmpty()) {
+            return;
+        }
+        Map<String, String> challenges = new LinkedHashMap<>();
+        List<Object> challengeScores = new ArrayList<>();
+        Map<String, String> normalExperiments = new LinkedHashMap<>();
+        List<Object> experimentScores = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (ExperimentConfiguration experiment : experiments) {
+            if (experiment.submissionTime == 0) {
+                experiment.submissionTime = now;
+            }
+            long timestamp = 0;
+            if (experiment.executionDate != null) {
+                timestamp = experiment.executionDate.getTimeInMillis();
+            }
+            if ((experiment.challengeUri != null) && (experiment.challengeTaskUri != null)) {
+                challenges.put(experiment.id, gson.toJson(experiment));
+                challengeScores.add((double) timestamp);
+                challengeScores.add(experiment.id);
+            } else {
+                normalExperiments.put(experiment.id, gson.toJson(experiment));
+                experimentScores.add((double) timestamp);
+                experimentScores.add(experiment.id);
+            }
+        }
+        List<Object> results;
+        synchronized (transactionConnection) {
+            RedisAsyncCommands<String, String> commands = transactionConnection.async();
+            // send the complete transaction before waiting for the first reply
+            RedisFuture<String> multiFuture = commands.multi();
+            if (!challenges.isEmpty()) {
+                commands.hmset(CHALLENGE_KEY, challenges);
+                commands.zadd(CHALLENGE_QUEUE, challengeScores.toArray());
+            }
+            if (!normalExperiments.isEmpty()) {
+                commands.hmset(EXPERIMENT_KEY, normalExperiments);
+                commands.zadd(EXPERIMENT_QUEUE, experimentScores.toArray());
+            }
+            commands.incr(VERSION_KEY);
+            RedisFuture<List<Object>> execFuture = commands.exec();
+            await(multiFuture);
+            results = await(execFuture);
+        }
+        if (results == null) {
+            throw new RedisException("The transaction adding " + experiments.size()
+                    + " experiments to the queue has been discarded.");
+        }
     }
 
     @Override
@@ -143,56 +429,166 @@ public class ExperimentQueueImpl implements ExperimentQueue, Closeable {
             queueKey = EXPERIMENT_QUEUE;
         }
         String idKey = experiment.id;
-        // remove from experiment data store
-        long removedFields1 = redisSyncCommands.hdel(typeKey, idKey);
-        // remove from queue
-        long removedFields2 = redisSyncCommands.zrem(queueKey, idKey);
+        // remove from experiment data store and from queue (pipelined)
+        RedisFuture<Long> hdelFuture = redisAsyncCommands.hdel(typeKey, idKey);
+        RedisFuture<Long> zremFuture = redisAsyncCommands.zrem(queueKey, idKey);
+        RedisFuture<Long> versionFuture = redisAsyncCommands.incr(VERSION_KEY);
+        long removedFields1 = await(hdelFuture);
+        long removedFields2 = await(zremFuture);
+        await(versionFuture);
+        configurationCache.remove(idKey);
         return (removedFields1 > 0) && (removedFields2 > 0);
     }
 
-    private List<ExperimentConfiguration> stringMapToExperimentList(Map<String, String> entries) {
-        List<ExperimentConfiguration> result = new ArrayList<>();
+    /**
+     * Decodes the given configurations in the order of the given ids.
+     * Configurations that are not part of the id list are appended.
+     */
+    private List<ExperimentConfiguration> stringMapToExperimentList(List<String> orderedIds,
+            Map<String, String> entries) {
+        Map<String, String> remainingEntries = new LinkedHashMap<>(entries);
+        List<ExperimentConfiguration> result = new ArrayList<>(entries.size());
+        String json;
         // decode and append all entries to result
-        for (Map.Entry<String, String> entry : entries.entrySet()) {
-            ExperimentConfiguration c = decodeExperimentFromString(entry.getValue());
-            result.add(c);
+        for (String id : orderedIds) {
+            json = remainingEntries.remove(id);
+            if (json != null) {
+                result.add(decodeExperiment(id, json));
+            }
+        }
+        for (Map.Entry<String, String> entry : remainingEntries.entrySet()) {
+            result.add(decodeExperiment(entry.getKey(), entry.getValue()));
         }
         return result;
     }
 
     @Override
     public List<ExperimentConfiguration> listAll() {
-        // get all experiments
-        Map<String, String> experiments = redisSyncCommands.hgetall(EXPERIMENT_KEY);
-        // create result
-        List<ExperimentConfiguration> result = stringMapToExperimentList(experiments);
-        // result.sort((ExperimentConfiguration o1, ExperimentConfiguration o2) ->
-        // o1.executionDate == null
-        // ? (o2.executionDate == null ? 0 : 1)
-        // : (o2.executionDate == null ? -1 : (o1.executionDate.before(o2.executionDate)
-        // ? -1 : 1)));
-        Map<String, String> challenges = redisSyncCommands.hgetall(CHALLENGE_KEY);
-        // Add all challenges in front of the experiments
-        result.addAll(0, stringMapToExperimentList(challenges));
+        // send all requests before waiting for the first reply
+        RedisFuture<List<String>> challengeIdsFuture = redisAsyncCommands.zrange(CHALLENGE_QUEUE, 0, -1);
+        RedisFuture<Map<String, String>> challengesFuture = redisAsyncCommands.hgetall(CHALLENGE_KEY);
+        RedisFuture<List<String>> experimentIdsFuture = redisAsyncCommands.zrange(EXPERIMENT_QUEUE, 0, -1);
+        RedisFuture<Map<String, String>> experimentsFuture = redisAsyncCommands.hgetall(EXPERIMENT_KEY);
+        // Add all challenges in front of the experiments (both in the order of
+        // their queues)
+        List<ExperimentConfiguration> result = stringMapToExperimentList(await(challengeIdsFuture),
+                await(challengesFuture));
+        result.addAll(stringMapToExperimentList(await(experimentIdsFuture), await(experimentsFuture)));
+        // remove cached configurations that are not in the queue anymore
+        Set<String> ids = new HashSet<>();
+        for (ExperimentConfiguration config : result) {
+            ids.add(config.id);
+        }
+        configurationCache.keySet().retainAll(ids);
         // return result
         return result;
     }
 
+    @Override
+    public List<ExperimentConfiguration> list(int offset, int limit) {
+        String[] keys = new String[] { CHALLENGE_QUEUE, CHALLENGE_KEY, EXPERIMENT_QUEUE, EXPERIMENT_KEY };
+        String[] args = new String[] { Integer.toString(offset), Integer.toString(limit) };
+        List<Object> page;
+        try {
+            page = redisSyncCommands.evalsha(listScriptSha, ScriptOutputType.MULTI, keys, args);
+        } catch (RedisException e) {
+            if (!isNoScriptException(e)) {
+                throw e;
+            }
+            LOGGER.info("Redis does not know the queue scripts. Loading them again.");
+            loadScripts();
+            page = redisSyncCommands.evalsha(listScriptSha, ScriptOutputType.MULTI, keys, args);
+        }
+        List<ExperimentConfiguration> result = new ArrayList<>(page.size() / 2);
+        for (int i = 0; (i + 1) < page.size(); i += 2) {
+            result.add(decodeExperiment((String) page.get(i), (String) page.get(i + 1)));
+        }
+        return result;
+    }
+
+    @Override
+    public List<ExperimentConfiguration> listNextExperiments(Collection<String> runningIds, int count) {
+        return SchedulingPolicies.previewNext(policy, listAll(), runningIds, count);
+    }
+
+    @Override
+    public int indexOf(String experimentId) {
+        // send all requests before waiting for the first reply
+        RedisFuture<Long> challengeRankFuture = redisAsyncCommands.zrank(CHALLENGE_QUEUE, experimentId);
+        RedisFuture<Long> challengesFuture = redisAsyncCommands.zcard(CHALLENGE_QUEUE);
+        RedisFuture<Long> experimentRankFuture = redisAsyncCommands.zrank(EXPERIMENT_QUEUE, experimentId);
+        Long challengeRank = await(challengeRankFuture);
+        long challenges = await(challengesFuture);
+        Long experimentRank = await(experimentRankFuture);
+        if (challengeRank != null) {
+            return challengeRank.intValue();
+        }
+        if (experimentRank != null) {
+            // challenges are listed in front of the other experiments
+            return (int) (challenges + experimentRank);
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        RedisFuture<Long> challengesFuture = redisAsyncCommands.zcard(CHALLENGE_QUEUE);
+        RedisFuture<Long> experimentsFuture = redisAsyncCommands.zcard(EXPERIMENT_QUEUE);
+        return (int) (await(challengesFuture) + await(experimentsFuture));
+    }
+
+    @Override
+    public long getVersion() {
+        String version = redisSyncCommands.get(VERSION_KEY);
+        if (version == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            LOGGER.error("Got an unparseable queue version \"{}\" from Redis.", version);
+            return -1;
+        }
+    }
+
+    @Override
+    public void experimentFinished(ExperimentConfiguration experiment, long runtime) {
+        policy.experimentFinished(experiment, runtime);
+    }
+
     @Override
     public ExperimentConfiguration getExperiment(String experimentId) {
-        String experimentStr = redisSyncCommands.hget(EXPERIMENT_KEY, experimentId);
+        // ask for both types at once
+        RedisFuture<String> experimentFuture = redisAsyncCommands.hget(EXPERIMENT_KEY, experimentId);
+        RedisFuture<String> challengeFuture = redisAsyncCommands.hget(CHALLENGE_KEY, experimentId);
+        String experimentStr = await(experimentFuture);
         if (experimentStr == null) {
-            experimentStr = redisSyncCommands.hget(CHALLENGE_KEY, experimentId);
+            experimentStr = await(challengeFuture);
         }
         if (experimentStr != null) {
-            return decodeExperimentFromString(experimentStr);
+            return decodeExperiment(experimentId, experimentStr);
         } else {
             return null;
         }
     }
 
     public void close() {
+        transactionConnection.close();
         redisConnection.close();
         redisClient.shutdown();
     }
+
+    /**
+     * A decoded configuration together with the JSON string it has been
+     * decoded from.
+     */
+    private static class CachedConfiguration {
+        private final String json;
+        private final ExperimentConfiguration config;
+
+        public CachedConfiguration(String json, ExperimentConfiguration config) {
+            this.json = json;
+            this.config = config;
+        }
+    }
 }
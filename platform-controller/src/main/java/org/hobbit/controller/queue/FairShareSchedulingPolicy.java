@@ -0,0 +1,156 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.queue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hobbit.controller.data.ExperimentConfiguration;
+
+/**
+ * A policy that shares the platform between its users. It selects the
+ * experiment of the user with the lowest share, i.e., the lowest number of
+ * running experiments plus recently started experiments (the usage decays with
+ * the given half-life) divided by the weight of the user. Among the
+ * experiments of a user, the order of the queue is kept.
+ */
+public class FairShareSchedulingPolicy implements SchedulingPolicy {
+
+    /**
+     * Default half-life (in ms) of the usage of a user.
+     */
+    public static final long DEFAULT_HALF_LIFE = 60 * 60 * 1000;
+
+    /**
+     * Weights of the users. Users without weight have the weight 1.
+     */
+    private Map<String, Double> userWeights;
+    /**
+     * Half-life (in ms) of the usage of a user.
+     */
+    private long halfLife;
+    /**
+     * The decayed number of started experiments per user.
+     */
+    private Map<String, Usage> usages = new HashMap<>();
+
+    public FairShareSchedulingPolicy() {
+        this(new HashMap<>(), DEFAULT_HALF_LIFE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param userWeights
+     *            weights of the users (users without weight have the weight 1)
+     * @param halfLife
+     *            half-life (in ms) of the usage of a user
+     */
+    public FairShareSchedulingPolicy(Map<String, Double> userWeights, long halfLife) {
+        this.userWeights = userWeights;
+        this.halfLife = halfLife;
+    }
+
+    @Override
+    public synchronized ExperimentConfiguration selectNext(List<ExperimentConfiguration> candidates,
+            List<ExperimentConfiguration> running) {
+        return select(candidates, running, usages, System.currentTimeMillis());
+    }
+
+    @Override
+    public synchronized List<ExperimentConfiguration> previewNext(List<ExperimentConfiguration> candidates,
+            List<ExperimentConfiguration> running, int count) {
+        // work on copies to keep the usages untouched
+        Map<String, Usage> previewUsages = new HashMap<>(usages);
+        List<ExperimentConfiguration> remaining = new ArrayList<>(candidates);
+        List<ExperimentConfiguration> started = new ArrayList<>(running);
+        List<ExperimentConfiguration> result = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        ExperimentConfiguration next;
+        while ((result.size() < count) && !remaining.isEmpty()) {
+            next = select(remaining, started, previewUsages, now);
+            result.add(next);
+            remaining.remove(next);
+            started.add(next);
+        }
+        return result;
+    }
+
+    /**
+     * Selects the experiment of the user with the lowest share and adds the
+     * selected experiment to the given usages of the users.
+     */
+    private ExperimentConfiguration select(List<ExperimentConfiguration> candidates,
+            List<ExperimentConfiguration> running, Map<String, Usage> userUsages, long now) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        Map<String, Integer> runningPerUser = new HashMap<>();
+        for (ExperimentConfiguration experiment : running) {
+            runningPerUser.merge(getUser(experiment), 1, Integer::sum);
+        }
+        ExperimentConfiguration selected = null;
+        double selectedShare = Double.MAX_VALUE;
+        double share;
+        String user;
+        for (ExperimentConfiguration candidate : candidates) {
+            user = getUser(candidate);
+            share = (runningPerUser.getOrDefault(user, 0) + getUsage(userUsages, user, now)) / getWeight(user);
+            // keep the order of the queue for equal shares
+            if (share < selectedShare) {
+                selected = candidate;
+                selectedShare = share;
+            }
+        }
+        // the selected experiment will be started
+        user = getUser(selected);
+        userUsages.put(user, new Usage(getUsage(userUsages, user, now) + 1, now));
+        return selected;
+    }
+
+    private static String getUser(ExperimentConfiguration experiment) {
+        return (experiment.userName != null) ? experiment.userName : "";
+    }
+
+    private double getWeight(String user) {
+        Double weight = userWeights.get(user);
+        return ((weight != null) && (weight > 0)) ? weight : 1;
+    }
+
+    /**
+     * Returns the decayed usage of the given user at the given point in time.
+     */
+    private double getUsage(Map<String, Usage> userUsages, String user, long now) {
+        Usage usage = userUsages.get(user);
+        if (usage == null) {
+            return 0;
+        }
+        return usage.value * Math.pow(0.5, (now - usage.timestamp) / (double) halfLife);
+    }
+
+    private static class Usage {
+        private final double value;
+        private final long timestamp;
+
+        public Usage(double value, long timestamp) {
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.queue;
+
+import java.util.List;
+
+import org.hobbit.controller.data.ExperimentConfiguration;
+
+/**
+ * The default policy that executes the experiments in the order of the queue.
+ */
+public class FifoSchedulingPolicy implements SchedulingPolicy {
+
+    @Override
+    public ExperimentConfiguration selectNext(List<ExperimentConfiguration> candidates,
+            List<ExperimentConfiguration> running) {
+        return candidates.isEmpty() ? null : candidates.get(0);
+    }
+
+    @Override
+    public boolean preservesQueueOrder() {
+        return true;
+    }
+}
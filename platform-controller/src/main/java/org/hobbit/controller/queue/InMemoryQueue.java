@@ -1,7 +1,11 @@
 package org.hobbit.controller.queue;
 
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -17,25 +21,88 @@ import org.hobbit.controller.data.ExperimentConfiguration;
 public class InMemoryQueue implements ExperimentQueue {
 
     private Deque<ExperimentConfiguration> queue = new LinkedList<>();
+    /**
+     * Version of the queue which is increased with every change.
+     */
+    private long version = 0;
+    /**
+     * The policy that selects the next experiment.
+     */
+    private SchedulingPolicy policy;
+
+    public InMemoryQueue() {
+        this(new FifoSchedulingPolicy());
+    }
+
+    public InMemoryQueue(SchedulingPolicy policy) {
+        this.policy = policy;
+    }
 
     @Override
     public ExperimentConfiguration getNextExperiment() {
+        return getNextExperiment(Collections.emptySet());
+    }
+
+    @Override
+    public ExperimentConfiguration getNextExperiment(Collection<String> excludedIds) {
+        List<ExperimentConfiguration> candidates = new ArrayList<>();
+        List<ExperimentConfiguration> running = new ArrayList<>();
+        Calendar now = Calendar.getInstance();
         synchronized (queue) {
-            return queue.peek();
+            for (ExperimentConfiguration experiment : queue) {
+                if (excludedIds.contains(experiment.id)) {
+                    running.add(experiment);
+                } else if ((experiment.challengeUri != null) && (experiment.challengeTaskUri != null)) {
+                    // challenge experiments are preferred as soon as they are due
+                    if ((experiment.executionDate == null) || !experiment.executionDate.after(now)) {
+                        return experiment;
+                    }
+                } else {
+                    candidates.add(experiment);
+                }
+            }
+            return policy.selectNext(candidates, running);
         }
     }
 
+    @Override
+    public List<ExperimentConfiguration> listNextExperiments(Collection<String> runningIds, int count) {
+        return SchedulingPolicies.previewNext(policy, listAll(), runningIds, count);
+    }
+
     @Override
     public void add(ExperimentConfiguration experiment) {
+        if (experiment.submissionTime == 0) {
+            experiment.submissionTime = System.currentTimeMillis();
+        }
         synchronized (queue) {
             queue.add(experiment);
+            ++version;
+        }
+    }
+
+    @Override
+    public void addAll(Collection<ExperimentConfiguration> experiments) {
+        long now = System.currentTimeMillis();
+        for (ExperimentConfiguration experiment : experiments) {
+            if (experiment.submissionTime == 0) {
+                experiment.submissionTime = now;
+            }
+        }
+        synchronized (queue) {
+            queue.addAll(experiments);
+            ++version;
         }
     }
 
     @Override
     public boolean remove(ExperimentConfiguration experiment) {
         synchronized (queue) {
-            return queue.remove(experiment);
+            if (queue.remove(experiment)) {
+                ++version;
+                return true;
+            }
+            return false;
         }
     }
 
@@ -46,6 +113,40 @@ public class InMemoryQueue implements ExperimentQueue {
         }
     }
 
+    @Override
+    public List<ExperimentConfiguration> list(int offset, int limit) {
+        List<ExperimentConfiguration> result = new ArrayList<>();
+        synchronized (queue) {
+            Iterator<ExperimentConfiguration> iterator = queue.iterator();
+            for (int i = 0; iterator.hasNext() && (result.size() < limit); ++i) {
+                ExperimentConfiguration experiment = iterator.next();
+                if (i >= offset) {
+                    result.add(experiment);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    @Override
+    public long getVersion() {
+        synchronized (queue) {
+            return version;
+        }
+    }
+
+    @Override
+    public void experimentFinished(ExperimentConfiguration experiment, long runtime) {
+        policy.experimentFinished(experiment, runtime);
+    }
+
     @Override
     public ExperimentConfiguration getExperiment(String experimentId) {
         return queue.stream().filter(e -> e.id.equals(experimentId)).findFirst().orElse(null);
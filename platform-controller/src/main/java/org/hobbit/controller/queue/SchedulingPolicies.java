@@ -0,0 +1,208 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.queue;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hobbit.controller.data.ExperimentConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the {@link SchedulingPolicy} of the experiment queue based on the
+ * environmental variables and offers helper methods for the queues that use
+ * them.
+ */
+public class SchedulingPolicies {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchedulingPolicies.class);
+
+    /**
+     * Key of the environmental variable used to define the scheduling policy.
+     * Possible values are {@link #FIFO}, {@link #FAIR_SHARE},
+     * {@link #WEIGHTED_PRIORITY} and {@link #SHORTEST_JOB_FIRST}.
+     */
+    public static final String QUEUE_SCHEDULING_POLICY_KEY = "QUEUE_SCHEDULING_POLICY";
+    /**
+     * Key of the environmental variable used to define the weights of users,
+     * e.g., "user1=2,user2=0.5".
+     */
+    public static final String QUEUE_USER_WEIGHTS_KEY = "QUEUE_USER_WEIGHTS";
+    /**
+     * Key of the environmental variable used to define the half-life (in ms) of
+     * the usage of a user for the {@link #FAIR_SHARE} policy.
+     */
+    public static final String FAIR_SHARE_HALF_LIFE_KEY = "QUEUE_FAIR_SHARE_HALF_LIFE";
+
+    public static final String FIFO = "fifo";
+    public static final String FAIR_SHARE = "fair-share";
+    public static final String WEIGHTED_PRIORITY = "weighted-priority";
+    public static final String SHORTEST_JOB_FIRST = "shortest-job-first";
+
+    private SchedulingPolicies() {
+    }
+
+    /**
+     * Creates the scheduling policy defined by the environmental variables.
+     * The {@link FifoSchedulingPolicy} is used if no policy is defined.
+     *
+     * @return the scheduling policy
+     */
+    public static SchedulingPolicy createFromEnv() {
+        Map<String, Double> weights = new HashMap<>();
+        if (System.getenv().containsKey(QUEUE_USER_WEIGHTS_KEY)) {
+            weights = parseWeights(System.getenv().get(QUEUE_USER_WEIGHTS_KEY));
+        }
+        long halfLife = FairShareSchedulingPolicy.DEFAULT_HALF_LIFE;
+        if (System.getenv().containsKey(FAIR_SHARE_HALF_LIFE_KEY)) {
+            try {
+                halfLife = Long.parseLong(System.getenv().get(FAIR_SHARE_HALF_LIFE_KEY));
+            } catch (NumberFormatException e) {
+                LOGGER.error("Could not parse {}. Using default value {}.", FAIR_SHARE_HALF_LIFE_KEY, halfLife);
+            }
+        }
+        String name = System.getenv().containsKey(QUEUE_SCHEDULING_POLICY_KEY)
+                ? System.getenv().get(QUEUE_SCHEDULING_POLICY_KEY)
+                : FIFO;
+        return create(name, weights, halfLife);
+    }
+
+    /**
+     * Creates the scheduling policy with the given name.
+     *
+     * @param name
+     *            the name of the policy
+     * @param weights
+     *            the weights of the users
+     * @param halfLife
+     *            the half-life (in ms) of the usage of a user (used by the
+     *            {@link #FAIR_SHARE} policy)
+     * @return the scheduling policy or a {@link FifoSchedulingPolicy} if the
+     *         name is not known
+     */
+    public static SchedulingPolicy create(String name, Map<String, Double> weights, long halfLife) {
+        switch (name.trim().toLowerCase()) {
+        case FIFO:
+            return new FifoSchedulingPolicy();
+        case FAIR_SHARE:
+            LOGGER.info("Using fair share scheduling for the experiment queue.");
+            return new FairShareSchedulingPolicy(weights, halfLife);
+        case WEIGHTED_PRIORITY:
+            LOGGER.info("Using weighted priority scheduling for the experiment queue.");
+            return new WeightedPrioritySchedulingPolicy(weights);
+        case SHORTEST_JOB_FIRST:
+            LOGGER.info("Using shortest expected job first scheduling for the experiment queue.");
+            return new ShortestExpectedJobFirstSchedulingPolicy();
+        default:
+            LOGGER.error("Unknown scheduling policy \"{}\". Using {}.", name, FIFO);
+            return new FifoSchedulingPolicy();
+        }
+    }
+
+    /**
+     * Determines up to the given number of experiments of the given queue
+     * content in the order in which they would be started next. Challenge
+     * experiments that reached their execution date are preferred in the order
+     * of the queue. The order of the other experiments is determined by
+     * {@link SchedulingPolicy#previewNext(List, List, int)}, i.e., the state of
+     * the policy is not changed.
+     *
+     * @param policy
+     *            the policy of the queue
+     * @param queued
+     *            all experiments of the queue in the order of the queue
+     * @param runningIds
+     *            ids of the experiments that are currently running
+     * @param count
+     *            the maximum number of experiments that should be returned
+     * @return the experiments that would be started next
+     */
+    public static List<ExperimentConfiguration> previewNext(SchedulingPolicy policy,
+            List<ExperimentConfiguration> queued, Collection<String> runningIds, int count) {
+        List<ExperimentConfiguration> result = new ArrayList<>();
+        List<ExperimentConfiguration> candidates = new ArrayList<>();
+        List<ExperimentConfiguration> running = new ArrayList<>();
+        Calendar now = Calendar.getInstance();
+        for (ExperimentConfiguration experiment : queued) {
+            if (runningIds.contains(experiment.id)) {
+                running.add(experiment);
+            } else if ((experiment.executionDate != null) && experiment.executionDate.after(now)) {
+                // the experiment can not be started, yet
+                continue;
+            } else if ((experiment.challengeUri != null) && (experiment.challengeTaskUri != null)) {
+                if (result.size() < count) {
+                    result.add(experiment);
+                }
+            } else {
+                candidates.add(experiment);
+            }
+        }
+        if (result.size() < count) {
+            result.addAll(policy.previewNext(candidates, running, count - result.size()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the time the given experiment has been waiting in the queue. An
+     * experiment without submission time (e.g., stored by a previous version
+     * of the platform) is regarded as submitted now.
+     *
+     * @param experiment
+     *            the queued experiment
+     * @param now
+     *            the current time (in ms)
+     * @return the waiting time (in ms)
+     */
+    public static long getWaitingTime(ExperimentConfiguration experiment, long now) {
+        if (experiment.submissionTime <= 0) {
+            return 0;
+        }
+        return Math.max(0, now - experiment.submissionTime);
+    }
+
+    /**
+     * Parses weights of the form "user1=2,user2=0.5". Malformed weights are
+     * ignored.
+     *
+     * @param value
+     *            the string containing the weights
+     * @return the weights mapped to the user names
+     */
+    public static Map<String, Double> parseWeights(String value) {
+        Map<String, Double> weights = new HashMap<>();
+        int pos;
+        for (String entry : value.split(",")) {
+            pos = entry.lastIndexOf('=');
+            if (pos > 0) {
+                try {
+                    weights.put(entry.substring(0, pos).trim(), Double.parseDouble(entry.substring(pos + 1).trim()));
+                } catch (NumberFormatException e) {
+                    LOGGER.error("Could not parse the weight \"{}\". It will be ignored.", entry);
+                }
+            } else if (!entry.trim().isEmpty()) {
+                LOGGER.error("Could not parse the weight \"{}\". It will be ignored.", entry);
+            }
+        }
+        return weights;
+    }
+}
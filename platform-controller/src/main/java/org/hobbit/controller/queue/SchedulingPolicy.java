@@ -0,0 +1,105 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hobbit.controller.data.ExperimentConfiguration;
+
+/**
+ * A policy deciding which of the experiments waiting in a queue should be
+ * executed next. Challenge experiments that reached their execution date are
+ * always preferred by the queues, i.e., a policy only decides about the order
+ * of the other experiments.
+ */
+public interface SchedulingPolicy {
+
+    /**
+     * Selects the experiment that should be executed next. Implementations may
+     * assume that the selected experiment is started.
+     *
+     * @param candidates
+     *            the experiments that could be executed, in the order of the
+     *            queue
+     * @param running
+     *            the experiments of the queue that are currently running
+     * @return the experiment that should be executed next or {@code null} if
+     *         none of the candidates should be executed
+     */
+    public ExperimentConfiguration selectNext(List<ExperimentConfiguration> candidates,
+            List<ExperimentConfiguration> running);
+
+    /**
+     * Returns up to the given number of candidates in the order in which this
+     * policy would select them if they were started one after the other. In
+     * contrast to {@link #selectNext(List, List)}, this method must not change
+     * the state of the policy. The default implementation calls
+     * {@link #selectNext(List, List)} repeatedly, i.e., policies that change
+     * their state while selecting an experiment have to override it.
+     *
+     * @param candidates
+     *            the experiments that could be executed, in the order of the
+     *            queue
+     * @param running
+     *            the experiments of the queue that are currently running
+     * @param count
+     *            the maximum number of experiments that should be returned
+     * @return the experiments that would be executed next
+     */
+    public default List<ExperimentConfiguration> previewNext(List<ExperimentConfiguration> candidates,
+            List<ExperimentConfiguration> running, int count) {
+        List<ExperimentConfiguration> remaining = new ArrayList<>(candidates);
+        List<ExperimentConfiguration> started = new ArrayList<>(running);
+        List<ExperimentConfiguration> result = new ArrayList<>();
+        ExperimentConfiguration next;
+        while ((result.size() < count) && !remaining.isEmpty()) {
+            next = selectNext(remaining, started);
+            if (next == null) {
+                break;
+            }
+            result.add(next);
+            remaining.remove(next);
+            started.add(next);
+        }
+        return result;
+    }
+
+    /**
+     * Informs the policy that the given experiment has been finished. The
+     * default implementation does nothing.
+     *
+     * @param experiment
+     *            the experiment that has been finished
+     * @param runtime
+     *            the time (in ms) the experiment has been running
+     */
+    public default void experimentFinished(ExperimentConfiguration experiment, long runtime) {
+        // nothing to do
+    }
+
+    /**
+     * Returns {@code true} if this policy always selects the first candidate.
+     * In this case, queues do not have to retrieve all candidates and the
+     * running experiments. The default implementation returns {@code false}.
+     *
+     * @return {@code true} if this policy always selects the first candidate
+     */
+    public default boolean preservesQueueOrder() {
+        return false;
+    }
+}
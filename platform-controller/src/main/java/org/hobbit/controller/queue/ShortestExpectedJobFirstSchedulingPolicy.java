@@ -0,0 +1,133 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.queue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hobbit.controller.config.HobbitConfig;
+import org.hobbit.controller.config.HobbitConfig.TimeoutConfig;
+import org.hobbit.controller.data.ExperimentConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A policy that selects the experiment with the shortest expected runtime. The
+ * runtime of a benchmark is estimated based on the runtimes of its previous
+ * experiments. If there are no previous experiments, the benchmark timeout of
+ * the {@link HobbitConfig} or a default runtime is used. The time an
+ * experiment has been waiting is subtracted from its expected runtime to make
+ * sure that long experiments do not starve.
+ */
+public class ShortestExpectedJobFirstSchedulingPolicy implements SchedulingPolicy {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShortestExpectedJobFirstSchedulingPolicy.class);
+
+    /**
+     * Runtime (in ms) that is expected if nothing is known about a benchmark.
+     */
+    public static final long DEFAULT_EXPECTED_RUNTIME = 20 * 60 * 1000;
+    /**
+     * Weight of the latest runtime when updating the expected runtime of a
+     * benchmark.
+     */
+    private static final double RUNTIME_SMOOTHING_FACTOR = 0.3;
+
+    /**
+     * The timeouts of the benchmarks or {@code null} if they couldn't be
+     * loaded.
+     */
+    private HobbitConfig config;
+    /**
+     * Expected runtimes of the benchmarks based on previous experiments.
+     */
+    private Map<String, Double> expectedRuntimes = new HashMap<>();
+
+    public ShortestExpectedJobFirstSchedulingPolicy() {
+        this(loadConfig());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param config
+     *            the configuration containing the timeouts of the benchmarks or
+     *            {@code null} if no timeouts are known
+     */
+    public ShortestExpectedJobFirstSchedulingPolicy(HobbitConfig config) {
+        this.config = config;
+    }
+
+    private static HobbitConfig loadConfig() {
+        try {
+            return HobbitConfig.loadConfig();
+        } catch (Exception e) {
+            LOGGER.warn("Could not load timeouts config ({}). Runtimes will only be based on previous experiments.",
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized ExperimentConfiguration selectNext(List<ExperimentConfiguration> candidates,
+            List<ExperimentConfiguration> running) {
+        long now = System.currentTimeMillis();
+        ExperimentConfiguration selected = null;
+        double selectedRuntime = Double.MAX_VALUE;
+        double runtime;
+        for (ExperimentConfiguration candidate : candidates) {
+            runtime = getExpectedRuntime(candidate.benchmarkUri) - SchedulingPolicies.getWaitingTime(candidate, now);
+            // keep the order of the queue for equal runtimes
+            if (runtime < selectedRuntime) {
+                selected = candidate;
+                selectedRuntime = runtime;
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public synchronized void experimentFinished(ExperimentConfiguration experiment, long runtime) {
+        if (experiment.benchmarkUri != null) {
+            expectedRuntimes.merge(experiment.benchmarkUri, (double) runtime, (previous,
+                    latest) -> ((1 - RUNTIME_SMOOTHING_FACTOR) * previous) + (RUNTIME_SMOOTHING_FACTOR * latest));
+        }
+    }
+
+    /**
+     * Returns the expected runtime (in ms) of an experiment of the given
+     * benchmark.
+     */
+    protected double getExpectedRuntime(String benchmarkUri) {
+        Double runtime = expectedRuntimes.get(benchmarkUri);
+        if (runtime != null) {
+            return runtime;
+        }
+        if ((config != null) && (config.timeouts != null) && (benchmarkUri != null)) {
+            try {
+                TimeoutConfig timeouts = config.getTimeout(benchmarkUri);
+                if ((timeouts != null) && (timeouts.benchmarkTimeout > 0)) {
+                    return timeouts.benchmarkTimeout;
+                }
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Couldn't parse the timeout of {}.", benchmarkUri);
+            }
+        }
+        return DEFAULT_EXPECTED_RUNTIME;
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.queue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hobbit.controller.data.ExperimentConfiguration;
+
+/**
+ * A policy that prioritizes the experiments based on the weight of their users
+ * and the time they have been waiting in the queue. The priority of an
+ * experiment is its waiting time multiplied by the weight of its user, i.e.,
+ * experiments of users with a higher weight are preferred while the
+ * experiments of other users still age and can not starve.
+ */
+public class WeightedPrioritySchedulingPolicy implements SchedulingPolicy {
+
+    /**
+     * Weights of the users. Users without weight have the weight 1.
+     */
+    private Map<String, Double> userWeights;
+
+    public WeightedPrioritySchedulingPolicy() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param userWeights
+     *            weights of the users (users without weight have the weight 1)
+     */
+    public WeightedPrioritySchedulingPolicy(Map<String, Double> userWeights) {
+        this.userWeights = userWeights;
+    }
+
+    @Override
+    public ExperimentConfiguration selectNext(List<ExperimentConfiguration> candidates,
+            List<ExperimentConfiguration> running) {
+        long now = System.currentTimeMillis();
+        ExperimentConfiguration selected = null;
+        double selectedPriority = -1;
+        double priority;
+        for (ExperimentConfiguration candidate : candidates) {
+            // + 1 to make sure that the weight matters for new experiments
+            priority = getWeight(candidate.userName) * (SchedulingPolicies.getWaitingTime(candidate, now) + 1);
+            // keep the order of the queue for equal priorities
+            if (priority > selectedPriority) {
+                selected = candidate;
+                selectedPriority = priority;
+            }
+        }
+        return selected;
+    }
+
+    private double getWeight(String user) {
+        Double weight = (user != null) ? userWeights.get(user) : null;
+        return ((weight != null) && (weight > 0)) ? weight : 1;
+    }
+}
@@ -1,8 +1,22 @@
 package org.hobbit.controller.utils;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * A simple class easing the waiting for a given check function to return
- * {@code true}.
+ * {@code true}. Apart from the simple blocking methods with a fixed interval,
+ * the class offers a waiting with an exponential backoff, either blocking the
+ * calling thread (see
+ * {@link #waitFor(ExceptionBooleanSupplier, long, long, long)}) or
+ * asynchronously (see
+ * {@link #waitForAsync(ExceptionBooleanSupplier, long, long, long)}).
  * 
  * @author Denis Kuchelev
  * @author Michael R&ouml;der (michael.roeder@uni-paderborn.de)
@@ -10,6 +24,39 @@ package org.hobbit.controller.utils;
  */
 public class Waiting {
 
+    /**
+     * Fraction of an interval that is randomly added or subtracted to avoid
+     * that several waiting processes check at the same time.
+     */
+    private static final double JITTER = 0.2;
+    /**
+     * Executor triggering the delayed checks of the asynchronous waiting. It
+     * only hands the checks over to the {@link #CHECK_EXECUTOR}, i.e., a slow
+     * check does not delay the checks of other waiting processes.
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "waiting-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Executor running the checks of the asynchronous waiting. It creates
+     * threads as needed, i.e., it grows with the number of concurrent checks.
+     */
+    private static final ExecutorService CHECK_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "waiting-checks");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Number of checks that have been executed by the backoff waiting.
+     */
+    private static final AtomicLong NUMBER_OF_CHECKS = new AtomicLong();
+    /**
+     * Sum of the time (in ms) spent in the backoff waiting.
+     */
+    private static final AtomicLong WAITING_TIME = new AtomicLong();
+
     /**
      * Waits until the given function returns {@code true} while executing
      * repeatedly after the given amount of time.
@@ -54,4 +101,195 @@ public class Waiting {
             Thread.sleep(interval);
         }
     }
+
+    /**
+     * Waits until the given function returns {@code true} using an exponential
+     * backoff between the single checks and terminates with throwing an
+     * {@link InterruptedException} when the given maximum waiting time has been
+     * reached. The first check is executed immediately. After every
+     * unsuccessful check, the interval until the next check is doubled (up to
+     * the given maximum interval) and randomly varied by {@link #JITTER} to
+     * spread the checks of concurrent waiting processes. The checks are
+     * executed by the calling thread.
+     *
+     * @param checkSupplier
+     *            the function for which this method is waiting for to return
+     *            {@code true}.
+     * @param initialInterval
+     *            the time interval after the first check (in ms).
+     * @param maxInterval
+     *            the maximum time interval between two checks (in ms).
+     * @param maxWaitingTime
+     *            the maximum time to wait (in ms).
+     * @throws InterruptedException
+     *             if the given maximum waiting time has been reached or the
+     *             thread has been interrupted.
+     * @throws Exception
+     *             every exception that might be thrown by the given function.
+     */
+    public static void waitFor(ExceptionBooleanSupplier checkSupplier, long initialInterval, long maxInterval,
+            long maxWaitingTime) throws Exception {
+        long startTime = System.currentTimeMillis();
+        long interval = Math.max(1, initialInterval);
+        long elapsedTime;
+        try {
+            NUMBER_OF_CHECKS.incrementAndGet();
+            while (!checkSupplier.getAsBoolean()) {
+                elapsedTime = System.currentTimeMillis() - startTime;
+                if (elapsedTime > maxWaitingTime) {
+                    throw new InterruptedException("Interrupting waiting after reaching the maximum time to wait.");
+                }
+                Thread.sleep(getDelay(interval, maxWaitingTime - elapsedTime));
+                interval = Math.min(Math.max(1, maxInterval), interval * 2);
+                NUMBER_OF_CHECKS.incrementAndGet();
+            }
+        } finally {
+            WAITING_TIME.addAndGet(System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * Waits asynchronously until the given function returns {@code true} using
+     * the same backoff as
+     * {@link #waitFor(ExceptionBooleanSupplier, long, long, long)}. The checks
+     * are executed by a pool of threads that grows with the number of
+     * concurrent checks. The returned future is completed
+     * <ul>
+     * <li>normally if the function returned {@code true},</li>
+     * <li>exceptionally with the exception thrown by the function or</li>
+     * <li>exceptionally with an {@link InterruptedException} if the given
+     * maximum waiting time has been reached.</li>
+     * </ul>
+     * Cancelling the returned future stops the checks.
+     *
+     * @param checkSupplier
+     *            the function for which this method is waiting for to return
+     *            {@code true}.
+     * @param initialInterval
+     *            the time interval after the first check (in ms).
+     * @param maxInterval
+     *            the maximum time interval between two checks (in ms).
+     * @param maxWaitingTime
+     *            the maximum time to wait (in ms).
+     * @return a future that is completed when the waiting ends
+     */
+    public static CompletableFuture<Void> waitForAsync(ExceptionBooleanSupplier checkSupplier, long initialInterval,
+            long maxInterval, long maxWaitingTime) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        BackoffCheck check = new BackoffCheck(checkSupplier, future, Math.max(1, initialInterval),
+                Math.max(1, maxInterval), maxWaitingTime);
+        check.submit();
+        return future;
+    }
+
+    /**
+     * Returns the delay until the next check based on the given interval and
+     * {@link #JITTER}. The delay makes sure that the last check happens close
+     * to the deadline.
+     *
+     * @param interval
+     *            the current interval (in ms)
+     * @param remainingTime
+     *            the remaining time until the maximum waiting time is reached
+     *            (in ms)
+     * @return the delay (in ms)
+     */
+    private static long getDelay(long interval, long remainingTime) {
+        double jitter = 1 + (JITTER * ((2 * ThreadLocalRandom.current().nextDouble()) - 1));
+        long delay = Math.max(1, (long) (interval * jitter));
+        if (remainingTime < delay) {
+            delay = remainingTime + 1;
+        }
+        return delay;
+    }
+
+    /**
+     * @return the number of checks that have been executed by the backoff
+     *         waiting (blocking and asynchronous)
+     */
+    public static long getNumberOfChecks() {
+        return NUMBER_OF_CHECKS.get();
+    }
+
+    /**
+     * @return the sum of the time (in ms) spent in the backoff waiting
+     *         (blocking and asynchronous)
+     */
+    public static long getWaitingTime() {
+        return WAITING_TIME.get();
+    }
+
+    /**
+     * A single check of the asynchronous waiting that reschedules itself until
+     * the waiting ends.
+     */
+    private static class BackoffCheck implements Runnable {
+        private final ExceptionBooleanSupplier checkSupplier;
+        private final CompletableFuture<Void> future;
+        private final long maxInterval;
+        private final long maxWaitingTime;
+        private final long startTime;
+        private long interval;
+
+        public BackoffCheck(ExceptionBooleanSupplier checkSupplier, CompletableFuture<Void> future,
+                long initialInterval, long maxInterval, long maxWaitingTime) {
+            this.checkSupplier = checkSupplier;
+            this.future = future;
+            this.interval = initialInterval;
+            this.maxInterval = maxInterval;
+            this.maxWaitingTime = maxWaitingTime;
+            this.startTime = System.currentTimeMillis();
+        }
+
+        /**
+         * Hands this check over to the {@link Waiting#CHECK_EXECUTOR}.
+         */
+        private void submit() {
+            try {
+                CHECK_EXECUTOR.execute(this);
+            } catch (RejectedExecutionException e) {
+                finish();
+                future.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                // the waiting has been cancelled
+                return;
+            }
+            try {
+                NUMBER_OF_CHECKS.incrementAndGet();
+                if (checkSupplier.getAsBoolean()) {
+                    finish();
+                    future.complete(null);
+                    return;
+                }
+            } catch (Throwable e) {
+                finish();
+                future.completeExceptionally(e);
+                return;
+            }
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            if (elapsedTime > maxWaitingTime) {
+                finish();
+                future.completeExceptionally(
+                        new InterruptedException("Interrupting waiting after reaching the maximum time to wait."));
+                return;
+            }
+            long delay = getDelay(interval, maxWaitingTime - elapsedTime);
+            interval = Math.min(maxInterval, interval * 2);
+            try {
+                SCHEDULER.schedule(this::submit, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                finish();
+                future.completeExceptionally(e);
+            }
+        }
+
+        private void finish() {
+            WAITING_TIME.addAndGet(System.currentTimeMillis() - startTime);
+        }
+    }
 }
@@ -0,0 +1,143 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.hobbit.controller.data.ExperimentConfiguration;
+import org.hobbit.controller.mocks.DummyPlatformController;
+import org.hobbit.core.rabbit.RabbitMQUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.rabbitmq.client.AMQP.BasicProperties;
+
+/**
+ * Tests the handling of the
+ * {@link PlatformController#ADD_EXPERIMENT_CONFIGURATIONS} command sent by the
+ * front end.
+ */
+public class AddExperimentConfigurationsTest {
+
+    private static final String USER = "user";
+
+    private PlatformController controller;
+    private ExperimentManager manager;
+    private byte[] response;
+    private AtomicInteger triggeredStarts = new AtomicInteger();
+
+    @Before
+    public void init() {
+        controller = new DummyPlatformController() {
+            @Override
+            protected void sendToFrontEnd(String replyTo, BasicProperties replyProperties, byte[] response)
+                    throws IOException {
+                AddExperimentConfigurationsTest.this.response = response;
+            }
+        };
+        // the experiments should stay in the queue
+        manager = new ExperimentManager(controller, 3600000, 3600000) {
+            @Override
+            public void triggerExperimentStart() {
+                triggeredStarts.incrementAndGet();
+            }
+        };
+        controller.expManager = manager;
+    }
+
+    @After
+    public void close() {
+        IOUtils.closeQuietly(manager);
+    }
+
+    private static byte[] createRequest(String... values) {
+        byte[][] arrays = new byte[values.length][];
+        for (int i = 0; i < values.length; ++i) {
+            arrays[i] = RabbitMQUtils.writeString(values[i]);
+        }
+        return RabbitMQUtils.writeByteArrays(new byte[] { PlatformController.ADD_EXPERIMENT_CONFIGURATIONS }, arrays,
+                null);
+    }
+
+    private List<String> handleRequest(byte[] request) {
+        response = null;
+        controller.handleFrontEndCmd(request, "reply", null);
+        Assert.assertNotNull("The controller did not reply", response);
+        String json = RabbitMQUtils.readString(response);
+        if ((json == null) || json.isEmpty()) {
+            return null;
+        }
+        return new Gson().fromJson(json, new TypeToken<List<String>>() {
+        }.getType());
+    }
+
+    @Test
+    public void testCompleteConfigurations() {
+        List<String> ids = handleRequest(
+                createRequest(USER, "benchmark1", "system1", "params1", "benchmark2", "system2", "params2"));
+        Assert.assertNotNull(ids);
+        Assert.assertEquals(2, ids.size());
+        List<ExperimentConfiguration> queued = controller.queue.listAll();
+        Assert.assertEquals(2, queued.size());
+        Assert.assertEquals(ids.get(0), queued.get(0).id);
+        Assert.assertEquals("benchmark1", queued.get(0).benchmarkUri);
+        Assert.assertEquals("system1", queued.get(0).systemUri);
+        Assert.assertEquals("params1", queued.get(0).serializedBenchParams);
+        Assert.assertEquals(USER, queued.get(0).userName);
+        Assert.assertEquals(ids.get(1), queued.get(1).id);
+        Assert.assertEquals("benchmark2", queued.get(1).benchmarkUri);
+        Assert.assertEquals("system2", queued.get(1).systemUri);
+        Assert.assertEquals("params2", queued.get(1).serializedBenchParams);
+        Assert.assertEquals(1, triggeredStarts.get());
+    }
+
+    @Test
+    public void testIncompleteTriple() {
+        // the parameters of the second configuration are missing
+        Assert.assertNull(
+                handleRequest(createRequest(USER, "benchmark1", "system1", "params1", "benchmark2", "system2")));
+        assertNothingQueued();
+    }
+
+    @Test
+    public void testTruncatedString() {
+        byte[] request = createRequest(USER, "benchmark1", "system1", "params1");
+        // cut the last bytes of the parameters
+        Assert.assertNull(handleRequest(Arrays.copyOf(request, request.length - 3)));
+        assertNothingQueued();
+    }
+
+    @Test
+    public void testEmptyUris() {
+        Assert.assertNull(handleRequest(createRequest(USER, "", "system1", "params1")));
+        Assert.assertNull(handleRequest(createRequest(USER, "benchmark1", "", "params1")));
+        assertNothingQueued();
+    }
+
+    private void assertNothingQueued() {
+        Assert.assertEquals(0, controller.queue.size());
+        Assert.assertEquals(0, triggeredStarts.get());
+    }
+}
@@ -0,0 +1,266 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.hobbit.controller.data.ExperimentConfiguration;
+import org.hobbit.controller.data.ExperimentStatus;
+import org.hobbit.controller.data.PagedControllerStatus;
+import org.hobbit.controller.docker.ClusterTopology;
+import org.hobbit.controller.mocks.DummyClusterManager;
+import org.hobbit.controller.mocks.DummyImageManager;
+import org.hobbit.controller.mocks.DummyPlatformController;
+import org.hobbit.controller.utils.Waiting;
+import org.hobbit.core.data.BenchmarkMetaData;
+import org.hobbit.core.data.SystemMetaData;
+import org.hobbit.core.data.status.QueuedExperiment;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the admission of experiments by the {@link ExperimentManager} using a
+ * dummy {@link PlatformController}. The experiments do not terminate on their
+ * own, i.e., they occupy their slot until the test terminates them.
+ */
+public class ExperimentAdmissionTest {
+
+    private static final String SYSTEM_WORKERGROUP_LABEL = "org.hobbit.workergroup=system";
+    private static final String BENCHMARK_WORKERGROUP_LABEL = "org.hobbit.workergroup=benchmark";
+
+    private PlatformController controller;
+    private DummyClusterManager clusterManager;
+    private ExperimentManager manager;
+
+    @Before
+    public void init() {
+        controller = new DummyPlatformController();
+        clusterManager = new DummyClusterManager();
+        controller.clusterManager = clusterManager;
+        // the regular check should not interfere with the test
+        manager = new ExperimentManager(controller, 3600000, 3600000);
+        manager.defaultMaxExecutionTime = 3600000;
+        controller.expManager = manager;
+    }
+
+    @After
+    public void close() {
+        IOUtils.closeQuietly(manager);
+    }
+
+    private void addExperiments(int count) {
+        for (int i = 0; i < count; ++i) {
+            controller.queue.add(new ExperimentConfiguration(Integer.toString(i), DummyImageManager.BENCHMARK_NAME,
+                    "{}", DummyImageManager.SYSTEM_URI));
+        }
+    }
+
+    private static ClusterTopology createTopology(int systemNodes, int benchmarkNodes) {
+        List<String> nodeIds = new ArrayList<>();
+        for (int i = 0; i < (systemNodes + benchmarkNodes); ++i) {
+            nodeIds.add("node" + i);
+        }
+        Map<String, Long> nodesPerLabel = new HashMap<>();
+        nodesPerLabel.put(SYSTEM_WORKERGROUP_LABEL, (long) systemNodes);
+        nodesPerLabel.put(BENCHMARK_WORKERGROUP_LABEL, (long) benchmarkNodes);
+        return new ClusterTopology(nodeIds.size(), nodeIds, nodesPerLabel);
+    }
+
+    private Set<String> getRunningIds() {
+        Set<String> ids = new HashSet<>();
+        for (ExperimentConfiguration config : manager.getRunningExperiments()) {
+            ids.add(config.id);
+        }
+        return ids;
+    }
+
+    @Test(timeout = 10000)
+    public void testSingleExperiment() {
+        manager.maxParallelExperiments = 1;
+        addExperiments(2);
+        manager.createNextExperiment();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("0")), getRunningIds());
+        // a second check does not start another experiment
+        manager.createNextExperiment();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("0")), getRunningIds());
+        // running experiments stay in the queue
+        Assert.assertEquals(2, controller.queue.size());
+    }
+
+    @Test(timeout = 10000)
+    public void testMaxParallelExperiments() {
+        manager.maxParallelExperiments = 2;
+        addExperiments(3);
+        // a single node cluster is only limited by the maximum
+        manager.createNextExperiment();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("0", "1")), getRunningIds());
+        manager.createNextExperiment();
+        Assert.assertEquals(2, manager.getRunningExperiments().size());
+    }
+
+    @Test(timeout = 10000)
+    public void testStatusOfParallelExperiments() {
+        manager.maxParallelExperiments = 2;
+        addExperiments(5);
+        manager.createNextExperiment();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("0", "1")), getRunningIds());
+        // all running experiments are listed as running and none of them as
+        // queued experiment
+        PagedControllerStatus status = controller.getStatus("user", 0, Integer.MAX_VALUE, -1);
+        Assert.assertEquals(2, status.runningExperiments.length);
+        Assert.assertTrue(getRunningIds().contains(status.experiment.experimentId));
+        Assert.assertEquals(3, status.queueSize);
+        Assert.assertEquals(Arrays.asList("2", "3", "4"), getIds(status.queuedExperiments));
+        // the pages are computed without the running experiments
+        status = controller.getStatus("user", 0, 2, -1);
+        Assert.assertEquals(3, status.queueSize);
+        Assert.assertEquals(Arrays.asList("2", "3"), getIds(status.queuedExperiments));
+        status = controller.getStatus("user", 1, 2, -1);
+        Assert.assertEquals(Arrays.asList("3", "4"), getIds(status.queuedExperiments));
+    }
+
+    private static List<String> getIds(QueuedExperiment[] experiments) {
+        List<String> ids = new ArrayList<>();
+        for (QueuedExperiment experiment : experiments) {
+            ids.add(experiment.experimentId);
+        }
+        return ids;
+    }
+
+    @Test(timeout = 10000)
+    public void testWorkergroupCap() throws Exception {
+        manager.maxParallelExperiments = 4;
+        addExperiments(4);
+        // only a single benchmark node is available
+        clusterManager.setClusterTopology(createTopology(2, 1));
+        Assert.assertEquals(1, manager.getExperimentCapacity(clusterManager));
+        manager.createNextExperiment();
+        Assert.assertEquals(1, manager.getRunningExperiments().size());
+        // more nodes lead to a higher capacity
+        clusterManager.setClusterTopology(createTopology(3, 2));
+        Assert.assertEquals(2, manager.getExperimentCapacity(clusterManager));
+        manager.createNextExperiment();
+        Assert.assertEquals(2, manager.getRunningExperiments().size());
+        // the maximum is still respected
+        clusterManager.setClusterTopology(createTopology(10, 10));
+        Assert.assertEquals(4, manager.getExperimentCapacity(clusterManager));
+        manager.createNextExperiment();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("0", "1", "2", "3")), getRunningIds());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentAdmission() throws Exception {
+        manager.maxParallelExperiments = 3;
+        addExperiments(6);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                manager.createNextExperiment();
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // the capacity is not exceeded and the experiments are admitted in
+        // the order of the queue
+        Assert.assertEquals(new HashSet<>(Arrays.asList("0", "1", "2")), getRunningIds());
+        for (String id : getRunningIds()) {
+            Assert.assertNotNull(manager.getExperimentStatus(id));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testParallelStarts() throws Exception {
+        IOUtils.closeQuietly(manager);
+        CountDownLatch prefetching = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        manager = new ExperimentManager(controller, 3600000, 3600000) {
+            @Override
+            protected void prefetchImages(ExperimentStatus experimentStatus, BenchmarkMetaData benchmark,
+                    SystemMetaData system) throws Exception {
+                prefetching.countDown();
+                release.await();
+            }
+        };
+        manager.defaultMaxExecutionTime = 3600000;
+        manager.maxParallelExperiments = 2;
+        controller.expManager = manager;
+        addExperiments(2);
+        try {
+            // the admission does not wait for the slow prefetching
+            manager.createNextExperiment();
+            Assert.assertEquals(new HashSet<>(Arrays.asList("0", "1")), getRunningIds());
+            // both experiments prefetch their images at the same time
+            Assert.assertTrue(prefetching.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testTriggeredStart() throws Exception {
+        IOUtils.closeQuietly(manager);
+        CountDownLatch firstCheck = new CountDownLatch(1);
+        // the regular check is executed once at the beginning (which enables
+        // the triggers) and would be executed again after an hour
+        manager = new ExperimentManager(controller, 0, 3600000) {
+            @Override
+            public void createNextExperiment() {
+                super.createNextExperiment();
+                firstCheck.countDown();
+            }
+        };
+        manager.defaultMaxExecutionTime = 3600000;
+        manager.maxParallelExperiments = 1;
+        controller.expManager = manager;
+        Assert.assertTrue(firstCheck.await(5, TimeUnit.SECONDS));
+
+        // adding experiments triggers the start of the first one
+        List<String> ids = controller.addExperimentsToQueue(Arrays.asList(
+                new String[] { DummyImageManager.BENCHMARK_NAME, DummyImageManager.SYSTEM_URI, "{}" },
+                new String[] { DummyImageManager.BENCHMARK_NAME, DummyImageManager.SYSTEM_URI, "{}" }), "user");
+        Waiting.waitFor(() -> getRunningIds().contains(ids.get(0)), 50, 5000);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(ids.get(0))), getRunningIds());
+
+        // the termination of the first experiment triggers the start of the
+        // second one
+        manager.handleExperimentTermination(ids.get(0));
+        Waiting.waitFor(() -> getRunningIds().contains(ids.get(1)), 50, 5000);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(ids.get(1))), getRunningIds());
+        Assert.assertEquals(1, controller.queue.size());
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hobbit.controller.ExperimentCommandRouter.ExperimentCommandHandler;
+import org.hobbit.controller.data.ExperimentConfiguration;
+import org.hobbit.controller.data.ExperimentStatus;
+import org.hobbit.vocab.HobbitExperiments;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExperimentCommandRouterTest {
+
+    private static ExperimentStatus createStatus(String sessionId) {
+        return new ExperimentStatus(new ExperimentConfiguration(sessionId, "benchmark", "", "system"),
+                HobbitExperiments.getExperimentURI(sessionId));
+    }
+
+    @Test
+    public void testRouting() {
+        Map<String, ExperimentStatus> statuses = new HashMap<>();
+        statuses.put("1", createStatus("1"));
+        statuses.put("2", createStatus("2"));
+        ExperimentCommandRouter router = new ExperimentCommandRouter(statuses::get);
+
+        ExperimentCommandHandler handler1 = router.getHandler("1");
+        Assert.assertNotNull(handler1);
+        Assert.assertSame(statuses.get("1"), handler1.getStatus());
+        Assert.assertSame(handler1, router.getHandler("1"));
+        Assert.assertNotSame(handler1, router.getHandler("2"));
+        // commands of unknown sessions are not routed
+        Assert.assertNull(router.getHandler("3"));
+        Assert.assertEquals(2, router.size());
+
+        // the experiment terminates
+        statuses.remove("1");
+        router.remove("1");
+        Assert.assertNull(router.getHandler("1"));
+        Assert.assertEquals(1, router.size());
+    }
+
+    @Test
+    public void testOrderingAfterContainerStarts() {
+        ExperimentCommandHandler handler = new ExperimentCommandHandler(createStatus("1"));
+        // without pending starts, the action is executed directly
+        AtomicBoolean executed = new AtomicBoolean(false);
+        handler.runAfterPendingContainerStarts(() -> executed.set(true));
+        Assert.assertTrue(executed.get());
+
+        CompletableFuture<String> start1 = new CompletableFuture<>();
+        CompletableFuture<String> start2 = new CompletableFuture<>();
+        handler.addContainerStart(start1);
+        handler.addContainerStart(start2);
+        executed.set(false);
+        handler.runAfterPendingContainerStarts(() -> executed.set(true));
+        start2.complete("container2");
+        Assert.assertFalse(executed.get());
+        Assert.assertNotNull(handler.getPendingContainerStarts());
+        start1.complete("container1");
+        Assert.assertTrue(executed.get());
+        Assert.assertNull(handler.getPendingContainerStarts());
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.vocabulary.RDFS;
+import org.hobbit.controller.data.ExperimentConfiguration;
+import org.hobbit.controller.data.ExperimentStatus;
+import org.hobbit.controller.mocks.DummyContainerManager;
+import org.hobbit.controller.mocks.DummyPlatformController;
+import org.hobbit.core.data.BenchmarkMetaData;
+import org.hobbit.core.data.SystemMetaData;
+import org.hobbit.vocab.HobbitExperiments;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the parallel prefetching of images in
+ * {@link ExperimentManager#prefetchImages(ExperimentStatus, BenchmarkMetaData, SystemMetaData)}.
+ */
+public class ImagePrefetchTest {
+
+    private static final String EXPERIMENT_ID = "123";
+    private static final String BROKEN_IMAGE = "brokenImage";
+
+    private ExperimentManager manager;
+    private PlatformController controller;
+    private Set<String> pulledImages = ConcurrentHashMap.newKeySet();
+
+    @Before
+    public void init() {
+        controller = new DummyPlatformController();
+        controller.containerManager = new DummyContainerManager(new Semaphore(0), controller) {
+            @Override
+            public boolean pullImage(String imageName) {
+                pulledImages.add(imageName);
+                return !BROKEN_IMAGE.equals(imageName);
+            }
+        };
+        // make sure that the manager does not start experiments on its own
+        manager = new ExperimentManager(controller, 3600000, 3600000);
+        controller.expManager = manager;
+    }
+
+    @Test(timeout = 10000)
+    public void test() throws Exception {
+        BenchmarkMetaData benchmark = new BenchmarkMetaData();
+        benchmark.mainImage = "benchmarkImage";
+        benchmark.usedImages = new HashSet<>(Arrays.asList("dataGenImage", "taskGenImage"));
+        SystemMetaData system = new SystemMetaData();
+        system.mainImage = "systemImage";
+        system.usedImages = new HashSet<>(Arrays.asList("systemPartImage", BROKEN_IMAGE));
+        ExperimentStatus status = new ExperimentStatus(
+                new ExperimentConfiguration(EXPERIMENT_ID, "benchmark", "{}", "system"),
+                HobbitExperiments.getExperimentURI(EXPERIMENT_ID));
+
+        manager.prefetchImages(status, benchmark, system);
+
+        Set<String> expectedImages = new HashSet<>(Arrays.asList("benchmarkImage", "dataGenImage", "taskGenImage",
+                "systemImage", "systemPartImage", BROKEN_IMAGE));
+        Assert.assertEquals(expectedImages, pulledImages);
+        Assert.assertEquals(expectedImages, status.getUsedImages());
+        Model resultModel = status.getResultModel();
+        Assert.assertNotNull(resultModel);
+        Assert.assertEquals(1, resultModel
+                .listObjectsOfProperty(resultModel.getResource(status.experimentUri), RDFS.comment).toList().size());
+    }
+
+    @Test(timeout = 10000)
+    public void testCancelledPrefetching() throws Exception {
+        // the prefetcher has started a pull of the image which it cancels while
+        // the experiment waits for it
+        controller.imagePrefetcher = new ImagePrefetcher(controller) {
+            @Override
+            public Future<Boolean> getPendingPull(String image) {
+                return new CancelledPull();
+            }
+        };
+        BenchmarkMetaData benchmark = new BenchmarkMetaData();
+        benchmark.mainImage = "benchmarkImage";
+        SystemMetaData system = new SystemMetaData();
+        system.mainImage = "systemImage";
+        ExperimentStatus status = new ExperimentStatus(
+                new ExperimentConfiguration(EXPERIMENT_ID, "benchmark", "{}", "system"),
+                HobbitExperiments.getExperimentURI(EXPERIMENT_ID));
+
+        manager.prefetchImages(status, benchmark, system);
+
+        // the images have been pulled again and no failure has been reported
+        Assert.assertEquals(new HashSet<>(Arrays.asList("benchmarkImage", "systemImage")), pulledImages);
+        Model resultModel = status.getResultModel();
+        Assert.assertTrue((resultModel == null) || resultModel
+                .listObjectsOfProperty(resultModel.getResource(status.experimentUri), RDFS.comment).toList().isEmpty());
+    }
+
+    @After
+    public void close() {
+        IOUtils.closeQuietly(manager);
+        IOUtils.closeQuietly(controller.imagePrefetcher);
+    }
+
+    /**
+     * A pull that has not finished when it is handed over but is cancelled
+     * while the experiment is waiting for it.
+     */
+    private static class CancelledPull implements Future<Boolean> {
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
+        }
+
+        @Override
+        public Boolean get() {
+            throw new CancellationException();
+        }
+
+        @Override
+        public Boolean get(long timeout, TimeUnit unit) {
+            throw new CancellationException();
+        }
+    }
+}
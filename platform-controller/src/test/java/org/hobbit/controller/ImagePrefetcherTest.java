@@ -0,0 +1,155 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+import org.apache.commons.io.IOUtils;
+import org.hobbit.controller.data.ExperimentConfiguration;
+import org.hobbit.controller.data.ExperimentStatus;
+import org.hobbit.controller.mocks.DummyContainerManager;
+import org.hobbit.controller.mocks.DummyImageManager;
+import org.hobbit.controller.mocks.DummyPlatformController;
+import org.hobbit.controller.queue.InMemoryQueue;
+import org.hobbit.vocab.HobbitExperiments;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.EnvironmentVariables;
+
+/**
+ * Tests the selection of images by the {@link ImagePrefetcher} and the
+ * cancellation of pulls of experiments that have been removed from the queue.
+ */
+public class ImagePrefetcherTest {
+
+    private static final String WRONG_SYSTEM_URI = "wrong_" + DummyImageManager.SYSTEM_URI;
+
+    @Rule
+    public final EnvironmentVariables environmentVariables = new EnvironmentVariables();
+
+    private PlatformController controller;
+    private ImagePrefetcher prefetcher;
+    private Semaphore pullBlocker = new Semaphore(0);
+
+    @Before
+    public void init() {
+        environmentVariables.set(ImagePrefetcher.PREFETCH_LOOK_AHEAD_KEY, "1");
+        controller = new DummyPlatformController();
+        controller.containerManager = new DummyContainerManager(new Semaphore(0), controller) {
+            @Override
+            public boolean pullImage(String imageName) {
+                try {
+                    pullBlocker.acquire();
+                } catch (InterruptedException e) {
+                    return false;
+                }
+                return true;
+            }
+        };
+        prefetcher = new ImagePrefetcher(controller);
+    }
+
+    @Test(timeout = 10000)
+    public void test() throws Exception {
+        ExperimentConfiguration first = new ExperimentConfiguration("1", DummyImageManager.BENCHMARK_NAME, "{}",
+                DummyImageManager.SYSTEM_URI);
+        ExperimentConfiguration second = new ExperimentConfiguration("2", DummyImageManager.BENCHMARK_NAME, "{}",
+                WRONG_SYSTEM_URI);
+        controller.queue.add(first);
+        controller.queue.add(second);
+
+        // only the images of the first experiment should be needed
+        Set<String> expectedImages = new HashSet<>(Arrays.asList(DummyImageManager.BENCHMARK_NAME, "benchmarkImage1",
+                "benchmarkImage2", "SystemImage", "SystemImage1", "SystemImage2"));
+        Assert.assertEquals(expectedImages, prefetcher.getNeededImages());
+
+        prefetcher.check();
+        Assert.assertNotNull(prefetcher.getPendingPull("SystemImage"));
+        Assert.assertNotNull(prefetcher.getPendingPull(DummyImageManager.BENCHMARK_NAME));
+        Assert.assertNull(prefetcher.getPendingPull("wrong_SystemImage"));
+
+        // remove the first experiment
+        controller.queue.remove(first);
+        prefetcher.check();
+        Assert.assertNull(prefetcher.getPendingPull("SystemImage"));
+        Assert.assertNotNull(prefetcher.getPendingPull(DummyImageManager.BENCHMARK_NAME));
+        Assert.assertNotNull(prefetcher.getPendingPull("wrong_SystemImage"));
+    }
+
+    @Test(timeout = 10000)
+    public void testRunningExperimentBehindQueue() throws Exception {
+        // a challenge experiment that is not due, yet
+        ExperimentConfiguration challenge = new ExperimentConfiguration("1", DummyImageManager.BENCHMARK_NAME, "{}",
+                WRONG_SYSTEM_URI);
+        challenge.challengeUri = "http://example.org/challenge";
+        challenge.challengeTaskUri = "http://example.org/challengeTask";
+        challenge.executionDate = Calendar.getInstance();
+        challenge.executionDate.add(Calendar.DAY_OF_MONTH, 1);
+        ExperimentConfiguration upcoming = new ExperimentConfiguration("2", DummyImageManager.BENCHMARK_NAME, "{}",
+                WRONG_SYSTEM_URI);
+        ExperimentConfiguration running = new ExperimentConfiguration("3", DummyImageManager.BENCHMARK_NAME, "{}",
+                DummyImageManager.SYSTEM_URI);
+        controller.queue.add(challenge);
+        controller.queue.add(upcoming);
+        controller.queue.add(running);
+        ExperimentManager manager = new ExperimentManager(controller, 3600000, 3600000);
+        controller.expManager = manager;
+        try {
+            manager.experimentStatuses.put(running.id,
+                    new ExperimentStatus(running, HobbitExperiments.getExperimentURI(running.id)));
+
+            // the images of the running experiment are needed although it is
+            // listed behind more than lookAhead other experiments
+            Set<String> expectedImages = new HashSet<>(Arrays.asList(DummyImageManager.BENCHMARK_NAME,
+                    "benchmarkImage1", "benchmarkImage2", "SystemImage", "SystemImage1", "SystemImage2",
+                    "wrong_SystemImage", "wrong_SystemImage1", "wrong_SystemImage2"));
+            Assert.assertEquals(expectedImages, prefetcher.getNeededImages());
+        } finally {
+            IOUtils.closeQuietly(manager);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testPolicyOrder() throws Exception {
+        // a policy that prefers the last experiment of the queue
+        controller.queue = new InMemoryQueue((candidates, running) -> candidates.isEmpty() ? null
+                : candidates.get(candidates.size() - 1));
+        controller.queue.add(new ExperimentConfiguration("1", DummyImageManager.BENCHMARK_NAME, "{}",
+                DummyImageManager.SYSTEM_URI));
+        controller.queue.add(new ExperimentConfiguration("2", DummyImageManager.BENCHMARK_NAME, "{}",
+                WRONG_SYSTEM_URI));
+
+        // the images of the experiment that will be started next are needed
+        Set<String> expectedImages = new HashSet<>(Arrays.asList(DummyImageManager.BENCHMARK_NAME,
+                "benchmarkImage1", "benchmarkImage2", "wrong_SystemImage", "wrong_SystemImage1",
+                "wrong_SystemImage2"));
+        Assert.assertEquals(expectedImages, prefetcher.getNeededImages());
+    }
+
+    @After
+    public void close() {
+        pullBlocker.release(100);
+        IOUtils.closeQuietly(prefetcher);
+    }
+}
@@ -21,7 +21,12 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -31,8 +36,11 @@ import org.hobbit.controller.data.ExperimentStatus;
 import org.hobbit.controller.data.ExperimentStatus.States;
 import org.hobbit.controller.docker.ContainerManagerBasedTest;
 import org.hobbit.controller.docker.ContainerManagerImpl;
+import org.hobbit.controller.mocks.DummyContainerManager;
+import org.hobbit.controller.utils.Waiting;
 import org.hobbit.core.Commands;
 import org.hobbit.core.Constants;
+import org.hobbit.core.data.StartCommandData;
 import org.hobbit.utils.docker.DockerHelper;
 import org.junit.Assert;
 import org.junit.Before;
@@ -40,6 +48,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.contrib.java.lang.system.EnvironmentVariables;
 
+import com.rabbitmq.client.AMQP;
 import com.spotify.docker.client.messages.swarm.Service;
 import com.spotify.docker.client.messages.swarm.Task;
 
@@ -55,6 +64,11 @@ public class PlatformControllerTest extends ContainerManagerBasedTest {
     public final EnvironmentVariables environmentVariables = new EnvironmentVariables();
 
     private PlatformController controller;
+    /**
+     * Replies to container start commands as pairs of correlation id and
+     * container name.
+     */
+    private List<String[]> startReplies = Collections.synchronizedList(new ArrayList<>());
 
     private void assertDockerImageEquals(String message, String expected, String got) throws Exception {
         final Matcher matcher = Pattern.compile("^(.*?)(?:@.*)?$").matcher(got);
@@ -69,7 +83,16 @@ public class PlatformControllerTest extends ContainerManagerBasedTest {
         environmentVariables.set(Constants.GENERATOR_COUNT_KEY, "1");
         environmentVariables.set(Constants.HOBBIT_SESSION_ID_KEY, "0");
 
-        controller = new PlatformController(new LocalExperimentManager(null, SESSION_ID));
+        controller = new PlatformController(new LocalExperimentManager(null, SESSION_ID)) {
+            @Override
+            protected void sendContainerStartReply(StartCommandData startParams, String containerName,
+                    String replyTo, AMQP.BasicProperties props) {
+                if (replyTo != null) {
+                    startReplies.add(new String[] { props.getCorrelationId(), containerName });
+                }
+                super.sendContainerStartReply(startParams, containerName, replyTo, props);
+            }
+        };
         try {
             controller.init();
         } catch (Exception e) {
@@ -108,6 +131,11 @@ public class PlatformControllerTest extends ContainerManagerBasedTest {
         byte[] data = ("{\"image\": \"" + image + "\", \"type\": \"" + type + "\", \"parent\": \"" + parentName + "\"}")
                 .getBytes(StandardCharsets.UTF_8);
         controller.receiveCommand(command, data, SESSION_ID, null);
+        // the container is created asynchronously
+        CompletableFuture<Void> pendingStarts = controller.getPendingContainerStarts(SESSION_ID);
+        if (pendingStarts != null) {
+            pendingStarts.get();
+        }
 
         // get running containers
         Service serviceInfo = null;
@@ -140,14 +168,97 @@ public class PlatformControllerTest extends ContainerManagerBasedTest {
         Assert.assertEquals("Amount of child containers of the test parent container", 1, taskList.size());
     }
 
+    private void sendStartCommand(String image, AMQP.BasicProperties props) {
+        byte[] data = ("{\"image\": \"" + image + "\", \"type\": \"" + Constants.CONTAINER_TYPE_SYSTEM
+                + "\", \"parent\": \"parent\"}").getBytes(StandardCharsets.UTF_8);
+        controller.receiveCommand(Commands.DOCKER_CONTAINER_START, data, SESSION_ID, props);
+    }
+
+    /**
+     * Checks that a stop command that is received while containers of the same
+     * experiment are still being started is executed after these starts.
+     */
+    @Test(timeout = 20000)
+    public void stopWaitsForPendingStarts() throws Exception {
+        AtomicInteger finishedStarts = new AtomicInteger();
+        AtomicInteger finishedStartsAtStop = new AtomicInteger(-1);
+        controller.containerManager = new DummyContainerManager(new Semaphore(0), controller) {
+            @Override
+            public String startContainer(String imageName, String containerType, String parentId, String[] env,
+                    String[] netAliases, String[] command, boolean pullImage) {
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    return null;
+                }
+                finishedStarts.incrementAndGet();
+                return imageName;
+            }
+
+            @Override
+            public void removeContainer(String serviceName) {
+                finishedStartsAtStop.compareAndSet(-1, finishedStarts.get());
+            }
+        };
+        for (int i = 0; i < 3; ++i) {
+            sendStartCommand("image-" + i, null);
+        }
+        controller.receiveCommand(Commands.DOCKER_CONTAINER_STOP,
+                "{\"containerName\": \"image-0\"}".getBytes(StandardCharsets.UTF_8), SESSION_ID, null);
+        // the stop is not executed by the receiving thread
+        assertEquals(-1, finishedStartsAtStop.get());
+        Waiting.waitFor(() -> finishedStartsAtStop.get() >= 0, 50, 10000);
+        assertEquals("Number of finished starts when the stop is executed", 3, finishedStartsAtStop.get());
+    }
+
+    /**
+     * Checks that the replies of container starts that are executed in
+     * parallel and finish in a different order carry the correlation ids of
+     * their commands.
+     */
+    @Test(timeout = 20000)
+    public void parallelStartsReplyWithCorrelationId() throws Exception {
+        final int numberOfStarts = 5;
+        controller.containerManager = new DummyContainerManager(new Semaphore(0), controller) {
+            @Override
+            public String startContainer(String imageName, String containerType, String parentId, String[] env,
+                    String[] netAliases, String[] command, boolean pullImage) {
+                // the first container needs the most time
+                int id = Integer.parseInt(imageName.substring(imageName.lastIndexOf('-') + 1));
+                try {
+                    Thread.sleep((numberOfStarts - id) * 200);
+                } catch (InterruptedException e) {
+                    return null;
+                }
+                return imageName;
+            }
+        };
+        for (int i = 0; i < numberOfStarts; ++i) {
+            sendStartCommand("image-" + i, new AMQP.BasicProperties.Builder().replyTo("reply-queue")
+                    .correlationId("correlation-" + i).build());
+        }
+        controller.getPendingContainerStarts(SESSION_ID).get();
+
+        assertEquals(numberOfStarts, startReplies.size());
+        for (String[] reply : startReplies) {
+            assertNotNull("Name of the created container", reply[1]);
+            assertEquals("Correlation id of the reply for " + reply[1],
+                    "correlation-" + reply[1].substring(reply[1].lastIndexOf('-') + 1), reply[0]);
+        }
+        // the starts have been executed in parallel, i.e., the last container
+        // has been created first
+        assertEquals("image-" + (numberOfStarts - 1), startReplies.get(0)[1]);
+    }
+
     protected static class LocalExperimentManager extends ExperimentManager {
 
         public LocalExperimentManager(PlatformController controller, String session) {
             super(controller);
-            experimentStatus = new ExperimentStatus(
+            ExperimentStatus experimentStatus = new ExperimentStatus(
                     new ExperimentConfiguration(session, "TestBenchmark", "", "TestSytem"),
                     Constants.EXPERIMENT_URI_NS + session);
             experimentStatus.setState(States.STARTED);
+            experimentStatuses.put(session, experimentStatus);
         }
 
     }
@@ -0,0 +1,146 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import org.hobbit.core.data.BenchmarkMetaData;
+import org.hobbit.core.data.SystemMetaData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the meta data snapshot of the {@link AbstactImageManager} and the
+ * {@link ImageManagerFacade}.
+ */
+public class AbstactImageManagerTest {
+
+    private static SystemMetaData createSystem(String uri, String source, long date, String... apis) {
+        SystemMetaData system = new SystemMetaData();
+        system.uri = uri;
+        system.name = uri;
+        system.source = source;
+        system.date = new Date(date);
+        system.implementedApis = new HashSet<>(Arrays.asList(apis));
+        return system;
+    }
+
+    private static BenchmarkMetaData createBenchmark(String uri, String source, long date, String... apis) {
+        BenchmarkMetaData benchmark = new BenchmarkMetaData();
+        benchmark.uri = uri;
+        benchmark.name = uri;
+        benchmark.source = source;
+        benchmark.date = new Date(date);
+        benchmark.definedApis = new HashSet<>(Arrays.asList(apis));
+        return benchmark;
+    }
+
+    @Test
+    public void testSnapshot() {
+        SimpleImageManager manager = new SimpleImageManager();
+        manager.benchmarks.add(createBenchmark("http://example.org/b1", "project1", 0, "http://example.org/api1"));
+        manager.systems.add(createSystem("http://example.org/s1", "project1", 10, "http://example.org/api1"));
+        // a duplicate which is newer than the first system
+        manager.systems.add(createSystem("http://example.org/s1", "project2", 20, "http://example.org/api1"));
+        manager.systems.add(createSystem("http://example.org/s2", "project2", 0, "http://example.org/api2"));
+        manager.dataChanged();
+
+        MetaDataSnapshot snapshot = manager.getSnapshot();
+        Assert.assertEquals(3, manager.getSystems().size());
+        Assert.assertEquals("project1", manager.getSystem("http://example.org/s1").source);
+        Assert.assertNotNull(manager.systems.get(1).defError);
+        Assert.assertNull(manager.getSystem("http://example.org/s3"));
+        Assert.assertEquals(2, snapshot.getSystemsOfApi("http://example.org/api1").size());
+        Assert.assertEquals(2, snapshot.getSystemsOfSource("project2").size());
+        Assert.assertEquals(1, snapshot.getBenchmarksOfApi("http://example.org/api1").size());
+        // the snapshot is reused as long as the data does not change
+        Assert.assertSame(snapshot, manager.getSnapshot());
+        Assert.assertEquals(1, manager.retrievals);
+
+        manager.systems.add(createSystem("http://example.org/s3", "project3", 0));
+        Assert.assertNull(manager.getSystem("http://example.org/s3"));
+        manager.dataChanged();
+        Assert.assertNotNull(manager.getSystem("http://example.org/s3"));
+        Assert.assertNotSame(snapshot, manager.getSnapshot());
+        Assert.assertEquals(2, manager.retrievals);
+    }
+
+    @Test
+    public void testSystemsForBenchmark() {
+        SimpleImageManager manager = new SimpleImageManager();
+        manager.benchmarks.add(createBenchmark("http://example.org/b1", "project1", 0, "http://example.org/api1",
+                "http://example.org/api2"));
+        manager.benchmarks.add(createBenchmark("http://example.org/b2", "project1", 0, "http://example.org/api3"));
+        manager.systems.add(createSystem("http://example.org/s1", "project1", 0, "http://example.org/api2"));
+        manager.systems.add(createSystem("http://example.org/s2", "project2", 0, "http://example.org/api1",
+                "http://example.org/api2"));
+        manager.systems.add(createSystem("http://example.org/s3", "project2", 0, "http://example.org/api3"));
+        manager.systems.add(createSystem("http://example.org/s4", "project3", 0, "http://example.org/api1"));
+
+        List<SystemMetaData> systems = manager.getSystemsForBenchmark("http://example.org/b1");
+        // every system is returned once in the order of the system list
+        Assert.assertEquals(Arrays.asList(manager.systems.get(0), manager.systems.get(1), manager.systems.get(3)),
+                systems);
+        Assert.assertEquals(Arrays.asList(manager.systems.get(2)),
+                manager.getSystemsForBenchmark("http://example.org/b2"));
+        Assert.assertTrue(manager.getSystemsForBenchmark("http://example.org/b3").isEmpty());
+
+        // the index is updated together with the meta data
+        manager.systems.add(createSystem("http://example.org/s5", "project3", 0, "http://example.org/api3"));
+        manager.dataChanged();
+        Assert.assertEquals(2, manager.getSystemsForBenchmark("http://example.org/b2").size());
+    }
+
+    @Test
+    public void testFacade() {
+        SimpleImageManager manager1 = new SimpleImageManager();
+        manager1.systems.add(createSystem("http://example.org/s1", "project1", 10));
+        SimpleImageManager manager2 = new SimpleImageManager();
+        manager2.systems.add(createSystem("http://example.org/s1", "project2", 0));
+        ImageManagerFacade facade = new ImageManagerFacade(new ArrayList<>(Arrays.asList(manager1, manager2)));
+
+        Assert.assertEquals("project2", facade.getSystem("http://example.org/s1").source);
+        MetaDataSnapshot snapshot = facade.getSnapshot();
+        Assert.assertSame(snapshot, facade.getSnapshot());
+        // a change of one of the managers leads to a new snapshot
+        manager1.systems.add(createSystem("http://example.org/s2", "project1", 0));
+        manager1.dataChanged();
+        Assert.assertNotSame(snapshot, facade.getSnapshot());
+        Assert.assertEquals(3, facade.getSystems().size());
+    }
+
+    private static class SimpleImageManager extends AbstactImageManager {
+        private List<BenchmarkMetaData> benchmarks = new ArrayList<>();
+        private List<SystemMetaData> systems = new ArrayList<>();
+        private int retrievals = 0;
+
+        @Override
+        protected List<BenchmarkMetaData> getUncheckedBenchmarks() {
+            ++retrievals;
+            return new ArrayList<>(benchmarks);
+        }
+
+        @Override
+        protected List<SystemMetaData> getUncheckedSystems() {
+            return new ArrayList<>(systems);
+        }
+    }
+}
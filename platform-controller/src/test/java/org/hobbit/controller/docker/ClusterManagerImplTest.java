@@ -1,13 +1,26 @@
 package org.hobbit.controller.docker;
 
 import com.spotify.docker.client.messages.Info;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.contrib.java.lang.system.EnvironmentVariables;
 
 import static org.junit.Assert.*;
 
 public class ClusterManagerImplTest {
 
+    @Rule
+    public final EnvironmentVariables environmentVariables = new EnvironmentVariables();
+
     ClusterManagerImpl clusterManager = null;
 
     @Before
@@ -54,5 +67,64 @@ public class ClusterManagerImplTest {
         clusterManager.setTaskHistoryLimit(5);
     }
 
+    @Test
+    public void getCachedClusterTopology() throws Exception {
+        ClusterTopology topology = clusterManager.getClusterTopology();
+        assertNotNull(topology);
+        // the snapshot is reused within its TTL
+        assertSame(topology, clusterManager.getClusterTopology());
+        clusterManager.getNumberOfNodes();
+        clusterManager.isClusterHealthy();
+        assertSame(topology, clusterManager.getClusterTopology());
+    }
+
+    @Test
+    public void invalidateClusterTopology() throws Exception {
+        ClusterTopology topology = clusterManager.getClusterTopology();
+        clusterManager.invalidateClusterTopology();
+        ClusterTopology refreshed = clusterManager.getClusterTopology();
+        assertNotSame(topology, refreshed);
+        assertEquals(topology.getNumberOfReadyNodes(), refreshed.getNumberOfReadyNodes());
+        // the new snapshot is cached again
+        assertSame(refreshed, clusterManager.getClusterTopology());
+    }
+
+    @Test
+    public void expiredClusterTopology() throws Exception {
+        environmentVariables.set(ClusterManagerImpl.CLUSTER_TOPOLOGY_TTL_KEY, "200");
+        clusterManager = new ClusterManagerImpl();
+        ClusterTopology topology = clusterManager.getClusterTopology();
+        assertSame(topology, clusterManager.getClusterTopology());
+        Thread.sleep(400);
+        assertNotSame(topology, clusterManager.getClusterTopology());
+    }
 
-}
\ No newline at end of file
+    @Test
+    public void malformedClusterTopologyTTL() throws Exception {
+        environmentVariables.set(ClusterManagerImpl.CLUSTER_TOPOLOGY_TTL_KEY, "abc");
+        clusterManager = new ClusterManagerImpl();
+        // the default TTL of several seconds is used
+        ClusterTopology topology = clusterManager.getClusterTopology();
+        Thread.sleep(200);
+        assertSame(topology, clusterManager.getClusterTopology());
+    }
+
+    @Test
+    public void concurrentClusterTopologyRequests() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Callable<ClusterTopology> request = () -> clusterManager.getClusterTopology();
+            List<Future<ClusterTopology>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; ++i) {
+                futures.add(executor.submit(request));
+            }
+            // only a single snapshot is created
+            ClusterTopology topology = futures.get(0).get();
+            for (Future<ClusterTopology> future : futures) {
+                assertSame(topology, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
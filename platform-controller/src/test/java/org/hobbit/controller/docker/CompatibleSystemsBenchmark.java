@@ -0,0 +1,104 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+
+import org.hobbit.core.data.BenchmarkMetaData;
+import org.hobbit.core.data.SystemMetaData;
+import org.junit.Ignore;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Small benchmark comparing the retrieval of the systems that are compatible to
+ * a benchmark using the API index of the {@link MetaDataSnapshot} with the
+ * previous approach of filtering all systems. Run the main method to print the
+ * average times for growing numbers of systems.
+ */
+@Ignore
+public class CompatibleSystemsBenchmark {
+
+    private static final int NUMBER_OF_APIS = 100;
+    private static final int[] NUMBERS_OF_SYSTEMS = { 100, 1000, 10000 };
+    private static final int WARMUP_ITERATIONS = 1000;
+    private static final int MEASURED_ITERATIONS = 10000;
+
+    public static void main(String[] args) {
+        for (int numberOfSystems : NUMBERS_OF_SYSTEMS) {
+            List<BenchmarkMetaData> benchmarks = new ArrayList<>();
+            for (int i = 0; i < NUMBER_OF_APIS; ++i) {
+                BenchmarkMetaData benchmark = new BenchmarkMetaData();
+                benchmark.uri = "http://example.org/benchmark" + i;
+                benchmark.date = new Date(0);
+                benchmark.definedApis = new HashSet<>();
+                benchmark.definedApis.add("http://example.org/api" + i);
+                benchmarks.add(benchmark);
+            }
+            List<SystemMetaData> systems = new ArrayList<>();
+            for (int i = 0; i < numberOfSystems; ++i) {
+                SystemMetaData system = new SystemMetaData();
+                system.uri = "http://example.org/system" + i;
+                system.date = new Date(0);
+                system.implementedApis = new HashSet<>();
+                system.implementedApis.add("http://example.org/api" + (i % NUMBER_OF_APIS));
+                systems.add(system);
+            }
+            MetaDataSnapshot snapshot = MetaDataSnapshot.create(0, benchmarks, systems,
+                    new AbstactImageManager.DateBasedImageMetaDataComparator());
+
+            long scanTime = measure(i -> {
+                BenchmarkMetaData benchmark = snapshot
+                        .getBenchmark("http://example.org/benchmark" + (i % NUMBER_OF_APIS));
+                return snapshot.getSystems().parallelStream()
+                        .filter(s -> (Sets.intersection(benchmark.definedApis, s.implementedApis).size() > 0))
+                        .collect(Collectors.toList()).size();
+            });
+            long indexTime = measure(i -> {
+                BenchmarkMetaData benchmark = snapshot
+                        .getBenchmark("http://example.org/benchmark" + (i % NUMBER_OF_APIS));
+                return snapshot.getSystemsOfApis(benchmark.definedApis).size();
+            });
+            System.out.println(String.format("%6d systems: scan %8d ns/op, index %8d ns/op", numberOfSystems,
+                    scanTime, indexTime));
+        }
+    }
+
+    /**
+     * Returns the average time (in ns) of the given operation.
+     */
+    private static long measure(IntUnaryOperator operation) {
+        long blackhole = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+            blackhole += operation.applyAsInt(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; ++i) {
+            blackhole += operation.applyAsInt(i);
+        }
+        long time = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+        if (blackhole < 0) {
+            System.out.println(blackhole);
+        }
+        return time;
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hobbit.controller.mocks.DummyClusterManager;
+import org.hobbit.controller.mocks.DummyContainerManager;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.spotify.docker.client.DockerClient;
+import com.spotify.docker.client.messages.swarm.Service;
+import com.spotify.docker.client.messages.swarm.Task;
+
+/**
+ * Checks that the {@link ContainerStateObserverImpl} retrieves the status of
+ * all observed containers with a single request per run.
+ */
+public class ContainerStateObserverBatchingTest {
+
+    private static final int NUMBER_OF_CONTAINERS = 60;
+
+    @Test
+    public void testBatchedPolling() throws Exception {
+        CountingContainerManager manager = new CountingContainerManager();
+        ContainerStateObserverImpl observer = new ContainerStateObserverImpl(manager, 500);
+        Set<String> expectedTerminations = new HashSet<>();
+        for (int i = 0; i < NUMBER_OF_CONTAINERS; ++i) {
+            String containerName = "container-" + i;
+            observer.addObservedContainer(containerName);
+            // every third container terminated
+            if ((i % 3) == 0) {
+                manager.exitCodes.put(containerName, i);
+                expectedTerminations.add(containerName);
+            }
+        }
+        List<String> terminated = new ArrayList<>();
+        observer.addTerminationCallback(new ContainerTerminationCallback() {
+            @Override
+            public void notifyTermination(String containerId, int exitCode) {
+                Assert.assertEquals(manager.exitCodes.get(containerId).intValue(), exitCode);
+                terminated.add(containerId);
+            }
+        });
+
+        observer.checkContainers();
+        Assert.assertEquals(1, manager.batchRequests);
+        Assert.assertEquals(0, manager.singleRequests);
+        Assert.assertEquals(expectedTerminations, new HashSet<>(terminated));
+        Assert.assertEquals(expectedTerminations.size(), terminated.size());
+
+        observer.checkContainers();
+        Assert.assertEquals(2, manager.batchRequests);
+        Assert.assertEquals(0, manager.singleRequests);
+    }
+
+    @Test
+    public void testNoRequestWithoutContainers() throws Exception {
+        CountingContainerManager manager = new CountingContainerManager();
+        ContainerStateObserverImpl observer = new ContainerStateObserverImpl(manager, 500);
+        observer.checkContainers();
+        Assert.assertEquals(0, manager.batchRequests);
+        Assert.assertEquals(0, manager.singleRequests);
+    }
+
+    @Test
+    public void testBatchedDockerRequests() throws Exception {
+        // a Docker client that does not know any service and counts the
+        // requests of the container manager
+        Map<String, Integer> requests = new HashMap<>();
+        List<Object> criteria = new ArrayList<>();
+        DockerClient dockerClient = (DockerClient) Proxy.newProxyInstance(DockerClient.class.getClassLoader(),
+                new Class<?>[] { DockerClient.class }, (proxy, method, args) -> {
+                    synchronized (requests) {
+                        requests.merge(method.getName(), 1, Integer::sum);
+                        if ((args != null) && (args.length == 1)) {
+                            criteria.add(args[0]);
+                        }
+                    }
+                    return List.class.equals(method.getReturnType()) ? Collections.emptyList() : null;
+                });
+        ContainerManagerImpl manager = new ContainerManagerImpl(new DummyClusterManager(), dockerClient);
+        ContainerStateObserverImpl observer = new ContainerStateObserverImpl(manager, 500);
+        List<String> terminated = new ArrayList<>();
+        observer.addTerminationCallback(new ContainerTerminationCallback() {
+            @Override
+            public void notifyTermination(String containerId, int exitCode) {
+                Assert.assertEquals(ContainerManager.DOCKER_EXITCODE_SIGKILL, exitCode);
+                terminated.add(containerId);
+            }
+        });
+        for (int i = 0; i < NUMBER_OF_CONTAINERS; ++i) {
+            observer.addObservedContainer("container-" + i);
+        }
+
+        observer.checkContainers();
+        // the services and the tasks are listed once for all containers
+        Assert.assertEquals(1, requests.get("listServices").intValue());
+        Assert.assertEquals(1, requests.get("listTasks").intValue());
+        Assert.assertFalse(requests.containsKey("inspectService"));
+        // only the services and tasks of the platform are requested
+        boolean serviceFilter = false;
+        boolean taskFilter = false;
+        for (Object c : criteria) {
+            if (c instanceof Service.Criteria) {
+                Assert.assertTrue(((Service.Criteria) c).labels().containsKey(ContainerManager.LABEL_TYPE));
+                serviceFilter = true;
+            } else if (c instanceof Task.Criteria) {
+                Assert.assertEquals(ContainerManager.LABEL_TYPE, ((Task.Criteria) c).label());
+                taskFilter = true;
+            }
+        }
+        Assert.assertTrue(serviceFilter);
+        Assert.assertTrue(taskFilter);
+        // none of the services exists anymore
+        Assert.assertEquals(NUMBER_OF_CONTAINERS, terminated.size());
+    }
+
+    /**
+     * A {@link DummyContainerManager} that counts the requests for exit codes.
+     */
+    private static class CountingContainerManager extends DummyContainerManager {
+
+        private Map<String, Integer> exitCodes = new HashMap<>();
+        private int singleRequests = 0;
+        private int batchRequests = 0;
+
+        public CountingContainerManager() {
+            super(null, null);
+        }
+
+        @Override
+        public Integer getContainerExitCode(String serviceName) {
+            ++singleRequests;
+            return exitCodes.get(serviceName);
+        }
+
+        @Override
+        public Map<String, Integer> getContainerExitCodes(Collection<String> serviceNames) {
+            ++batchRequests;
+            Map<String, Integer> result = new HashMap<>();
+            for (String serviceName : serviceNames) {
+                if (exitCodes.containsKey(serviceName)) {
+                    result.put(serviceName, exitCodes.get(serviceName));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the determination of the container tree of a parent container in
+ * {@link ContainerManagerImpl#getContainerTree(String, Map)}.
+ */
+public class ContainerTreeTest {
+
+    @Test
+    public void testTree() {
+        Map<String, String> parents = new HashMap<>();
+        parents.put("system", "benchmark");
+        parents.put("dataGen", "benchmark");
+        parents.put("taskGen", "benchmark");
+        parents.put("systemPart", "system");
+        parents.put("dataGenPart", "dataGen");
+        parents.put("otherSystem", "otherBenchmark");
+        List<String> tree = ContainerManagerImpl.getContainerTree("benchmark", parents);
+
+        Assert.assertEquals(6, tree.size());
+        Assert.assertEquals("benchmark", tree.get(0));
+        Assert.assertTrue(tree.containsAll(
+                Arrays.asList("benchmark", "system", "dataGen", "taskGen", "systemPart", "dataGenPart")));
+        // every child is listed after its parent
+        Assert.assertTrue(tree.indexOf("system") < tree.indexOf("systemPart"));
+        Assert.assertTrue(tree.indexOf("dataGen") < tree.indexOf("dataGenPart"));
+    }
+
+    @Test
+    public void testSubtree() {
+        Map<String, String> parents = new HashMap<>();
+        parents.put("system", "benchmark");
+        parents.put("systemPart", "system");
+        parents.put("systemPart2", "systemPart");
+        Assert.assertEquals(Arrays.asList("system", "systemPart", "systemPart2"),
+                ContainerManagerImpl.getContainerTree("system", parents));
+    }
+
+    @Test
+    public void testWithoutChildren() {
+        Map<String, String> parents = new HashMap<>();
+        parents.put("system", "benchmark");
+        Assert.assertEquals(Arrays.asList("system"), ContainerManagerImpl.getContainerTree("system", parents));
+        // the parent is returned even if it is not known
+        Assert.assertEquals(Arrays.asList("unknown"),
+                ContainerManagerImpl.getContainerTree("unknown", new HashMap<String, String>()));
+    }
+
+    @Test
+    public void testCycle() {
+        // broken labels must not lead to an endless traversal
+        Map<String, String> parents = new HashMap<>();
+        parents.put("a", "b");
+        parents.put("b", "a");
+        List<String> tree = ContainerManagerImpl.getContainerTree("a", parents);
+        Assert.assertEquals(Arrays.asList("a", "b"), tree);
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hobbit.controller.mocks.DummyContainerManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.spotify.docker.client.DockerClient.EventsParam;
+import com.spotify.docker.client.messages.Event;
+
+/**
+ * Tests the handling of container events by the
+ * {@link EventBasedContainerStateObserver} and its interplay with the
+ * reconciliation polling. The event stream itself is not opened, i.e., no
+ * Docker daemon is needed.
+ */
+public class EventBasedContainerStateObserverTest {
+
+    private static final String SERVICE_NAME = "benchmark-1";
+
+    private ExitCodeContainerManager manager;
+    private EventBasedContainerStateObserver observer;
+    private List<String> terminations;
+
+    @Before
+    public void init() {
+        manager = new ExitCodeContainerManager();
+        observer = new EventBasedContainerStateObserver(manager, 500, null);
+        terminations = new ArrayList<>();
+        observer.addTerminationCallback(new ContainerTerminationCallback() {
+            @Override
+            public void notifyTermination(String containerId, int exitCode) {
+                terminations.add(containerId + "=" + exitCode);
+            }
+        });
+        observer.addObservedContainer(SERVICE_NAME);
+    }
+
+    @Test
+    public void testEventBeforePolling() {
+        observer.handleEvent(dieEvent(SERVICE_NAME, "137", System.currentTimeMillis()));
+        Assert.assertEquals(1, terminations.size());
+        Assert.assertEquals(SERVICE_NAME + "=137", terminations.get(0));
+        // the polling does not report the container again
+        manager.exitCodes.put(SERVICE_NAME, 137);
+        observer.checkContainers();
+        Assert.assertEquals(1, terminations.size());
+        Assert.assertEquals(1, observer.getEventDetections());
+        Assert.assertEquals(0, observer.getPollingDetections());
+    }
+
+    @Test
+    public void testPollingBeforeEvent() {
+        manager.exitCodes.put(SERVICE_NAME, 1);
+        observer.checkContainers();
+        Assert.assertEquals(1, terminations.size());
+        Assert.assertEquals(SERVICE_NAME + "=1", terminations.get(0));
+        // a delayed event does not report the container again
+        observer.handleEvent(dieEvent(SERVICE_NAME, "1", System.currentTimeMillis()));
+        Assert.assertEquals(1, terminations.size());
+        Assert.assertEquals(0, observer.getEventDetections());
+        Assert.assertEquals(1, observer.getPollingDetections());
+    }
+
+    @Test
+    public void testEventDuringPollingWithRemoval() {
+        // like the platform controller, the callback removes the container
+        observer.addTerminationCallback(new ContainerTerminationCallback() {
+            @Override
+            public void notifyTermination(String containerId, int exitCode) {
+                observer.removedObservedContainer(containerId);
+            }
+        });
+        // the event is handled after the polling copied the list of containers
+        manager.exitCodes.put(SERVICE_NAME, 137);
+        manager.duringPolling = () -> observer
+                .handleEvent(dieEvent(SERVICE_NAME, "137", System.currentTimeMillis()));
+        observer.checkContainers();
+        Assert.assertEquals(1, terminations.size());
+        Assert.assertEquals(SERVICE_NAME + "=137", terminations.get(0));
+        Assert.assertEquals(1, observer.getEventDetections());
+        Assert.assertEquals(0, observer.getPollingDetections());
+        // the next polling run does not report it either
+        manager.duringPolling = null;
+        observer.checkContainers();
+        Assert.assertEquals(1, terminations.size());
+    }
+
+    @Test
+    public void testMissingOrInvalidExitCode() {
+        // events without a valid exit code are not reported as successful
+        // terminations
+        observer.handleEvent(dieEvent(SERVICE_NAME, null, System.currentTimeMillis()));
+        observer.handleEvent(dieEvent(SERVICE_NAME, "not a number", System.currentTimeMillis()));
+        Assert.assertEquals(0, terminations.size());
+        // the polling reports the real exit code
+        manager.exitCodes.put(SERVICE_NAME, 2);
+        observer.checkContainers();
+        Assert.assertEquals(1, terminations.size());
+        Assert.assertEquals(SERVICE_NAME + "=2", terminations.get(0));
+    }
+
+    @Test
+    public void testNonObservedContainer() {
+        observer.handleEvent(dieEvent("unknown-service", "0", System.currentTimeMillis()));
+        observer.handleEvent(dieEvent(null, "0", System.currentTimeMillis()));
+        Assert.assertEquals(0, terminations.size());
+        // a removed container is not reported anymore
+        observer.removedObservedContainer(SERVICE_NAME);
+        observer.handleEvent(dieEvent(SERVICE_NAME, "0", System.currentTimeMillis()));
+        Assert.assertEquals(0, terminations.size());
+    }
+
+    @Test
+    public void testResumeAfterReconnect() {
+        // before the first event, the stream is not resumed
+        Assert.assertNull(getSince(observer.createEventsParams()));
+        long time = 1500000000000L;
+        observer.handleEvent(dieEvent("unknown-service", "0", time));
+        // after a reconnect, the stream starts at the last received event
+        Assert.assertEquals(Long.toString(TimeUnit.MILLISECONDS.toSeconds(time)),
+                getSince(observer.createEventsParams()));
+    }
+
+    private static String getSince(EventsParam[] params) {
+        for (EventsParam param : params) {
+            if ("since".equals(param.name())) {
+                return param.value();
+            }
+        }
+        return null;
+    }
+
+    private static Event dieEvent(String serviceName, String exitCode, long time) {
+        Map<String, String> attributes = new HashMap<>();
+        if (serviceName != null) {
+            attributes.put(EventBasedContainerStateObserver.SWARM_SERVICE_NAME_LABEL, serviceName);
+        }
+        if (exitCode != null) {
+            attributes.put("exitCode", exitCode);
+        }
+        return Event.builder().type(Event.Type.CONTAINER).action("die")
+                .actor(Event.Actor.create("0123456789ab", attributes)).time(new Date(time))
+                .timeNano(TimeUnit.MILLISECONDS.toNanos(time)).build();
+    }
+
+    /**
+     * A {@link DummyContainerManager} returning predefined exit codes.
+     */
+    private static class ExitCodeContainerManager extends DummyContainerManager {
+
+        private Map<String, Integer> exitCodes = new HashMap<>();
+        private Runnable duringPolling = null;
+
+        public ExitCodeContainerManager() {
+            super(null, null);
+        }
+
+        @Override
+        public Map<String, Integer> getContainerExitCodes(Collection<String> serviceNames) {
+            if (duringPolling != null) {
+                duringPolling.run();
+            }
+            Map<String, Integer> result = new HashMap<>();
+            for (String serviceName : serviceNames) {
+                if (exitCodes.containsKey(serviceName)) {
+                    result.put(serviceName, exitCodes.get(serviceName));
+                }
+            }
+            return result;
+        }
+    }
+}
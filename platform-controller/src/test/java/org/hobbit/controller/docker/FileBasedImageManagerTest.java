@@ -1,9 +1,16 @@
 package org.hobbit.controller.docker;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
 import org.hobbit.core.data.BenchmarkMetaData;
 import org.hobbit.core.data.SystemMetaData;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * A simple test which tests the ability of the {@link FileBasedImageManager}
@@ -16,6 +23,9 @@ public class FileBasedImageManagerTest {
 
     private static final String METADATA_DIRECTORY = "src/test/resources/org/hobbit/controller";
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test(timeout = 20000)
     public void testBenchmark() throws InterruptedException {
         FileBasedImageManager manager = new FileBasedImageManager(METADATA_DIRECTORY);
@@ -37,4 +47,73 @@ public class FileBasedImageManagerTest {
         Assert.assertNotNull(system);
         Assert.assertEquals("Dummy System", system.getName());
     }
+
+    @Test(timeout = 20000)
+    public void testWatching() throws Exception {
+        File benchmarkFile = new File(METADATA_DIRECTORY, "benchmark.ttl");
+        File directory = folder.getRoot();
+        Files.copy(benchmarkFile.toPath(), new File(directory, "benchmark.ttl").toPath());
+        try (FileBasedImageManager manager = new FileBasedImageManager(directory.getAbsolutePath())) {
+            while (manager.getBenchmarks().isEmpty()) {
+                Thread.sleep(100);
+            }
+            BenchmarkMetaData benchmark = manager.getBenchmark("http://example.org/GerbilBenchmark");
+            Assert.assertNotNull(benchmark);
+            long version = manager.getDataVersion();
+
+            // scanning an unchanged directory does not change the meta data
+            manager.scanDirectory();
+            Assert.assertEquals(version, manager.getDataVersion());
+            Assert.assertSame(benchmark, manager.getBenchmark("http://example.org/GerbilBenchmark"));
+
+            // a new file is noticed without waiting for the periodic scan
+            FileUtils.writeStringToFile(new File(directory, "second.ttl"),
+                    "@prefix hobbit: <http://w3id.org/hobbit/vocab#> .\n"
+                            + "<http://example.org/SecondBenchmark> a hobbit:Benchmark; hobbit:hasAPI <http://example.org/SecondApi> .\n",
+                    StandardCharsets.UTF_8);
+            while (manager.getBenchmark("http://example.org/SecondBenchmark") == null) {
+                Thread.sleep(100);
+            }
+            // the unchanged file has not been parsed again
+            Assert.assertSame(benchmark, manager.getBenchmark("http://example.org/GerbilBenchmark"));
+
+            // a deleted file is removed
+            Assert.assertTrue(new File(directory, "second.ttl").delete());
+            while (manager.getBenchmark("http://example.org/SecondBenchmark") != null) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(1, manager.getBenchmarks().size());
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testBrokenFile() throws Exception {
+        File benchmarkFile = new File(METADATA_DIRECTORY, "benchmark.ttl");
+        File directory = folder.getRoot();
+        Files.copy(benchmarkFile.toPath(), new File(directory, "benchmark.ttl").toPath());
+        File brokenFile = new File(directory, "broken.ttl");
+        FileUtils.writeStringToFile(brokenFile, "<http://example.org/SecondBenchmark> a", StandardCharsets.UTF_8);
+        try (FileBasedImageManager manager = new FileBasedImageManager(directory.getAbsolutePath())) {
+            while (manager.getBenchmarks().isEmpty()) {
+                Thread.sleep(100);
+            }
+            manager.scanDirectory();
+            long version = manager.getDataVersion();
+
+            // the unchanged broken file is neither parsed again nor does it change
+            // the meta data
+            manager.scanDirectory();
+            manager.scanDirectory();
+            Assert.assertEquals(version, manager.getDataVersion());
+            Assert.assertEquals(1, manager.getBenchmarks().size());
+
+            // the repaired file is parsed again
+            FileUtils.writeStringToFile(brokenFile,
+                    "@prefix hobbit: <http://w3id.org/hobbit/vocab#> .\n"
+                            + "<http://example.org/SecondBenchmark> a hobbit:Benchmark; hobbit:hasAPI <http://example.org/SecondApi> .\n",
+                    StandardCharsets.UTF_8);
+            manager.scanDirectory();
+            Assert.assertNotNull(manager.getBenchmark("http://example.org/SecondBenchmark"));
+        }
+    }
 }
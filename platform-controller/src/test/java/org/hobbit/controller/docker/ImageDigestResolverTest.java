@@ -0,0 +1,79 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import org.hobbit.controller.docker.ImageDigestResolver.ImageReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ImageDigestResolverTest {
+
+    private static void assertReference(String imageName, String registry, String repository, String tag,
+            String digest) {
+        ImageReference reference = ImageReference.parse(imageName);
+        Assert.assertEquals("registry of " + imageName, registry, reference.registry);
+        Assert.assertEquals("repository of " + imageName, repository, reference.repository);
+        Assert.assertEquals("tag of " + imageName, tag, reference.tag);
+        Assert.assertEquals("digest of " + imageName, digest, reference.digest);
+    }
+
+    @Test
+    public void testDefaultRegistry() {
+        assertReference("busybox", "registry-1.docker.io", "library/busybox", "latest", null);
+        assertReference("busybox:1.31", "registry-1.docker.io", "library/busybox", "1.31", null);
+        assertReference("hobbitproject/platform-controller", "registry-1.docker.io",
+                "hobbitproject/platform-controller", "latest", null);
+        assertReference("hobbitproject/platform-controller:2.0.5", "registry-1.docker.io",
+                "hobbitproject/platform-controller", "2.0.5", null);
+    }
+
+    @Test
+    public void testLibraryPrefix() {
+        // the library prefix is only added for the default registry
+        assertReference("library/busybox", "registry-1.docker.io", "library/busybox", "latest", null);
+        assertReference("git.project-hobbit.eu:4567/busybox", "git.project-hobbit.eu:4567", "busybox", "latest",
+                null);
+    }
+
+    @Test
+    public void testRegistryWithPort() {
+        assertReference("git.project-hobbit.eu:4567/user/system", "git.project-hobbit.eu:4567", "user/system",
+                "latest", null);
+        assertReference("git.project-hobbit.eu:4567/user/system:v1", "git.project-hobbit.eu:4567", "user/system",
+                "v1", null);
+        assertReference("localhost:5000/system:v1", "localhost:5000", "system", "v1", null);
+        assertReference("localhost/system", "localhost", "system", "latest", null);
+        assertReference("example.org/group/sub/system", "example.org", "group/sub/system", "latest", null);
+    }
+
+    @Test
+    public void testDigest() {
+        String digest = "sha256:45b23dee08af5e43a7fea6c4cf9c25ccf269ee113168c19722f87876677c5cb2";
+        assertReference("busybox@" + digest, "registry-1.docker.io", "library/busybox", "latest", digest);
+        assertReference("busybox:1.31@" + digest, "registry-1.docker.io", "library/busybox", "1.31", digest);
+        assertReference("git.project-hobbit.eu:4567/user/system:v1@" + digest, "git.project-hobbit.eu:4567",
+                "user/system", "v1", digest);
+    }
+
+    @Test
+    public void testPinnedImageIsNotResolved() {
+        // a digest that is part of the name is returned without contacting a
+        // registry
+        String digest = "sha256:45b23dee08af5e43a7fea6c4cf9c25ccf269ee113168c19722f87876677c5cb2";
+        Assert.assertEquals(digest, new ImageDigestResolver(null).resolveDigest("unknown.invalid/image@" + digest));
+    }
+}
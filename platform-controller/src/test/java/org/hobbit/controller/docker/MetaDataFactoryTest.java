@@ -8,11 +8,18 @@ import java.util.HashSet;
 import java.util.List;
 
 import org.apache.commons.compress.utils.IOUtils;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
 import org.apache.log4j.lf5.util.StreamUtils;
 import org.hobbit.controller.ParameterForwardingTest;
 import org.hobbit.core.data.BenchmarkMetaData;
 import org.hobbit.core.data.ImageMetaData;
 import org.hobbit.core.data.SystemMetaData;
+import org.hobbit.vocab.HOBBIT;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -85,6 +92,39 @@ public class MetaDataFactoryTest {
         Assert.assertArrayEquals(expectedApis, actualApis);
     }
 
+    @Test
+    public void testModelWithUniqueSystem() {
+        Model model = ModelFactory.createDefaultModel();
+        Resource api = model.createResource("http://example.org/Api");
+        Resource[] systems = new Resource[3];
+        for (int i = 0; i < systems.length; ++i) {
+            systems[i] = model.createResource("http://example.org/System" + i);
+            model.add(systems[i], RDF.type, HOBBIT.SystemInstance);
+            model.add(systems[i], RDFS.label, "System " + i);
+            model.add(systems[i], HOBBIT.implementsAPI, api);
+        }
+        model.add(api, RDFS.label, "API");
+        long originalSize = model.size();
+
+        Model uniqueModel = MetaDataFactory.getModelWithUniqueSystem(model, systems[1].getURI());
+        Assert.assertEquals(4, uniqueModel.size());
+        Assert.assertTrue(uniqueModel.contains(systems[1], RDFS.label, "System 1"));
+        Assert.assertTrue(uniqueModel.contains(api, RDFS.label, "API"));
+        Assert.assertFalse(uniqueModel.contains(systems[0], null, (RDFNode) null));
+        Assert.assertFalse(uniqueModel.contains(systems[2], RDF.type, HOBBIT.SystemInstance));
+        Assert.assertEquals(1, MetaDataFactory.modelToSystemMetaData(uniqueModel).size());
+
+        // added triples do not change the original model
+        uniqueModel.add(systems[1], RDFS.comment, "comment");
+        Assert.assertTrue(uniqueModel.contains(systems[1], RDFS.comment, "comment"));
+        Assert.assertEquals(originalSize, model.size());
+
+        // all systems can be removed
+        uniqueModel = MetaDataFactory.getModelWithUniqueSystem(model, "");
+        Assert.assertEquals(1, uniqueModel.size());
+        Assert.assertEquals(3, MetaDataFactory.modelToSystemMetaData(model).size());
+    }
+
     public static void compareMetaData(ImageMetaData expected, ImageMetaData actual) {
         Assert.assertEquals(expected.uri, actual.uri);
         Assert.assertEquals(expected.name, actual.name);
@@ -0,0 +1,80 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NodeImageCacheTest {
+
+    private static final String IMAGE = "hobbitproject/system";
+    private static final String DIGEST = "sha256:1111";
+    private static final String NEW_DIGEST = "sha256:2222";
+    private static final List<String> NODES = Arrays.asList("node1", "node2", "node3");
+
+    @Test
+    public void testNodeSelection() {
+        NodeImageCache cache = new NodeImageCache(60000);
+        // nothing is known, i.e., all nodes have to pull
+        Assert.assertEquals(NODES, listNodes(cache, DIGEST));
+
+        cache.add(IMAGE, "node1", DIGEST);
+        cache.add(IMAGE, "node3", DIGEST);
+        Assert.assertEquals(Arrays.asList("node2"), listNodes(cache, DIGEST));
+        // nodes holding an old digest have to pull again
+        cache.add(IMAGE, "node2", NEW_DIGEST);
+        Assert.assertEquals(Arrays.asList("node1", "node3"), listNodes(cache, NEW_DIGEST));
+        // other images are not affected
+        Assert.assertEquals(NODES,
+                Arrays.asList(cache.getNodesWithoutImage("other", DIGEST, NODES).toArray(new String[0])));
+        // only the given nodes are checked
+        Assert.assertEquals(Collections.emptySet(),
+                cache.getNodesWithoutImage(IMAGE, NEW_DIGEST, Arrays.asList("node2")));
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        NodeImageCache cache = new NodeImageCache(200);
+        cache.add(IMAGE, "node1", DIGEST);
+        Assert.assertEquals(Arrays.asList("node2", "node3"), listNodes(cache, DIGEST));
+        Thread.sleep(400);
+        // the entry expired
+        Assert.assertEquals(NODES, listNodes(cache, DIGEST));
+        // adding it again renews the entry
+        cache.add(IMAGE, "node1", DIGEST);
+        Assert.assertEquals(Arrays.asList("node2", "node3"), listNodes(cache, DIGEST));
+    }
+
+    @Test
+    public void testInvalidate() {
+        NodeImageCache cache = new NodeImageCache(60000);
+        cache.add(IMAGE, "node1", DIGEST);
+        cache.add("other", "node1", DIGEST);
+        cache.invalidate(IMAGE);
+        Assert.assertEquals(NODES, listNodes(cache, DIGEST));
+        Assert.assertEquals(Arrays.asList("node2", "node3"),
+                Arrays.asList(cache.getNodesWithoutImage("other", DIGEST, NODES).toArray(new String[0])));
+    }
+
+    private static List<String> listNodes(NodeImageCache cache, String digest) {
+        return Arrays.asList(cache.getNodesWithoutImage(IMAGE, digest, NODES).toArray(new String[0]));
+    }
+}
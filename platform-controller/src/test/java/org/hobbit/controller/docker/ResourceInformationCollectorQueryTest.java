@@ -0,0 +1,37 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the creation of the batched Prometheus queries of the
+ * {@link ResourceInformationCollectorImpl}.
+ */
+public class ResourceInformationCollectorQueryTest {
+
+    @Test
+    public void testBuildServicesQuery() {
+        Assert.assertEquals(
+                "sum by (container_label_com_docker_swarm_service_name) (container_memory_usage_bytes{container_label_com_docker_swarm_service_name=~\"^(system-1|system\\\\.2)$\"})",
+                ResourceInformationCollectorImpl.buildServicesQuery("container_memory_usage_bytes",
+                        Arrays.asList("system-1", "system.2")));
+    }
+}
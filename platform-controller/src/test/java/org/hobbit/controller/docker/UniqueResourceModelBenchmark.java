@@ -0,0 +1,125 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.docker;
+
+import java.util.Date;
+import java.util.function.IntUnaryOperator;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.hobbit.utils.rdf.RdfHelper;
+import org.hobbit.vocab.HOBBIT;
+import org.junit.Ignore;
+
+/**
+ * Small benchmark comparing the creation of the system meta data of a
+ * descriptor file containing several systems based on views created by
+ * {@link MetaDataFactory#getModelWithUniqueSystem(Model, String)} with the
+ * previous approach of copying the complete model for every system. Run the
+ * main method to print the average times for growing numbers of systems.
+ */
+@Ignore
+public class UniqueResourceModelBenchmark {
+
+    private static final int[] NUMBERS_OF_SYSTEMS = { 1, 10, 100, 500 };
+    private static final int PARAMETERS_PER_SYSTEM = 5;
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        for (int numberOfSystems : NUMBERS_OF_SYSTEMS) {
+            Model model = createModel(numberOfSystems);
+            long copyTime = measure(i -> {
+                int size = 0;
+                for (Resource system : RdfHelper.getSubjectResources(model, RDF.type, HOBBIT.SystemInstance)) {
+                    size += RdfHelper.getLabel(copyWithUniqueSystem(model, system.getURI()), system).length();
+                }
+                return size;
+            });
+            long viewTime = measure(i -> {
+                int size = 0;
+                for (Resource system : RdfHelper.getSubjectResources(model, RDF.type, HOBBIT.SystemInstance)) {
+                    size += RdfHelper.getLabel(MetaDataFactory.getModelWithUniqueSystem(model, system.getURI()), system)
+                            .length();
+                }
+                return size;
+            });
+            long metaDataTime = measure(
+                    i -> MetaDataFactory.modelToSystemMetaData(model, "benchmark", new Date(0)).size());
+            System.out.println(String.format("%4d systems: copy %12d ns/op, view %12d ns/op, meta data %12d ns/op",
+                    numberOfSystems, copyTime, viewTime, metaDataTime));
+        }
+    }
+
+    /**
+     * Creates a descriptor model with the given number of systems.
+     */
+    private static Model createModel(int numberOfSystems) {
+        Model model = ModelFactory.createDefaultModel();
+        Resource api = model.createResource("http://example.org/Api");
+        for (int i = 0; i < numberOfSystems; ++i) {
+            Resource system = model.createResource("http://example.org/System" + i);
+            model.add(system, RDF.type, HOBBIT.SystemInstance);
+            model.add(system, RDFS.label, "System " + i);
+            model.add(system, RDFS.comment, "Description of system " + i);
+            model.add(system, HOBBIT.implementsAPI, api);
+            model.add(system, HOBBIT.imageName, "example/system" + i);
+            for (int j = 0; j < PARAMETERS_PER_SYSTEM; ++j) {
+                model.add(system, model.createProperty("http://example.org/parameter" + j),
+                        model.createTypedLiteral(i * j));
+            }
+        }
+        return model;
+    }
+
+    /**
+     * The previous implementation copying the complete model.
+     */
+    private static Model copyWithUniqueSystem(Model model, String uri) {
+        Model newModel = ModelFactory.createDefaultModel();
+        newModel.add(model);
+        for (Resource r : RdfHelper.getSubjectResources(model, RDF.type, HOBBIT.SystemInstance)) {
+            if (!r.getURI().equals(uri)) {
+                newModel.removeAll(r, null, (RDFNode) null);
+            }
+        }
+        return newModel;
+    }
+
+    /**
+     * Returns the average time (in ns) of the given operation.
+     */
+    private static long measure(IntUnaryOperator operation) {
+        long blackhole = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+            blackhole += operation.applyAsInt(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; ++i) {
+            blackhole += operation.applyAsInt(i);
+        }
+        long time = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+        if (blackhole < 0) {
+            System.out.println(blackhole);
+        }
+        return time;
+    }
+}
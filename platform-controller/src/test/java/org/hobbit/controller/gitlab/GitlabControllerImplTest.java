@@ -18,10 +18,12 @@ package org.hobbit.controller.gitlab;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.impl.PropertyImpl;
@@ -31,6 +33,8 @@ import org.gitlab.api.models.*;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Test;
@@ -127,6 +131,34 @@ public class GitlabControllerImplTest {
                 "gitadmin / testing-benchmark", project.getName());
     }
 
+    @Test
+    public void fetchUnchangedProject() throws IOException {
+        gitlabProject.setLastActivityAt(new Date(1000));
+        Project project = new Project(null, ModelFactory.createDefaultModel(), null,
+                gitlabProject.getNameWithNamespace(), gitlabProject.getCreatedAt(), false);
+        GitlabControllerImpl.FetchedProject previous = new GitlabControllerImpl.FetchedProject(new Date(1000),
+                gitlabBranch.getCommit().getId(), project);
+        // the commit of the default branch has not been changed, i.e., the
+        // project is reused without downloading it again
+        controller = new GitlabControllerImpl(false, false) {
+            @SuppressWarnings("unchecked")
+            @Override
+            protected <T> T requestWithRetries(GitlabRequest<T> request) throws IOException {
+                return (T) gitlabBranch;
+            }
+        };
+        GitlabControllerImpl.FetchedProject fetched = controller.fetchProject(gitlabProject, previous);
+        assertSame(project, fetched.project);
+        assertEquals(previous.commitId, fetched.commitId);
+
+        // a changed name leads to a new project with the same model
+        gitlabProject.setNameWithNamespace("gitadmin / renamed-benchmark");
+        fetched = controller.fetchProject(gitlabProject, previous);
+        assertNotSame(project, fetched.project);
+        assertSame(project.systemModel, fetched.project.systemModel);
+        assertEquals("gitadmin / renamed-benchmark", fetched.project.getName());
+    }
+
     @Test
     public void getCheckedModel() throws IOException {
         byte[] benchmarkCfgBytes = api.getRawFileContent(gitlabProject.getId(), gitlabBranch.getCommit().getId(), "benchmark.ttl");
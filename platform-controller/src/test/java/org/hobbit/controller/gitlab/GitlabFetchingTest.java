@@ -0,0 +1,298 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.gitlab;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the fetching of projects of the {@link GitlabControllerImpl} against a
+ * local stub of the GitLab API.
+ */
+public class GitlabFetchingTest {
+
+    private static final String PROJECTS_JSON = "[{\"id\":1,\"name\":\"benchmark\",\"name_with_namespace\":\"test / benchmark\",\"default_branch\":\"master\",\"visibility\":\"public\",\"web_url\":\"http://localhost/test/benchmark\",\"last_activity_at\":\"2018-01-01T10:00:00.000Z\",\"owner\":{\"id\":1,\"username\":\"test\",\"email\":\"test@example.org\"}},"
+            + "{\"id\":2,\"name\":\"empty\",\"name_with_namespace\":\"test / empty\",\"default_branch\":\"master\",\"visibility\":\"public\",\"web_url\":\"http://localhost/test/empty\",\"last_activity_at\":\"2018-01-01T10:00:00.000Z\",\"owner\":{\"id\":1,\"username\":\"test\",\"email\":\"test@example.org\"}}]";
+    private static final String BENCHMARK_TTL = "@prefix hobbit: <http://w3id.org/hobbit/vocab#> .\n"
+            + "<http://example.org/Benchmark> a hobbit:Benchmark ; hobbit:hasAPI <http://example.org/Api> .";
+
+    private static final String USERS_JSON = "[{\"id\":5,\"username\":\"test\",\"email\":\"test@example.org\"},"
+            + "{\"id\":6,\"username\":\"other\",\"email\":\"other@example.org\"}]";
+    private static final String USER_PROJECTS_JSON = "[{\"id\":3,\"name\":\"private\",\"name_with_namespace\":\"test / private\"}]";
+
+    private HttpServer server;
+    /**
+     * Number of requests per path.
+     */
+    private Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    /**
+     * Id of the commit of the default branch of the first project.
+     */
+    private volatile String branchCommit = "0123456789abcdef";
+    /**
+     * Number of requests for the branch of the first project that should fail.
+     */
+    private AtomicInteger branchFailures = new AtomicInteger(0);
+    /**
+     * Number of requests for the benchmark file of the first project that should
+     * fail.
+     */
+    private AtomicInteger fileFailures = new AtomicInteger(0);
+    /**
+     * Flag indicating whether the token used by the controller has admin
+     * rights.
+     */
+    private AtomicBoolean admin = new AtomicBoolean(false);
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getQuery();
+        requests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+        // only the first page of a list contains elements
+        boolean firstPage = (query == null) || !query.contains("page=") || query.contains("page=1&")
+                || query.endsWith("page=1");
+        if (path.endsWith("/user")) {
+            respond(exchange, 200, "{\"id\":1,\"username\":\"root\",\"is_admin\":" + admin.get() + "}");
+        } else if (path.endsWith("/users")) {
+            respond(exchange, 200, firstPage ? USERS_JSON : "[]");
+        } else if (path.endsWith("/users/5/projects")) {
+            respond(exchange, 200, firstPage ? USER_PROJECTS_JSON : "[]");
+        } else if (path.endsWith("/projects")) {
+            respond(exchange, 200, firstPage ? PROJECTS_JSON : "[]");
+        } else if (path.contains("/projects/1/repository/branches/")) {
+            if (branchFailures.getAndDecrement() > 0) {
+                respond(exchange, 500, "{\"message\":\"internal error\"}");
+            } else {
+                respond(exchange, 200, "{\"name\":\"master\",\"commit\":{\"id\":\"" + branchCommit + "\"}}");
+            }
+        } else if (path.contains("/projects/1/repository/files/") && path.contains("benchmark.ttl")) {
+            if (fileFailures.getAndDecrement() > 0) {
+                respond(exchange, 500, "{\"message\":\"internal error\"}");
+            } else {
+                respond(exchange, 200, BENCHMARK_TTL);
+            }
+        } else {
+            respond(exchange, 404, "{\"message\":\"404 Not Found\"}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private int countRequests(String pathPart) {
+        return requests.entrySet().stream().filter(e -> e.getKey().contains(pathPart))
+                .mapToInt(e -> e.getValue().get()).sum();
+    }
+
+    private int countRequestsEndingWith(String pathEnd) {
+        return requests.entrySet().stream().filter(e -> e.getKey().endsWith(pathEnd))
+                .mapToInt(e -> e.getValue().get()).sum();
+    }
+
+    @Test(timeout = 30000)
+    public void testFetching() {
+        branchFailures.set(1);
+        GitlabControllerImpl controller = new GitlabControllerImpl(
+                "http://localhost:" + server.getAddress().getPort() + "/", "token", false, false);
+        try {
+            controller.fetchProjects();
+            List<Project> projects = controller.getAllProjects();
+            Assert.assertEquals(1, projects.size());
+            Assert.assertEquals("test / benchmark", projects.get(0).getName());
+            Assert.assertNotNull(projects.get(0).benchmarkModel);
+            // the failed branch request has been retried
+            Assert.assertEquals(1, controller.getMetrics().getRetriedRequests());
+            Assert.assertEquals(1, controller.getMetrics().getFetches());
+            Assert.assertEquals(0, controller.getMetrics().getFailedProjects());
+            long version = controller.getProjectsVersion();
+            int fileRequests = countRequests("/repository/files/");
+            int branchRequests = countRequests("/repository/branches/");
+
+            // the projects did not change, i.e., they are neither downloaded nor
+            // parsed again. Only the commits of their default branches are checked.
+            controller.fetchProjects();
+            Assert.assertSame(projects.get(0), controller.getAllProjects().get(0));
+            Assert.assertEquals(version, controller.getProjectsVersion());
+            Assert.assertEquals(fileRequests, countRequests("/repository/files/"));
+            Assert.assertEquals(branchRequests + 2, countRequests("/repository/branches/"));
+            Assert.assertEquals(2, controller.getMetrics().getFetches());
+        } finally {
+            controller.stopFetchingProjects();
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testPushWithoutNewActivity() {
+        GitlabControllerImpl controller = new GitlabControllerImpl(
+                "http://localhost:" + server.getAddress().getPort() + "/", "token", false, false);
+        try {
+            controller.fetchProjects();
+            List<Project> projects = controller.getAllProjects();
+            Assert.assertEquals(1, projects.size());
+            long version = controller.getProjectsVersion();
+            int fileRequests = countRequests("/repository/files/");
+
+            // a push does not necessarily change the last activity of the
+            // project but the new commit leads to a download of the project
+            branchCommit = "fedcba9876543210";
+            controller.fetchProjects();
+            Assert.assertNotSame(projects.get(0), controller.getAllProjects().get(0));
+            Assert.assertNotEquals(version, controller.getProjectsVersion());
+            Assert.assertTrue(countRequests("/repository/files/") > fileRequests);
+        } finally {
+            controller.stopFetchingProjects();
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testFailedFileRequest() {
+        // the request and all its retries fail
+        fileFailures.set(3);
+        GitlabControllerImpl controller = new GitlabControllerImpl(
+                "http://localhost:" + server.getAddress().getPort() + "/", "token", false, false);
+        try {
+            controller.fetchProjects();
+            Assert.assertEquals(0, controller.getAllProjects().size());
+            Assert.assertEquals(1, controller.getMetrics().getFailedProjects());
+
+            // the failure is not mistaken for a missing file, i.e., the unchanged
+            // project is fetched again
+            controller.fetchProjects();
+            List<Project> projects = controller.getAllProjects();
+            Assert.assertEquals(1, projects.size());
+            Assert.assertNotNull(projects.get(0).benchmarkModel);
+        } finally {
+            controller.stopFetchingProjects();
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testSnapshot() throws IOException {
+        String url = "http://localhost:" + server.getAddress().getPort() + "/";
+        InMemorySnapshotStore store = new InMemorySnapshotStore();
+        GitlabControllerImpl controller = new GitlabControllerImpl(url, "token", store, false, false);
+        try {
+            controller.fetchProjects();
+        } finally {
+            controller.stopFetchingProjects();
+        }
+        Assert.assertNotNull(store.data);
+        Assert.assertEquals(1, store.stored);
+        Assert.assertEquals(2, ProjectSnapshot.deserialize(store.data).size());
+        int fileRequests = countRequests("/repository/files/");
+        int branchRequests = countRequests("/repository/branches/");
+
+        // a restarted controller serves the projects before contacting GitLab
+        controller = new GitlabControllerImpl(url, "token", store, false, false);
+        try {
+            List<Project> projects = controller.getAllProjects();
+            Assert.assertEquals(1, projects.size());
+            Assert.assertEquals("test / benchmark", projects.get(0).getName());
+            Assert.assertTrue(projects.get(0).benchmarkModel.size() > 0);
+
+            // the reconciliation does not download the unchanged projects again
+            controller.fetchProjects();
+            Assert.assertSame(projects.get(0), controller.getAllProjects().get(0));
+            Assert.assertEquals(fileRequests, countRequests("/repository/files/"));
+            Assert.assertEquals(branchRequests + 2, countRequests("/repository/branches/"));
+            // the state did not change, i.e., it is not stored again
+            Assert.assertEquals(1, store.stored);
+        } finally {
+            controller.stopFetchingProjects();
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testVisibleProjects() throws IOException {
+        admin.set(true);
+        GitlabControllerImpl controller = new GitlabControllerImpl(
+                "http://localhost:" + server.getAddress().getPort() + "/", "token", false, true);
+        try {
+            // the users are loaded together with the projects
+            controller.fetchProjects();
+            Assert.assertEquals(1, countRequestsEndingWith("/users"));
+
+            for (int i = 0; i < 3; ++i) {
+                Set<String> projectNames = controller.getProjectsOfUser("test@example.org");
+                Assert.assertEquals(1, projectNames.size());
+                Assert.assertTrue(projectNames.contains("test / private"));
+            }
+            // the user index and the cached visible projects are used
+            Assert.assertEquals(1, countRequestsEndingWith("/users/5/projects"));
+            Assert.assertEquals(1, countRequestsEndingWith("/users"));
+
+            // unknown users do not cause a reload of the recently loaded users
+            Assert.assertEquals(0, controller.getProjectsOfUser("unknown@example.org").size());
+            Assert.assertEquals(0, controller.getProjectsOfUser("unknown@example.org").size());
+            Assert.assertEquals(1, countRequestsEndingWith("/users"));
+        } finally {
+            controller.stopFetchingProjects();
+        }
+    }
+
+    /**
+     * Simple store keeping the serialized snapshot in memory.
+     */
+    private static class InMemorySnapshotStore implements ProjectSnapshotStore {
+        private byte[] data;
+        private int stored = 0;
+
+        @Override
+        public ProjectSnapshot load() throws IOException {
+            return (data == null) ? null : ProjectSnapshot.deserialize(data);
+        }
+
+        @Override
+        public void store(ProjectSnapshot snapshot) throws IOException {
+            data = ProjectSnapshot.serialize(snapshot);
+            ++stored;
+        }
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,68 @@
+package org.hobbit.controller.mocks;
+
+import java.util.Collections;
+
+import org.hobbit.controller.docker.ClusterManager;
+import org.hobbit.controller.docker.ClusterTopology;
+
+import com.spotify.docker.client.messages.Info;
+
+public class DummyClusterManager implements ClusterManager {
+
+    private volatile ClusterTopology topology;
+
+    public DummyClusterManager() {
+        this(new ClusterTopology(1, Collections.singletonList("node"), Collections.emptyMap()));
+    }
+
+    public DummyClusterManager(ClusterTopology topology) {
+        this.topology = topology;
+    }
+
+    public void setClusterTopology(ClusterTopology topology) {
+        this.topology = topology;
+    }
+
+    @Override
+    public Info getClusterInfo() {
+        return null;
+    }
+
+    @Override
+    public ClusterTopology getClusterTopology() {
+        return topology;
+    }
+
+    @Override
+    public void invalidateClusterTopology() {
+    }
+
+    @Override
+    public long getNumberOfNodes() {
+        return topology.getNumberOfNodes();
+    }
+
+    @Override
+    public long getNumberOfNodes(String label) {
+        return topology.getNumberOfReadyNodes(label);
+    }
+
+    @Override
+    public boolean isClusterHealthy() {
+        return true;
+    }
+
+    @Override
+    public long getExpectedNumberOfNodes() {
+        return topology.getNumberOfNodes();
+    }
+
+    @Override
+    public void setTaskHistoryLimit(Integer taskHistoryLimit) {
+    }
+
+    @Override
+    public int getTaskHistoryLimit() {
+        return 0;
+    }
+}
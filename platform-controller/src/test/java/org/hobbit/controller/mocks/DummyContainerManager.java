@@ -4,6 +4,8 @@ import com.spotify.docker.client.messages.ContainerStats;
 import com.spotify.docker.client.messages.swarm.Service;
 import com.spotify.docker.client.messages.swarm.Service.Criteria;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Semaphore;
 import java.util.List;
 import org.hobbit.controller.docker.ContainerManager;
@@ -96,8 +98,11 @@ public class DummyContainerManager implements ContainerManager {
     }
 
     @Override
-    public void removeParentAndChildren(String parent) {
+    public Map<String, RemovalOutcome> removeParentAndChildren(String parent) {
         stopContainer(parent);
+        Map<String, RemovalOutcome> outcomes = new HashMap<>();
+        outcomes.put(parent, RemovalOutcome.REMOVED);
+        return outcomes;
     }
 
     @Override
@@ -130,10 +135,11 @@ public class DummyContainerManager implements ContainerManager {
     }
 
     @Override
-    public void pullImage(String imageName) {
+    public boolean pullImage(String imageName) {
         System.out.print("Pulling Image (fake) ");
         System.out.print(imageName);
         System.out.println("...");
+        return true;
     }
 
     @Override
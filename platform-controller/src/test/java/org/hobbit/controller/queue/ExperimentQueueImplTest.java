@@ -27,6 +27,7 @@ import java.util.List;
 
 import org.hobbit.controller.data.ExperimentConfiguration;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -157,10 +158,98 @@ public class ExperimentQueueImplTest extends RedisBasedTest {
         assertNull(next);
     }
 
+    @Test
+    public void nextWithExcludedIdsTest() {
+        ExperimentConfiguration cfgs[] = new ExperimentConfiguration[3];
+        for (int i = 0; i < cfgs.length; ++i) {
+            cfgs[i] = new ExperimentConfiguration();
+            cfgs[i].id = Integer.toString(i);
+            Calendar cal = Calendar.getInstance();
+            cal.set(2016, Calendar.SEPTEMBER, 5 + i);
+            cfgs[i].executionDate = cal;
+            queue.add(cfgs[i]);
+        }
+        assertEquals(cfgs[0].id, queue.getNextExperiment().id);
+        assertEquals(cfgs[1].id, queue.getNextExperiment(Arrays.asList(cfgs[0].id)).id);
+        assertEquals(cfgs[2].id, queue.getNextExperiment(Arrays.asList(cfgs[1].id, cfgs[0].id)).id);
+        assertNull(queue.getNextExperiment(Arrays.asList(cfgs[0].id, cfgs[1].id, cfgs[2].id)));
+
+        // the list follows the order of the queue
+        List<ExperimentConfiguration> all = queue.listAll();
+        assertEquals(3, all.size());
+        for (int i = 0; i < cfgs.length; ++i) {
+            assertEquals(cfgs[i].id, all.get(i).id);
+        }
+    }
+
+    @Test
+    public void listPageTest() {
+        long version = queue.getVersion();
+        ExperimentConfiguration cfgs[] = new ExperimentConfiguration[4];
+        for (int i = 0; i < cfgs.length; ++i) {
+            cfgs[i] = new ExperimentConfiguration();
+            cfgs[i].id = Integer.toString(i);
+            Calendar cal = Calendar.getInstance();
+            cal.set(2016, Calendar.SEPTEMBER, 5 + i);
+            cfgs[i].executionDate = cal;
+        }
+        // the last experiment is a challenge experiment, i.e., it is listed first
+        cfgs[3].challengeUri = "http://example.org/challenge";
+        cfgs[3].challengeTaskUri = "http://example.org/challengeTask";
+        for (int i = 0; i < cfgs.length; ++i) {
+            queue.add(cfgs[i]);
+        }
+        Assert.assertNotEquals(version, queue.getVersion());
+        version = queue.getVersion();
+        assertEquals(4, queue.size());
+
+        List<ExperimentConfiguration> page = queue.list(0, 2);
+        assertEquals(Arrays.asList(cfgs[3].id, cfgs[0].id), Arrays.asList(page.get(0).id, page.get(1).id));
+        page = queue.list(2, 5);
+        assertEquals(Arrays.asList(cfgs[1].id, cfgs[2].id), Arrays.asList(page.get(0).id, page.get(1).id));
+        assertEquals(0, queue.list(4, 5).size());
+        // the positions are the same as in the listed queue
+        assertEquals(0, queue.indexOf(cfgs[3].id));
+        assertEquals(1, queue.indexOf(cfgs[0].id));
+        assertEquals(3, queue.indexOf(cfgs[2].id));
+        assertEquals(-1, queue.indexOf("unknown"));
+        // listing does not change the version
+        assertEquals(version, queue.getVersion());
+
+        queue.remove(cfgs[3]);
+        Assert.assertNotEquals(version, queue.getVersion());
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    public void addAllTest() {
+        long version = queue.getVersion();
+        ExperimentConfiguration cfgs[] = new ExperimentConfiguration[3];
+        for (int i = 0; i < cfgs.length; ++i) {
+            cfgs[i] = new ExperimentConfiguration();
+            cfgs[i].id = Integer.toString(i);
+            Calendar cal = Calendar.getInstance();
+            cal.set(2016, Calendar.SEPTEMBER, 5 + i);
+            cfgs[i].executionDate = cal;
+        }
+        cfgs[2].challengeUri = "http://example.org/challenge";
+        cfgs[2].challengeTaskUri = "http://example.org/challengeTask";
+        queue.addAll(Arrays.asList(cfgs));
+        Assert.assertNotEquals(version, queue.getVersion());
+        assertEquals(3, queue.size());
+
+        List<ExperimentConfiguration> all = queue.listAll();
+        assertEquals(Arrays.asList(cfgs[2].id, cfgs[0].id, cfgs[1].id),
+                Arrays.asList(all.get(0).id, all.get(1).id, all.get(2).id));
+        assertNotNull(queue.getExperiment(cfgs[1].id));
+        Assert.assertTrue(queue.getExperiment(cfgs[1].id).submissionTime > 0);
+    }
+
     @After
     public void close() {
         // cleanup
-        redisSyncCommands.del(ExperimentQueueImpl.EXPERIMENT_KEY, ExperimentQueueImpl.EXPERIMENT_QUEUE);
+        redisSyncCommands.del(ExperimentQueueImpl.EXPERIMENT_KEY, ExperimentQueueImpl.EXPERIMENT_QUEUE,
+                ExperimentQueueImpl.CHALLENGE_KEY, ExperimentQueueImpl.CHALLENGE_QUEUE);
         // close
         queue.close();
     }
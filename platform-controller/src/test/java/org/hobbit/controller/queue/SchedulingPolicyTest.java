@@ -0,0 +1,186 @@
+/**
+ * This file is part of platform-controller.
+ *
+ * platform-controller is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * platform-controller is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with platform-controller.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.hobbit.controller.queue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hobbit.controller.data.ExperimentConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SchedulingPolicyTest {
+
+    private static ExperimentConfiguration createExperiment(String id, String user, String benchmark,
+            long submissionTime) {
+        ExperimentConfiguration config = new ExperimentConfiguration(id, benchmark, "", "system");
+        config.userName = user;
+        config.submissionTime = submissionTime;
+        return config;
+    }
+
+    @Test
+    public void testFairShare() {
+        long now = System.currentTimeMillis();
+        // user a submitted a large number of experiments before user b
+        List<ExperimentConfiguration> queue = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            queue.add(createExperiment("a" + i, "a", "benchmark", now - 1000 + i));
+        }
+        queue.add(createExperiment("b0", "b", "benchmark", now));
+        queue.add(createExperiment("b1", "b", "benchmark", now));
+
+        SchedulingPolicy policy = new FairShareSchedulingPolicy();
+        List<ExperimentConfiguration> running = new ArrayList<>();
+        List<String> order = new ArrayList<>();
+        ExperimentConfiguration next;
+        for (int i = 0; i < 4; ++i) {
+            next = policy.selectNext(queue, running);
+            order.add(next.id);
+            queue.remove(next);
+        }
+        // the users take turns while the order of the queue is kept per user
+        Assert.assertEquals(Arrays.asList("a0", "b0", "a1", "b1"), order);
+
+        // running experiments count for the share of their user
+        policy = new FairShareSchedulingPolicy();
+        running.add(createExperiment("a0", "a", "benchmark", now));
+        Assert.assertEquals("b0", policy.selectNext(
+                Arrays.asList(createExperiment("a1", "a", "benchmark", now), createExperiment("b0", "b", "benchmark", now)),
+                running).id);
+    }
+
+    @Test
+    public void testFairSharePreview() {
+        long now = System.currentTimeMillis();
+        List<ExperimentConfiguration> queue = Arrays.asList(createExperiment("a0", "a", "benchmark", now),
+                createExperiment("a1", "a", "benchmark", now), createExperiment("b0", "b", "benchmark", now));
+        SchedulingPolicy policy = new FairShareSchedulingPolicy();
+        List<ExperimentConfiguration> preview = policy.previewNext(queue, new ArrayList<>(), 3);
+        Assert.assertEquals(Arrays.asList("a0", "b0", "a1"), toIds(preview));
+        // the preview did not change the usages, i.e., the same order is
+        // previewed again and the selection follows it
+        Assert.assertEquals(toIds(preview), toIds(policy.previewNext(queue, new ArrayList<>(), 3)));
+        Assert.assertEquals("a0", policy.selectNext(queue, new ArrayList<>()).id);
+    }
+
+    @Test
+    public void testPreviewNext() {
+        long now = System.currentTimeMillis();
+        List<ExperimentConfiguration> queue = Arrays.asList(createExperiment("a", "a", "benchmark", now - 2000),
+                createExperiment("b", "b", "benchmark", now - 3000), createExperiment("c", "c", "benchmark", now));
+        // the oldest experiments are preferred
+        Assert.assertEquals(Arrays.asList("b", "a"),
+                toIds(new WeightedPrioritySchedulingPolicy().previewNext(queue, new ArrayList<>(), 2)));
+        Assert.assertEquals(Arrays.asList("a", "b", "c"),
+                toIds(new FifoSchedulingPolicy().previewNext(queue, new ArrayList<>(), 5)));
+    }
+
+    private static List<String> toIds(List<ExperimentConfiguration> experiments) {
+        List<String> ids = new ArrayList<>();
+        for (ExperimentConfiguration experiment : experiments) {
+            ids.add(experiment.id);
+        }
+        return ids;
+    }
+
+    @Test
+    public void testFairShareWeights() {
+        long now = System.currentTimeMillis();
+        List<ExperimentConfiguration> queue = new ArrayList<>();
+        for (int i = 0; i < 6; ++i) {
+            queue.add(createExperiment("a" + i, "a", "benchmark", now));
+        }
+        for (int i = 0; i < 6; ++i) {
+            queue.add(createExperiment("b" + i, "b", "benchmark", now));
+        }
+        Map<String, Double> weights = new HashMap<>();
+        weights.put("b", 2.0);
+        SchedulingPolicy policy = new FairShareSchedulingPolicy(weights, FairShareSchedulingPolicy.DEFAULT_HALF_LIFE);
+        int experimentsOfB = 0;
+        ExperimentConfiguration next;
+        for (int i = 0; i < 6; ++i) {
+            next = policy.selectNext(queue, Collections.emptyList());
+            if ("b".equals(next.userName)) {
+                ++experimentsOfB;
+            }
+            queue.remove(next);
+        }
+        // b has twice the weight of a
+        Assert.assertEquals(4, experimentsOfB);
+    }
+
+    @Test
+    public void testWeightedPriority() {
+        long now = System.currentTimeMillis();
+        Map<String, Double> weights = new HashMap<>();
+        weights.put("b", 10.0);
+        SchedulingPolicy policy = new WeightedPrioritySchedulingPolicy(weights);
+        // b has a higher weight
+        Assert.assertEquals("b0", policy.selectNext(Arrays.asList(createExperiment("a0", "a", "benchmark", now - 5000),
+                createExperiment("b0", "b", "benchmark", now - 1000)), Collections.emptyList()).id);
+        // a has waited long enough
+        Assert.assertEquals("a0", policy.selectNext(Arrays.asList(createExperiment("a0", "a", "benchmark", now - 50000),
+                createExperiment("b0", "b", "benchmark", now - 1000)), Collections.emptyList()).id);
+    }
+
+    @Test
+    public void testShortestExpectedJobFirst() {
+        long now = System.currentTimeMillis();
+        SchedulingPolicy policy = new ShortestExpectedJobFirstSchedulingPolicy(null);
+        policy.experimentFinished(createExperiment("0", "a", "long", now), 60 * 60 * 1000);
+        policy.experimentFinished(createExperiment("1", "a", "short", now), 60 * 1000);
+        List<ExperimentConfiguration> queue = Arrays.asList(createExperiment("a0", "a", "long", now),
+                createExperiment("b0", "b", "unknown", now), createExperiment("c0", "c", "short", now));
+        Assert.assertEquals("c0", policy.selectNext(queue, Collections.emptyList()).id);
+        // the unknown benchmark has the default runtime (which is shorter than
+        // the runtime of the long benchmark)
+        Assert.assertEquals("b0", policy.selectNext(queue.subList(0, 2), Collections.emptyList()).id);
+        // the long experiment has been waiting long enough
+        queue = Arrays.asList(createExperiment("a0", "a", "long", now - 2 * 60 * 60 * 1000),
+                createExperiment("c0", "c", "short", now));
+        Assert.assertEquals("a0", policy.selectNext(queue, Collections.emptyList()).id);
+    }
+
+    @Test
+    public void testMissingSubmissionTime() {
+        long now = System.currentTimeMillis();
+        // an entry without submission time (e.g., from a previous version)
+        // must not be regarded as waiting since 1970
+        SchedulingPolicy policy = new WeightedPrioritySchedulingPolicy(Collections.emptyMap());
+        Assert.assertEquals("a0", policy.selectNext(Arrays.asList(createExperiment("b0", "b", "benchmark", 0),
+                createExperiment("a0", "a", "benchmark", now - 5000)), Collections.emptyList()).id);
+        policy = new ShortestExpectedJobFirstSchedulingPolicy(null);
+        policy.experimentFinished(createExperiment("0", "a", "long", now), 60 * 60 * 1000);
+        policy.experimentFinished(createExperiment("1", "a", "short", now), 60 * 1000);
+        Assert.assertEquals("c0", policy.selectNext(Arrays.asList(createExperiment("a0", "a", "long", 0),
+                createExperiment("c0", "c", "short", now)), Collections.emptyList()).id);
+        Assert.assertEquals(0, SchedulingPolicies.getWaitingTime(createExperiment("a0", "a", "long", 0), now));
+    }
+
+    @Test
+    public void testParseWeights() {
+        Map<String, Double> weights = SchedulingPolicies.parseWeights("a=2, b = 0.5,c,d=x");
+        Assert.assertEquals(2, weights.size());
+        Assert.assertEquals(2.0, weights.get("a"), 0.0);
+        Assert.assertEquals(0.5, weights.get("b"), 0.0);
+    }
+}
@@ -1,5 +1,12 @@
 package org.hobbit.controller.utils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
 import junit.framework.Assert;
@@ -45,4 +52,100 @@ public class WaitingTest {
             // Every other exception will let the test fail
         }
     }
+
+    @Test(timeout = 10000)
+    public void testBackoffWaiting() throws Exception {
+        final long startTime = System.currentTimeMillis();
+        final long waitingTime = 2000;
+        AtomicInteger checks = new AtomicInteger();
+        CompletableFuture<Void> future = Waiting.waitForAsync(() -> {
+            checks.incrementAndGet();
+            return (System.currentTimeMillis() - startTime) >= waitingTime;
+        }, 50, 400, 100000);
+        // the calling thread is not blocked
+        Assert.assertFalse(future.isDone());
+        future.get();
+        Assert.assertTrue((System.currentTimeMillis() - startTime) >= waitingTime);
+        // a fixed interval of 50ms would need ~40 checks while the backoff
+        // (50, 100, 200, 400, 400, ...) needs less than 15
+        Assert.assertTrue("Too many checks: " + checks.get(), checks.get() < 15);
+    }
+
+    @Test(timeout = 10000)
+    public void testBackoffCounters() throws Exception {
+        long checksBefore = Waiting.getNumberOfChecks();
+        long waitingTimeBefore = Waiting.getWaitingTime();
+        final long startTime = System.currentTimeMillis();
+        AtomicInteger checks = new AtomicInteger();
+        Waiting.waitFor(() -> {
+            checks.incrementAndGet();
+            return (System.currentTimeMillis() - startTime) >= 300;
+        }, 50, 100, 100000);
+        Waiting.waitForAsync(() -> {
+            checks.incrementAndGet();
+            return (System.currentTimeMillis() - startTime) >= 600;
+        }, 50, 100, 100000).get();
+        Assert.assertTrue(Waiting.getNumberOfChecks() - checksBefore >= checks.get());
+        // the blocking waiting took ~300ms and the asynchronous one another ~300ms
+        Assert.assertTrue(Waiting.getWaitingTime() - waitingTimeBefore >= 550);
+    }
+
+    @Test(timeout = 10000)
+    public void testBackoffOnCallingThread() throws Exception {
+        final long startTime = System.currentTimeMillis();
+        final Thread caller = Thread.currentThread();
+        AtomicInteger foreignChecks = new AtomicInteger();
+        Waiting.waitFor(() -> {
+            if (Thread.currentThread() != caller) {
+                foreignChecks.incrementAndGet();
+            }
+            return (System.currentTimeMillis() - startTime) >= 500;
+        }, 50, 200, 100000);
+        Assert.assertEquals(0, foreignChecks.get());
+    }
+
+    @Test(timeout = 10000)
+    public void testSlowCheckDoesNotDelayOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // more slow checks than a small fixed pool would offer
+        List<CompletableFuture<Void>> slowFutures = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            slowFutures.add(Waiting.waitForAsync(() -> {
+                release.await();
+                return true;
+            }, 50, 200, 100000));
+        }
+        try {
+            final long startTime = System.currentTimeMillis();
+            Waiting.waitForAsync(() -> (System.currentTimeMillis() - startTime) >= 200, 50, 100, 100000).get(2,
+                    TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+        for (CompletableFuture<Void> future : slowFutures) {
+            future.get();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testBackoffMaxWaiting() throws Exception {
+        try {
+            Waiting.waitFor(() -> false, 50, 200, 1000);
+            Assert.fail();
+        } catch (InterruptedException e) {
+            // Every other exception will let the test fail
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testBackoffException() throws Exception {
+        try {
+            Waiting.waitFor(() -> {
+                throw new IllegalStateException();
+            }, 50, 200, 1000);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // Every other exception will let the test fail
+        }
+    }
 }